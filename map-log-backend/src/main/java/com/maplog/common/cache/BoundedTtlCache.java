@@ -0,0 +1,97 @@
+package com.maplog.common.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * BoundedTtlCache - 크기 상한과 항목별 만료 시각을 가진 경량 인메모리 캐시
+ *
+ * 【용도】
+ * 파드 단위로 "짧게 들고 있다가 버려도 되는" 값(검증된 JWT 클레임, 인증 주체 등)을 보관합니다.
+ * 외부 캐시 라이브러리 없이 ConcurrentHashMap 위에서 동작합니다.
+ *
+ * 【정책】
+ * - 조회 시 만료된 항목은 즉시 제거하고 miss로 처리
+ * - 저장 시 상한에 도달하면 만료 항목을 먼저 정리하고, 그래도 가득 차 있으면 임의의 일부를 비웁니다.
+ *   (정확한 LRU가 아니라 메모리 상한을 지키는 것이 목적)
+ */
+public class BoundedTtlCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final LongSupplier clock;
+
+    public BoundedTtlCache(int maxSize) {
+        this(maxSize, System::currentTimeMillis);
+    }
+
+    public BoundedTtlCache(int maxSize, LongSupplier clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= clock.getAsLong()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * @param expiresAt 항목이 무효가 되는 시각 (epoch millis)
+     */
+    public void put(K key, V value, long expiresAt) {
+        if (expiresAt <= clock.getAsLong()) {
+            return;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            makeRoom();
+        }
+        entries.put(key, new Entry<>(value, expiresAt));
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /** 만료된 항목을 모두 제거합니다. 주기 작업에서 호출해도 됩니다. */
+    public void evictExpired() {
+        long now = clock.getAsLong();
+        entries.entrySet().removeIf(e -> e.getValue().expiresAt() <= now);
+    }
+
+    private void makeRoom() {
+        evictExpired();
+        if (entries.size() < maxSize) {
+            return;
+        }
+        // 만료 항목이 없으면 상한의 1/10 정도를 비워 매 put마다 정리가 반복되지 않게 한다.
+        int toRemove = Math.max(1, maxSize / 10);
+        Iterator<K> it = entries.keySet().iterator();
+        while (toRemove-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -21,6 +21,7 @@ import com.maplog.common.jwt.JwtAuthenticationFilter;
 import com.maplog.common.jwt.JwtTokenProvider;
 import com.maplog.common.security.RestAccessDeniedHandler;
 import com.maplog.common.security.RestAuthenticationEntryPoint;
+import com.maplog.common.security.TokenRevocationRegistry;
 
 import lombok.RequiredArgsConstructor;
 
@@ -32,6 +33,7 @@ public class SecurityConfig {
 
 	private final JwtTokenProvider jwtTokenProvider;
 	private final UserDetailsService userDetailsService;
+	private final TokenRevocationRegistry tokenRevocationRegistry;
 	private final RestAuthenticationEntryPoint restAuthenticationEntryPoint;
 	private final RestAccessDeniedHandler restAccessDeniedHandler;
 
@@ -53,6 +55,9 @@ public class SecurityConfig {
 						.requestMatchers(HttpMethod.GET, "/api/users/check-nickname").permitAll()
 						.requestMatchers(HttpMethod.GET, "/uploads/**").permitAll()
 						.requestMatchers("/error").permitAll()
+						// 헬스 체크만 공개하고, 메트릭 등 나머지 액추에이터는 관리자만
+						.requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**").permitAll()
+						.requestMatchers("/actuator/**").hasAuthority("ADMIN")
 						.requestMatchers("/api/admin/**").hasAuthority("ADMIN")
 						.anyRequest().authenticated())
 				.addFilterBefore(
@@ -64,7 +69,7 @@ public class SecurityConfig {
 
 	@Bean
 	public JwtAuthenticationFilter jwtAuthenticationFilter() {
-		return new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService);
+		return new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService, tokenRevocationRegistry);
 	}
 
 	@Bean
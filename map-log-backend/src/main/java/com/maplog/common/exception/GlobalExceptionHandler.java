@@ -2,6 +2,8 @@ package com.maplog.common.exception;
 
 import com.maplog.common.response.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -20,6 +22,25 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(errorCode));
     }
 
+    // 요청 제한 초과 (Retry-After 헤더 포함)
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ApiResponse<?>> handleRateLimitExceeded(RateLimitExceededException e) {
+        ErrorCode errorCode = e.getErrorCode();
+        return ResponseEntity.status(errorCode.getHttpStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(ApiResponse.error(errorCode));
+    }
+
+    // SSE 연결 상한 초과 (EventSource가 읽을 수 있도록 text/event-stream의 retry: 필드로 응답)
+    @ExceptionHandler(SseCapacityExceededException.class)
+    public ResponseEntity<String> handleSseCapacityExceeded(SseCapacityExceededException e) {
+        long retryAfterMillis = e.getRetryAfterMillis();
+        return ResponseEntity.status(e.getErrorCode().getHttpStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfterMillis + 999) / 1000)))
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body("retry:" + retryAfterMillis + "\n\n");
+    }
+
     // @Valid 유효성 검증 실패
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<?>> handleValidationException(MethodArgumentNotValidException e) {
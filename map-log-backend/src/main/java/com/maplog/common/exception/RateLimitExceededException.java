@@ -0,0 +1,18 @@
+package com.maplog.common.exception;
+
+import lombok.Getter;
+
+/**
+ * 요청 제한 초과 예외
+ * GlobalExceptionHandler가 429 응답과 함께 Retry-After 헤더를 내려줍니다.
+ */
+@Getter
+public class RateLimitExceededException extends BusinessException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds) {
+        super(ErrorCode.TOO_MANY_REQUESTS);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
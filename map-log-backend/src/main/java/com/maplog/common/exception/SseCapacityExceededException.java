@@ -0,0 +1,18 @@
+package com.maplog.common.exception;
+
+import lombok.Getter;
+
+/**
+ * SSE 연결 상한 초과 예외
+ * GlobalExceptionHandler가 503 응답과 함께 Retry-After 헤더와 SSE retry: 필드를 내려줍니다.
+ */
+@Getter
+public class SseCapacityExceededException extends BusinessException {
+
+    private final long retryAfterMillis;
+
+    public SseCapacityExceededException(long retryAfterMillis) {
+        super(ErrorCode.SSE_CAPACITY_EXCEEDED);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+}
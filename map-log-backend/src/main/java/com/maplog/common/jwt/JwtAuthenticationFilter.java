@@ -1,6 +1,10 @@
 package com.maplog.common.jwt;
 
 import com.maplog.common.exception.BusinessException;
+import com.maplog.common.exception.ErrorCode;
+import com.maplog.common.security.AuthUser;
+import com.maplog.common.security.TokenRevocationRegistry;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,6 +24,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
 
     @Override
     protected boolean shouldNotFilterAsyncDispatch() {
@@ -35,12 +40,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (token != null) {
             try {
-                jwtTokenProvider.validateToken(token);
-                String subject = jwtTokenProvider.getSubject(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(subject);
+                // 서명 검증은 토큰당 한 번만 수행되고, 이후 요청은 검증된 클레임 캐시를 사용한다.
+                Claims claims = jwtTokenProvider.getVerifiedClaims(token);
+                UserDetails principal = resolvePrincipal(claims);
 
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        principal, null, principal.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -53,6 +58,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * 인증 주체를 구성합니다.
+     * - uid/role 클레임이 있는 토큰: 클레임으로 AuthUser를 만들고, 정지/탈퇴 여부는 메모리의 무효화 목록으로 확인 (DB 조회 없음)
+     * - 클레임이 없는 이전 형식 토큰: 캐시된 조회로 주체를 가져옴
+     */
+    private UserDetails resolvePrincipal(Claims claims) {
+        // 숫자 클레임은 크기에 따라 Integer/Long 으로 역직렬화되므로 Number로 받는다.
+        Object userId = claims.get(JwtTokenProvider.USER_ID_CLAIM);
+        Object role = claims.get(JwtTokenProvider.ROLE_CLAIM);
+        if (userId instanceof Number id && role instanceof String roleName) {
+            Long issuedAt = JwtTokenProvider.issuedAtMillis(claims);
+            if (issuedAt == null || tokenRevocationRegistry.isRevoked(id.longValue(), issuedAt)) {
+                throw new BusinessException(ErrorCode.INVALID_TOKEN);
+            }
+            return new AuthUser(id.longValue(), claims.getSubject(), roleName);
+        }
+        return userDetailsService.loadUserByUsername(claims.getSubject());
+    }
+
     private String extractToken(HttpServletRequest request) {
         // 1. Authorization 헤더에서 토큰 추출 (일반 API 요청)
         String header = request.getHeader("Authorization");
@@ -1,10 +1,12 @@
 package com.maplog.common.jwt;
 
+import com.maplog.common.cache.BoundedTtlCache;
 import com.maplog.common.exception.BusinessException;
 import com.maplog.common.exception.ErrorCode;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,49 +15,99 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Map;
 
 @Component
 public class JwtTokenProvider {
 
+    // 액세스 토큰에 함께 싣는 클레임 (요청마다 이메일 → ID 조회를 하지 않기 위함)
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    // 밀리초 단위 발급 시각. 표준 iat는 초 단위라 무효화 시각과 같은 초에 발급된 토큰을 구분할 수 없다.
+    public static final String ISSUED_AT_MILLIS_CLAIM = "iatms";
+
     private final SecretKey secretKey;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
 
+    // 파서는 불변/스레드 세이프이므로 한 번만 만들어 재사용한다.
+    private final JwtParser jwtParser;
+
+    // 서명 검증을 통과한 클레임 캐시 (키: 토큰 SHA-256, 만료: 토큰의 exp)
+    private final BoundedTtlCache<String, Claims> verifiedClaims;
+
     public JwtTokenProvider(
             @Value("${jwt.secret}") String secret,
             @Value("${jwt.access-token-expiration}") long accessTokenExpiration,
-            @Value("${jwt.refresh-token-expiration}") long refreshTokenExpiration) {
+            @Value("${jwt.refresh-token-expiration}") long refreshTokenExpiration,
+            @Value("${jwt.verified-cache-size:10000}") int verifiedCacheSize) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        this.verifiedClaims = new BoundedTtlCache<>(verifiedCacheSize);
     }
 
-    public String generateAccessToken(String subject) {
-        return buildToken(subject, accessTokenExpiration);
+    public String generateAccessToken(String subject, Long userId, String role) {
+        return buildToken(subject, accessTokenExpiration, Map.of(USER_ID_CLAIM, userId, ROLE_CLAIM, role));
     }
 
     public String generateRefreshToken(String subject) {
-        return buildToken(subject, refreshTokenExpiration);
+        return buildToken(subject, refreshTokenExpiration, Map.of());
     }
 
     public String getSubject(String token) {
-        return parseClaims(token).getSubject();
+        return getVerifiedClaims(token).getSubject();
     }
 
     public void validateToken(String token) {
-        try {
-            parseClaims(token);
-        } catch (ExpiredJwtException e) {
-            throw new BusinessException(ErrorCode.EXPIRED_TOKEN);
-        } catch (JwtException | IllegalArgumentException e) {
+        getVerifiedClaims(token);
+    }
+
+    /**
+     * 서명/만료가 검증된 클레임을 반환합니다.
+     * 같은 토큰은 만료 전까지 파드당 한 번만 HMAC 검증을 수행하고, 이후에는 캐시에서 꺼냅니다.
+     *
+     * @throws BusinessException EXPIRED_TOKEN / INVALID_TOKEN
+     */
+    public Claims getVerifiedClaims(String token) {
+        if (token == null || token.isBlank()) {
             throw new BusinessException(ErrorCode.INVALID_TOKEN);
         }
+        String key = TokenDigests.sha256Key(token);
+        Claims cached = verifiedClaims.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = parseClaims(token);
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            verifiedClaims.put(key, claims, expiration.getTime());
+        }
+        return claims;
+    }
+
+    /**
+     * 토큰 발급 시각 (epoch millis)
+     * iatms 클레임이 없는 이전 형식 토큰은 초 단위 iat를 사용하고, 둘 다 없으면 null입니다.
+     */
+    public static Long issuedAtMillis(Claims claims) {
+        if (claims.get(ISSUED_AT_MILLIS_CLAIM) instanceof Number millis) {
+            return millis.longValue();
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt != null ? issuedAt.getTime() : null;
     }
 
-    private String buildToken(String subject, long expiration) {
+    private String buildToken(String subject, long expiration, Map<String, ?> claims) {
         Date now = new Date();
         return Jwts.builder()
                 .subject(subject)
+                .claims(claims)
+                .claim(ISSUED_AT_MILLIS_CLAIM, now.getTime())
                 .issuedAt(now)
                 .expiration(new Date(now.getTime() + expiration))
                 .signWith(secretKey)
@@ -63,10 +115,12 @@ public class JwtTokenProvider {
     }
 
     private Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        try {
+            return jwtParser.parseSignedClaims(token).getPayload();
+        } catch (ExpiredJwtException e) {
+            throw new BusinessException(ErrorCode.EXPIRED_TOKEN);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.INVALID_TOKEN);
+        }
     }
 }
@@ -0,0 +1,30 @@
+package com.maplog.common.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * 토큰 원문 대신 보관/조회 키로 사용할 고정 길이 SHA-256 다이제스트를 만듭니다.
+ * 원문 JWT를 힙이나 DB 인덱스에 그대로 남기지 않기 위한 용도입니다.
+ */
+public final class TokenDigests {
+
+    private TokenDigests() {
+    }
+
+    public static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 JVM 구현은 SHA-256을 제공해야 한다.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** 캐시 키 등 문자열 키가 필요한 곳에서 사용하는 base64url 다이제스트 */
+    public static String sha256Key(String token) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sha256(token));
+    }
+}
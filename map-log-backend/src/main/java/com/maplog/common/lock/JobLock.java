@@ -0,0 +1,31 @@
+package com.maplog.common.lock;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 여러 파드 중 한 곳에서만 돌아야 하는 주기 작업의 임대(lease) 행
+ *
+ * 작업 이름당 한 행이며, locked_until이 지나야 다른 파드가 가져갈 수 있습니다.
+ * 읽기/쓰기는 JobLockService가 MyBatis로 조건부 UPDATE / INSERT IGNORE 한 문장씩 수행합니다.
+ */
+@Entity
+@Table(name = "job_locks")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class JobLock {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false, name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(nullable = false, name = "locked_by", length = 64)
+    private String lockedBy;
+}
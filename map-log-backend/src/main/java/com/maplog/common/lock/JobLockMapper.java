@@ -0,0 +1,21 @@
+package com.maplog.common.lock;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+
+@Mapper
+public interface JobLockMapper {
+
+    /** 임대가 끝난(locked_until <= now) 잠금을 가져옵니다. @return 가져왔으면 1 */
+    int takeExpired(@Param("name") String name,
+                    @Param("owner") String owner,
+                    @Param("now") LocalDateTime now,
+                    @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    /** 잠금 행이 아직 없으면 만들어 가져옵니다. @return 만들었으면 1 */
+    int insertIfAbsent(@Param("name") String name,
+                       @Param("owner") String owner,
+                       @Param("lockedUntil") LocalDateTime lockedUntil);
+}
@@ -0,0 +1,32 @@
+package com.maplog.common.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * JobLockService - 주기 작업을 파드 하나에서만 실행하기 위한 DB 임대 잠금
+ *
+ * 【사용】
+ * 작업 시작 시 tryAcquire(이름, 임대 시간)가 true인 파드만 실행합니다.
+ * 잠금은 풀지 않고 임대 시간이 지나면 자연히 만료되므로, 임대 시간을 작업 주기와 비슷하게 잡으면
+ * 모든 파드가 같은 주기로 시도해도 클러스터 전체에서 주기당 한 번만 실행됩니다.
+ * 실행 중인 파드가 죽어도 임대 시간이 지나면 다른 파드가 이어받습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobLockService {
+
+    private final JobLockMapper jobLockMapper;
+    private final String owner = UUID.randomUUID().toString();
+
+    public boolean tryAcquire(String name, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lockedUntil = now.plus(lease);
+        return jobLockMapper.takeExpired(name, owner, now, lockedUntil) == 1
+                || jobLockMapper.insertIfAbsent(name, owner, lockedUntil) == 1;
+    }
+}
@@ -0,0 +1,148 @@
+package com.maplog.common.ratelimit;
+
+import com.maplog.common.exception.RateLimitExceededException;
+import com.maplog.common.security.AuthUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * RateLimitInterceptor - @RateLimited 가 붙은 핸들러에 토큰 버킷 요청 제한을 적용합니다.
+ *
+ * 【키】
+ * - IP 정책: remoteAddr
+ *   remoteAddr가 app.rate-limit.trusted-proxies(IP 또는 CIDR 목록)에 속할 때만 X-Forwarded-For를 읽고,
+ *   오른쪽부터 신뢰하는 프록시를 건너뛰어 처음 나오는 주소를 씁니다. (앞쪽 값은 클라이언트가 임의로 넣을 수 있음)
+ *   server.forward-headers-strategy로 컨테이너가 remoteAddr를 이미 바꿔 주는 환경에서는 목록을 비워 둡니다.
+ * - USER 정책: 인증된 사용자 ID (인증 정보가 없으면 IP로 대체)
+ *
+ * 【설정】 app.rate-limit.{login|refresh|upload}.capacity / refill-per-minute, app.rate-limit.trusted-proxies
+ * 【메트릭】 rate_limit.rejected{policy}, rate_limit.buckets{policy}
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final Map<RateLimitPolicy, long[]> DEFAULTS = Map.of(
+            RateLimitPolicy.LOGIN, new long[]{10, 10},
+            RateLimitPolicy.REFRESH, new long[]{20, 20},
+            RateLimitPolicy.UPLOAD, new long[]{20, 10});
+
+    // IP 리터럴만 신뢰 목록과 비교한다. (호스트 이름이면 IpAddressMatcher가 DNS를 조회하므로 거른다)
+    private static final Pattern IP_LITERAL = Pattern.compile(
+            "((25[0-5]|2[0-4]\\d|1?\\d?\\d)\\.){3}(25[0-5]|2[0-4]\\d|1?\\d?\\d)|[0-9a-fA-F.]*:[0-9a-fA-F:.]*");
+
+    private final Map<RateLimitPolicy, TokenBucketRateLimiter> limiters = new EnumMap<>(RateLimitPolicy.class);
+    private final Map<RateLimitPolicy, Counter> rejectedCounters = new EnumMap<>(RateLimitPolicy.class);
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public RateLimitInterceptor(Environment environment, MeterRegistry meterRegistry) {
+        int maxBuckets = environment.getProperty("app.rate-limit.max-buckets", Integer.class, 100_000);
+        int stripes = environment.getProperty("app.rate-limit.stripes", Integer.class, 64);
+        trustedProxies = Arrays.stream(environment.getProperty("app.rate-limit.trusted-proxies", String[].class, new String[0]))
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+
+        for (RateLimitPolicy policy : RateLimitPolicy.values()) {
+            String prefix = "app.rate-limit." + policy.key() + ".";
+            long capacity = environment.getProperty(prefix + "capacity", Long.class, DEFAULTS.get(policy)[0]);
+            long refillPerMinute = environment.getProperty(prefix + "refill-per-minute", Long.class, DEFAULTS.get(policy)[1]);
+
+            TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(capacity, refillPerMinute, maxBuckets, stripes);
+            limiters.put(policy, limiter);
+            rejectedCounters.put(policy, Counter.builder("rate_limit.rejected")
+                    .tag("policy", policy.key())
+                    .register(meterRegistry));
+            Gauge.builder("rate_limit.buckets", limiter, TokenBucketRateLimiter::size)
+                    .tag("policy", policy.key())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+        if (rateLimited == null) {
+            return true;
+        }
+
+        RateLimitPolicy policy = rateLimited.value();
+        long waitNanos = limiters.get(policy).tryAcquire(resolveKey(policy, request));
+        if (waitNanos > 0) {
+            rejectedCounters.get(policy).increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            throw new RateLimitExceededException(retryAfterSeconds);
+        }
+        return true;
+    }
+
+    /** 쉬고 있는 버킷을 주기적으로 비워 메모리를 돌려준다. */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        limiters.values().forEach(TokenBucketRateLimiter::evictIdle);
+    }
+
+    private String resolveKey(RateLimitPolicy policy, HttpServletRequest request) {
+        if (policy.keyType() == RateLimitPolicy.KeyType.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof AuthUser authUser) {
+                return "u:" + authUser.getId();
+            }
+        }
+        return "ip:" + clientIp(request);
+    }
+
+    String clientIp(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor == null || forwardedFor.isBlank() || !isTrustedProxy(remoteAddr)) {
+            return remoteAddr;
+        }
+        // 신뢰하는 프록시가 붙인 오른쪽 값부터 보고, 신뢰하지 않는 첫 주소를 클라이언트로 본다.
+        String client = remoteAddr;
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                break;
+            }
+            client = hop;
+            if (!isTrustedProxy(hop)) {
+                break;
+            }
+        }
+        return client;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        if (trustedProxies.isEmpty() || address == null || !IP_LITERAL.matcher(address).matches()) {
+            return false;
+        }
+        try {
+            return trustedProxies.stream().anyMatch(proxy -> proxy.matches(address));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.maplog.common.ratelimit;
+
+/**
+ * 요청 제한 정책
+ *
+ * 정책마다 독립된 버킷 집합을 사용하며, 용량/충전 속도는 app.rate-limit.{key}.* 설정으로 조정합니다.
+ * - LOGIN, REFRESH: 인증 전 요청이므로 클라이언트 IP 기준 (BCrypt/토큰 서명 비용)
+ * - UPLOAD: 로그인한 사용자 기준 (이미지 변환/S3 업로드 비용, 일기 작성/수정과 프로필 수정이 한 버킷을 공유)
+ */
+public enum RateLimitPolicy {
+
+    LOGIN("login", KeyType.IP),
+    REFRESH("refresh", KeyType.IP),
+    UPLOAD("upload", KeyType.USER);
+
+    private final String key;
+    private final KeyType keyType;
+
+    RateLimitPolicy(String key, KeyType keyType) {
+        this.key = key;
+        this.keyType = keyType;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public KeyType keyType() {
+        return keyType;
+    }
+
+    public enum KeyType {
+        IP, USER
+    }
+}
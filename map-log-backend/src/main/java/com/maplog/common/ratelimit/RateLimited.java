@@ -0,0 +1,19 @@
+package com.maplog.common.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 메서드에 토큰 버킷 요청 제한을 적용합니다.
+ * 실제 검사는 RateLimitInterceptor가 핸들러 실행 전에 수행합니다.
+ *
+ * 예) @RateLimited(RateLimitPolicy.LOGIN)
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    RateLimitPolicy value();
+}
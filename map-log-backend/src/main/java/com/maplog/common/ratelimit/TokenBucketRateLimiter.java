@@ -0,0 +1,148 @@
+package com.maplog.common.ratelimit;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * TokenBucketRateLimiter - 키(IP, 사용자 ID)별 토큰 버킷
+ *
+ * 【구조】
+ * - 키의 해시로 고른 스트라이프(stripe) 하나만 잠그므로 서로 다른 키끼리는 거의 경합하지 않습니다.
+ * - 스트라이프마다 접근 순서 LinkedHashMap을 두고, 상한을 넘으면 가장 오래 쓰이지 않은 버킷을 버립니다.
+ *   (수백만 개의 서로 다른 키가 들어와도 메모리 사용량이 상한을 넘지 않음)
+ * - evictIdle()은 가득 찰 만큼 오래 쉬고 있던 버킷을 제거합니다.
+ *   이런 버킷은 다시 만들어도 가득 찬 상태로 시작하므로 제거해도 동작이 달라지지 않습니다.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final long idleNanos;
+    private final int maxBucketsPerStripe;
+    private final Stripe[] stripes;
+    private final LongSupplier nanoClock;
+
+    /**
+     * @param capacity      버킷 최대 토큰 수 (허용되는 순간 최대 요청 수)
+     * @param refillPerMinute 분당 충전되는 토큰 수
+     * @param maxBuckets    보관할 최대 버킷 수 (전체)
+     * @param stripeCount   잠금 스트라이프 수 (2의 거듭제곱)
+     */
+    public TokenBucketRateLimiter(long capacity, long refillPerMinute, int maxBuckets, int stripeCount) {
+        this(capacity, refillPerMinute, maxBuckets, stripeCount, System::nanoTime);
+    }
+
+    public TokenBucketRateLimiter(long capacity, long refillPerMinute, int maxBuckets, int stripeCount,
+                                  LongSupplier nanoClock) {
+        if (capacity <= 0 || refillPerMinute <= 0) {
+            throw new IllegalArgumentException("capacity and refillPerMinute must be positive");
+        }
+        if (Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("stripeCount must be a power of two");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.idleNanos = (long) Math.ceil(capacity / tokensPerNano);
+        this.maxBucketsPerStripe = Math.max(1, maxBuckets / stripeCount);
+        this.nanoClock = nanoClock;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(maxBucketsPerStripe);
+        }
+    }
+
+    /**
+     * 토큰 하나를 꺼냅니다.
+     *
+     * @return 0이면 허용, 양수이면 다음 토큰이 생길 때까지 기다려야 하는 시간(ns)
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            }
+            bucket.refill(now, capacity, tokensPerNano);
+            if (bucket.tokens >= 1.0) {
+                bucket.tokens -= 1.0;
+                return 0L;
+            }
+            return (long) Math.ceil((1.0 - bucket.tokens) / tokensPerNano);
+        }
+    }
+
+    /** 가득 찰 만큼 쉬고 있던 버킷을 제거합니다. @return 제거된 버킷 수 */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<Bucket> it = stripe.buckets.values().iterator();
+                while (it.hasNext()) {
+                    // 접근 순서 맵이므로 앞쪽이 가장 오래된 버킷이다. 쉬지 않은 버킷을 만나면 멈춘다.
+                    if (now - it.next().lastRefillNanos < idleNanos) {
+                        break;
+                    }
+                    it.remove();
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return stripes[h & (stripes.length - 1)];
+    }
+
+    private static final class Stripe {
+
+        private final Map<String, Bucket> buckets;
+
+        Stripe(int maxBuckets) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxBuckets;
+                }
+            };
+        }
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long lastRefillNanos;
+
+        Bucket(long capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+        }
+
+        void refill(long now, long capacity, double tokensPerNano) {
+            long elapsed = now - lastRefillNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+                lastRefillNanos = now;
+            }
+        }
+    }
+}
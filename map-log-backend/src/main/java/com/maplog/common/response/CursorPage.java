@@ -0,0 +1,25 @@
+package com.maplog.common.response;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서 기반 페이지 응답
+ *
+ * 전체 개수(COUNT) 없이 다음 페이지 존재 여부만 알려줍니다.
+ * 다음 페이지는 nextCursor를 그대로 cursor 파라미터로 넘겨 조회합니다. (마지막 페이지면 null)
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, boolean hasNext) {
+
+    /**
+     * size + 1건까지 조회한 결과로 페이지를 만듭니다.
+     * size보다 많으면 다음 페이지가 있는 것으로 보고, 마지막 항목으로 커서를 만듭니다.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, String> cursorOf) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null, false);
+        }
+        List<T> content = fetched.subList(0, size);
+        return new CursorPage<>(content, cursorOf.apply(content.get(size - 1)), true);
+    }
+}
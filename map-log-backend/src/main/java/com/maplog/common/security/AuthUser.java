@@ -0,0 +1,46 @@
+package com.maplog.common.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * AuthUser - 인증된 사용자 주체
+ *
+ * 토큰 subject(이메일)와 함께 사용자 ID와 권한을 들고 있어
+ * 컨트롤러/서비스가 이메일 → ID 변환을 위해 users를 다시 조회할 필요가 없습니다.
+ * getUsername()은 기존과 동일하게 이메일을 반환합니다.
+ */
+@Getter
+public class AuthUser implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String role;
+
+    public AuthUser(Long id, String email, String role) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role));
+    }
+
+    @Override
+    public String getPassword() {
+        // 비밀번호 검증은 AuthService가 직접 수행하므로 주체에는 해시를 싣지 않는다.
+        return "";
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
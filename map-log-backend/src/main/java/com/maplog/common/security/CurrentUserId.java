@@ -0,0 +1,18 @@
+package com.maplog.common.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 파라미터에 인증된 사용자의 ID(Long)를 주입합니다.
+ *
+ * <pre>
+ * public ResponseEntity&lt;?&gt; getFeed(@CurrentUserId Long userId) { ... }
+ * </pre>
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUserId {
+}
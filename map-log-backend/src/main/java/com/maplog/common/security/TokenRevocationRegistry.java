@@ -0,0 +1,163 @@
+package com.maplog.common.security;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * TokenRevocationRegistry - 정지/탈퇴 회원의 액세스 토큰 무효화 목록
+ *
+ * 【역할】
+ * userId → revokedAt(epoch millis) 을 파드 메모리에 보관합니다.
+ * 토큰의 발급 시각(iat)이 revokedAt 이전이면 해당 토큰은 더 이상 인증에 사용할 수 없습니다.
+ * JwtAuthenticationFilter가 매 요청마다 DB 조회 없이 O(1)로 확인합니다.
+ *
+ * 【구조】
+ * - long[] 두 개로 구성된 오픈 어드레싱(선형 탐사) 해시 테이블 (박싱 없음)
+ * - 읽기: volatile 스냅샷을 잠금 없이 조회
+ * - 쓰기: 정지/탈퇴처럼 드문 이벤트이므로 새 테이블을 만들어 통째로 교체 (copy-on-write)
+ *
+ * 항목은 액세스 토큰 만료 시간이 지나면 의미가 없으므로 pruneBefore()로 정리합니다.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    // userId는 IDENTITY(1부터 시작)이므로 0을 빈 슬롯 표시로 사용한다.
+    private static final long EMPTY = 0L;
+    private static final int MIN_CAPACITY = 16;
+
+    private volatile Table table = Table.empty();
+
+    /**
+     * @param issuedAtMillis 토큰 발급 시각 (iatms 클레임, 이전 형식 토큰은 초 단위 iat)
+     * @return 해당 사용자가 토큰 발급 이후(같은 밀리초 포함) 무효화되었으면 true
+     */
+    public boolean isRevoked(long userId, long issuedAtMillis) {
+        long revokedAt = table.get(userId);
+        return revokedAt != EMPTY && issuedAtMillis <= revokedAt;
+    }
+
+    /** 사용자의 기존 토큰을 revokedAt 시각 기준으로 무효화합니다. (더 늦은 시각만 반영) */
+    public synchronized void revoke(long userId, long revokedAt) {
+        revokeAll(Map.of(userId, revokedAt));
+    }
+
+    /** 여러 사용자를 한 번의 테이블 교체로 반영합니다. (기동 시 재구성, 주기 동기화) */
+    public synchronized void revokeAll(Map<Long, Long> revocations) {
+        if (revocations.isEmpty()) {
+            return;
+        }
+        Table current = table;
+        Table next = Table.withCapacityFor(current.size + revocations.size());
+        current.copyInto(next, Long.MIN_VALUE);
+        revocations.forEach((userId, revokedAt) -> {
+            if (userId == null || userId == EMPTY || revokedAt == null) {
+                return;
+            }
+            long existing = next.get(userId);
+            if (existing == EMPTY || existing < revokedAt) {
+                next.put(userId, revokedAt);
+            }
+        });
+        table = next;
+    }
+
+    /**
+     * cutoff 이전에 무효화된 항목을 제거합니다.
+     * cutoff = 현재 시각 - 액세스 토큰 만료 시간이면, 제거되는 항목의 토큰은 이미 모두 만료된 상태입니다.
+     *
+     * @return 제거된 항목 수
+     */
+    public synchronized int pruneBefore(long cutoffMillis) {
+        Table current = table;
+        int live = current.countFrom(cutoffMillis);
+        if (live == current.size) {
+            return 0;
+        }
+        Table next = Table.withCapacityFor(live);
+        current.copyInto(next, cutoffMillis);
+        table = next;
+        return current.size - live;
+    }
+
+    public int size() {
+        return table.size;
+    }
+
+    private static final class Table {
+
+        private final long[] keys;
+        private final long[] values;
+        private final int mask;
+        private int size;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new long[capacity];
+            this.mask = capacity - 1;
+        }
+
+        static Table empty() {
+            return new Table(MIN_CAPACITY);
+        }
+
+        /** 적재율 0.5 이하를 유지하는 2의 거듭제곱 크기 */
+        static Table withCapacityFor(int entries) {
+            int capacity = MIN_CAPACITY;
+            while (capacity < entries * 2) {
+                capacity <<= 1;
+            }
+            return new Table(capacity);
+        }
+
+        long get(long key) {
+            int i = index(key);
+            while (true) {
+                long k = keys[i];
+                if (k == key) {
+                    return values[i];
+                }
+                if (k == EMPTY) {
+                    return EMPTY;
+                }
+                i = (i + 1) & mask;
+            }
+        }
+
+        // 공개 전(volatile 쓰기 전)에만 호출된다.
+        void put(long key, long value) {
+            int i = index(key);
+            while (keys[i] != EMPTY && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == EMPTY) {
+                keys[i] = key;
+                size++;
+            }
+            values[i] = value;
+        }
+
+        void copyInto(Table target, long minValue) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY && values[i] >= minValue) {
+                    target.put(keys[i], values[i]);
+                }
+            }
+        }
+
+        int countFrom(long minValue) {
+            int count = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY && values[i] >= minValue) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private int index(long key) {
+            // 연속된 ID가 한 구간에 몰리지 않도록 섞는다. (Fibonacci hashing)
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.maplog.common.util;
+
+import com.maplog.common.exception.BusinessException;
+import com.maplog.common.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * (시각, id) 키셋 커서
+ *
+ * 【형식】 "시각|id"를 URL-safe Base64로 감싼 불투명 토큰
+ * 클라이언트는 내용을 해석하지 않고 받은 값을 그대로 돌려보내기만 합니다.
+ * 같은 시각의 행이 여럿이어도 id로 순서가 정해지므로 페이지 사이에 누락/중복이 없습니다.
+ */
+public record CursorToken(LocalDateTime at, long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        return ENCODER.encodeToString((at + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** 토큰을 해석합니다. 비어 있으면 null(첫 페이지), 형식이 잘못되면 INVALID_CURSOR */
+    public static CursorToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('|');
+            if (separator < 0) {
+                throw new BusinessException(ErrorCode.INVALID_CURSOR);
+            }
+            return new CursorToken(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.maplog.diary.command.controller;
 
+import com.maplog.common.ratelimit.RateLimitPolicy;
+import com.maplog.common.ratelimit.RateLimited;
 import com.maplog.common.response.ApiResponse;
+import com.maplog.common.security.CurrentUserId;
 import com.maplog.diary.command.domain.Visibility;
 import com.maplog.diary.command.dto.CreateDiaryRequest;
 import com.maplog.diary.command.dto.UpdateDiaryRequest;
@@ -10,8 +13,6 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -26,8 +27,9 @@ public class DiaryCommandController {
     private final DiaryCommandService diaryCommandService;
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @RateLimited(RateLimitPolicy.UPLOAD)
     public ResponseEntity<ApiResponse<Long>> createDiary(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @RequestParam String title,
             @RequestParam String content,
             @RequestParam Double latitude,
@@ -44,14 +46,15 @@ public class DiaryCommandController {
                 visibility,
                 sharedUserIds
         );
-        Long diaryId = diaryCommandService.createDiary(userDetails.getUsername(), request, images);
+        Long diaryId = diaryCommandService.createDiary(userId, request, images);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("일기가 작성되었습니다.", diaryId));
     }
 
     @PutMapping(value = "/{diaryId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @RateLimited(RateLimitPolicy.UPLOAD)
     public ResponseEntity<ApiResponse<Void>> updateDiary(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PathVariable Long diaryId,
             @RequestParam String title,
             @RequestParam String content,
@@ -66,15 +69,15 @@ public class DiaryCommandController {
                 visibility,
                 sharedUserIds
         );
-        diaryCommandService.updateDiary(userDetails.getUsername(), diaryId, request, deleteImageIds, images);
+        diaryCommandService.updateDiary(userId, diaryId, request, deleteImageIds, images);
         return ResponseEntity.ok(ApiResponse.success("일기가 수정되었습니다.", null));
     }
 
     @DeleteMapping("/{diaryId}")
     public ResponseEntity<ApiResponse<Void>> deleteDiary(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PathVariable Long diaryId) {
-        diaryCommandService.deleteDiary(userDetails.getUsername(), diaryId);
+        diaryCommandService.deleteDiary(userId, diaryId);
         return ResponseEntity.ok(ApiResponse.success("일기가 삭제되었습니다.", null));
     }
 }
\ No newline at end of file
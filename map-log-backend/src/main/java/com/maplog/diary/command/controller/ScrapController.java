@@ -1,14 +1,13 @@
 package com.maplog.diary.command.controller;
 
 import com.maplog.common.response.ApiResponse;
+import com.maplog.common.security.CurrentUserId;
 import com.maplog.diary.command.dto.ScrapRequest;
 import com.maplog.diary.command.service.DiaryCommandService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -20,18 +19,18 @@ public class ScrapController {
 
     @PostMapping
     public ResponseEntity<ApiResponse<Void>> addScrap(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @RequestBody @Valid ScrapRequest request) {
-        diaryCommandService.addScrap(userDetails.getUsername(), request.diaryId());
+        diaryCommandService.addScrap(userId, request.diaryId());
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("스크랩이 추가되었습니다.", null));
     }
 
     @DeleteMapping("/{diaryId}")
     public ResponseEntity<ApiResponse<Void>> cancelScrap(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PathVariable Long diaryId) {
-        diaryCommandService.cancelScrap(userDetails.getUsername(), diaryId);
+        diaryCommandService.cancelScrap(userId, diaryId);
         return ResponseEntity.ok(ApiResponse.success("스크랩이 취소되었습니다.", null));
     }
 }
\ No newline at end of file
@@ -12,7 +12,10 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "diaries")
+@Table(name = "diaries", indexes = {
+        // 작성자별 최근 일기 (피드 pull 작성자 병합, 친구 수락 시 타임라인 백필)
+        @Index(name = "idx_diaries_user_created", columnList = "userId, createdAt")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Diary {
@@ -89,4 +92,9 @@ public class Diary {
     public boolean isDeleted() {
         return this.deletedAt != null;
     }
+
+    /** 친구 피드에 보이는 일기인지 (삭제되지 않았고 비공개가 아님) */
+    public boolean isVisibleToFriends() {
+        return !isDeleted() && this.visibility != Visibility.PRIVATE;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.maplog.diary.command.domain;
+
+/**
+ * 친구 피드에 보일지 여부가 바뀔 수 있는 일기 변경(작성, 공개 범위 변경, 삭제)을 알리는 이벤트
+ * 받는 쪽은 이벤트 순서에 기대지 않고 일기의 현재 상태를 다시 읽어 처리합니다.
+ */
+public record DiaryFeedChangedEvent(Long diaryId, Long authorId) {
+}
@@ -0,0 +1,16 @@
+package com.maplog.diary.command.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Mapper
+public interface DiaryShareCommandMapper {
+
+    /** 공유 대상 여러 명을 multi-row INSERT 한 번으로 저장합니다. (호출 측에서 500명 단위로 나눠 호출) */
+    int insertAll(@Param("diaryId") Long diaryId,
+                  @Param("userIds") Collection<Long> userIds,
+                  @Param("createdAt") LocalDateTime createdAt);
+}
@@ -2,7 +2,11 @@ package com.maplog.diary.command.repository;
 
 import com.maplog.diary.command.domain.DiaryShare;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface DiaryShareRepository extends JpaRepository<DiaryShare, Long> {
@@ -14,4 +18,8 @@ public interface DiaryShareRepository extends JpaRepository<DiaryShare, Long> {
     List<DiaryShare> findAllByDiaryId(Long diaryId);
 
     void deleteAllByDiaryId(Long diaryId);
+
+    @Modifying
+    @Query("DELETE FROM DiaryShare s WHERE s.diaryId = :diaryId AND s.userId IN :userIds")
+    void deleteByDiaryIdAndUserIdIn(@Param("diaryId") Long diaryId, @Param("userIds") Collection<Long> userIds);
 }
@@ -4,11 +4,13 @@ import com.maplog.common.exception.BusinessException;
 import com.maplog.common.exception.ErrorCode;
 import com.maplog.common.storage.FileStorageService;
 import com.maplog.diary.command.domain.Diary;
+import com.maplog.diary.command.domain.DiaryFeedChangedEvent;
 import com.maplog.diary.command.domain.DiaryImage;
 import com.maplog.diary.command.domain.DiaryShare;
 import com.maplog.diary.command.domain.Scrap;
 import com.maplog.diary.command.dto.CreateDiaryRequest;
 import com.maplog.diary.command.dto.UpdateDiaryRequest;
+import com.maplog.diary.command.mapper.DiaryShareCommandMapper;
 import com.maplog.diary.command.repository.DiaryCommandRepository;
 import com.maplog.diary.command.repository.DiaryImageRepository;
 import com.maplog.diary.command.repository.DiaryShareRepository;
@@ -17,10 +19,12 @@ import com.maplog.notification.command.service.NotificationCommandService;
 import com.maplog.user.command.domain.User;
 import com.maplog.user.command.repository.UserCommandRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -31,19 +35,27 @@ import java.util.stream.Collectors;
 @Transactional
 public class DiaryCommandService {
 
+    // multi-row INSERT 한 문장에 담을 최대 행 수
+    private static final int INSERT_CHUNK_SIZE = 500;
+
     private final DiaryCommandRepository diaryCommandRepository;
     private final DiaryImageRepository diaryImageRepository;
     private final ScrapRepository scrapRepository;
     private final UserCommandRepository userCommandRepository;
     private final DiaryShareRepository diaryShareRepository;
+    private final DiaryShareCommandMapper diaryShareCommandMapper;
     private final NotificationCommandService notificationCommandService;
     private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public Long createDiary(String email, CreateDiaryRequest request, List<MultipartFile> images) {
-        User user = getUser(email);
-        Diary diary = Diary.create(user.getId(), request);
+    public Long createDiary(Long userId, CreateDiaryRequest request, List<MultipartFile> images) {
+        Diary diary = Diary.create(userId, request);
         diaryCommandRepository.save(diary);
-        
+        if (diary.isVisibleToFriends()) {
+            // 커밋 후 친구들의 피드 타임라인에 비동기로 추가된다.
+            eventPublisher.publishEvent(new DiaryFeedChangedEvent(diary.getId(), userId));
+        }
+
         if (images != null) {
             images.stream()
                     .filter(f -> f != null && !f.isEmpty())
@@ -54,24 +66,30 @@ public class DiaryCommandService {
         }
 
         if (request.sharedUserIds() != null && !request.sharedUserIds().isEmpty()) {
-            request.sharedUserIds().forEach(targetUserId -> {
-                diaryShareRepository.save(DiaryShare.create(diary.getId(), targetUserId));
-                notificationCommandService.createDiarySharedNotification(targetUserId, diary.getId(), diary.getTitle(), user.getNickname());
-            });
+            // 닉네임은 공유 알림 문구에만 필요하므로 공유 대상이 있을 때만 조회한다.
+            String nickname = getUser(userId).getNickname();
+            List<Long> sharedUserIds = request.sharedUserIds().stream().distinct().toList();
+            insertShares(diary.getId(), sharedUserIds);
+            notificationCommandService.createDiarySharedNotifications(
+                    sharedUserIds, diary.getId(), diary.getTitle(), nickname);
         }
 
         return diary.getId();
     }
 
-    public void updateDiary(String email, Long diaryId, UpdateDiaryRequest request,
+    public void updateDiary(Long userId, Long diaryId, UpdateDiaryRequest request,
                             List<Long> deleteImageIds, List<MultipartFile> images) {
-        User user = getUser(email);
         Diary diary = getDiary(diaryId);
 
-        if (!diary.isOwner(user.getId())) {
+        if (!diary.isOwner(userId)) {
             throw new BusinessException(ErrorCode.DIARY_ACCESS_DENIED);
         }
+        boolean wasVisibleToFriends = diary.isVisibleToFriends();
         diary.update(request);
+        if (wasVisibleToFriends != diary.isVisibleToFriends()) {
+            // 공개 범위가 바뀐 경우에만 피드 타임라인을 다시 맞춘다.
+            eventPublisher.publishEvent(new DiaryFeedChangedEvent(diaryId, userId));
+        }
 
         // 이미지 수정 로직
         if (deleteImageIds != null) {
@@ -99,53 +117,67 @@ public class DiaryCommandService {
         Set<Long> newSharedUserIds = request.sharedUserIds() != null ? 
                 new HashSet<>(request.sharedUserIds()) : new HashSet<>();
 
-        // 제거된 친구 처리
-        currentSharedUserIds.stream()
+        // 제거된 친구 처리 (DELETE 한 번)
+        List<Long> removedUserIds = currentSharedUserIds.stream()
                 .filter(id -> !newSharedUserIds.contains(id))
-                .forEach(id -> diaryShareRepository.deleteByDiaryIdAndUserId(diaryId, id));
+                .toList();
+        if (!removedUserIds.isEmpty()) {
+            diaryShareRepository.deleteByDiaryIdAndUserIdIn(diaryId, removedUserIds);
+        }
 
         // 새로 추가된 친구 처리
-        newSharedUserIds.stream()
+        List<Long> addedUserIds = newSharedUserIds.stream()
                 .filter(id -> !currentSharedUserIds.contains(id))
-                .forEach(id -> {
-                    diaryShareRepository.save(DiaryShare.create(diaryId, id));
-                    notificationCommandService.createDiarySharedNotification(id, diaryId, diary.getTitle(), user.getNickname());
-                });
+                .toList();
+        if (!addedUserIds.isEmpty()) {
+            String nickname = getUser(userId).getNickname();
+            insertShares(diaryId, addedUserIds);
+            notificationCommandService.createDiarySharedNotifications(addedUserIds, diaryId, diary.getTitle(), nickname);
+        }
     }
 
-    public void deleteDiary(String email, Long diaryId) {
-        User user = getUser(email);
+    public void deleteDiary(Long userId, Long diaryId) {
         Diary diary = getDiary(diaryId);
 
-        if (!diary.isOwner(user.getId())) {
+        if (!diary.isOwner(userId)) {
             throw new BusinessException(ErrorCode.DIARY_ACCESS_DENIED);
         }
+        boolean wasVisibleToFriends = diary.isVisibleToFriends();
         diary.softDelete();
+        if (wasVisibleToFriends) {
+            eventPublisher.publishEvent(new DiaryFeedChangedEvent(diaryId, userId));
+        }
         // 공유 정보도 삭제하는게 깔끔함
         diaryShareRepository.deleteAllByDiaryId(diaryId);
     }
 
-    public void addScrap(String email, Long diaryId) {
-        User user = getUser(email);
+    public void addScrap(Long userId, Long diaryId) {
         Diary diary = getDiary(diaryId);
 
-        if (scrapRepository.existsByUserIdAndDiaryId(user.getId(), diaryId)) {
+        if (scrapRepository.existsByUserIdAndDiaryId(userId, diaryId)) {
             throw new BusinessException(ErrorCode.ALREADY_SCRAPED);
         }
-        scrapRepository.save(Scrap.create(user.getId(), diary.getId()));
+        scrapRepository.save(Scrap.create(userId, diary.getId()));
     }
 
-    public void cancelScrap(String email, Long diaryId) {
-        User user = getUser(email);
-
-        if (!scrapRepository.existsByUserIdAndDiaryId(user.getId(), diaryId)) {
+    public void cancelScrap(Long userId, Long diaryId) {
+        if (!scrapRepository.existsByUserIdAndDiaryId(userId, diaryId)) {
             throw new BusinessException(ErrorCode.SCRAP_NOT_FOUND);
         }
-        scrapRepository.deleteByUserIdAndDiaryId(user.getId(), diaryId);
+        scrapRepository.deleteByUserIdAndDiaryId(userId, diaryId);
+    }
+
+    /** 공유 대상을 multi-row INSERT로 저장합니다. 대상이 아주 많으면 INSERT_CHUNK_SIZE씩 나눕니다. */
+    private void insertShares(Long diaryId, List<Long> userIds) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        for (int from = 0; from < userIds.size(); from += INSERT_CHUNK_SIZE) {
+            diaryShareCommandMapper.insertAll(diaryId,
+                    userIds.subList(from, Math.min(from + INSERT_CHUNK_SIZE, userIds.size())), createdAt);
+        }
     }
 
-    private User getUser(String email) {
-        return userCommandRepository.findByEmailAndDeletedAtIsNull(email)
+    private User getUser(Long userId) {
+        return userCommandRepository.findByIdAndDeletedAtIsNull(userId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
     }
 
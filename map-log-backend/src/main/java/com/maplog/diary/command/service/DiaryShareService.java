@@ -4,44 +4,53 @@ import com.maplog.common.exception.BusinessException;
 import com.maplog.common.exception.ErrorCode;
 import com.maplog.diary.command.domain.Diary;
 import com.maplog.diary.command.domain.DiaryShare;
+import com.maplog.diary.command.mapper.DiaryShareCommandMapper;
 import com.maplog.diary.command.repository.DiaryCommandRepository;
 import com.maplog.diary.command.repository.DiaryShareRepository;
-import com.maplog.user.command.domain.User;
-import com.maplog.user.command.repository.UserCommandRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class DiaryShareService {
 
+    // multi-row INSERT 한 문장에 담을 최대 행 수
+    private static final int INSERT_CHUNK_SIZE = 500;
+
     private final DiaryCommandRepository diaryCommandRepository;
     private final DiaryShareRepository diaryShareRepository;
-    private final UserCommandRepository userCommandRepository;
+    private final DiaryShareCommandMapper diaryShareCommandMapper;
 
-    public void shareDiary(String email, Long diaryId, List<Long> friendIds) {
-        User owner = getUser(email);
+    public void shareDiary(Long userId, Long diaryId, List<Long> friendIds) {
         Diary diary = getDiary(diaryId);
 
-        if (!diary.isOwner(owner.getId())) {
+        if (!diary.isOwner(userId)) {
             throw new BusinessException(ErrorCode.DIARY_ACCESS_DENIED);
         }
-        friendIds.forEach(friendId -> {
-            if (!diaryShareRepository.existsByDiaryIdAndUserId(diaryId, friendId)) {
-                diaryShareRepository.save(DiaryShare.create(diaryId, friendId));
-            }
-        });
+        // 이미 공유된 대상은 한 번에 조회해 제외하고, 나머지는 multi-row INSERT로 저장
+        Set<Long> alreadyShared = diaryShareRepository.findAllByDiaryId(diaryId).stream()
+                .map(DiaryShare::getUserId)
+                .collect(Collectors.toSet());
+        List<Long> newUserIds = friendIds.stream()
+                .filter(friendId -> !alreadyShared.contains(friendId))
+                .distinct()
+                .toList();
+        if (!newUserIds.isEmpty()) {
+            insertShares(diaryId, newUserIds);
+        }
     }
 
-    public void unshareDiary(String email, Long diaryId, Long targetUserId) {
-        User owner = getUser(email);
+    public void unshareDiary(Long userId, Long diaryId, Long targetUserId) {
         Diary diary = getDiary(diaryId);
 
-        if (!diary.isOwner(owner.getId())) {
+        if (!diary.isOwner(userId)) {
             throw new BusinessException(ErrorCode.DIARY_ACCESS_DENIED);
         }
         if (!diaryShareRepository.existsByDiaryIdAndUserId(diaryId, targetUserId)) {
@@ -50,9 +59,13 @@ public class DiaryShareService {
         diaryShareRepository.deleteByDiaryIdAndUserId(diaryId, targetUserId);
     }
 
-    private User getUser(String email) {
-        return userCommandRepository.findByEmailAndDeletedAtIsNull(email)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+    /** 공유 대상을 multi-row INSERT로 저장합니다. 대상이 아주 많으면 INSERT_CHUNK_SIZE씩 나눕니다. */
+    private void insertShares(Long diaryId, List<Long> userIds) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        for (int from = 0; from < userIds.size(); from += INSERT_CHUNK_SIZE) {
+            diaryShareCommandMapper.insertAll(diaryId,
+                    userIds.subList(from, Math.min(from + INSERT_CHUNK_SIZE, userIds.size())), createdAt);
+        }
     }
 
     private Diary getDiary(Long diaryId) {
@@ -1,6 +1,7 @@
 package com.maplog.diary.query.controller;
 
 import com.maplog.common.response.ApiResponse;
+import com.maplog.common.security.CurrentUserId;
 import com.maplog.diary.query.dto.DiaryDetailResponse;
 import com.maplog.diary.query.dto.DiaryMarkerResponse;
 import com.maplog.diary.query.dto.DiarySummaryResponse;
@@ -10,8 +11,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -25,29 +24,29 @@ public class DiaryQueryController {
 
     @GetMapping("/{diaryId}")
     public ResponseEntity<ApiResponse<DiaryDetailResponse>> getDiaryDetail(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PathVariable Long diaryId) {
-        DiaryDetailResponse response = diaryQueryService.getDiaryDetail(userDetails.getUsername(), diaryId);
+        DiaryDetailResponse response = diaryQueryService.getDiaryDetail(userId, diaryId);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     @GetMapping("/map")
     public ResponseEntity<ApiResponse<List<DiaryMarkerResponse>>> getMapMarkers(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @RequestParam Double swLat,
             @RequestParam Double swLng,
             @RequestParam Double neLat,
             @RequestParam Double neLng) {
         List<DiaryMarkerResponse> markers = diaryQueryService.getMapMarkers(
-                userDetails.getUsername(), swLat, neLat, swLng, neLng);
+                userId, swLat, neLat, swLng, neLng);
         return ResponseEntity.ok(ApiResponse.success(markers));
     }
 
     @GetMapping("/feed")
     public ResponseEntity<ApiResponse<Page<DiarySummaryResponse>>> getFeedDiaries(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PageableDefault(size = 10) Pageable pageable) {
-        Page<DiarySummaryResponse> response = diaryQueryService.getFeedDiaries(userDetails.getUsername(), pageable);
+        Page<DiarySummaryResponse> response = diaryQueryService.getFeedDiaries(userId, pageable);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 }
\ No newline at end of file
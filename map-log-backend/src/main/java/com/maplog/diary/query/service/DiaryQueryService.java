@@ -11,8 +11,6 @@ import com.maplog.diary.query.dto.DiaryDetailResponse;
 import com.maplog.diary.query.dto.DiaryMarkerResponse;
 import com.maplog.diary.query.dto.DiarySummaryResponse;
 import com.maplog.diary.query.mapper.DiaryQueryMapper;
-import com.maplog.user.command.domain.User;
-import com.maplog.user.command.repository.UserCommandRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -28,20 +26,18 @@ import java.util.List;
 public class DiaryQueryService {
 
     private final DiaryCommandRepository diaryCommandRepository;
-    private final UserCommandRepository userCommandRepository;
     private final DiaryShareRepository diaryShareRepository;
     private final DiaryQueryMapper diaryQueryMapper;
     private final FileStorageService fileStorageService;
 
-    public DiaryDetailResponse getDiaryDetail(String email, Long diaryId) {
-        User requestingUser = getUser(email);
+    public DiaryDetailResponse getDiaryDetail(Long userId, Long diaryId) {
         Diary diary = getDiary(diaryId);
 
-        if (!canAccess(requestingUser, diary)) {
+        if (!canAccess(userId, diary)) {
             throw new BusinessException(ErrorCode.DIARY_ACCESS_DENIED);
         }
 
-        DiaryDetailResponse response = diaryQueryMapper.findDiaryDetail(diaryId, requestingUser.getId());
+        DiaryDetailResponse response = diaryQueryMapper.findDiaryDetail(diaryId, userId);
         if (response == null) {
             throw new BusinessException(ErrorCode.DIARY_NOT_FOUND);
         }
@@ -56,54 +52,45 @@ public class DiaryQueryService {
         return response;
     }
 
-    public List<DiaryMarkerResponse> getMapMarkers(String email,
+    public List<DiaryMarkerResponse> getMapMarkers(Long userId,
                                                     Double minLat, Double maxLat,
                                                     Double minLng, Double maxLng) {
-        User user = getUser(email);
-        return diaryQueryMapper.findMapMarkers(minLat, maxLat, minLng, maxLng, user.getId());
+        return diaryQueryMapper.findMapMarkers(minLat, maxLat, minLng, maxLng, userId);
     }
 
-    public Page<DiarySummaryResponse> getMyDiaries(String email, Pageable pageable) {
-        User user = getUser(email);
+    public Page<DiarySummaryResponse> getMyDiaries(Long userId, Pageable pageable) {
         int offset = (int) pageable.getOffset();
         int size = pageable.getPageSize();
-        List<DiarySummaryResponse> items = diaryQueryMapper.findMyDiaries(user.getId(), offset, size);
-        long total = diaryQueryMapper.countMyDiaries(user.getId());
+        List<DiarySummaryResponse> items = diaryQueryMapper.findMyDiaries(userId, offset, size);
+        long total = diaryQueryMapper.countMyDiaries(userId);
         return new PageImpl<>(items, pageable, total);
     }
 
-    public Page<DiarySummaryResponse> getMyScraps(String email, Pageable pageable) {
-        User user = getUser(email);
+    public Page<DiarySummaryResponse> getMyScraps(Long userId, Pageable pageable) {
         int offset = (int) pageable.getOffset();
         int size = pageable.getPageSize();
-        List<DiarySummaryResponse> items = diaryQueryMapper.findMyScraps(user.getId(), offset, size);
-        long total = diaryQueryMapper.countMyScraps(user.getId());
+        List<DiarySummaryResponse> items = diaryQueryMapper.findMyScraps(userId, offset, size);
+        long total = diaryQueryMapper.countMyScraps(userId);
         return new PageImpl<>(items, pageable, total);
     }
 
-    public Page<DiarySummaryResponse> getFeedDiaries(String email, Pageable pageable) {
-        User user = getUser(email);
+    public Page<DiarySummaryResponse> getFeedDiaries(Long userId, Pageable pageable) {
         int offset = (int) pageable.getOffset();
         int size = pageable.getPageSize();
-        List<DiarySummaryResponse> items = diaryQueryMapper.findFeedDiaries(user.getId(), offset, size);
-        long total = diaryQueryMapper.countFeedDiaries(user.getId());
+        List<DiarySummaryResponse> items = diaryQueryMapper.findFeedDiaries(userId, offset, size);
+        long total = diaryQueryMapper.countFeedDiaries(userId);
         return new PageImpl<>(items, pageable, total);
     }
 
-    private boolean canAccess(User requestingUser, Diary diary) {
-        if (diary.isOwner(requestingUser.getId())) return true;
+    private boolean canAccess(Long userId, Diary diary) {
+        if (diary.isOwner(userId)) return true;
         if (diary.getVisibility() == Visibility.PRIVATE) return false;
         if (diary.getVisibility() == Visibility.FRIENDS_ONLY) {
-            return diaryShareRepository.existsByDiaryIdAndUserId(diary.getId(), requestingUser.getId());
+            return diaryShareRepository.existsByDiaryIdAndUserId(diary.getId(), userId);
         }
         return false;
     }
 
-    private User getUser(String email) {
-        return userCommandRepository.findByEmailAndDeletedAtIsNull(email)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-    }
-
     private Diary getDiary(Long diaryId) {
         return diaryCommandRepository.findByIdAndDeletedAtIsNull(diaryId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.DIARY_NOT_FOUND));
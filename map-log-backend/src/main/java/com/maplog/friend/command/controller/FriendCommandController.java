@@ -1,6 +1,7 @@
 package com.maplog.friend.command.controller;
 
 import com.maplog.common.response.ApiResponse;
+import com.maplog.common.security.CurrentUserId;
 import com.maplog.friend.command.dto.FriendRespondRequest;
 import com.maplog.friend.command.dto.SendFriendRequest;
 import com.maplog.friend.command.service.FriendCommandService;
@@ -8,8 +9,6 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -21,19 +20,19 @@ public class FriendCommandController {
 
     @PostMapping
     public ResponseEntity<ApiResponse<Void>> sendFriendRequest(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @RequestBody @Valid SendFriendRequest request) {
-        friendCommandService.sendFriendRequest(userDetails.getUsername(), request);
+        friendCommandService.sendFriendRequest(userId, request);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("친구 요청을 보냈습니다.", null));
     }
 
     @PatchMapping("/{friendId}")
     public ResponseEntity<ApiResponse<Void>> respondToRequest(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PathVariable Long friendId,
             @RequestBody @Valid FriendRespondRequest request) {
-        friendCommandService.respondToRequest(userDetails.getUsername(), friendId, request);
+        friendCommandService.respondToRequest(userId, friendId, request);
         return ResponseEntity.ok(ApiResponse.success("친구 요청에 응답했습니다.", null));
     }
 
@@ -43,9 +42,9 @@ public class FriendCommandController {
      */
     @DeleteMapping("/{friendId}")
     public ResponseEntity<ApiResponse<Void>> deleteFriend(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PathVariable Long friendId) {
-        friendCommandService.deleteFriend(userDetails.getUsername(), friendId);
+        friendCommandService.deleteFriend(userId, friendId);
         return ResponseEntity.ok(ApiResponse.success("친구를 삭제했습니다.", null));
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.maplog.friend.command.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 친구가 많아 타임라인에 펼쳐 쓰지 않는(fan-out-on-read) 작성자
+ *
+ * 친구 수가 app.feed.fanout.pull-threshold 이상이면 등록되고, 그 90% 밑으로 내려가면 빠집니다.
+ * 이 작성자의 일기는 피드 조회 시 diaries에서 직접 읽어 타임라인과 병합합니다.
+ */
+@Entity
+@Table(name = "feed_pull_authors")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class FeedPullAuthor {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false, name = "since")
+    private LocalDateTime since;
+}
@@ -0,0 +1,46 @@
+package com.maplog.friend.command.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 피드 타임라인 한 줄 (피드 주인이 볼 수 있는 친구 일기 하나당 한 행)
+ *
+ * 일기 작성/공개 범위 변경/삭제와 친구 수락/삭제 시 FeedFanoutService가 비동기로 채우고 지웁니다.
+ * 피드 조회는 (owner_id, created_at, diary_id) 인덱스를 역순으로 한 번 훑는 범위 조회가 됩니다.
+ * created_at은 일기의 작성 시각을 그대로 복사하므로 피드 순서는 기존(일기 작성 시각 역순)과 같습니다.
+ */
+@Entity
+@Table(name = "feed_timeline",
+        uniqueConstraints = @UniqueConstraint(name = "uk_feed_timeline_owner_diary", columnNames = {"owner_id", "diary_id"}),
+        indexes = {
+                @Index(name = "idx_feed_timeline_owner_created", columnList = "owner_id, created_at, diary_id"),
+                @Index(name = "idx_feed_timeline_owner_author", columnList = "owner_id, author_id"),
+                @Index(name = "idx_feed_timeline_diary", columnList = "diary_id")
+        })
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class FeedTimelineEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 피드를 보는 사용자
+    @Column(nullable = false, name = "owner_id")
+    private Long ownerId;
+
+    @Column(nullable = false, name = "diary_id")
+    private Long diaryId;
+
+    // 일기 작성자 (친구 삭제 시 이 작성자의 행만 지우기 위해 보관)
+    @Column(nullable = false, name = "author_id")
+    private Long authorId;
+
+    @Column(nullable = false, name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "friends",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"requester_id", "receiver_id"}))
+        uniqueConstraints = @UniqueConstraint(columnNames = {"requester_id", "receiver_id"}),
+        indexes = @Index(name = "idx_friends_receiver_status_created", columnList = "receiver_id, status, created_at"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Friend {
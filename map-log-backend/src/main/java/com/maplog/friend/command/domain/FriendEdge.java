@@ -0,0 +1,41 @@
+package com.maplog.friend.command.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 친구 관계의 방향 간선 (friends의 ACCEPTED 관계 하나당 A→B, B→A 두 행)
+ *
+ * friends는 (requester_id, receiver_id) 한 행이라 "내 친구"를 찾으려면 두 컬럼을 OR로 봐야 합니다.
+ * 이 테이블은 user_id = ? 한 조건으로 (user_id, friend_id) 인덱스를 타도록 비정규화한 읽기용 테이블입니다.
+ * 수락/삭제 시 FriendCommandService가 같은 트랜잭션에서 갱신하며, FriendEdgeBackfillJob이 누락분을 채웁니다.
+ */
+@Entity
+@Table(name = "friend_edges",
+        uniqueConstraints = @UniqueConstraint(name = "uk_friend_edges_user_friend", columnNames = {"user_id", "friend_id"}),
+        indexes = @Index(name = "idx_friend_edges_user_accepted", columnList = "user_id, accepted_at, friend_id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class FriendEdge {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false, name = "friend_id")
+    private Long friendId;
+
+    // 원본 friends.id (친구 삭제 API가 이 값으로 관계를 찾음)
+    @Column(nullable = false, name = "friendship_id")
+    private Long friendshipId;
+
+    @Column(nullable = false, name = "accepted_at")
+    private LocalDateTime acceptedAt;
+}
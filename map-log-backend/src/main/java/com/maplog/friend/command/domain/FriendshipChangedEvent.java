@@ -0,0 +1,9 @@
+package com.maplog.friend.command.domain;
+
+/**
+ * 두 사용자의 친구 관계가 생기거나(수락) 끊겼음(삭제)을 알리는 이벤트
+ * 피드 타임라인처럼 친구 관계로부터 만든 데이터를 다시 맞추는 신호로 사용합니다.
+ * (어느 쪽인지는 담지 않으며, 받는 쪽은 friend_edges의 현재 상태를 기준으로 처리합니다.)
+ */
+public record FriendshipChangedEvent(Long userId, Long otherUserId) {
+}
@@ -0,0 +1,16 @@
+package com.maplog.friend.command.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/** 타임라인 백필이 (created_at, id) 역순으로 훑는 일기 키 */
+@Getter
+@Setter
+@NoArgsConstructor
+public class FeedDiaryKeyRow {
+    private Long id;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,14 @@
+package com.maplog.friend.command.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** 간선 보정 작업이 찾아낸, 간선이 어긋난 친구 쌍 */
+@Getter
+@Setter
+@NoArgsConstructor
+public class FriendPairRow {
+    private Long userId;
+    private Long otherUserId;
+}
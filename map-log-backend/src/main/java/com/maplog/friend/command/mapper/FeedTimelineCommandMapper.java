@@ -0,0 +1,74 @@
+package com.maplog.friend.command.mapper;
+
+import com.maplog.friend.command.dto.FeedDiaryKeyRow;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 피드 타임라인(feed_timeline) 쓰기
+ *
+ * 모든 문장은 "현재 상태"를 조건으로 삼아 여러 번, 어떤 순서로 실행해도 결과가 같습니다.
+ * (일기가 지금 보이는지, 두 사용자가 지금 친구인지, 작성자가 지금 pull 대상인지를 SQL 안에서 확인)
+ */
+@Mapper
+public interface FeedTimelineCommandMapper {
+
+    /** 일기가 지금 친구에게 보이고 작성자가 pull 대상이 아니면, 작성자의 친구들 타임라인에 추가합니다. */
+    int fanOutDiary(@Param("diaryId") Long diaryId);
+
+    /** 일기가 지금 친구에게 보이지 않으면(비공개 전환, 삭제) 모든 타임라인에서 지웁니다. */
+    int retractDiary(@Param("diaryId") Long diaryId);
+
+    /** owner와 author가 지금 친구이면 author의 최근 일기 limit개(0이면 전부)를 owner의 타임라인에 추가합니다. */
+    int backfillFromAuthor(@Param("ownerId") Long ownerId,
+                           @Param("authorId") Long authorId,
+                           @Param("limit") int limit);
+
+    /** owner와 author가 지금 친구가 아니면 owner의 타임라인에서 author의 일기를 지웁니다. */
+    int removeAuthor(@Param("ownerId") Long ownerId,
+                     @Param("authorId") Long authorId);
+
+    /** 친구 수 (limit에서 세기를 멈춤) */
+    int countFriendsUpTo(@Param("userId") Long userId,
+                         @Param("limit") int limit);
+
+    int insertPullAuthor(@Param("userId") Long userId,
+                         @Param("since") LocalDateTime since);
+
+    int deletePullAuthor(@Param("userId") Long userId);
+
+    /** 작성자의 보이는 일기 키를 (beforeAt, beforeId) 다음부터 최신순으로 limit개 조회 (백필용) */
+    List<FeedDiaryKeyRow> findVisibleDiaryKeys(@Param("authorId") Long authorId,
+                                               @Param("beforeAt") LocalDateTime beforeAt,
+                                               @Param("beforeId") Long beforeId,
+                                               @Param("limit") int limit);
+
+    /** pull 대상에서 빠진 작성자의 주어진 일기를 모든 친구의 타임라인에 추가합니다. */
+    int backfillAuthorToFriends(@Param("authorId") Long authorId,
+                                @Param("diaryIds") Collection<Long> diaryIds);
+
+    /** 친구 수가 threshold 이상인 사용자를 pull 대상으로 등록합니다. (백필용) */
+    int insertPullAuthorsOver(@Param("threshold") int threshold,
+                              @Param("since") LocalDateTime since);
+
+    /** afterId 다음부터 id 순으로 friend_edges.id를 limit개 조회 (백필용) */
+    List<Long> findEdgeIds(@Param("afterId") long afterId,
+                           @Param("limit") int limit);
+
+    /** (afterId, toId] 구간 간선의 친구 일기(createdSince가 있으면 그 이후 것만)를 타임라인에 추가합니다. (백필용) */
+    int backfillEdges(@Param("afterId") long afterId,
+                      @Param("toId") long toId,
+                      @Param("createdSince") LocalDateTime createdSince);
+
+    /** afterId 다음부터 id 순으로 feed_timeline.id를 limit개 조회 (보정용) */
+    List<Long> findTimelineIds(@Param("afterId") long afterId,
+                               @Param("limit") int limit);
+
+    /** (afterId, toId] 구간에서 일기가 지금 보이지 않거나 두 사용자가 지금 친구가 아닌 행을 지웁니다. (보정용) */
+    int deleteStale(@Param("afterId") long afterId,
+                    @Param("toId") long toId);
+}
@@ -0,0 +1,45 @@
+package com.maplog.friend.command.mapper;
+
+import com.maplog.friend.command.dto.FriendPairRow;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Mapper
+public interface FriendEdgeCommandMapper {
+
+    /** 수락된 친구 관계의 양방향 간선 두 행을 INSERT 한 번으로 추가합니다. (이미 있으면 무시) */
+    int insertPair(@Param("friendshipId") Long friendshipId,
+                   @Param("userId1") Long userId1,
+                   @Param("userId2") Long userId2,
+                   @Param("acceptedAt") LocalDateTime acceptedAt);
+
+    /** 두 사용자 사이의 간선을 양방향 모두 삭제합니다. */
+    int deletePair(@Param("userId1") Long userId1,
+                   @Param("userId2") Long userId2);
+
+    /** afterId 다음부터 id 순으로 ACCEPTED 상태인 friends.id를 limit개 조회 (백필용) */
+    List<Long> findAcceptedFriendshipIds(@Param("afterId") long afterId,
+                                         @Param("limit") int limit);
+
+    /** 주어진 friends 행 중 ACCEPTED인데 간선이 한쪽이라도 없는 관계 */
+    List<FriendPairRow> findMissingPairs(@Param("friendshipIds") Collection<Long> friendshipIds);
+
+    /** 주어진 friends 행의 간선 중 없는 것만 추가합니다. */
+    int backfill(@Param("friendshipIds") Collection<Long> friendshipIds);
+
+    /** afterId 다음부터 id 순으로 friend_edges.id를 limit개 조회 (보정용) */
+    List<Long> findEdgeIds(@Param("afterId") long afterId,
+                           @Param("limit") int limit);
+
+    /** (afterId, toId] 범위의 간선 중 더 이상 ACCEPTED가 아닌 관계의 쌍 (한 쌍당 한 행) */
+    List<FriendPairRow> findOrphanPairs(@Param("afterId") long afterId,
+                                        @Param("toId") long toId);
+
+    /** (afterId, toId] 범위에서 더 이상 ACCEPTED가 아닌(삭제/거절된) 관계의 간선을 정리합니다. */
+    int deleteOrphans(@Param("afterId") long afterId,
+                      @Param("toId") long toId);
+}
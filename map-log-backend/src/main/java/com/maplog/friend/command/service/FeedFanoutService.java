@@ -0,0 +1,193 @@
+package com.maplog.friend.command.service;
+
+import com.maplog.diary.command.domain.DiaryFeedChangedEvent;
+import com.maplog.friend.command.domain.FriendshipChangedEvent;
+import com.maplog.friend.command.dto.FeedDiaryKeyRow;
+import com.maplog.friend.command.mapper.FeedTimelineCommandMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FeedFanoutService - 피드 타임라인(feed_timeline)을 커밋 후 비동기로 채우고 지웁니다. (fan-out-on-write)
+ *
+ * 【처리】
+ * - 일기 작성/공개 범위 변경/삭제 (DiaryFeedChangedEvent)
+ *   → 지금 보이는 일기면 작성자의 친구 타임라인에 추가, 보이지 않으면 모든 타임라인에서 삭제
+ * - 친구 수락/삭제 (FriendshipChangedEvent)
+ *   → 지금 친구면 서로의 일기를 추가, 친구가 아니면 서로의 일기를 삭제
+ * 모든 SQL이 이벤트 내용이 아니라 현재 상태를 조건으로 삼으므로, 이벤트가 늦거나 순서가 바뀌어도 결과가 같습니다.
+ * 반영 전 잠깐 남는 행은 피드 조회 쪽에서 일기 상태와 친구 관계로 한 번 더 거릅니다.
+ *
+ * 【인기 작성자 (fan-out-on-read)】
+ * 친구가 pull-threshold명 이상인 작성자는 feed_pull_authors에 등록하고 타임라인에 펼쳐 쓰지 않습니다.
+ * 피드 조회 시 이 작성자들의 일기를 diaries에서 직접 읽어 병합합니다. (FriendQueryService.getFeed)
+ * 경계에서 오가지 않도록 threshold의 90% 밑으로 내려가야 빠지며, 빠질 때 일기를 친구들 타임라인에 채웁니다.
+ * (일기를 BACKFILL_CHUNK_SIZE개씩 끊어 INSERT하여 한 문장이 친구 수 × 일기 수만큼 커지지 않게 함)
+ *
+ * 【백필 범위】
+ * 피드는 타임라인만 읽으므로 타임라인에 없는 일기는 피드와 total에 나오지 않습니다.
+ * backfill-per-friend가 0(기본값)이면 상대의 보이는 일기를 전부 채우고,
+ * 양수 N이면 최신 N개만 채워 그보다 오래된 일기는 피드에서 빠집니다. (쓰기 양을 줄이는 대신 피드가 잘림)
+ *
+ * 【실행】
+ * 전용 스레드 풀(pool-size)에서 작업마다 짧은 새 트랜잭션으로 실행합니다.
+ * 큐(queue-capacity)가 가득 차면 작업을 버리고 로그와 메트릭(feed.fanout.dropped)을 남깁니다.
+ * (요청 스레드의 커밋 후 콜백에서 두 번째 커넥션을 잡지 않기 위함)
+ * 버려지거나 실패한 작업, 종료 시 큐에 남은 작업은 FeedTimelineBackfillJob의 주기 보정이 맞춥니다.
+ */
+@Slf4j
+@Component
+public class FeedFanoutService {
+
+    // pull 대상에서 빠진 작성자의 일기를 친구들 타임라인에 채울 때 한 문장에 넣는 일기 수
+    private static final int BACKFILL_CHUNK_SIZE = 100;
+
+    private final FeedTimelineCommandMapper feedTimelineCommandMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final Counter droppedCounter;
+    private final int pullThreshold;
+    private final int backfillPerFriend;
+
+    @Autowired
+    public FeedFanoutService(FeedTimelineCommandMapper feedTimelineCommandMapper,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.feed.fanout.pull-threshold:1000}") int pullThreshold,
+                             @Value("${app.feed.fanout.backfill-per-friend:0}") int backfillPerFriend,
+                             @Value("${app.feed.fanout.pool-size:2}") int poolSize,
+                             @Value("${app.feed.fanout.queue-capacity:10000}") int queueCapacity) {
+        this(feedTimelineCommandMapper, transactionManager, meterRegistry, pullThreshold, backfillPerFriend,
+                newExecutor(poolSize, queueCapacity));
+    }
+
+    FeedFanoutService(FeedTimelineCommandMapper feedTimelineCommandMapper,
+                      PlatformTransactionManager transactionManager,
+                      MeterRegistry meterRegistry,
+                      int pullThreshold, int backfillPerFriend, Executor executor) {
+        this.feedTimelineCommandMapper = feedTimelineCommandMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 커밋 후 콜백에서 호출 스레드로 실행되더라도 끝난 트랜잭션에 섞이지 않도록 항상 새 트랜잭션을 연다.
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.pullThreshold = Math.max(1, pullThreshold);
+        this.backfillPerFriend = Math.max(0, backfillPerFriend);
+        this.executor = executor;
+        this.droppedCounter = Counter.builder("feed.fanout.dropped").register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDiaryFeedChanged(DiaryFeedChangedEvent event) {
+        submit("diary " + event.diaryId(), () -> syncDiary(event.diaryId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFriendshipChanged(FriendshipChangedEvent event) {
+        submit("friendship " + event.userId() + "-" + event.otherUserId(),
+                () -> syncFriendship(event.userId(), event.otherUserId()));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+            executorService.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    void syncDiary(Long diaryId) {
+        int removed = feedTimelineCommandMapper.retractDiary(diaryId);
+        int added = feedTimelineCommandMapper.fanOutDiary(diaryId);
+        log.debug("[피드] 일기 {} 타임라인 반영 - 추가 {}건, 삭제 {}건", diaryId, added, removed);
+    }
+
+    void syncFriendship(Long userId, Long otherUserId) {
+        // pull 대상 여부를 먼저 정해야 아래 백필이 그 결과를 따른다.
+        refreshPullAuthor(userId);
+        refreshPullAuthor(otherUserId);
+        syncPair(userId, otherUserId);
+        syncPair(otherUserId, userId);
+    }
+
+    private void syncPair(Long ownerId, Long authorId) {
+        feedTimelineCommandMapper.removeAuthor(ownerId, authorId);
+        feedTimelineCommandMapper.backfillFromAuthor(ownerId, authorId, backfillPerFriend);
+    }
+
+    private void refreshPullAuthor(Long userId) {
+        int friends = feedTimelineCommandMapper.countFriendsUpTo(userId, pullThreshold);
+        if (friends >= pullThreshold) {
+            if (feedTimelineCommandMapper.insertPullAuthor(userId, LocalDateTime.now()) > 0) {
+                log.info("[피드] 사용자 {} 친구 {}명 이상 - 조회 시 병합으로 전환", userId, pullThreshold);
+            }
+        } else if (friends < pullThreshold * 9 / 10 && feedTimelineCommandMapper.deletePullAuthor(userId) > 0) {
+            int added = backfillAuthorToFriends(userId);
+            log.info("[피드] 사용자 {} 타임라인 펼쳐 쓰기로 복귀 - {}건 백필", userId, added);
+        }
+    }
+
+    private int backfillAuthorToFriends(Long authorId) {
+        int remaining = backfillPerFriend > 0 ? backfillPerFriend : Integer.MAX_VALUE;
+        int added = 0;
+        FeedDiaryKeyRow last = null;
+        while (remaining > 0) {
+            List<FeedDiaryKeyRow> keys = feedTimelineCommandMapper.findVisibleDiaryKeys(authorId,
+                    last != null ? last.getCreatedAt() : null, last != null ? last.getId() : null,
+                    Math.min(BACKFILL_CHUNK_SIZE, remaining));
+            if (keys.isEmpty()) {
+                break;
+            }
+            added += feedTimelineCommandMapper.backfillAuthorToFriends(authorId,
+                    keys.stream().map(FeedDiaryKeyRow::getId).toList());
+            remaining -= keys.size();
+            last = keys.get(keys.size() - 1);
+        }
+        return added;
+    }
+
+    private void submit(String description, Runnable task) {
+        Runnable job = () -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> task.run());
+            } catch (RuntimeException e) {
+                // 다음 변경이나 주기 보정에서 다시 맞춰진다.
+                log.warn("[피드] 타임라인 반영 실패 - {}: {}", description, e.getMessage());
+            }
+        };
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException e) {
+            droppedCounter.increment();
+            log.warn("[피드] 반영 대기열이 가득 차 작업을 버림 - {} (주기 보정에서 반영)", description);
+        }
+    }
+
+    private static ExecutorService newExecutor(int poolSize, int queueCapacity) {
+        int threads = Math.max(1, poolSize);
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "feed-fanout");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,136 @@
+package com.maplog.friend.command.service;
+
+import com.maplog.common.lock.JobLockService;
+import com.maplog.friend.command.mapper.FeedTimelineCommandMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * FeedTimelineBackfillJob - friend_edges와 diaries로 feed_timeline을 채우고 어긋난 행을 보정합니다.
+ *
+ * 【용도】
+ * - feed_timeline 도입 전부터 있던 친구 일기의 타임라인 생성
+ * - 비동기 반영 실패, 큐 초과로 버린 작업, 종료 시 남은 작업, 커밋 직후 파드 중단 등으로 유실된 반영 보정
+ *
+ * 【처리】
+ * 기동 후 한 번(friend_edges 백필 이후), 친구가 pull-threshold명 이상인 작성자를 pull 대상으로 등록하고,
+ * friend_edges를 id 순으로 batch-size개씩 훑으며 친구 일기를 INSERT IGNORE로 추가합니다.
+ * 문장마다 바로 커밋되며 여러 파드에서 동시에 돌아도 결과는 같습니다. (app.feed.timeline.backfill-on-startup=false로 끔)
+ *
+ * 【범위】
+ * 피드는 타임라인만 읽으므로 여기서 빠진 일기는 피드와 total에 나오지 않습니다.
+ * backfill-days가 0(기본값)이면 보이는 일기를 기간 제한 없이 모두 채우고,
+ * 양수 N이면 최근 N일 것만 채워 그보다 오래된 친구 일기는 피드에서 빠집니다.
+ *
+ * 【주기 보정】
+ * reconcile-interval-ms마다 feed_timeline을 id 순으로 batch-size개씩 훑어 보이지 않는 일기와
+ * 친구가 아닌 작성자의 행을 지우고, 위 백필을 다시 실행해 빠진 행을 채웁니다.
+ * 유실된 반영은 늦어도 한 주기 안에 맞춰집니다. (그 사이 남은 행은 피드 조회 쪽에서 한 번 더 거름)
+ *
+ * 【단일 실행】
+ * 전체 이력을 훑으므로, 롤링 배포로 파드가 차례로 뜰 때 backfill-lease-ms 동안은
+ * JobLockService 임대 잠금을 얻은 파드 하나만 실행합니다.
+ * 주기 보정도 별도 잠금(reconcile-interval-ms의 90%)을 얻은 파드 하나만 실행합니다.
+ */
+@Slf4j
+@Component
+public class FeedTimelineBackfillJob {
+
+    static final String LOCK_NAME = "feed-timeline-backfill";
+    static final String RECONCILE_LOCK_NAME = "feed-timeline-reconcile";
+
+    private final FeedTimelineCommandMapper feedTimelineCommandMapper;
+    private final JobLockService jobLockService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int backfillDays;
+    private final int pullThreshold;
+    private final Duration lockLease;
+    private final Duration reconcileLockLease;
+
+    public FeedTimelineBackfillJob(FeedTimelineCommandMapper feedTimelineCommandMapper,
+                                   JobLockService jobLockService,
+                                   @Value("${app.feed.timeline.backfill-on-startup:true}") boolean enabled,
+                                   @Value("${app.feed.timeline.backfill-batch-size:200}") int batchSize,
+                                   @Value("${app.feed.timeline.backfill-days:0}") int backfillDays,
+                                   @Value("${app.feed.fanout.pull-threshold:1000}") int pullThreshold,
+                                   @Value("${app.feed.timeline.backfill-lease-ms:3600000}") long leaseMillis,
+                                   @Value("${app.feed.timeline.reconcile-interval-ms:3600000}") long reconcileIntervalMillis) {
+        this.feedTimelineCommandMapper = feedTimelineCommandMapper;
+        this.jobLockService = jobLockService;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.backfillDays = Math.max(0, backfillDays);
+        this.pullThreshold = Math.max(1, pullThreshold);
+        this.lockLease = Duration.ofMillis(leaseMillis);
+        this.reconcileLockLease = Duration.ofMillis(reconcileIntervalMillis * 9 / 10);
+    }
+
+    // FriendEdgeBackfillJob(@Order(0))이 간선을 채운 뒤에 실행한다.
+    @Order(1)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (enabled && jobLockService.tryAcquire(LOCK_NAME, lockLease)) {
+            backfill(LocalDateTime.now());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.feed.timeline.reconcile-interval-ms:3600000}",
+            initialDelayString = "${app.feed.timeline.reconcile-interval-ms:3600000}")
+    public void reconcileScheduled() {
+        if (!jobLockService.tryAcquire(RECONCILE_LOCK_NAME, reconcileLockLease)) {
+            return;
+        }
+        reconcile(LocalDateTime.now());
+    }
+
+    /** 어긋난 행을 지운 뒤 빠진 행을 채웁니다. @return 지운 행 수 */
+    int reconcile(LocalDateTime now) {
+        int removed = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> timelineIds = feedTimelineCommandMapper.findTimelineIds(afterId, batchSize);
+            if (timelineIds.isEmpty()) {
+                break;
+            }
+            long toId = timelineIds.get(timelineIds.size() - 1);
+            removed += feedTimelineCommandMapper.deleteStale(afterId, toId);
+            afterId = toId;
+        }
+        if (removed > 0) {
+            log.info("[피드] feed_timeline 보정 - 정리 {}건", removed);
+        }
+        backfill(now);
+        return removed;
+    }
+
+    /** @return 새로 추가한 타임라인 행 수 */
+    public int backfill(LocalDateTime now) {
+        int pullAuthors = feedTimelineCommandMapper.insertPullAuthorsOver(pullThreshold, now);
+        LocalDateTime createdSince = backfillDays > 0 ? now.minusDays(backfillDays) : null;
+        int inserted = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> edgeIds = feedTimelineCommandMapper.findEdgeIds(afterId, batchSize);
+            if (edgeIds.isEmpty()) {
+                break;
+            }
+            long toId = edgeIds.get(edgeIds.size() - 1);
+            inserted += feedTimelineCommandMapper.backfillEdges(afterId, toId, createdSince);
+            afterId = toId;
+        }
+        if (inserted > 0 || pullAuthors > 0) {
+            log.info("[피드] feed_timeline 백필 - 추가 {}건, pull 작성자 {}명", inserted, pullAuthors);
+        }
+        return inserted;
+    }
+}
@@ -4,38 +4,61 @@ import com.maplog.common.exception.BusinessException;
 import com.maplog.common.exception.ErrorCode;
 import com.maplog.friend.command.domain.Friend;
 import com.maplog.friend.command.domain.FriendStatus;
+import com.maplog.friend.command.domain.FriendshipChangedEvent;
 import com.maplog.friend.command.dto.FriendRespondRequest;
 import com.maplog.friend.command.dto.SendFriendRequest;
+import com.maplog.friend.command.mapper.FriendEdgeCommandMapper;
 import com.maplog.friend.command.repository.FriendCommandRepository;
+import com.maplog.friend.query.service.FriendGraphCache;
+import com.maplog.friend.query.service.FriendSuggestionService;
+import com.maplog.friend.query.service.PendingRequestCountService;
 import com.maplog.notification.command.service.NotificationCommandService;
 import com.maplog.sse.SseEmitterService;
 import com.maplog.user.command.domain.User;
 import com.maplog.user.command.repository.UserCommandRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
+/**
+ * FriendCommandService - 친구 요청/응답/삭제
+ *
+ * 【friend_edges】
+ * 수락 시 양방향 간선 두 행을 추가하고 삭제 시 지웁니다. (같은 트랜잭션)
+ * 친구 목록, 피드, 친구 여부 조회는 friends 대신 이 간선 테이블을 user_id 동등 조건으로 읽습니다.
+ * 간선이 바뀌면 두 사용자의 FriendGraphCache 항목도 커밋 시점에 비웁니다.
+ * 요청/응답/삭제는 친구 추천 결과에도 영향을 주므로 FriendSuggestionService 캐시도 함께 비웁니다.
+ * (추천 쪽이 그래프 캐시의 친구 목록으로 영향받는 사용자를 찾으므로 그래프보다 먼저 비운다.)
+ * 수락/삭제 시 FriendshipChangedEvent를 발행하여 커밋 후 두 사용자의 피드 타임라인을 비동기로 맞춥니다.
+ */
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class FriendCommandService {
 
     private final FriendCommandRepository friendCommandRepository;
+    private final FriendEdgeCommandMapper friendEdgeCommandMapper;
+    private final FriendGraphCache friendGraphCache;
+    private final FriendSuggestionService friendSuggestionService;
+    private final PendingRequestCountService pendingRequestCountService;
     private final UserCommandRepository userCommandRepository;
     private final NotificationCommandService notificationCommandService;
     private final SseEmitterService sseEmitterService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public void sendFriendRequest(String email, SendFriendRequest request) {
-        User requester = getUser(email);
-        Long requesterId = requester.getId();
+    public void sendFriendRequest(Long requesterId, SendFriendRequest request) {
         Long receiverId = request.receiverId();
 
         if (requesterId.equals(receiverId)) {
             throw new BusinessException(ErrorCode.FRIEND_REQUEST_SELF);
         }
 
+        User requester = getUser(requesterId);
+
         userCommandRepository.findByIdAndDeletedAtIsNull(receiverId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
 
@@ -50,22 +73,25 @@ public class FriendCommandService {
 
             // REJECTED 상태인 기존 친구 요청을 재활성화하여 중복 insert를 방지한다.
             existingFriend.reRequest(requesterId, receiverId);
+            friendSuggestionService.invalidateAfterCommit(requesterId, receiverId);
+            pendingRequestCountService.evictAfterCommit(receiverId);
             notificationCommandService.createFriendRequestNotification(receiverId, existingFriend.getId(),
                     requester.getNickname());
             return;
         }
 
         Friend friend = friendCommandRepository.save(Friend.create(requesterId, receiverId));
+        friendSuggestionService.invalidateAfterCommit(requesterId, receiverId);
+        pendingRequestCountService.evictAfterCommit(receiverId);
         notificationCommandService.createFriendRequestNotification(receiverId, friend.getId(),
                 requester.getNickname());
     }
 
-    public void respondToRequest(String email, Long friendId, FriendRespondRequest request) {
-        User receiver = getUser(email);
+    public void respondToRequest(Long userId, Long friendId, FriendRespondRequest request) {
         Friend friend = friendCommandRepository.findById(friendId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.FRIEND_REQUEST_NOT_FOUND));
 
-        if (!friend.getReceiverId().equals(receiver.getId())) {
+        if (!friend.getReceiverId().equals(userId)) {
             throw new BusinessException(ErrorCode.FORBIDDEN);
         }
 
@@ -74,7 +100,14 @@ public class FriendCommandService {
         }
 
         if (request.status() == FriendStatus.ACCEPTED) {
+            User receiver = getUser(userId);
             friend.accept();
+            friendEdgeCommandMapper.insertPair(friend.getId(), friend.getRequesterId(), friend.getReceiverId(),
+                    LocalDateTime.now());
+            friendSuggestionService.invalidateAfterCommit(friend.getRequesterId(), friend.getReceiverId());
+            pendingRequestCountService.evictAfterCommit(userId);
+            friendGraphCache.invalidateAfterCommit(friend.getRequesterId(), friend.getReceiverId());
+            eventPublisher.publishEvent(new FriendshipChangedEvent(friend.getRequesterId(), friend.getReceiverId()));
             notificationCommandService.createFriendAcceptedNotification(friend.getRequesterId(), friend.getId(),
                     receiver.getNickname());
 
@@ -84,6 +117,8 @@ public class FriendCommandService {
                             String.format("'%s'님이 친구 요청을 수락했습니다.", receiver.getNickname())));
         } else if (request.status() == FriendStatus.REJECTED) {
             friend.reject();
+            friendSuggestionService.invalidateAfterCommit(friend.getRequesterId(), friend.getReceiverId());
+            pendingRequestCountService.evictAfterCommit(userId);
         } else {
             throw new BusinessException(ErrorCode.BAD_REQUEST);
         }
@@ -95,28 +130,35 @@ public class FriendCommandService {
      * - 요청한 사용자가 해당 관계의 당사자(요청자 또는 수신자)인지 검증
      * - 검증 통과 시 친구 관계 레코드를 DB에서 삭제
      */
-    public void deleteFriend(String email, Long friendId) {
-        User user = getUser(email);
+    public void deleteFriend(Long userId, Long friendId) {
         Friend friend = friendCommandRepository.findById(friendId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.FRIEND_REQUEST_NOT_FOUND));
 
         // 요청자 또는 수신자 중 한 명이어야 삭제 가능
-        if (!friend.getRequesterId().equals(user.getId()) && !friend.getReceiverId().equals(user.getId())) {
+        if (!friend.getRequesterId().equals(userId) && !friend.getReceiverId().equals(userId)) {
             throw new BusinessException(ErrorCode.FORBIDDEN);
         }
 
+        if (friend.isPending()) {
+            // 보낸 요청 취소 또는 받은 요청 삭제
+            pendingRequestCountService.evictAfterCommit(friend.getReceiverId());
+        }
         friendCommandRepository.delete(friend);
+        friendEdgeCommandMapper.deletePair(friend.getRequesterId(), friend.getReceiverId());
+        friendSuggestionService.invalidateAfterCommit(friend.getRequesterId(), friend.getReceiverId());
+        friendGraphCache.invalidateAfterCommit(friend.getRequesterId(), friend.getReceiverId());
+        eventPublisher.publishEvent(new FriendshipChangedEvent(friend.getRequesterId(), friend.getReceiverId()));
 
         // 【SSE 실시간 푸시】상대방에게 친구 삭제 이벤트 전송
-        Long otherUserId = friend.getRequesterId().equals(user.getId())
+        Long otherUserId = friend.getRequesterId().equals(userId)
                 ? friend.getReceiverId()
                 : friend.getRequesterId();
         sseEmitterService.send(otherUserId, "notification",
                 Map.of("type", "FRIEND_DELETED", "message", "친구가 삭제되었습니다."));
     }
 
-    private User getUser(String email) {
-        return userCommandRepository.findByEmailAndDeletedAtIsNull(email)
+    private User getUser(Long userId) {
+        return userCommandRepository.findByIdAndDeletedAtIsNull(userId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
     }
 }
@@ -0,0 +1,143 @@
+package com.maplog.friend.command.service;
+
+import com.maplog.common.lock.JobLockService;
+import com.maplog.friend.command.domain.FriendshipChangedEvent;
+import com.maplog.friend.command.dto.FriendPairRow;
+import com.maplog.friend.command.mapper.FriendEdgeCommandMapper;
+import com.maplog.friend.query.service.FriendGraphCache;
+import com.maplog.friend.query.service.FriendSuggestionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FriendEdgeBackfillJob - friends의 ACCEPTED 관계로 friend_edges를 채우고 어긋난 간선을 보정합니다.
+ *
+ * 【용도】
+ * - friend_edges 도입 전부터 있던 친구 관계의 간선 생성
+ * - 롤링 배포 중 구버전 파드의 수락/삭제, 수동 데이터 수정 등으로 어긋난 간선 보정
+ *
+ * 【처리】
+ * 1. friend_edges를 id 순으로 batch-size개씩 훑으며 ACCEPTED가 아닌 관계의 간선을 지움
+ * 2. friends를 id 순으로 batch-size개씩 훑으며 없는 간선만 INSERT IGNORE로 추가
+ * 지우기를 먼저 해서, 같은 쌍이 다시 수락되어 간선이 옛 friendship_id로 남아 있던 경우도 한 번에 맞춥니다.
+ * 문장마다 바로 커밋되므로 잠금이 짧고, 여러 파드에서 동시에 돌아도 결과는 같습니다.
+ *
+ * 【실행 시점】
+ * - 기동 후 한 번 (app.friend.edges.backfill-on-startup=false로 끔)
+ * - 이후 reconcile-interval-ms마다, JobLockService 임대 잠금(주기의 90%)을 얻은 파드 하나만 실행
+ *   주기 실행에서 바뀐 쌍은 FriendshipChangedEvent로 피드 타임라인을 맞추고 친구 그래프/추천 캐시를 비웁니다.
+ */
+@Slf4j
+@Component
+public class FriendEdgeBackfillJob {
+
+    static final String LOCK_NAME = "friend-edges-reconcile";
+
+    private final FriendEdgeCommandMapper friendEdgeCommandMapper;
+    private final JobLockService jobLockService;
+    private final FriendGraphCache friendGraphCache;
+    private final FriendSuggestionService friendSuggestionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration lockLease;
+
+    public FriendEdgeBackfillJob(FriendEdgeCommandMapper friendEdgeCommandMapper,
+                                 JobLockService jobLockService,
+                                 FriendGraphCache friendGraphCache,
+                                 FriendSuggestionService friendSuggestionService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${app.friend.edges.backfill-on-startup:true}") boolean enabled,
+                                 @Value("${app.friend.edges.backfill-batch-size:1000}") int batchSize,
+                                 @Value("${app.friend.edges.reconcile-interval-ms:600000}") long intervalMillis) {
+        this.friendEdgeCommandMapper = friendEdgeCommandMapper;
+        this.jobLockService = jobLockService;
+        this.friendGraphCache = friendGraphCache;
+        this.friendSuggestionService = friendSuggestionService;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.lockLease = Duration.ofMillis(intervalMillis * 9 / 10);
+    }
+
+    // FeedTimelineBackfillJob이 이 간선을 읽으므로 먼저 실행한다.
+    // 기동 직후에는 캐시가 비어 있고 타임라인도 이어서 백필되므로 이벤트를 내지 않는다.
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (enabled) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.friend.edges.reconcile-interval-ms:600000}",
+            initialDelayString = "${app.friend.edges.reconcile-interval-ms:600000}")
+    public void reconcileScheduled() {
+        if (!jobLockService.tryAcquire(LOCK_NAME, lockLease)) {
+            return;
+        }
+        for (FriendPairRow pair : reconcile()) {
+            friendGraphCache.invalidateAfterCommit(pair.getUserId(), pair.getOtherUserId());
+            friendSuggestionService.invalidateAfterCommit(pair.getUserId(), pair.getOtherUserId());
+            eventPublisher.publishEvent(new FriendshipChangedEvent(pair.getUserId(), pair.getOtherUserId()));
+        }
+    }
+
+    /** @return 간선을 지우거나 추가한 친구 쌍 */
+    List<FriendPairRow> reconcile() {
+        List<FriendPairRow> changed = new ArrayList<>();
+        int removed = deleteOrphans(changed);
+        int inserted = backfill(changed);
+        if (inserted > 0 || removed > 0) {
+            log.info("[친구] friend_edges 보정 - 추가 {}건, 정리 {}건", inserted, removed);
+        }
+        return changed;
+    }
+
+    private int deleteOrphans(List<FriendPairRow> changed) {
+        int removed = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> edgeIds = friendEdgeCommandMapper.findEdgeIds(afterId, batchSize);
+            if (edgeIds.isEmpty()) {
+                break;
+            }
+            long toId = edgeIds.get(edgeIds.size() - 1);
+            List<FriendPairRow> orphans = friendEdgeCommandMapper.findOrphanPairs(afterId, toId);
+            if (!orphans.isEmpty()) {
+                removed += friendEdgeCommandMapper.deleteOrphans(afterId, toId);
+                changed.addAll(orphans);
+            }
+            afterId = toId;
+        }
+        return removed;
+    }
+
+    private int backfill(List<FriendPairRow> changed) {
+        int inserted = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> friendshipIds = friendEdgeCommandMapper.findAcceptedFriendshipIds(afterId, batchSize);
+            if (friendshipIds.isEmpty()) {
+                break;
+            }
+            List<FriendPairRow> missing = friendEdgeCommandMapper.findMissingPairs(friendshipIds);
+            if (!missing.isEmpty()) {
+                inserted += friendEdgeCommandMapper.backfill(friendshipIds);
+                changed.addAll(missing);
+            }
+            afterId = friendshipIds.get(friendshipIds.size() - 1);
+        }
+        return inserted;
+    }
+}
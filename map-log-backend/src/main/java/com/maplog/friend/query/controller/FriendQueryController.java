@@ -1,19 +1,25 @@
 package com.maplog.friend.query.controller;
 
 import com.maplog.common.response.ApiResponse;
+import com.maplog.common.response.CursorPage;
+import com.maplog.common.security.CurrentUserId;
 import com.maplog.diary.query.dto.DiarySummaryResponse;
 import com.maplog.friend.query.dto.FriendRequestResponse;
+import com.maplog.friend.query.dto.FriendSuggestionResponse;
 import com.maplog.friend.query.dto.FriendSummaryResponse;
+import com.maplog.friend.query.dto.MutualFriendsResponse;
+import com.maplog.friend.query.dto.PendingCountResponse;
 import com.maplog.friend.query.service.FriendQueryService;
+import com.maplog.friend.query.service.FriendSuggestionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -22,28 +28,95 @@ import java.util.List;
 @RequiredArgsConstructor
 public class FriendQueryController {
 
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+    private static final int MAX_FRIEND_PAGE_SIZE = 100;
+
     private final FriendQueryService friendQueryService;
+    private final FriendSuggestionService friendSuggestionService;
 
     @GetMapping("/api/friends")
     public ResponseEntity<ApiResponse<List<FriendSummaryResponse>>> getFriends(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        List<FriendSummaryResponse> friends = friendQueryService.getFriends(userDetails.getUsername());
+            @CurrentUserId Long userId) {
+        List<FriendSummaryResponse> friends = friendQueryService.getFriends(userId);
+        return ResponseEntity.ok(ApiResponse.success(friends));
+    }
+
+    /**
+     * 커서 기반 친구 목록 - GET /api/friends/scroll?cursor=&size=
+     * 수락 시각 역순이며, 다음 페이지는 nextCursor를 cursor로 넘겨 조회합니다.
+     */
+    @GetMapping("/api/friends/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<FriendSummaryResponse>>> getFriendsByCursor(
+            @CurrentUserId Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<FriendSummaryResponse> friends = friendQueryService.getFriendsByCursor(
+                userId, cursor, Math.min(Math.max(size, 1), MAX_FRIEND_PAGE_SIZE));
         return ResponseEntity.ok(ApiResponse.success(friends));
     }
 
+    /** 나와 상대의 공통 친구 */
+    @GetMapping("/api/friends/{otherUserId}/mutual")
+    public ResponseEntity<ApiResponse<MutualFriendsResponse>> getMutualFriends(
+            @CurrentUserId Long userId,
+            @PathVariable Long otherUserId) {
+        return ResponseEntity.ok(ApiResponse.success(friendQueryService.getMutualFriends(userId, otherUserId)));
+    }
+
+    /** 알 수도 있는 사람 (공통 친구 수 내림차순) */
+    @GetMapping("/api/friends/suggestions")
+    public ResponseEntity<ApiResponse<List<FriendSuggestionResponse>>> getSuggestions(
+            @CurrentUserId Long userId,
+            @RequestParam(defaultValue = "20") int size) {
+        int limit = Math.max(1, Math.min(size, friendSuggestionService.getMaxResults()));
+        return ResponseEntity.ok(ApiResponse.success(friendSuggestionService.getSuggestions(userId, limit)));
+    }
+
     @GetMapping("/api/friends/pending")
     public ResponseEntity<ApiResponse<Page<FriendRequestResponse>>> getPendingRequests(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<FriendRequestResponse> requests = friendQueryService.getPendingRequests(userDetails.getUsername(), pageable);
+        Page<FriendRequestResponse> requests = friendQueryService.getPendingRequests(userId, pageable);
         return ResponseEntity.ok(ApiResponse.success(requests));
     }
 
+    /** 커서 기반 받은 친구 요청 - GET /api/friends/pending/scroll?cursor=&size= (요청 시각 역순) */
+    @GetMapping("/api/friends/pending/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<FriendRequestResponse>>> getPendingRequestsByCursor(
+            @CurrentUserId Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<FriendRequestResponse> requests = friendQueryService.getPendingRequestsByCursor(
+                userId, cursor, Math.min(Math.max(size, 1), MAX_FRIEND_PAGE_SIZE));
+        return ResponseEntity.ok(ApiResponse.success(requests));
+    }
+
+    /** 받은 친구 요청 배지용 대기 중인 요청 수 */
+    @GetMapping("/api/friends/pending/count")
+    public ResponseEntity<ApiResponse<PendingCountResponse>> getPendingCount(
+            @CurrentUserId Long userId) {
+        return ResponseEntity.ok(ApiResponse.success(friendQueryService.getPendingCount(userId)));
+    }
+
     @GetMapping("/api/feed")
     public ResponseEntity<ApiResponse<Page<DiarySummaryResponse>>> getFeed(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<DiarySummaryResponse> feed = friendQueryService.getFeed(userDetails.getUsername(), pageable);
+        Page<DiarySummaryResponse> feed = friendQueryService.getFeed(userId, pageable);
+        return ResponseEntity.ok(ApiResponse.success(feed));
+    }
+
+    /**
+     * 커서 기반 피드 - GET /api/feed/scroll?cursor=&size=
+     * 전체 개수 대신 hasNext/nextCursor를 돌려주며, 다음 페이지는 nextCursor를 cursor로 넘겨 조회합니다.
+     */
+    @GetMapping("/api/feed/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<DiarySummaryResponse>>> getFeedByCursor(
+            @CurrentUserId Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<DiarySummaryResponse> feed = friendQueryService.getFeedByCursor(
+                userId, cursor, Math.min(Math.max(size, 1), MAX_FEED_PAGE_SIZE));
         return ResponseEntity.ok(ApiResponse.success(feed));
     }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.maplog.friend.query.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** friend_edges 한 행 (여러 사용자의 친구 목록을 한 번에 적재할 때 사용) */
+@Getter
+@Setter
+@NoArgsConstructor
+public class FriendEdgeRow {
+    private Long userId;
+    private Long friendId;
+}
@@ -0,0 +1,15 @@
+package com.maplog.friend.query.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class FriendSuggestionResponse {
+    private Long userId;
+    private String nickname;
+    private String profileImageUrl;
+    private int mutualFriendCount;
+}
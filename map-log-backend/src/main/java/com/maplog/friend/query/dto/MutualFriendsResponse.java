@@ -0,0 +1,7 @@
+package com.maplog.friend.query.dto;
+
+import java.util.List;
+
+/** 두 사용자의 공통 친구 */
+public record MutualFriendsResponse(int count, List<Long> userIds) {
+}
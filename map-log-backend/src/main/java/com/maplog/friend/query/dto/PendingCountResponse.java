@@ -0,0 +1,7 @@
+package com.maplog.friend.query.dto;
+
+/**
+ * 받은 친구 요청 배지용 대기 중인 요청 수
+ */
+public record PendingCountResponse(long pendingCount) {
+}
@@ -1,11 +1,15 @@
 package com.maplog.friend.query.mapper;
 
 import com.maplog.diary.query.dto.DiarySummaryResponse;
+import com.maplog.friend.query.dto.FriendEdgeRow;
 import com.maplog.friend.query.dto.FriendRequestResponse;
+import com.maplog.friend.query.dto.FriendSuggestionResponse;
 import com.maplog.friend.query.dto.FriendSummaryResponse;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -13,17 +17,54 @@ public interface FriendQueryMapper {
 
     List<FriendSummaryResponse> findFriends(@Param("userId") Long userId);
 
+    /** 친구 목록 (accepted_at, friend_id) 역순, cursorAt이 있으면 그 이전부터 */
+    List<FriendSummaryResponse> findFriendsBefore(@Param("userId") Long userId,
+                                                  @Param("cursorAt") LocalDateTime cursorAt,
+                                                  @Param("cursorId") Long cursorId,
+                                                  @Param("limit") int limit);
+
     List<FriendRequestResponse> findPendingRequests(@Param("userId") Long userId,
                                                     @Param("offset") int offset,
                                                     @Param("size") int size);
 
+    /** 받은 친구 요청 (created_at, id) 역순, cursorAt이 있으면 그 이전부터 */
+    List<FriendRequestResponse> findPendingRequestsBefore(@Param("userId") Long userId,
+                                                          @Param("cursorAt") LocalDateTime cursorAt,
+                                                          @Param("cursorId") Long cursorId,
+                                                          @Param("limit") int limit);
+
     long countPendingRequests(@Param("userId") Long userId);
 
-    List<DiarySummaryResponse> findFeed(@Param("userId") Long userId,
-                                        @Param("offset") int offset,
-                                        @Param("size") int size);
+    /** 피드 타임라인 (created_at, diary_id) 역순, cursorAt이 있으면 그 이전부터 */
+    List<DiarySummaryResponse> findTimeline(@Param("userId") Long userId,
+                                            @Param("cursorAt") LocalDateTime cursorAt,
+                                            @Param("cursorId") Long cursorId,
+                                            @Param("limit") int limit);
+
+    long countTimeline(@Param("userId") Long userId);
+
+    /** 내 친구 중 타임라인에 펼쳐 쓰지 않는(pull) 작성자 */
+    List<Long> findPullAuthorIds(@Param("userId") Long userId);
+
+    /** pull 작성자들의 친구 공개 일기 (created_at, id) 역순 */
+    List<DiarySummaryResponse> findAuthorDiaries(@Param("authorIds") Collection<Long> authorIds,
+                                                 @Param("cursorAt") LocalDateTime cursorAt,
+                                                 @Param("cursorId") Long cursorId,
+                                                 @Param("limit") int limit);
+
+    /** pull 작성자들의 친구 공개 일기 중 내 타임라인에 아직 없는 것의 수 */
+    long countAuthorDiaries(@Param("userId") Long userId,
+                            @Param("authorIds") Collection<Long> authorIds);
+
+    /** 친구 ID 목록 (friend_id 오름차순, FriendGraphCache 적재용) */
+    List<Long> findFriendIds(@Param("userId") Long userId);
+
+    /** 여러 사용자의 친구 간선 (user_id, friend_id 오름차순) */
+    List<FriendEdgeRow> findFriendEdgesOf(@Param("userIds") Collection<Long> userIds);
 
-    long countFeed(@Param("userId") Long userId);
+    /** 나와 PENDING/REJECTED 관계인 상대 ID (추천에서 제외) */
+    List<Long> findPendingOrRejectedUserIds(@Param("userId") Long userId);
 
-    boolean isFriend(@Param("userId1") Long userId1, @Param("userId2") Long userId2);
+    /** 추천 대상의 프로필 (탈퇴한 사용자 제외, 순서 보장 없음) */
+    List<FriendSuggestionResponse> findSuggestionProfiles(@Param("userIds") Collection<Long> userIds);
 }
\ No newline at end of file
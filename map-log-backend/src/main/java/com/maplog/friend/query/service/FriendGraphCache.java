@@ -0,0 +1,170 @@
+package com.maplog.friend.query.service;
+
+import com.maplog.common.cache.BoundedTtlCache;
+import com.maplog.friend.query.dto.FriendEdgeRow;
+import com.maplog.friend.query.mapper.FriendQueryMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FriendGraphCache - 파드 단위 친구 그래프 캐시
+ *
+ * 【구조】
+ * 사용자별 친구 ID를 정렬된 long[]로 보관합니다. (Set<Long>보다 원소당 메모리가 수 배 작음)
+ * - 친구 여부: 이진 탐색
+ * - 공통 친구: 두 정렬 배열의 병합 교집합 (O(n + m))
+ *
+ * 【적재/무효화】
+ * - 처음 조회될 때 friend_edges에서 (user_id, friend_id) 인덱스 순서 그대로 읽어 적재합니다.
+ * - FriendCommandService가 수락/삭제 후 두 사용자 항목을 커밋 시점에 비웁니다.
+ * - 다른 파드의 변경은 TTL(app.friend.graph.ttl-ms) 안에 반영됩니다.
+ * - 적재 중에 무효화가 일어나면 읽어 온 값은 버립니다. (오래된 값이 다시 들어가지 않도록 세대 번호로 확인)
+ *
+ * 반환하는 배열은 캐시와 공유되므로 호출하는 쪽에서 수정하면 안 됩니다.
+ */
+@Component
+public class FriendGraphCache {
+
+    private static final long[] EMPTY = new long[0];
+    // 여러 사용자를 한 번에 적재할 때 IN 목록 하나에 담을 최대 사용자 수
+    private static final int PRELOAD_CHUNK_SIZE = 500;
+
+    private final FriendQueryMapper friendQueryMapper;
+    private final BoundedTtlCache<Long, long[]> adjacency;
+    private final long ttlMillis;
+    private final AtomicLong generation = new AtomicLong();
+
+    public FriendGraphCache(FriendQueryMapper friendQueryMapper,
+                            @Value("${app.friend.graph.ttl-ms:60000}") long ttlMillis,
+                            @Value("${app.friend.graph.max-users:50000}") int maxUsers) {
+        this.friendQueryMapper = friendQueryMapper;
+        this.ttlMillis = ttlMillis;
+        this.adjacency = new BoundedTtlCache<>(maxUsers);
+    }
+
+    /** 정렬된 친구 ID 배열 (읽기 전용) */
+    public long[] friendIds(Long userId) {
+        long[] cached = adjacency.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long observed = generation.get();
+        List<Long> loaded = friendQueryMapper.findFriendIds(userId);
+        long[] ids = loaded.isEmpty() ? EMPTY : loaded.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(ids); // 쿼리가 이미 정렬해 주지만 이진 탐색의 전제이므로 보장한다.
+        if (generation.get() == observed) {
+            adjacency.put(userId, ids, System.currentTimeMillis() + ttlMillis);
+        }
+        return ids;
+    }
+
+    /** 캐시에 이미 있는 친구 ID 배열 (없으면 null, DB를 조회하지 않음) */
+    public long[] cachedFriendIds(Long userId) {
+        return adjacency.get(userId);
+    }
+
+    /**
+     * 여러 사용자의 친구 ID 배열 (userIds와 같은 순서, 읽기 전용)
+     * 캐시에 없는 사용자들은 IN 조회로 한꺼번에 적재합니다. (친구의 친구 탐색에 사용)
+     */
+    public long[][] friendIdsOf(long[] userIds) {
+        long[][] result = new long[userIds.length][];
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < userIds.length; i++) {
+            result[i] = adjacency.get(userIds[i]);
+            if (result[i] == null) {
+                missing.add(userIds[i]);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        Map<Long, long[]> loaded = new HashMap<>();
+        for (int from = 0; from < missing.size(); from += PRELOAD_CHUNK_SIZE) {
+            loaded.putAll(load(missing.subList(from, Math.min(from + PRELOAD_CHUNK_SIZE, missing.size()))));
+        }
+        for (int i = 0; i < userIds.length; i++) {
+            if (result[i] == null) {
+                result[i] = loaded.get(userIds[i]);
+            }
+        }
+        return result;
+    }
+
+    private Map<Long, long[]> load(List<Long> userIds) {
+        long observed = generation.get();
+        Map<Long, List<Long>> grouped = new HashMap<>();
+        for (FriendEdgeRow row : friendQueryMapper.findFriendEdgesOf(userIds)) {
+            grouped.computeIfAbsent(row.getUserId(), id -> new ArrayList<>()).add(row.getFriendId());
+        }
+        // 적재 중에 무효화가 있었다면 이번 계산에만 쓰고 캐시에는 넣지 않는다.
+        boolean cacheable = generation.get() == observed;
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        Map<Long, long[]> loaded = new HashMap<>();
+        for (Long userId : userIds) {
+            List<Long> friends = grouped.get(userId);
+            long[] ids = friends == null ? EMPTY : friends.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(ids);
+            loaded.put(userId, ids);
+            if (cacheable) {
+                adjacency.put(userId, ids, expiresAt);
+            }
+        }
+        return loaded;
+    }
+
+    public boolean isFriend(Long userId, Long otherUserId) {
+        return Arrays.binarySearch(friendIds(userId), otherUserId) >= 0;
+    }
+
+    /** 두 사용자의 공통 친구 ID (정렬됨) */
+    public long[] mutualFriendIds(Long userId, Long otherUserId) {
+        long[] a = friendIds(userId);
+        long[] b = friendIds(otherUserId);
+        long[] result = new long[Math.min(a.length, b.length)];
+        int count = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /** 현재 트랜잭션이 커밋된 뒤(트랜잭션이 없으면 즉시) 두 사용자의 항목을 비웁니다. */
+    public void invalidateAfterCommit(Long userId, Long otherUserId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userId, otherUserId);
+            return;
+        }
+        // 커밋 전에 적재된 값도 버리도록 지금 한 번, 커밋 후 한 번 더 비운다.
+        invalidate(userId, otherUserId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(userId, otherUserId);
+            }
+        });
+    }
+
+    private void invalidate(Long userId, Long otherUserId) {
+        generation.incrementAndGet();
+        adjacency.invalidate(userId);
+        adjacency.invalidate(otherUserId);
+    }
+}
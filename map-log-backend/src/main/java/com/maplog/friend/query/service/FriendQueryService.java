@@ -1,13 +1,13 @@
 package com.maplog.friend.query.service;
 
-import com.maplog.common.exception.BusinessException;
-import com.maplog.common.exception.ErrorCode;
+import com.maplog.common.response.CursorPage;
+import com.maplog.common.util.CursorToken;
 import com.maplog.diary.query.dto.DiarySummaryResponse;
 import com.maplog.friend.query.dto.FriendRequestResponse;
 import com.maplog.friend.query.dto.FriendSummaryResponse;
+import com.maplog.friend.query.dto.MutualFriendsResponse;
+import com.maplog.friend.query.dto.PendingCountResponse;
 import com.maplog.friend.query.mapper.FriendQueryMapper;
-import com.maplog.user.command.domain.User;
-import com.maplog.user.command.repository.UserCommandRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -15,41 +15,133 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+/**
+ * FriendQueryService - 친구 목록/요청/피드 조회
+ *
+ * 【친구 목록/받은 요청】
+ * 친구가 수천 명인 사용자도 한 번에 다 내려받지 않도록 키셋 페이지를 제공합니다.
+ * 친구는 (accepted_at, friend_id), 받은 요청은 (created_at, id) 역순이며,
+ * 받은 요청 수는 PendingRequestCountService의 캐시를 거쳐 매 조회마다 COUNT를 돌리지 않습니다.
+ *
+ * 【피드】
+ * 친구 일기는 FeedFanoutService가 커밋 후 feed_timeline에 미리 펼쳐 둡니다. (fan-out-on-write)
+ * 피드 조회는 (owner_id, created_at, diary_id) 인덱스 범위 조회 한 번이고,
+ * 친구가 아주 많아 펼쳐 쓰지 않는 작성자(feed_pull_authors)의 일기만 조회 시 diaries에서 읽어 병합합니다.
+ */
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class FriendQueryService {
 
-    private final UserCommandRepository userCommandRepository;
+    private static final Comparator<DiarySummaryResponse> NEWEST_FIRST = Comparator
+            .comparing(DiarySummaryResponse::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(DiarySummaryResponse::getId, Comparator.reverseOrder());
+
     private final FriendQueryMapper friendQueryMapper;
+    private final FriendGraphCache friendGraphCache;
+    private final PendingRequestCountService pendingRequestCountService;
+
+    public List<FriendSummaryResponse> getFriends(Long userId) {
+        return friendQueryMapper.findFriends(userId);
+    }
 
-    public List<FriendSummaryResponse> getFriends(String email) {
-        User user = getUser(email);
-        return friendQueryMapper.findFriends(user.getId());
+    /** (accepted_at, friend_id) 키셋 페이지 친구 목록. size+1건을 읽어 다음 페이지 여부를 판단합니다. */
+    public CursorPage<FriendSummaryResponse> getFriendsByCursor(Long userId, String cursor, int size) {
+        CursorToken after = CursorToken.decode(cursor);
+        List<FriendSummaryResponse> fetched = friendQueryMapper.findFriendsBefore(userId,
+                after != null ? after.at() : null, after != null ? after.id() : null, size + 1);
+        return CursorPage.of(fetched, size, last -> new CursorToken(last.getRespondedAt(), last.getUserId()).encode());
     }
 
-    public Page<FriendRequestResponse> getPendingRequests(String email, Pageable pageable) {
-        User user = getUser(email);
+    public Page<FriendRequestResponse> getPendingRequests(Long userId, Pageable pageable) {
         int offset = (int) pageable.getOffset();
         int size = pageable.getPageSize();
-        List<FriendRequestResponse> items = friendQueryMapper.findPendingRequests(user.getId(), offset, size);
-        long total = friendQueryMapper.countPendingRequests(user.getId());
+        List<FriendRequestResponse> items = friendQueryMapper.findPendingRequests(userId, offset, size);
+        long total = pendingRequestCountService.getPendingCount(userId);
         return new PageImpl<>(items, pageable, total);
     }
 
-    public Page<DiarySummaryResponse> getFeed(String email, Pageable pageable) {
-        User user = getUser(email);
+    /** (created_at, id) 키셋 페이지 받은 친구 요청. 전체 개수는 getPendingCount로 따로 조회합니다. */
+    public CursorPage<FriendRequestResponse> getPendingRequestsByCursor(Long userId, String cursor, int size) {
+        CursorToken after = CursorToken.decode(cursor);
+        List<FriendRequestResponse> fetched = friendQueryMapper.findPendingRequestsBefore(userId,
+                after != null ? after.at() : null, after != null ? after.id() : null, size + 1);
+        return CursorPage.of(fetched, size, last -> new CursorToken(last.getRequestedAt(), last.getFriendId()).encode());
+    }
+
+    public PendingCountResponse getPendingCount(Long userId) {
+        return new PendingCountResponse(pendingRequestCountService.getPendingCount(userId));
+    }
+
+    /** OFFSET 페이지 피드 (기존 Page API 호환용). offset + size건까지 읽어 잘라냅니다. */
+    public Page<DiarySummaryResponse> getFeed(Long userId, Pageable pageable) {
         int offset = (int) pageable.getOffset();
         int size = pageable.getPageSize();
-        List<DiarySummaryResponse> items = friendQueryMapper.findFeed(user.getId(), offset, size);
-        long total = friendQueryMapper.countFeed(user.getId());
+        List<Long> pullAuthorIds = friendQueryMapper.findPullAuthorIds(userId);
+        List<DiarySummaryResponse> fetched = readFeed(userId, pullAuthorIds, null, offset + size);
+        List<DiarySummaryResponse> items = fetched.subList(Math.min(offset, fetched.size()), fetched.size());
+        long total = friendQueryMapper.countTimeline(userId)
+                + (pullAuthorIds.isEmpty() ? 0 : friendQueryMapper.countAuthorDiaries(userId, pullAuthorIds));
         return new PageImpl<>(items, pageable, total);
     }
 
-    private User getUser(String email) {
-        return userCommandRepository.findByEmailAndDeletedAtIsNull(email)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+    /** (created_at, id) 키셋 페이지 피드. COUNT 없이 size+1건을 읽어 다음 페이지 여부를 판단합니다. */
+    public CursorPage<DiarySummaryResponse> getFeedByCursor(Long userId, String cursor, int size) {
+        CursorToken after = CursorToken.decode(cursor);
+        List<DiarySummaryResponse> fetched = readFeed(userId, friendQueryMapper.findPullAuthorIds(userId), after, size + 1);
+        return CursorPage.of(fetched, size, last -> new CursorToken(last.getCreatedAt(), last.getId()).encode());
+    }
+
+    /**
+     * 타임라인 범위 조회 한 번 + (있으면) pull 작성자 일기 조회 한 번을 (created_at, id) 역순으로 병합합니다.
+     * pull 작성자가 되기 전에 타임라인에 들어간 일기는 양쪽에 모두 나올 수 있어 id로 중복을 거릅니다.
+     */
+    private List<DiarySummaryResponse> readFeed(Long userId, List<Long> pullAuthorIds, CursorToken after, int limit) {
+        LocalDateTime cursorAt = after != null ? after.at() : null;
+        Long cursorId = after != null ? after.id() : null;
+        List<DiarySummaryResponse> timeline = friendQueryMapper.findTimeline(userId, cursorAt, cursorId, limit);
+        if (pullAuthorIds.isEmpty()) {
+            return timeline;
+        }
+        List<DiarySummaryResponse> pulled = friendQueryMapper.findAuthorDiaries(pullAuthorIds, cursorAt, cursorId, limit);
+        return merge(timeline, pulled, limit);
+    }
+
+    static List<DiarySummaryResponse> merge(List<DiarySummaryResponse> a, List<DiarySummaryResponse> b, int limit) {
+        List<DiarySummaryResponse> merged = new ArrayList<>(Math.min(limit, a.size() + b.size()));
+        Set<Long> seen = new HashSet<>();
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < a.size() || j < b.size())) {
+            DiarySummaryResponse next = j >= b.size() || (i < a.size() && NEWEST_FIRST.compare(a.get(i), b.get(j)) <= 0)
+                    ? a.get(i++)
+                    : b.get(j++);
+            if (seen.add(next.getId())) {
+                merged.add(next);
+            }
+        }
+        return merged;
+    }
+
+    /** 친구 여부 (DB 조회 없이 FriendGraphCache로 판단) */
+    public boolean isFriend(Long userId, Long otherUserId) {
+        return friendGraphCache.isFriend(userId, otherUserId);
+    }
+
+    public List<Long> getFriendIds(Long userId) {
+        return Arrays.stream(friendGraphCache.friendIds(userId)).boxed().toList();
+    }
+
+    public MutualFriendsResponse getMutualFriends(Long userId, Long otherUserId) {
+        long[] mutual = friendGraphCache.mutualFriendIds(userId, otherUserId);
+        return new MutualFriendsResponse(mutual.length, Arrays.stream(mutual).boxed().toList());
     }
-}
\ No newline at end of file
+}
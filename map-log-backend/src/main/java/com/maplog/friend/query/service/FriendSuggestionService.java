@@ -0,0 +1,228 @@
+package com.maplog.friend.query.service;
+
+import com.maplog.common.cache.BoundedTtlCache;
+import com.maplog.friend.query.dto.FriendSuggestionResponse;
+import com.maplog.friend.query.mapper.FriendQueryMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * FriendSuggestionService - 알 수도 있는 사람 (친구의 친구를 공통 친구 수로 정렬)
+ *
+ * 【계산】
+ * 1. 내 친구 목록과 친구들의 친구 목록을 FriendGraphCache의 정렬된 long[]로 가져옵니다.
+ *    (캐시에 없는 친구들은 IN 조회 한 번으로 함께 적재)
+ * 2. 친구들의 정렬 배열을 k-way 병합하면 같은 ID가 연속해서 나오고, 그 횟수가 나와의 공통 친구 수입니다.
+ *    SQL에서 OR 조건 테이블을 자기 조인하는 대신 O(전체 간선 수 × log k)로 셉니다.
+ * 3. 나 자신, 이미 친구인 사용자(이진 탐색), 요청 중이거나 거절된 상대는 건너뛰고
+ *    (공통 친구 수 내림차순, ID 오름차순) 상위 N명만 크기 N의 힙으로 남깁니다.
+ * 4. 탈퇴한 사용자를 빼고 프로필을 붙입니다.
+ *
+ * 【캐시】
+ * 사용자별로 상위 max-results명을 ttl-ms 동안 보관하고, 요청한 size만큼 잘라 돌려줍니다.
+ * 친구 요청/응답/삭제 시 FriendCommandService가 invalidateAfterCommit으로
+ * 두 당사자와 (캐시에 있는) 그들의 친구 항목을 비웁니다. 다른 파드의 변경은 TTL 안에 반영됩니다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class FriendSuggestionService {
+
+    // 탈퇴 사용자를 걸러낸 뒤에도 max-results명을 채우도록 여유 있게 뽑는다.
+    private static final int CANDIDATE_FACTOR = 2;
+
+    private static final Comparator<Candidate> WORST_FIRST = Comparator
+            .comparingInt(Candidate::mutualFriendCount)
+            .thenComparing(Comparator.comparingLong(Candidate::userId).reversed());
+
+    private final FriendQueryMapper friendQueryMapper;
+    private final FriendGraphCache friendGraphCache;
+    private final BoundedTtlCache<Long, List<FriendSuggestionResponse>> cache;
+    private final long ttlMillis;
+    private final int maxResults;
+
+    public FriendSuggestionService(FriendQueryMapper friendQueryMapper,
+                                   FriendGraphCache friendGraphCache,
+                                   @Value("${app.friend.suggestions.ttl-ms:300000}") long ttlMillis,
+                                   @Value("${app.friend.suggestions.max-size:10000}") int maxSize,
+                                   @Value("${app.friend.suggestions.max-results:50}") int maxResults) {
+        this.friendQueryMapper = friendQueryMapper;
+        this.friendGraphCache = friendGraphCache;
+        this.ttlMillis = ttlMillis;
+        this.maxResults = maxResults;
+        this.cache = new BoundedTtlCache<>(maxSize);
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public List<FriendSuggestionResponse> getSuggestions(Long userId, int size) {
+        List<FriendSuggestionResponse> suggestions = cache.get(userId);
+        if (suggestions == null) {
+            suggestions = load(userId);
+            cache.put(userId, suggestions, System.currentTimeMillis() + ttlMillis);
+        }
+        return suggestions.subList(0, Math.min(size, suggestions.size()));
+    }
+
+    /** 현재 트랜잭션이 커밋된 뒤(트랜잭션이 없으면 즉시) 두 사용자와 그 친구들의 추천 결과를 비웁니다. */
+    public void invalidateAfterCommit(Long userId, Long otherUserId) {
+        // 커밋 후에는 그래프 캐시가 비워져 있으므로, 영향받는 친구 목록은 지금 모아 둔다.
+        Set<Long> affected = affectedUsers(userId, otherUserId);
+        affected.forEach(cache::invalidate);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    affected.forEach(cache::invalidate);
+                }
+            });
+        }
+    }
+
+    private Set<Long> affectedUsers(Long userId, Long otherUserId) {
+        Set<Long> affected = new HashSet<>();
+        affected.add(userId);
+        affected.add(otherUserId);
+        // 한쪽의 친구들에게는 다른 쪽이 후보가 되거나 공통 친구 수가 바뀐다.
+        for (Long id : List.of(userId, otherUserId)) {
+            long[] friends = friendGraphCache.cachedFriendIds(id);
+            if (friends != null) {
+                for (long friendId : friends) {
+                    affected.add(friendId);
+                }
+            }
+        }
+        return affected;
+    }
+
+    private List<FriendSuggestionResponse> load(Long userId) {
+        List<Candidate> candidates = rankCandidates(userId, maxResults * CANDIDATE_FACTOR);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, FriendSuggestionResponse> profiles = new HashMap<>();
+        for (FriendSuggestionResponse profile : friendQueryMapper.findSuggestionProfiles(
+                candidates.stream().map(Candidate::userId).toList())) {
+            profiles.put(profile.getUserId(), profile);
+        }
+        List<FriendSuggestionResponse> suggestions = new ArrayList<>(Math.min(maxResults, candidates.size()));
+        for (Candidate candidate : candidates) {
+            FriendSuggestionResponse profile = profiles.get(candidate.userId());
+            if (profile == null) {
+                continue; // 탈퇴한 사용자
+            }
+            profile.setMutualFriendCount(candidate.mutualFriendCount());
+            suggestions.add(profile);
+            if (suggestions.size() == maxResults) {
+                break;
+            }
+        }
+        return List.copyOf(suggestions);
+    }
+
+    /** 공통 친구 수 내림차순(같으면 ID 오름차순) 상위 limit명 */
+    List<Candidate> rankCandidates(Long userId, int limit) {
+        long[] myFriends = friendGraphCache.friendIds(userId);
+        if (myFriends.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        long[] excluded = friendQueryMapper.findPendingOrRejectedUserIds(userId).stream()
+                .mapToLong(Long::longValue).sorted().toArray();
+        return rank(userId, myFriends, friendGraphCache.friendIdsOf(myFriends), excluded, limit);
+    }
+
+    /**
+     * 친구들의 정렬된 친구 배열(friendsOfFriends)을 k-way 병합하여 후보별 공통 친구 수를 셉니다.
+     * 병합 힙은 배열 번호만 담는 int[]이고, 맨 위 배열을 한 칸 전진시킨 뒤 아래로 내리는 방식이라
+     * 원소마다 객체를 만들지 않습니다.
+     *
+     * @param myFriends 정렬된 내 친구 ID
+     * @param excluded  정렬된 제외 대상 ID (요청 중/거절)
+     */
+    static List<Candidate> rank(long userId, long[] myFriends, long[][] friendsOfFriends, long[] excluded, int limit) {
+        int[] positions = new int[friendsOfFriends.length];
+        int[] heap = new int[friendsOfFriends.length];
+        int heapSize = 0;
+        for (int i = 0; i < friendsOfFriends.length; i++) {
+            if (friendsOfFriends[i].length > 0) {
+                heap[heapSize++] = i;
+            }
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(heap, heapSize, i, friendsOfFriends, positions);
+        }
+
+        PriorityQueue<Candidate> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        while (heapSize > 0) {
+            long id = head(heap[0], friendsOfFriends, positions);
+            int count = 0;
+            while (heapSize > 0 && head(heap[0], friendsOfFriends, positions) == id) {
+                count++;
+                int run = heap[0];
+                if (++positions[run] == friendsOfFriends[run].length) {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDown(heap, heapSize, 0, friendsOfFriends, positions);
+            }
+            if (id == userId
+                    || Arrays.binarySearch(myFriends, id) >= 0
+                    || Arrays.binarySearch(excluded, id) >= 0) {
+                continue;
+            }
+            if (top.size() < limit) {
+                top.add(new Candidate(id, count));
+            } else if (count > top.peek().mutualFriendCount()) {
+                // 같은 공통 친구 수라면 ID가 작은 쪽이 먼저 나오므로 기존 항목을 유지한다.
+                top.poll();
+                top.add(new Candidate(id, count));
+            }
+        }
+
+        List<Candidate> ranked = new ArrayList<>(top);
+        ranked.sort(WORST_FIRST.reversed());
+        return ranked;
+    }
+
+    private static long head(int run, long[][] runs, int[] positions) {
+        return runs[run][positions[run]];
+    }
+
+    private static void siftDown(int[] heap, int size, int index, long[][] runs, int[] positions) {
+        int run = heap[index];
+        long value = size > index ? head(run, runs, positions) : 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && head(heap[child + 1], runs, positions) < head(heap[child], runs, positions)) {
+                child++;
+            }
+            if (head(heap[child], runs, positions) >= value) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        if (index < size) {
+            heap[index] = run;
+        }
+    }
+
+    record Candidate(long userId, int mutualFriendCount) {
+    }
+}
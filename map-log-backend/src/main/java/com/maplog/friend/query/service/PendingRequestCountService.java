@@ -0,0 +1,69 @@
+package com.maplog.friend.query.service;
+
+import com.maplog.common.cache.BoundedTtlCache;
+import com.maplog.friend.query.mapper.FriendQueryMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * PendingRequestCountService - 받은 친구 요청(PENDING) 수
+ *
+ * 【조회 순서】
+ * 1. 파드 로컬 캐시 (TTL app.friend.pending.cache-ttl-ms)
+ * 2. friends의 (receiver_id, status, created_at) 인덱스로 COUNT(*)
+ *
+ * 【캐시 일관성】
+ * - 요청 전송/재요청/응답/취소 시 FriendCommandService가 커밋 후 받는 사람 항목을 비웁니다. (evictAfterCommit)
+ * - 다른 파드의 변경과 요청자 탈퇴는 TTL 안에 반영됩니다.
+ * - 쓰기 트랜잭션 안에서 읽은 값은 커밋 전 값일 수 있으므로 캐시에 넣지 않습니다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PendingRequestCountService {
+
+    private final FriendQueryMapper friendQueryMapper;
+    private final BoundedTtlCache<Long, Long> cache;
+    private final long ttlMillis;
+
+    public PendingRequestCountService(FriendQueryMapper friendQueryMapper,
+                                      @Value("${app.friend.pending.cache-ttl-ms:30000}") long ttlMillis,
+                                      @Value("${app.friend.pending.cache-max-size:10000}") int maxSize) {
+        this.friendQueryMapper = friendQueryMapper;
+        this.ttlMillis = ttlMillis;
+        this.cache = new BoundedTtlCache<>(maxSize);
+    }
+
+    public long getPendingCount(Long userId) {
+        Long cached = cache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long count = friendQueryMapper.countPendingRequests(userId);
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            cache.put(userId, count, System.currentTimeMillis() + ttlMillis);
+        }
+        return count;
+    }
+
+    /** 현재 트랜잭션이 커밋된 뒤(트랜잭션이 없으면 즉시) 캐시에서 제거합니다. */
+    public void evictAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(userId);
+            }
+        });
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+}
@@ -1,11 +1,10 @@
 package com.maplog.notification.command.controller;
 
 import com.maplog.common.response.ApiResponse;
+import com.maplog.common.security.CurrentUserId;
 import com.maplog.notification.command.service.NotificationCommandService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -17,27 +16,27 @@ public class NotificationCommandController {
 
     @PatchMapping("/{notificationId}/read")
     public ResponseEntity<ApiResponse<Void>> markAsRead(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PathVariable Long notificationId) {
-        notificationCommandService.markAsRead(userDetails.getUsername(), notificationId);
+        notificationCommandService.markAsRead(userId, notificationId);
         return ResponseEntity.ok(ApiResponse.success("알림을 읽음 처리했습니다.", null));
     }
 
     @PatchMapping("/read-all")
     public ResponseEntity<ApiResponse<Void>> markAllAsRead(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        notificationCommandService.markAllAsRead(userDetails.getUsername());
+            @CurrentUserId Long userId) {
+        notificationCommandService.markAllAsRead(userId);
         return ResponseEntity.ok(ApiResponse.success("모든 알림을 읽음 처리했습니다.", null));
     }
 
     @DeleteMapping
     public ResponseEntity<ApiResponse<Void>> deleteAll(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @RequestParam(required = false) String isRead) {
         Boolean readFilter = null;
         if ("Y".equalsIgnoreCase(isRead)) readFilter = true;
         else if ("N".equalsIgnoreCase(isRead)) readFilter = false;
-        notificationCommandService.deleteAll(userDetails.getUsername(), readFilter);
+        notificationCommandService.deleteAll(userId, readFilter);
         return ResponseEntity.ok(ApiResponse.success("알림을 삭제했습니다.", null));
     }
 }
\ No newline at end of file
@@ -4,12 +4,19 @@ import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        // 목록 키셋 페이지 조회 (전체 / 읽음 여부 필터)
+        @Index(name = "idx_notifications_user_created", columnList = "userId, createdAt, id"),
+        @Index(name = "idx_notifications_user_read_created", columnList = "userId, is_read, createdAt, id"),
+        // 보관 기간 정리 (읽음 여부별로 기준 시각 이전 범위만 조회)
+        @Index(name = "idx_notifications_read_created", columnList = "is_read, createdAt, id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Notification {
@@ -34,6 +41,11 @@ public class Notification {
     @Column(name = "is_read", nullable = false)
     private boolean read;
 
+    // 묶인 알림 수 (몰아서 온 같은 종류의 알림을 한 행으로 합친 경우 2 이상)
+    @ColumnDefault("1")
+    @Column(nullable = false)
+    private int aggregateCount;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -45,9 +57,17 @@ public class Notification {
         notification.referenceId = referenceId;
         notification.message = message;
         notification.read = false;
+        notification.aggregateCount = 1;
         return notification;
     }
 
+    /** 같은 종류의 새 알림을 이 행에 합칩니다. 최신 대상과 요약 문구로 바뀝니다. */
+    public void aggregate(Long referenceId) {
+        this.aggregateCount = Math.max(1, this.aggregateCount) + 1;
+        this.referenceId = referenceId;
+        this.message = type.summaryMessage(aggregateCount);
+    }
+
     public void markAsRead() {
         this.read = true;
     }
@@ -0,0 +1,32 @@
+package com.maplog.notification.command.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 읽지 않은 알림 수
+ *
+ * 알림 생성/읽음/삭제 시 NotificationCounterMapper의 증감 SQL로 같은 트랜잭션에서 갱신하며,
+ * NotificationCounterReconciler가 최근 갱신된 행을 notifications 테이블 기준으로 주기적으로 다시 맞춥니다.
+ */
+@Entity
+@Table(name = "notification_counters", indexes = {
+        @Index(name = "idx_notification_counters_updated_at", columnList = "updated_at")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class NotificationCounter {
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private long unreadCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -1,5 +1,18 @@
 package com.maplog.notification.command.domain;
 
 public enum NotificationType {
-    FRIEND_REQUEST, FRIEND_ACCEPTED, DIARY_SHARED
-}
\ No newline at end of file
+    FRIEND_REQUEST("새로운 친구 요청이 %d건 도착했습니다."),
+    FRIEND_ACCEPTED("%d명이 친구 요청을 수락했습니다."),
+    DIARY_SHARED("일기 %d개가 공유되었습니다.");
+
+    // 짧은 시간에 같은 종류의 알림이 몰렸을 때 하나로 묶어 보여줄 문구
+    private final String summaryFormat;
+
+    NotificationType(String summaryFormat) {
+        this.summaryFormat = summaryFormat;
+    }
+
+    public String summaryMessage(int count) {
+        return String.format(summaryFormat, count);
+    }
+}
@@ -0,0 +1,18 @@
+package com.maplog.notification.command.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/** 보관 기간 정리 작업이 PK 순으로 훑어보는 알림 행 */
+@Getter
+@Setter
+@NoArgsConstructor
+public class NotificationScanRow {
+    private Long id;
+    private Long userId;
+    private boolean read;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,41 @@
+package com.maplog.notification.command.mapper;
+
+import com.maplog.notification.command.domain.Notification;
+import com.maplog.notification.command.dto.NotificationScanRow;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Mapper
+public interface NotificationCommandMapper {
+
+    /**
+     * 알림 여러 건을 multi-row INSERT 한 번으로 저장합니다.
+     * Notification의 id는 IDENTITY라 JPA로는 배치 INSERT가 되지 않으므로 MyBatis로 직접 씁니다.
+     */
+    int insertAll(@Param("notifications") List<Notification> notifications,
+                  @Param("createdAt") LocalDateTime createdAt);
+
+    /** 사용자의 읽음 여부가 read인 알림 ID를 최대 limit개 조회 (일괄 읽음/삭제를 나눠 처리할 때 사용) */
+    List<Long> findIdsByUserAndRead(@Param("userId") Long userId,
+                                    @Param("read") boolean read,
+                                    @Param("limit") int limit);
+
+    /** @return 실제로 읽음 처리된(이전에 읽지 않았던) 행 수 */
+    int markReadByIds(@Param("ids") Collection<Long> ids);
+
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 읽음 여부가 read이고 cutoff 이전에 생성된 알림을 (created_at, id) 순으로 limit개 조회 (보관 기간 정리용)
+     * afterCreatedAt이 있으면 (afterCreatedAt, afterId) 다음부터 읽습니다.
+     */
+    List<NotificationScanRow> findExpired(@Param("read") boolean read,
+                                          @Param("cutoff") LocalDateTime cutoff,
+                                          @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                          @Param("afterId") long afterId,
+                                          @Param("limit") int limit);
+}
@@ -0,0 +1,30 @@
+package com.maplog.notification.command.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Mapper
+public interface NotificationCounterMapper {
+
+    /** 여러 사용자의 읽지 않은 알림 수를 delta만큼 늘립니다. (행이 없으면 delta로 생성, upsert 한 번) */
+    int addUnread(@Param("userIds") Collection<Long> userIds,
+                  @Param("delta") long delta,
+                  @Param("now") LocalDateTime now);
+
+    /** 읽지 않은 알림 수를 count만큼 줄입니다. (0 미만으로 내려가지 않음) */
+    int subtractUnread(@Param("userId") Long userId,
+                       @Param("count") long count,
+                       @Param("now") LocalDateTime now);
+
+    /** since 이후에 갱신된 카운터의 사용자 ID를 afterUserId 다음부터 limit개 조회 (정합성 보정 대상) */
+    List<Long> findUpdatedSince(@Param("since") LocalDateTime since,
+                                @Param("afterUserId") long afterUserId,
+                                @Param("limit") int limit);
+
+    /** 카운터를 notifications 테이블의 실제 읽지 않은 알림 수로 다시 맞춥니다. */
+    int reconcile(@Param("userIds") Collection<Long> userIds);
+}
@@ -1,28 +1,27 @@
 package com.maplog.notification.command.repository;
 
 import com.maplog.notification.command.domain.Notification;
+import com.maplog.notification.command.domain.NotificationType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 public interface NotificationCommandRepository extends JpaRepository<Notification, Long> {
 
     Page<Notification> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
 
     Page<Notification> findByUserIdAndReadOrderByCreatedAtDesc(Long userId, boolean read, Pageable pageable);
 
-    @Modifying
-    @Query("UPDATE Notification n SET n.read = true WHERE n.userId = :userId")
-    void markAllAsRead(@Param("userId") Long userId);
-
-    @Modifying
-    @Query("DELETE FROM Notification n WHERE n.userId = :userId")
-    void deleteAllByUserId(@Param("userId") Long userId);
-
-    @Modifying
-    @Query("DELETE FROM Notification n WHERE n.userId = :userId AND n.read = :read")
-    void deleteByUserIdAndRead(@Param("userId") Long userId, @Param("read") boolean read);
-}
\ No newline at end of file
+    /** 합칠 수 있는 최근 알림: 같은 종류이면서 아직 읽지 않았고 since 이후에 생성된 알림 */
+    @Query("SELECT n FROM Notification n WHERE n.userId IN :userIds AND n.type = :type"
+            + " AND n.read = false AND n.createdAt >= :since ORDER BY n.id DESC")
+    List<Notification> findAggregatable(@Param("userIds") Collection<Long> userIds,
+                                        @Param("type") NotificationType type,
+                                        @Param("since") LocalDateTime since);
+}
@@ -0,0 +1,74 @@
+package com.maplog.notification.command.service;
+
+import com.maplog.notification.command.dto.NotificationScanRow;
+import com.maplog.notification.command.mapper.NotificationCommandMapper;
+import com.maplog.notification.command.mapper.NotificationCounterMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * NotificationBulkWriter - 알림 일괄 읽음/삭제의 한 묶음(chunk)을 처리합니다.
+ *
+ * 【목적】
+ * 알림이 많은 사용자의 "전체 읽음"이나 보관 기간 정리를 UPDATE/DELETE 한 문장으로 하면
+ * 오랫동안 많은 행 잠금을 잡습니다. 호출하는 쪽이 limit개씩 나눠 부르고,
+ * 각 묶음은 별도 트랜잭션(REQUIRES_NEW)으로 바로 커밋하여 잠금을 짧게 유지합니다.
+ *
+ * 【카운터】 지운/읽음 처리한 읽지 않은 알림 수만큼 같은 트랜잭션에서 notification_counters를 줄입니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationBulkWriter {
+
+    private final NotificationCommandMapper notificationCommandMapper;
+    private final NotificationCounterMapper notificationCounterMapper;
+
+    /** 읽지 않은 알림을 최대 limit개 읽음 처리합니다. @return 처리한 행 수 (limit보다 작으면 마지막 묶음) */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int markReadChunk(Long userId, int limit) {
+        List<Long> ids = notificationCommandMapper.findIdsByUserAndRead(userId, false, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int updated = notificationCommandMapper.markReadByIds(ids);
+        notificationCounterMapper.subtractUnread(userId, updated, LocalDateTime.now());
+        return ids.size();
+    }
+
+    /** 읽음 여부가 read인 알림을 최대 limit개 삭제합니다. @return 삭제한 행 수 */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int deleteChunk(Long userId, boolean read, int limit) {
+        List<Long> ids = notificationCommandMapper.findIdsByUserAndRead(userId, read, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int deleted = notificationCommandMapper.deleteByIds(ids);
+        if (!read) {
+            notificationCounterMapper.subtractUnread(userId, deleted, LocalDateTime.now());
+        }
+        return deleted;
+    }
+
+    /** 보관 기간이 지난 알림을 삭제하고, 그중 읽지 않은 알림은 사용자별로 카운터에서 뺍니다. */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int deleteExpired(Collection<NotificationScanRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int deleted = notificationCommandMapper.deleteByIds(rows.stream().map(NotificationScanRow::getId).toList());
+        Map<Long, Long> unreadByUser = rows.stream()
+                .filter(row -> !row.isRead())
+                .collect(Collectors.groupingBy(NotificationScanRow::getUserId, Collectors.counting()));
+        LocalDateTime now = LocalDateTime.now();
+        unreadByUser.forEach((userId, count) -> notificationCounterMapper.subtractUnread(userId, count, now));
+        return deleted;
+    }
+}
@@ -4,88 +4,198 @@ import com.maplog.common.exception.BusinessException;
 import com.maplog.common.exception.ErrorCode;
 import com.maplog.notification.command.domain.Notification;
 import com.maplog.notification.command.domain.NotificationType;
+import com.maplog.notification.command.mapper.NotificationCommandMapper;
+import com.maplog.notification.command.mapper.NotificationCounterMapper;
 import com.maplog.notification.command.repository.NotificationCommandRepository;
-import com.maplog.sse.SseEmitterService;
-import com.maplog.user.command.domain.User;
-import com.maplog.user.command.repository.UserCommandRepository;
+import com.maplog.notification.query.service.UnreadCountService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * NotificationCommandService - 알림 생성/읽음/삭제
+ *
+ * 【저장】
+ * 새 알림은 NotificationCommandMapper의 multi-row INSERT로 저장하므로,
+ * 수신자 수와 관계없이 DB 왕복은 한 번입니다. (IDENTITY id라 JPA saveAll은 행마다 INSERT)
+ *
+ * 【묶음 처리】
+ * - SSE 푸시: NotificationPushCoalescer가 수신자별로 같은 종류의 알림을 짧은 시간 동안 모아 한 번에 보냅니다.
+ * - 알림 행: app.notification.coalesce.aggregate-window-ms가 0보다 크면, 그 시간 안에 생긴
+ *   읽지 않은 같은 종류의 알림이 있을 때 새 행을 만들지 않고 기존 행에 합칩니다. (기본 비활성)
+ *
+ * 【읽지 않은 알림 수】
+ * 배지 조회가 매번 COUNT(*)를 하지 않도록 notification_counters를 같은 트랜잭션에서 증감합니다.
+ * - 새 행 생성: +1 (기존 행에 합친 경우는 이미 읽지 않은 상태이므로 그대로)
+ * - 읽음/삭제: 실제로 바뀐 읽지 않은 행 수만큼 -1
+ * 변경 후에는 UnreadCountService 캐시를 커밋 시점에 비우고, 읽음/삭제는 "badge" SSE로 새 값을 보냅니다.
+ *
+ * 【일괄 읽음/삭제】
+ * markAllAsRead, deleteAll은 NotificationBulkWriter로 app.notification.bulk.chunk-size개씩 나눠
+ * 묶음마다 커밋합니다. (한 문장이 건드리는 행 수와 잠금 유지 시간을 제한)
+ */
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class NotificationCommandService {
 
     private final NotificationCommandRepository notificationCommandRepository;
-    private final UserCommandRepository userCommandRepository;
-    private final SseEmitterService sseEmitterService;
+    private final NotificationCommandMapper notificationCommandMapper;
+    private final NotificationCounterMapper notificationCounterMapper;
+    private final NotificationPushCoalescer notificationPushCoalescer;
+    private final NotificationBulkWriter notificationBulkWriter;
+    private final UnreadCountService unreadCountService;
+
+    // multi-row INSERT 한 문장에 담을 최대 행 수
+    private static final int INSERT_CHUNK_SIZE = 500;
+
+    @Value("${app.notification.coalesce.aggregate-window-ms:0}")
+    private long aggregateWindowMillis;
+
+    @Value("${app.notification.bulk.chunk-size:1000}")
+    private int bulkChunkSize;
 
     public void createFriendRequestNotification(Long receiverId, Long friendId, String requesterNickname) {
-        Notification notification = Notification.create(
-                receiverId,
-                NotificationType.FRIEND_REQUEST,
-                friendId,
+        // 【SSE 실시간 푸시】친구 요청 알림을 수신자에게 전송
+        notify(List.of(receiverId), NotificationType.FRIEND_REQUEST, friendId,
                 String.format("'%s'님으로부터 새로운 친구 요청이 도착했습니다.", requesterNickname));
-        notificationCommandRepository.save(notification);
-        // 【SSE 실시간 푸시】친구 요청 알림을 수신자에게 즉시 전송
-        sseEmitterService.send(receiverId, "notification",
-                Map.of("type", "FRIEND_REQUEST", "message", notification.getMessage()));
     }
 
     public void createFriendAcceptedNotification(Long requesterId, Long friendId, String receiverNickname) {
-        Notification notification = Notification.create(
-                requesterId,
-                NotificationType.FRIEND_ACCEPTED,
-                friendId,
+        // 【SSE 실시간 푸시】친구 수락 알림을 요청자에게 전송
+        notify(List.of(requesterId), NotificationType.FRIEND_ACCEPTED, friendId,
                 String.format("'%s'님이 친구 요청을 수락했습니다.", receiverNickname));
-        notificationCommandRepository.save(notification);
-        // 【SSE 실시간 푸시】친구 수락 알림을 요청자에게 즉시 전송
-        sseEmitterService.send(requesterId, "notification",
-                Map.of("type", "FRIEND_ACCEPTED", "message", notification.getMessage()));
     }
 
     public void createDiarySharedNotification(Long receiverId, Long diaryId, String diaryTitle, String sharerNickname) {
-        Notification notification = Notification.create(
-                receiverId,
-                NotificationType.DIARY_SHARED,
-                diaryId,
+        createDiarySharedNotifications(List.of(receiverId), diaryId, diaryTitle, sharerNickname);
+    }
+
+    /**
+     * 일기를 여러 친구에게 공유했을 때의 알림
+     * 수신자마다 알림 행을 만들고, SSE 이벤트는 한 번만 직렬화하여 모든 수신자에게 보냅니다.
+     */
+    public void createDiarySharedNotifications(List<Long> receiverIds, Long diaryId, String diaryTitle, String sharerNickname) {
+        // 【SSE 실시간 푸시】일기 공유 알림을 수신자 전원에게 전송
+        notify(receiverIds, NotificationType.DIARY_SHARED, diaryId,
                 String.format("'%s'님이 '%s' 일기를 공유했습니다.", sharerNickname, diaryTitle));
-        notificationCommandRepository.save(notification);
-        // 【SSE 실시간 푸시】일기 공유 알림을 수신자에게 즉시 전송
-        sseEmitterService.send(receiverId, "notification",
-                Map.of("type", "DIARY_SHARED", "message", notification.getMessage()));
     }
 
-    public void markAsRead(String email, Long notificationId) {
-        User user = getUser(email);
+    public void markAsRead(Long userId, Long notificationId) {
         Notification notification = notificationCommandRepository.findById(notificationId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.NOTIFICATION_NOT_FOUND));
 
-        if (!notification.getUserId().equals(user.getId())) {
+        if (!notification.getUserId().equals(userId)) {
             throw new BusinessException(ErrorCode.FORBIDDEN);
         }
+        if (notification.isRead()) {
+            return;
+        }
         notification.markAsRead();
+        decreaseUnread(userId, 1);
     }
 
-    public void markAllAsRead(String email) {
-        User user = getUser(email);
-        notificationCommandRepository.markAllAsRead(user.getId());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void markAllAsRead(Long userId) {
+        int updated = 0;
+        int chunk;
+        do {
+            chunk = notificationBulkWriter.markReadChunk(userId, bulkChunkSize);
+            updated += chunk;
+        } while (chunk > 0 && chunk >= bulkChunkSize);
+        if (updated > 0) {
+            unreadCountChanged(userId);
+        }
     }
 
-    public void deleteAll(String email, Boolean readFilter) {
-        User user = getUser(email);
-        if (readFilter == null) {
-            notificationCommandRepository.deleteAllByUserId(user.getId());
-        } else {
-            notificationCommandRepository.deleteByUserIdAndRead(user.getId(), readFilter);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void deleteAll(Long userId, Boolean readFilter) {
+        int deletedUnread = 0;
+        if (readFilter == null || !readFilter) {
+            deletedUnread = deleteInChunks(userId, false);
         }
+        if (readFilter == null || readFilter) {
+            deleteInChunks(userId, true);
+        }
+        if (deletedUnread > 0) {
+            unreadCountChanged(userId);
+        }
+    }
+
+    private int deleteInChunks(Long userId, boolean read) {
+        int deleted = 0;
+        int chunk;
+        do {
+            chunk = notificationBulkWriter.deleteChunk(userId, read, bulkChunkSize);
+            deleted += chunk;
+        } while (chunk > 0 && chunk >= bulkChunkSize);
+        return deleted;
+    }
+
+    private void decreaseUnread(Long userId, int count) {
+        notificationCounterMapper.subtractUnread(userId, count, LocalDateTime.now());
+        unreadCountChanged(userId);
     }
 
-    private User getUser(String email) {
-        return userCommandRepository.findByEmailAndDeletedAtIsNull(email)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+    private void unreadCountChanged(Long userId) {
+        unreadCountService.evictAfterCommit(List.of(userId));
+        notificationPushCoalescer.pushUnreadCount(userId);
+    }
+
+    private void notify(List<Long> receiverIds, NotificationType type, Long referenceId, String message) {
+        if (receiverIds.isEmpty()) {
+            return;
+        }
+        saveOrAggregate(receiverIds, type, referenceId, message);
+        notificationPushCoalescer.pushAll(receiverIds, type, message);
+    }
+
+    /** 합칠 수 있는 최근 알림이 있는 수신자는 기존 행을 갱신하고, 나머지는 새 행을 만듭니다. */
+    private void saveOrAggregate(List<Long> receiverIds, NotificationType type, Long referenceId, String message) {
+        Map<Long, Notification> aggregatable = new HashMap<>();
+        if (aggregateWindowMillis > 0) {
+            LocalDateTime since = LocalDateTime.now().minusNanos(aggregateWindowMillis * 1_000_000);
+            // id 내림차순이므로 수신자별 첫 행이 가장 최근 알림
+            for (Notification recent : notificationCommandRepository.findAggregatable(receiverIds, type, since)) {
+                aggregatable.putIfAbsent(recent.getUserId(), recent);
+            }
+        }
+
+        List<Notification> created = new ArrayList<>(receiverIds.size());
+        for (Long receiverId : receiverIds) {
+            Notification recent = aggregatable.get(receiverId);
+            if (recent != null) {
+                recent.aggregate(referenceId);
+            } else {
+                created.add(Notification.create(receiverId, type, referenceId, message));
+            }
+        }
+        insertAll(created);
+    }
+
+    /**
+     * 새 알림을 multi-row INSERT로 저장하고 수신자별 읽지 않은 알림 수를 1씩 늘립니다.
+     * 수신자가 아주 많으면 INSERT_CHUNK_SIZE씩 나눕니다.
+     */
+    private void insertAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        LocalDateTime createdAt = LocalDateTime.now();
+        for (int from = 0; from < notifications.size(); from += INSERT_CHUNK_SIZE) {
+            int to = Math.min(from + INSERT_CHUNK_SIZE, notifications.size());
+            List<Notification> chunk = notifications.subList(from, to);
+            notificationCommandMapper.insertAll(chunk, createdAt);
+            notificationCounterMapper.addUnread(chunk.stream().map(Notification::getUserId).toList(), 1, createdAt);
+        }
+        unreadCountService.evictAfterCommit(notifications.stream().map(Notification::getUserId).toList());
     }
-}
\ No newline at end of file
+}
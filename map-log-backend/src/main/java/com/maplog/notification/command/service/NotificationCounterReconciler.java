@@ -0,0 +1,89 @@
+package com.maplog.notification.command.service;
+
+import com.maplog.common.lock.JobLockService;
+import com.maplog.notification.command.mapper.NotificationCounterMapper;
+import com.maplog.notification.query.service.UnreadCountService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * NotificationCounterReconciler - 읽지 않은 알림 카운터를 notifications 테이블 기준으로 주기적으로 다시 맞춥니다.
+ *
+ * 【대상】
+ * 직전 실행 이후(겹침 구간 포함)에 갱신된 카운터만 다시 셉니다.
+ * 배포 전부터 있던 알림, 동시 처리 경합 등으로 어긋난 값은 다음 변경 후 한 주기 안에 바로잡힙니다.
+ *
+ * 【처리】 user_id 순으로 batch-size씩 UPDATE ... SET unread_count = (SELECT COUNT(*) ...)
+ *
+ * 【단일 실행】
+ * 모든 파드에 스케줄이 걸려 있지만 JobLockService의 임대 잠금(reconcile-interval-ms의 90%)을 얻은 파드 하나만 실행합니다.
+ * 직전 실행이 다른 파드였을 수 있으므로, 이 파드가 처음 실행할 때는 두 주기 전부터 봅니다.
+ */
+@Slf4j
+@Component
+public class NotificationCounterReconciler {
+
+    static final String LOCK_NAME = "notification-counter-reconcile";
+
+    private final NotificationCounterMapper notificationCounterMapper;
+    private final UnreadCountService unreadCountService;
+    private final JobLockService jobLockService;
+    private final long intervalMillis;
+    private final int batchSize;
+    private final Duration lockLease;
+
+    private LocalDateTime lastRunAt;
+
+    public NotificationCounterReconciler(NotificationCounterMapper notificationCounterMapper,
+                                         UnreadCountService unreadCountService,
+                                         JobLockService jobLockService,
+                                         @Value("${app.notification.unread.reconcile-interval-ms:300000}") long intervalMillis,
+                                         @Value("${app.notification.unread.reconcile-batch-size:500}") int batchSize) {
+        this.notificationCounterMapper = notificationCounterMapper;
+        this.unreadCountService = unreadCountService;
+        this.jobLockService = jobLockService;
+        this.intervalMillis = intervalMillis;
+        this.batchSize = Math.max(1, batchSize);
+        this.lockLease = Duration.ofMillis(intervalMillis * 9 / 10);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.unread.reconcile-interval-ms:300000}")
+    public void reconcileScheduled() {
+        if (!jobLockService.tryAcquire(LOCK_NAME, lockLease)) {
+            return;
+        }
+        reconcile(LocalDateTime.now());
+    }
+
+    /** @return 다시 센 카운터 수 */
+    synchronized int reconcile(LocalDateTime startedAt) {
+        // 커밋 지연을 고려해 직전 실행 시각보다 한 주기 앞에서부터 본다.
+        // 이 파드의 첫 실행이면 다른 파드의 직전 실행이 최대 한 주기 전이므로 거기서 다시 한 주기 앞부터 본다.
+        Duration interval = Duration.ofMillis(intervalMillis);
+        LocalDateTime since = (lastRunAt != null ? lastRunAt : startedAt.minus(interval)).minus(interval);
+
+        int reconciled = 0;
+        long afterUserId = 0;
+        while (true) {
+            List<Long> userIds = notificationCounterMapper.findUpdatedSince(since, afterUserId, batchSize);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            notificationCounterMapper.reconcile(userIds);
+            unreadCountService.evict(userIds);
+            reconciled += userIds.size();
+            afterUserId = userIds.get(userIds.size() - 1);
+        }
+        lastRunAt = startedAt;
+        if (reconciled > 0) {
+            log.debug("[알림] 읽지 않은 알림 카운터 보정 - {}명", reconciled);
+        }
+        return reconciled;
+    }
+}
@@ -0,0 +1,218 @@
+package com.maplog.notification.command.service;
+
+import com.maplog.notification.command.domain.NotificationType;
+import com.maplog.notification.query.service.UnreadCountService;
+import com.maplog.sse.SseEmitterService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NotificationPushCoalescer - 수신자별로 짧은 시간에 몰린 같은 종류의 알림 푸시를 하나로 묶습니다.
+ *
+ * 【목적】
+ * 한 사용자가 일기 열 개를 연달아 공유하거나, 인기 사용자가 친구 요청을 한꺼번에 수락하면
+ * 수신자는 같은 종류의 SSE 이벤트를 연달아 받습니다.
+ * (수신자, 알림 종류)별로 window-ms 동안 모았다가 한 번만 보내고,
+ * 두 건 이상이면 "일기 3개가 공유되었습니다." 같은 요약 문구로 보냅니다.
+ *
+ * 【동작】
+ * - 트랜잭션 안에서 호출되면 커밋 후에만 모읍니다. (롤백된 알림은 푸시하지 않음)
+ * - 첫 알림이 들어온 시각 + window-ms가 지나면 전용 스레드가 보냅니다. (최대 지연 = window-ms + tick)
+ * - 같은 시각에 만료된 항목 중 내용이 같은 것(예: 한 번의 공유로 생긴 여러 수신자)은
+ *   sendToAll로 묶어 한 번만 직렬화합니다.
+ * - window-ms가 0이면 묶지 않고 바로 보냅니다.
+ * - 보내는 시점의 읽지 않은 알림 수(unreadCount)를 함께 실어, 클라이언트가 배지를 다시 조회하지 않게 합니다.
+ *   읽음/삭제처럼 알림 없이 배지만 바뀌는 경우는 pushUnreadCount로 "badge" 이벤트를 보냅니다.
+ *
+ * 【메트릭】 notification.push{result=sent|coalesced}
+ */
+@Slf4j
+@Component
+public class NotificationPushCoalescer {
+
+    private final SseEmitterService sseEmitterService;
+    private final UnreadCountService unreadCountService;
+    private final long windowNanos;
+    private final long tickMillis;
+    private final Map<Key, Pending> pending = new ConcurrentHashMap<>();
+    private final Counter sent;
+    private final Counter coalesced;
+
+    private ScheduledExecutorService flusher;
+
+    public NotificationPushCoalescer(SseEmitterService sseEmitterService,
+                                     UnreadCountService unreadCountService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.notification.coalesce.window-ms:1000}") long windowMillis) {
+        this.sseEmitterService = sseEmitterService;
+        this.unreadCountService = unreadCountService;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, windowMillis));
+        this.tickMillis = Math.max(20, windowMillis / 4);
+        this.sent = Counter.builder("notification.push").tag("result", "sent").register(meterRegistry);
+        this.coalesced = Counter.builder("notification.push").tag("result", "coalesced").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (windowNanos == 0) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleAtFixedRate(this::safeFlush, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** 종료 전에 모아 둔 알림을 모두 보냅니다. */
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        flushDue(System.nanoTime() + windowNanos);
+    }
+
+    public void push(Long receiverId, NotificationType type, String message) {
+        pushAll(List.of(receiverId), type, message);
+    }
+
+    /** 같은 내용의 알림을 여러 수신자에게 보냅니다. (수신자별로 따로 묶임) */
+    public void pushAll(Collection<Long> receiverIds, NotificationType type, String message) {
+        if (receiverIds.isEmpty()) {
+            return;
+        }
+        if (windowNanos == 0) {
+            // 캐시는 커밋 후에야 비워지므로 DB에서 읽어야 같은 트랜잭션에서 방금 늘어난 카운터까지 반영된다.
+            // (전송은 커밋 후)
+            Map<Push, List<Long>> groups = new LinkedHashMap<>();
+            Map<Long, Long> unreadCounts = unreadCountService.getCurrentUnreadCounts(receiverIds);
+            for (Long receiverId : receiverIds) {
+                groups.computeIfAbsent(new Push(type, message, 1, unreadCounts.getOrDefault(receiverId, 0L)),
+                        p -> new ArrayList<>()).add(receiverId);
+            }
+            send(groups);
+            return;
+        }
+        List<Long> receivers = List.copyOf(receiverIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(receivers, type, message);
+                }
+            });
+        } else {
+            offer(receivers, type, message);
+        }
+    }
+
+    /**
+     * 알림 없이 읽지 않은 알림 수만 바뀐 경우(읽음, 삭제) 배지 값을 보냅니다.
+     * 쓰기 트랜잭션 안에서 불리므로 캐시가 아니라 DB의 현재 값을 싣습니다.
+     */
+    public void pushUnreadCount(Long userId) {
+        sseEmitterService.send(userId, "badge", Map.of("unreadCount", unreadCountService.getCurrentUnreadCount(userId)));
+    }
+
+    private void offer(List<Long> receiverIds, NotificationType type, String message) {
+        long now = System.nanoTime();
+        for (Long receiverId : receiverIds) {
+            pending.compute(new Key(receiverId, type), (key, existing) -> {
+                if (existing == null) {
+                    return new Pending(now + windowNanos, message);
+                }
+                existing.count++;
+                existing.message = message;
+                coalesced.increment();
+                return existing;
+            });
+        }
+    }
+
+    /** now 시점에 만료된 항목을 보냅니다. 내용이 같은 항목끼리는 한 번에 보냅니다. */
+    void flushDue(long now) {
+        Map<Key, Pending> due = new LinkedHashMap<>();
+        for (Map.Entry<Key, Pending> entry : pending.entrySet()) {
+            Pending candidate = entry.getValue();
+            if (candidate.dueAt - now > 0 || !pending.remove(entry.getKey(), candidate)) {
+                continue;
+            }
+            // remove 이후에는 다른 스레드가 이 항목을 바꾸지 않는다.
+            due.put(entry.getKey(), candidate);
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> unreadCounts = unreadCountService.getUnreadCounts(
+                due.keySet().stream().map(Key::receiverId).distinct().toList());
+        Map<Push, List<Long>> groups = new LinkedHashMap<>();
+        due.forEach((key, candidate) -> {
+            String message = candidate.count == 1 ? candidate.message : key.type().summaryMessage(candidate.count);
+            Push push = new Push(key.type(), message, candidate.count,
+                    unreadCounts.getOrDefault(key.receiverId(), 0L));
+            groups.computeIfAbsent(push, p -> new ArrayList<>()).add(key.receiverId());
+        });
+        send(groups);
+    }
+
+    private void send(Map<Push, List<Long>> groups) {
+        groups.forEach((push, receiverIds) -> {
+            sseEmitterService.sendToAll(receiverIds, "notification", Map.of(
+                    "type", push.type().name(),
+                    "message", push.message(),
+                    "count", push.count(),
+                    "unreadCount", push.unreadCount()));
+            sent.increment(receiverIds.size());
+        });
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private void safeFlush() {
+        try {
+            flushDue(System.nanoTime());
+        } catch (RuntimeException e) {
+            // 예외로 예약이 취소되지 않도록 한다.
+            log.warn("[알림] 묶음 푸시 실패: {}", e.getMessage());
+        }
+    }
+
+    private record Key(Long receiverId, NotificationType type) {
+    }
+
+    private record Push(NotificationType type, String message, int count, long unreadCount) {
+    }
+
+    private static final class Pending {
+        private final long dueAt;
+        private int count = 1;
+        private String message;
+
+        private Pending(long dueAt, String message) {
+            this.dueAt = dueAt;
+            this.message = message;
+        }
+    }
+}
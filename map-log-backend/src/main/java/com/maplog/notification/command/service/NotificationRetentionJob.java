@@ -0,0 +1,119 @@
+package com.maplog.notification.command.service;
+
+import com.maplog.common.lock.JobLockService;
+import com.maplog.notification.command.dto.NotificationScanRow;
+import com.maplog.notification.command.mapper.NotificationCommandMapper;
+import com.maplog.notification.query.service.UnreadCountService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * NotificationRetentionJob - 보관 기간이 지난 알림을 주기적으로 삭제합니다.
+ *
+ * 【정책】 (0이면 해당 정리 비활성)
+ * - read-days: 읽은 알림은 생성 후 N일이 지나면 삭제
+ * - unread-days: 읽지 않은 알림도 생성 후 N일이 지나면 삭제 (카운터도 함께 감소)
+ *
+ * 【처리】
+ * 읽음/읽지 않음 각각 (is_read, created_at, id) 인덱스로 기준 시각 이전 범위만 chunk-size개씩 읽고,
+ * 그 묶음을 한 트랜잭션으로 지웁니다. 보관 중인 행은 읽지 않으므로 지울 것이 없으면 인덱스 한 번 조회로 끝나고,
+ * 비용은 테이블 크기가 아니라 지우는 행 수에 비례합니다.
+ * 한 문장이 건드리는 행은 항상 chunk-size 이하이고, 묶음마다 바로 커밋합니다.
+ *
+ * 【단일 실행】
+ * 모든 파드에 스케줄이 걸려 있지만 JobLockService의 임대 잠금(interval-ms의 90%)을 얻은 파드 하나만 실행합니다.
+ */
+@Slf4j
+@Component
+public class NotificationRetentionJob {
+
+    static final String LOCK_NAME = "notification-retention";
+
+    private final NotificationCommandMapper notificationCommandMapper;
+    private final NotificationBulkWriter notificationBulkWriter;
+    private final UnreadCountService unreadCountService;
+    private final JobLockService jobLockService;
+    private final int readRetentionDays;
+    private final int unreadRetentionDays;
+    private final int chunkSize;
+    private final Duration lockLease;
+
+    public NotificationRetentionJob(NotificationCommandMapper notificationCommandMapper,
+                                    NotificationBulkWriter notificationBulkWriter,
+                                    UnreadCountService unreadCountService,
+                                    JobLockService jobLockService,
+                                    @Value("${app.notification.retention.read-days:90}") int readRetentionDays,
+                                    @Value("${app.notification.retention.unread-days:365}") int unreadRetentionDays,
+                                    @Value("${app.notification.retention.chunk-size:1000}") int chunkSize,
+                                    @Value("${app.notification.retention.interval-ms:3600000}") long intervalMillis) {
+        this.notificationCommandMapper = notificationCommandMapper;
+        this.notificationBulkWriter = notificationBulkWriter;
+        this.unreadCountService = unreadCountService;
+        this.jobLockService = jobLockService;
+        this.readRetentionDays = readRetentionDays;
+        this.unreadRetentionDays = unreadRetentionDays;
+        this.chunkSize = Math.max(1, chunkSize);
+        // 파드마다 실행 시점이 조금씩 달라도 다음 주기에는 잠금이 풀려 있도록 주기보다 약간 짧게 잡는다.
+        this.lockLease = Duration.ofMillis(intervalMillis * 9 / 10);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.retention.interval-ms:3600000}",
+            initialDelayString = "${app.notification.retention.initial-delay-ms:600000}")
+    public void purge() {
+        if (!jobLockService.tryAcquire(LOCK_NAME, lockLease)) {
+            return;
+        }
+        purge(LocalDateTime.now());
+    }
+
+    /** now 기준으로 보관 기간이 지난 알림을 삭제합니다. @return 삭제한 행 수 */
+    int purge(LocalDateTime now) {
+        LocalDateTime readCutoff = readRetentionDays > 0 ? now.minusDays(readRetentionDays) : null;
+        LocalDateTime unreadCutoff = unreadRetentionDays > 0 ? now.minusDays(unreadRetentionDays) : null;
+        int deleted = 0;
+        if (readCutoff != null) {
+            deleted += purgeBefore(true, readCutoff);
+        }
+        if (unreadCutoff != null) {
+            deleted += purgeBefore(false, unreadCutoff);
+        }
+        if (deleted > 0) {
+            log.info("[알림] 보관 기간이 지난 알림 정리 - {}건", deleted);
+        }
+        return deleted;
+    }
+
+    private int purgeBefore(boolean read, LocalDateTime cutoff) {
+        int deleted = 0;
+        LocalDateTime afterCreatedAt = null;
+        long afterId = 0;
+        while (true) {
+            List<NotificationScanRow> expired = notificationCommandMapper.findExpired(
+                    read, cutoff, afterCreatedAt, afterId, chunkSize);
+            if (expired.isEmpty()) {
+                break;
+            }
+            deleted += notificationBulkWriter.deleteExpired(expired);
+            if (!read) {
+                Set<Long> touched = new LinkedHashSet<>();
+                expired.forEach(row -> touched.add(row.getUserId()));
+                unreadCountService.evict(touched);
+            }
+            if (expired.size() < chunkSize) {
+                break;
+            }
+            NotificationScanRow last = expired.get(expired.size() - 1);
+            afterCreatedAt = last.getCreatedAt();
+            afterId = last.getId();
+        }
+        return deleted;
+    }
+}
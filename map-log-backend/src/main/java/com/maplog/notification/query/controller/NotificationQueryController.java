@@ -1,15 +1,17 @@
 package com.maplog.notification.query.controller;
 
 import com.maplog.common.response.ApiResponse;
+import com.maplog.common.response.CursorPage;
+import com.maplog.common.security.CurrentUserId;
 import com.maplog.notification.query.dto.NotificationResponse;
+import com.maplog.notification.query.dto.UnreadCountResponse;
 import com.maplog.notification.query.service.NotificationQueryService;
+import com.maplog.notification.query.service.UnreadCountService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -21,17 +23,46 @@ import org.springframework.web.bind.annotation.RestController;
 public class NotificationQueryController {
 
     private final NotificationQueryService notificationQueryService;
+    private final UnreadCountService unreadCountService;
+
+    // 커서 페이지 한 번에 돌려줄 최대 건수
+    private static final int MAX_PAGE_SIZE = 100;
 
     @GetMapping
     public ResponseEntity<ApiResponse<Page<NotificationResponse>>> getNotifications(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @RequestParam(required = false) String isRead,
             @PageableDefault(size = 20) Pageable pageable) {
-        Boolean readFilter = null;
-        if ("Y".equalsIgnoreCase(isRead)) readFilter = true;
-        else if ("N".equalsIgnoreCase(isRead)) readFilter = false;
         Page<NotificationResponse> notifications = notificationQueryService.getNotifications(
-                userDetails.getUsername(), readFilter, pageable);
+                userId, toReadFilter(isRead), pageable);
+        return ResponseEntity.ok(ApiResponse.success(notifications));
+    }
+
+    /**
+     * 커서 기반 알림 목록 - GET /api/notifications/scroll?cursor=&size=&isRead=
+     * 전체 개수 대신 hasNext/nextCursor를 돌려주며, 다음 페이지는 nextCursor를 cursor로 넘겨 조회합니다.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<NotificationResponse>>> getNotificationsByCursor(
+            @CurrentUserId Long userId,
+            @RequestParam(required = false) String isRead,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<NotificationResponse> notifications = notificationQueryService.getNotificationsByCursor(
+                userId, toReadFilter(isRead), cursor, Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
         return ResponseEntity.ok(ApiResponse.success(notifications));
     }
-}
\ No newline at end of file
+
+    /** 배지용 읽지 않은 알림 수 (알림 목록을 내려받지 않고 숫자만 조회) */
+    @GetMapping("/unread-count")
+    public ResponseEntity<ApiResponse<UnreadCountResponse>> getUnreadCount(@CurrentUserId Long userId) {
+        return ResponseEntity.ok(ApiResponse.success(
+                new UnreadCountResponse(unreadCountService.getUnreadCount(userId))));
+    }
+
+    private static Boolean toReadFilter(String isRead) {
+        if ("Y".equalsIgnoreCase(isRead)) return true;
+        if ("N".equalsIgnoreCase(isRead)) return false;
+        return null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.maplog.notification.query.dto;
+
+/**
+ * 알림 배지용 읽지 않은 알림 수
+ */
+public record UnreadCountResponse(long unreadCount) {
+}
@@ -0,0 +1,13 @@
+package com.maplog.notification.query.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class UnreadCountRow {
+    private Long userId;
+    private long unreadCount;
+}
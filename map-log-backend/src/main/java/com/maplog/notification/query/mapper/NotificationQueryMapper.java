@@ -1,9 +1,12 @@
 package com.maplog.notification.query.mapper;
 
 import com.maplog.notification.query.dto.NotificationResponse;
+import com.maplog.notification.query.dto.UnreadCountRow;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -14,6 +17,27 @@ public interface NotificationQueryMapper {
                                                  @Param("offset") int offset,
                                                  @Param("size") int size);
 
+    /**
+     * 키셋 페이지 조회: (cursorAt, cursorId)보다 앞선(더 오래된) 알림을 최신순으로 limit건
+     * cursorAt이 null이면 첫 페이지
+     */
+    List<NotificationResponse> findNotificationsBefore(@Param("userId") Long userId,
+                                                       @Param("readFilter") Boolean readFilter,
+                                                       @Param("cursorAt") LocalDateTime cursorAt,
+                                                       @Param("cursorId") Long cursorId,
+                                                       @Param("limit") int limit);
+
     long countNotifications(@Param("userId") Long userId,
                             @Param("readFilter") Boolean readFilter);
-}
\ No newline at end of file
+
+    /** since 이후(포함)에 생성된 알림 중 최근 limit건을 최신순으로 조회 (SSE 재연결 시 놓친 알림 재전송) */
+    List<NotificationResponse> findNotificationsSince(@Param("userId") Long userId,
+                                                      @Param("since") LocalDateTime since,
+                                                      @Param("limit") int limit);
+
+    /** 카운터 테이블에 저장된 사용자별 읽지 않은 알림 수 (행이 없는 사용자는 결과에 없음) */
+    List<UnreadCountRow> findUnreadCounters(@Param("userIds") Collection<Long> userIds);
+
+    /** notifications 테이블에서 직접 센 사용자별 읽지 않은 알림 수 (카운터 행이 없는 사용자용) */
+    List<UnreadCountRow> countUnreadByUsers(@Param("userIds") Collection<Long> userIds);
+}
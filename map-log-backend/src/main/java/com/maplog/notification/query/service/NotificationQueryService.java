@@ -1,11 +1,9 @@
 package com.maplog.notification.query.service;
 
-import com.maplog.common.exception.BusinessException;
-import com.maplog.common.exception.ErrorCode;
+import com.maplog.common.response.CursorPage;
+import com.maplog.common.util.CursorToken;
 import com.maplog.notification.query.dto.NotificationResponse;
 import com.maplog.notification.query.mapper.NotificationQueryMapper;
-import com.maplog.user.command.domain.User;
-import com.maplog.user.command.repository.UserCommandRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -15,25 +13,36 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+/**
+ * NotificationQueryService - 알림 목록 조회
+ *
+ * 【페이지 방식】
+ * - getNotifications: OFFSET 페이지 + COUNT(*) (기존 Page API 호환용)
+ * - getNotificationsByCursor: (created_at, id) 키셋 페이지. 깊은 페이지도 인덱스 범위 조회 한 번이며 COUNT를 하지 않습니다.
+ */
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class NotificationQueryService {
 
-    private final UserCommandRepository userCommandRepository;
     private final NotificationQueryMapper notificationQueryMapper;
 
-    public Page<NotificationResponse> getNotifications(String email, Boolean readFilter, Pageable pageable) {
-        User user = getUser(email);
+    public Page<NotificationResponse> getNotifications(Long userId, Boolean readFilter, Pageable pageable) {
         int offset = (int) pageable.getOffset();
         int size = pageable.getPageSize();
-        List<NotificationResponse> items = notificationQueryMapper.findNotifications(user.getId(), readFilter, offset, size);
-        long total = notificationQueryMapper.countNotifications(user.getId(), readFilter);
+        List<NotificationResponse> items = notificationQueryMapper.findNotifications(userId, readFilter, offset, size);
+        long total = notificationQueryMapper.countNotifications(userId, readFilter);
         return new PageImpl<>(items, pageable, total);
     }
 
-    private User getUser(String email) {
-        return userCommandRepository.findByEmailAndDeletedAtIsNull(email)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+    /** 키셋 페이지 조회. cursor가 없으면 첫 페이지, size+1건을 읽어 다음 페이지 여부를 판단합니다. */
+    public CursorPage<NotificationResponse> getNotificationsByCursor(Long userId, Boolean readFilter, String cursor, int size) {
+        CursorToken after = CursorToken.decode(cursor);
+        List<NotificationResponse> fetched = notificationQueryMapper.findNotificationsBefore(
+                userId, readFilter,
+                after != null ? after.at() : null,
+                after != null ? after.id() : null,
+                size + 1);
+        return CursorPage.of(fetched, size, last -> new CursorToken(last.getCreatedAt(), last.getId()).encode());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package com.maplog.notification.query.service;
+
+import com.maplog.notification.query.dto.NotificationResponse;
+import com.maplog.notification.query.mapper.NotificationQueryMapper;
+import com.maplog.sse.SseEvent;
+import com.maplog.sse.SseEventEncoder;
+import com.maplog.sse.SseEventIdGenerator;
+import com.maplog.sse.SseReplaySource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * NotificationSseReplaySource - SSE 링 버퍼에 남아 있지 않은 알림 이벤트를 notifications 테이블에서 다시 만듭니다.
+ *
+ * 실시간 전송과 같은 형식({type, message})의 "notification" 이벤트로 돌려주며,
+ * 이벤트 ID는 알림 생성 시각으로 만듭니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationSseReplaySource implements SseReplaySource {
+
+    private final NotificationQueryMapper notificationQueryMapper;
+    private final SseEventEncoder sseEventEncoder;
+
+    @Override
+    public List<SseEvent> eventsSince(Long userId, long sinceMillis, int limit) {
+        LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochMilli(sinceMillis), ZoneId.systemDefault());
+        // 최신순으로 조회한 최근 limit건을 전송 순서(오래된 순)로 뒤집는다.
+        return notificationQueryMapper.findNotificationsSince(userId, since, limit).reversed().stream()
+                .map(notification -> toEvent(userId, notification))
+                .toList();
+    }
+
+    private SseEvent toEvent(Long userId, NotificationResponse notification) {
+        long createdAt = notification.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return sseEventEncoder.encode(
+                SseEventIdGenerator.lastOfMillis(createdAt),
+                userId,
+                "notification",
+                Map.of("type", notification.getType(), "message", notification.getMessage()));
+    }
+}
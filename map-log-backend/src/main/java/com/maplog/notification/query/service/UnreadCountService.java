@@ -0,0 +1,139 @@
+package com.maplog.notification.query.service;
+
+import com.maplog.common.cache.BoundedTtlCache;
+import com.maplog.notification.query.dto.UnreadCountRow;
+import com.maplog.notification.query.mapper.NotificationQueryMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * UnreadCountService - 알림 배지용 읽지 않은 알림 수 조회
+ *
+ * 【조회 순서】
+ * 1. 파드 로컬 캐시 (TTL app.notification.unread.cache-ttl-ms)
+ * 2. notification_counters 테이블 (생성/읽음/삭제 시 증감으로 유지)
+ * 3. 카운터 행이 아직 없는 사용자만 notifications 테이블에서 COUNT(*)
+ *
+ * 【캐시 일관성】
+ * - 이 파드의 변경은 커밋 후 해당 사용자 항목을 바로 비웁니다. (evictAfterCommit)
+ * - 다른 파드의 변경은 TTL 안에 반영되며, 그 사이의 변화는 SSE 이벤트의 unreadCount로 전달됩니다.
+ * - 쓰기 트랜잭션 안에서 읽은 값은 커밋 전 값일 수 있으므로 캐시에 넣지 않습니다.
+ * - 캐시는 커밋 후에야 비워지므로, 방금 바꾼 카운터를 SSE 이벤트에 실을 때는
+ *   getCurrentUnreadCounts로 캐시를 거치지 않고 DB에서 읽습니다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class UnreadCountService {
+
+    // IN 목록 하나에 담을 최대 사용자 수
+    private static final int QUERY_CHUNK_SIZE = 500;
+
+    private final NotificationQueryMapper notificationQueryMapper;
+    private final BoundedTtlCache<Long, Long> cache;
+    private final long ttlMillis;
+
+    public UnreadCountService(NotificationQueryMapper notificationQueryMapper,
+                              @Value("${app.notification.unread.cache-ttl-ms:5000}") long ttlMillis,
+                              @Value("${app.notification.unread.cache-max-size:10000}") int maxSize) {
+        this.notificationQueryMapper = notificationQueryMapper;
+        this.ttlMillis = ttlMillis;
+        this.cache = new BoundedTtlCache<>(maxSize);
+    }
+
+    public long getUnreadCount(Long userId) {
+        return getUnreadCounts(List.of(userId)).getOrDefault(userId, 0L);
+    }
+
+    /** 여러 사용자의 읽지 않은 알림 수 (알림이 없는 사용자는 0) */
+    public Map<Long, Long> getUnreadCounts(Collection<Long> userIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long userId : userIds) {
+            Long cached = cache.get(userId);
+            if (cached != null) {
+                counts.put(userId, cached);
+            } else {
+                missing.add(userId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return counts;
+        }
+
+        loadInto(missing, counts);
+        return counts;
+    }
+
+    public long getCurrentUnreadCount(Long userId) {
+        return getCurrentUnreadCounts(List.of(userId)).getOrDefault(userId, 0L);
+    }
+
+    /**
+     * 캐시를 거치지 않고 DB에서 읽은 읽지 않은 알림 수
+     * 쓰기 트랜잭션 안에서 호출하면 그 트랜잭션이 방금 바꾼 카운터까지 반영됩니다.
+     */
+    public Map<Long, Long> getCurrentUnreadCounts(Collection<Long> userIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        loadInto(List.copyOf(userIds), counts);
+        return counts;
+    }
+
+    /** 현재 트랜잭션이 커밋된 뒤(트랜잭션이 없으면 즉시) 캐시에서 제거합니다. */
+    public void evictAfterCommit(Collection<Long> userIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(userIds);
+            return;
+        }
+        List<Long> targets = List.copyOf(userIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(targets);
+            }
+        });
+    }
+
+    public void evict(Collection<Long> userIds) {
+        userIds.forEach(cache::invalidate);
+    }
+
+    private void loadInto(List<Long> userIds, Map<Long, Long> counts) {
+        Map<Long, Long> loaded = load(userIds);
+        boolean cacheable = !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        for (Long userId : userIds) {
+            long count = loaded.getOrDefault(userId, 0L);
+            counts.put(userId, count);
+            if (cacheable) {
+                cache.put(userId, count, expiresAt);
+            }
+        }
+    }
+
+    private Map<Long, Long> load(List<Long> userIds) {
+        Map<Long, Long> loaded = new HashMap<>();
+        for (int from = 0; from < userIds.size(); from += QUERY_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + QUERY_CHUNK_SIZE, userIds.size()));
+            for (UnreadCountRow row : notificationQueryMapper.findUnreadCounters(chunk)) {
+                loaded.put(row.getUserId(), row.getUnreadCount());
+            }
+            List<Long> withoutCounter = chunk.stream().filter(id -> !loaded.containsKey(id)).toList();
+            if (!withoutCounter.isEmpty()) {
+                for (UnreadCountRow row : notificationQueryMapper.countUnreadByUsers(withoutCounter)) {
+                    loaded.put(row.getUserId(), row.getUnreadCount());
+                }
+            }
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,285 @@
+package com.maplog.sse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * SseConnection - SseEmitter 하나와 그 연결의 전송 대기열
+ *
+ * 【목적】
+ * 호출 스레드(대개 트랜잭션 안의 서비스 메서드)는 대기열에 넣고 바로 돌아가고,
+ * 실제 네트워크 쓰기는 가상 스레드의 writer가 처리합니다.
+ * 느리거나 반쯤 끊긴 클라이언트가 있어도 DB 트랜잭션과 커넥션을 붙잡지 않습니다.
+ *
+ * 【구조】
+ * - 대기열은 용량이 정해진 ArrayDeque (넘치면 SseOverflowPolicy에 따라 버리거나 합침)
+ * - 연결당 writer는 최대 하나만 실행 (이벤트 순서 보장)
+ * - writer는 쌓여 있는 이벤트를 한 번의 쓰기로 묶어서 보냄 (트랜잭션 하나에서 나온 여러 이벤트도 flush 1회)
+ * - 이벤트에 미리 인코딩된 프레임 바이트를 그대로 씀 (연결마다 다시 직렬화하지 않음)
+ * - 쓰기에 실패하면 연결을 닫고 onClosed 콜백으로 목록에서 제거
+ * - 재연결 재전송 중에는 실시간 이벤트를 따로 모아 두었다가 재전송 뒤에 넣음 (holdLive / releaseLive)
+ * - 마지막 쓰기/진행 시각을 기록하여 SseHeartbeatWheel이 하트비트와 정체(stall) 판정에 사용
+ */
+@Slf4j
+class SseConnection {
+
+    private final Long userId;
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final SseOverflowPolicy overflowPolicy;
+    private final Executor writerExecutor;
+    private final Metrics metrics;
+    private final Consumer<SseConnection> onClosed;
+
+    // 한 번의 쓰기로 묶어 보낼 최대 이벤트 수
+    private static final int MAX_FRAMES_PER_WRITE = 32;
+
+    // 하트비트 (주석만 있는 프레임, 클라이언트에는 이벤트로 전달되지 않음)
+    private static final SseEvent HEARTBEAT = SseEvent.comment("heartbeat");
+
+    private final ArrayDeque<SseEvent> queue = new ArrayDeque<>();
+    // 재전송을 대기열에 넣는 동안 도착한 실시간 이벤트 (null이면 바로 대기열에 넣음)
+    private List<SseEvent> held;
+    private boolean draining;
+    private volatile boolean closed;
+    // 대기열을 모두 보낸 뒤 emitter를 정상 종료 (graceful drain)
+    private volatile boolean completeWhenDrained;
+
+    // 마지막으로 쓰기에 성공한 시각 (하트비트 필요 여부 판단)
+    private volatile long lastWriteNanos = System.nanoTime();
+    // 대기열 처리가 마지막으로 진행된 시각 (정체 판단)
+    private volatile long lastProgressNanos = lastWriteNanos;
+    // SseHeartbeatWheel 슬롯 번호 (-1: 미등록)
+    volatile int wheelSlot = -1;
+
+    SseConnection(Long userId, SseEmitter emitter, int capacity, SseOverflowPolicy overflowPolicy,
+                  Executor writerExecutor, Metrics metrics, Consumer<SseConnection> onClosed) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.writerExecutor = writerExecutor;
+        this.metrics = metrics;
+        this.onClosed = onClosed;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /** 이벤트를 대기열에 넣고, writer가 없으면 하나 시작합니다. 호출 스레드에서는 쓰지 않습니다. */
+    void enqueue(SseEvent event) {
+        if (closed) {
+            return;
+        }
+        boolean startWriter;
+        synchronized (queue) {
+            if (held != null) {
+                if (held.size() >= capacity) {
+                    held.remove(0);
+                    metrics.dropped.increment();
+                }
+                held.add(event);
+                return;
+            }
+            startWriter = offer(event);
+        }
+        startWriterIf(startWriter);
+    }
+
+    /** 재전송 이벤트를 넣습니다. 실시간 이벤트를 모아 두는 중에도 바로 대기열에 들어갑니다. */
+    void enqueueReplayed(SseEvent event) {
+        if (closed) {
+            return;
+        }
+        boolean startWriter;
+        synchronized (queue) {
+            startWriter = offer(event);
+        }
+        startWriterIf(startWriter);
+    }
+
+    /** 이후의 실시간 이벤트를 releaseLive 전까지 대기열 밖에 모아 둡니다. (재전송보다 앞서 나가지 않도록) */
+    void holdLive() {
+        synchronized (queue) {
+            if (held == null) {
+                held = new ArrayList<>();
+            }
+        }
+    }
+
+    /** 모아 둔 실시간 이벤트 중 이미 재전송한 id를 빼고 대기열 뒤에 넣은 뒤, 다시 바로 넣기 시작합니다. */
+    void releaseLive(Set<Long> replayedIds) {
+        boolean startWriter = false;
+        synchronized (queue) {
+            if (held == null) {
+                return;
+            }
+            for (SseEvent event : held) {
+                if (event.id() == null || !replayedIds.contains(event.id())) {
+                    startWriter |= offer(event);
+                }
+            }
+            held = null;
+        }
+        if (!closed) {
+            startWriterIf(startWriter);
+        }
+    }
+
+    /** queue 잠금 안에서 호출합니다. @return writer를 새로 시작해야 하면 true */
+    private boolean offer(SseEvent event) {
+        if (queue.size() >= capacity) {
+            discardFor(event);
+        }
+        queue.addLast(event);
+        metrics.queued.incrementAndGet();
+        boolean startWriter = !draining;
+        draining = true;
+        return startWriter;
+    }
+
+    private void startWriterIf(boolean startWriter) {
+        if (startWriter) {
+            lastProgressNanos = System.nanoTime();
+            writerExecutor.execute(this::drain);
+        }
+    }
+
+    /**
+     * 최근 idleNanos 동안 쓴 것이 없고 대기열이 비어 있으면 하트비트를 넣습니다.
+     *
+     * @return 하트비트를 넣었으면 true
+     */
+    boolean heartbeatIfIdle(long now, long idleNanos) {
+        if (closed || now - lastWriteNanos < idleNanos) {
+            return false;
+        }
+        synchronized (queue) {
+            if (draining) {
+                return false;
+            }
+        }
+        enqueue(HEARTBEAT);
+        return true;
+    }
+
+    /** 보낼 것이 남아 있는데 stallNanos 이상 한 건도 쓰지 못했으면 true (느리거나 반쯤 끊긴 클라이언트) */
+    boolean isStalled(long now, long stallNanos) {
+        synchronized (queue) {
+            return draining && now - lastProgressNanos > stallNanos;
+        }
+    }
+
+    /** 대기 중인 이벤트와 마지막 이벤트를 보낸 뒤 연결을 정상 종료합니다. */
+    void finish(SseEvent last) {
+        completeWhenDrained = true;
+        enqueue(last);
+    }
+
+    /** 연결을 닫고 대기 중인 이벤트를 버립니다. */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        synchronized (queue) {
+            metrics.queued.addAndGet(-queue.size());
+            queue.clear();
+            held = null;
+        }
+        onClosed.accept(this);
+    }
+
+    /** 테스트 및 진단용: 대기 중인 이벤트 스냅샷 */
+    List<SseEvent> pending() {
+        synchronized (queue) {
+            return List.copyOf(queue);
+        }
+    }
+
+    private void discardFor(SseEvent incoming) {
+        if (overflowPolicy == SseOverflowPolicy.COALESCE) {
+            Iterator<SseEvent> it = queue.descendingIterator();
+            while (it.hasNext()) {
+                if (Objects.equals(it.next().eventName(), incoming.eventName())) {
+                    it.remove();
+                    metrics.queued.decrementAndGet();
+                    metrics.coalesced.increment();
+                    return;
+                }
+            }
+        }
+        queue.pollFirst();
+        metrics.queued.decrementAndGet();
+        metrics.dropped.increment();
+    }
+
+    private void drain() {
+        List<SseEvent> batch = new ArrayList<>();
+        while (true) {
+            synchronized (queue) {
+                while (batch.size() < MAX_FRAMES_PER_WRITE && !queue.isEmpty()) {
+                    batch.add(queue.pollFirst());
+                }
+                if (batch.isEmpty()) {
+                    draining = false;
+                    break;
+                }
+                metrics.queued.addAndGet(-batch.size());
+            }
+            if (!closed) {
+                write(batch);
+            }
+            batch.clear();
+        }
+        if (completeWhenDrained) {
+            emitter.complete();
+        }
+    }
+
+    /** 대기 중이던 이벤트들을 한 번의 쓰기(flush 1회)로 보냅니다. */
+    private void write(List<SseEvent> batch) {
+        Set<ResponseBodyEmitter.DataWithMediaType> frames = new LinkedHashSet<>();
+        for (SseEvent event : batch) {
+            // 인코딩된 바이트는 ByteArrayHttpMessageConverter가 복사 없이 그대로 쓴다.
+            frames.add(new ResponseBodyEmitter.DataWithMediaType(event.frame(), MediaType.TEXT_EVENT_STREAM));
+        }
+        try {
+            metrics.writeTimer.recordCallable(() -> {
+                emitter.send(frames);
+                return null;
+            });
+            lastWriteNanos = lastProgressNanos = System.nanoTime();
+        } catch (Exception e) {
+            // 이미 끊긴 연결 (IOException, 완료된 emitter의 IllegalStateException)
+            log.warn("[SSE] 이벤트 전송 실패 - userId: {}, 연결 제거", userId);
+            metrics.writeFailures.increment();
+            close();
+        }
+    }
+
+    /** 모든 연결이 공유하는 대기열 메트릭 */
+    record Metrics(AtomicInteger queued, Counter dropped, Counter coalesced, Counter writeFailures,
+                   Timer writeTimer) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.maplog.sse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SseConnectionBudget - 파드당 SSE 연결 수 상한 (입장 제어)
+ *
+ * 【목적】
+ * SSE 연결 하나는 비동기 요청 하나와 30분 타임아웃을 붙잡고 있으므로,
+ * 파드가 감당할 수 있는 수를 넘으면 새 연결을 받지 않고 503으로 돌려보냅니다.
+ * 거절 응답에는 지터를 더한 재시도 간격(retry:)을 실어, 거절된 클라이언트가 한꺼번에 다시 몰리지 않게 합니다.
+ *
+ * 【종료】
+ * 종료 중에는 새 연결을 받지 않습니다. (close 이후 tryAcquire는 항상 실패)
+ * 기존 연결에는 서로 다른 재연결 간격(drain.reconnect-min-ms + 0~reconnect-spread-ms)을 보내고 닫아,
+ * 클라이언트들이 다른 파드로 시차를 두고 다시 연결하게 합니다.
+ *
+ * 【메트릭】
+ * - sse.connections: 이 파드의 SSE 연결 수
+ * - sse.connections.max: 연결 상한
+ * - sse.admission{result=accepted|rejected}: 입장 결과 (rejected 증가율 = 거절률)
+ */
+@Component
+public class SseConnectionBudget {
+
+    private final int maxConnections;
+    private final long retryBaseMillis;
+    private final long retryJitterMillis;
+    private final long drainReconnectMinMillis;
+    private final long drainReconnectSpreadMillis;
+    private final long drainTimeoutMillis;
+
+    private final AtomicInteger live = new AtomicInteger();
+    private final Counter accepted;
+    private final Counter rejected;
+    private volatile boolean closed;
+
+    public SseConnectionBudget(@Value("${app.sse.admission.max-connections-per-pod:2000}") int maxConnections,
+                               @Value("${app.sse.admission.retry-base-ms:2000}") long retryBaseMillis,
+                               @Value("${app.sse.admission.retry-jitter-ms:8000}") long retryJitterMillis,
+                               @Value("${app.sse.drain.reconnect-min-ms:1000}") long drainReconnectMinMillis,
+                               @Value("${app.sse.drain.reconnect-spread-ms:15000}") long drainReconnectSpreadMillis,
+                               @Value("${app.sse.drain.timeout-ms:5000}") long drainTimeoutMillis,
+                               MeterRegistry meterRegistry) {
+        this.maxConnections = Math.max(1, maxConnections);
+        this.retryBaseMillis = Math.max(0, retryBaseMillis);
+        this.retryJitterMillis = Math.max(0, retryJitterMillis);
+        this.drainReconnectMinMillis = Math.max(0, drainReconnectMinMillis);
+        this.drainReconnectSpreadMillis = Math.max(0, drainReconnectSpreadMillis);
+        this.drainTimeoutMillis = Math.max(0, drainTimeoutMillis);
+
+        Gauge.builder("sse.connections", live, AtomicInteger::get)
+                .description("이 파드의 SSE 연결 수")
+                .register(meterRegistry);
+        Gauge.builder("sse.connections.max", this, budget -> budget.maxConnections)
+                .description("이 파드의 SSE 연결 상한")
+                .register(meterRegistry);
+        this.accepted = Counter.builder("sse.admission").tag("result", "accepted").register(meterRegistry);
+        this.rejected = Counter.builder("sse.admission").tag("result", "rejected").register(meterRegistry);
+    }
+
+    /** 연결 하나를 예약합니다. 상한에 도달했거나 종료 중이면 false */
+    boolean tryAcquire() {
+        while (!closed) {
+            int current = live.get();
+            if (current >= maxConnections) {
+                break;
+            }
+            if (live.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return true;
+            }
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /** 연결이 끝나면 예약을 돌려줍니다. 연결당 정확히 한 번 호출되어야 합니다. */
+    void release() {
+        live.decrementAndGet();
+    }
+
+    /** 종료를 시작합니다. 이후의 연결 요청은 모두 거절됩니다. */
+    void close() {
+        closed = true;
+    }
+
+    int live() {
+        return live.get();
+    }
+
+    /** 거절된 클라이언트에게 줄 재시도 간격 (base + 0~jitter 사이의 임의 값) */
+    long retryDelayMillis() {
+        return jittered(retryBaseMillis, retryJitterMillis);
+    }
+
+    /** 종료 시 기존 연결에 줄 재연결 간격 (연결마다 다르게 퍼뜨림) */
+    long drainReconnectDelayMillis() {
+        return jittered(drainReconnectMinMillis, drainReconnectSpreadMillis);
+    }
+
+    /** 종료 시 연결들이 마지막 프레임을 보내고 닫히기를 기다리는 최대 시간 */
+    long drainTimeoutMillis() {
+        return drainTimeoutMillis;
+    }
+
+    static long jittered(long baseMillis, long jitterMillis) {
+        return baseMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+    }
+}
@@ -1,15 +1,12 @@
 package com.maplog.sse;
 
-import com.maplog.common.exception.BusinessException;
-import com.maplog.common.exception.ErrorCode;
-import com.maplog.user.command.domain.User;
-import com.maplog.user.command.repository.UserCommandRepository;
+import com.maplog.common.security.CurrentUserId;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
@@ -23,6 +20,10 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
  * 【인증】
  * JWT 토큰이 필요합니다. (SecurityConfig의 anyRequest().authenticated()에 해당)
  *
+ * 【이어 받기】
+ * 재연결 시 Last-Event-ID 헤더(브라우저 자동 재연결) 또는 lastEventId 쿼리 파라미터
+ * (EventSource를 새로 만드는 경우)로 마지막으로 받은 이벤트 ID를 보내면 놓친 이벤트만 다시 받습니다.
+ *
  * 【프론트엔드 연결 예시】
  * const eventSource = new EventSource('/api/sse/connect?token=...')
  * eventSource.addEventListener('notification', (e) => { ... })
@@ -33,7 +34,6 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 public class SseController {
 
     private final SseEmitterService sseEmitterService;
-    private final UserCommandRepository userCommandRepository;
 
     /**
      * SSE 연결 엔드포인트
@@ -43,10 +43,22 @@ public class SseController {
      * 브라우저가 SSE 프로토콜로 인식하게 합니다.
      */
     @GetMapping(value = "/connect", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter connect(@AuthenticationPrincipal UserDetails userDetails) {
-        User user = userCommandRepository.findByEmailAndDeletedAtIsNull(userDetails.getUsername())
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+    public SseEmitter connect(@CurrentUserId Long userId,
+                              @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                              @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        return sseEmitterService.connect(userId, parseEventId(lastEventId));
+    }
 
-        return sseEmitterService.connect(user.getId());
+    private Long parseEventId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            // 알 수 없는 형식이면 이어 받기 없이 새로 연결
+            return null;
+        }
     }
 }
@@ -1,110 +1,398 @@
 package com.maplog.sse;
 
+import com.maplog.common.exception.SseCapacityExceededException;
+import com.maplog.sse.bus.SseEventBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * SseEmitterService - SSE(Server-Sent Events) 연결 관리 서비스
  *
  * 【역할】
  * 사용자별 SseEmitter 인스턴스를 관리합니다.
- * 알림이 발생하면 해당 사용자의 SseEmitter를 통해 실시간으로 이벤트를 전송합니다.
+ * 알림이 발생하면 해당 사용자의 모든 SseEmitter(탭, 기기)로 실시간 이벤트를 전송합니다.
  *
  * 【구조】
- * - ConcurrentHashMap으로 userId → SseEmitter 매핑 (스레드 세이프)
+ * - ConcurrentHashMap으로 userId → 연결(SseConnection) 목록 매핑 (스레드 세이프)
+ * - 목록은 CopyOnWriteArrayList: 전송(읽기)은 잠금 없이 스냅샷을 순회하고,
+ *   드문 연결/해제(쓰기)만 해당 사용자 키 단위로 원자적으로 반영
+ * - 사용자당 연결 수 상한(app.sse.max-connections-per-user)을 넘으면 가장 오래된 연결을 종료
  * - 타임아웃(30분)이나 에러 발생 시 자동 정리
+ *
+ * 【비동기 전송】
+ * 전송은 연결별 대기열에 넣기만 하고 바로 반환하며, 실제 쓰기는 가상 스레드가 처리합니다.
+ * (app.sse.queue.capacity / app.sse.queue.overflow-policy)
+ *
+ * 【트랜잭션 연동】
+ * 트랜잭션 안에서 send()를 호출하면 SseTransactionBuffer에 모아 두었다가 커밋 후에 발행하고, 롤백되면 버립니다.
+ *
+ * 【직렬화 1회】
+ * 데이터는 논리적 이벤트당 한 번만 JSON/SSE 프레임으로 인코딩하고, 모든 수신자와 연결이 같은 바이트를 씁니다.
+ * 여러 사용자에게 같은 내용을 보낼 때는 sendToAll()을 사용합니다. (일기 공유, 공지 등)
+ *
+ * 【입장 제어 / 종료】
+ * 파드당 연결 수는 SseConnectionBudget으로 제한하며, 초과 시 지터가 섞인 retry: 힌트와 함께 503으로 거절합니다.
+ * 종료 시(SmartLifecycle.stop)에는 연결마다 다른 재연결 간격을 보내고 닫아 다른 파드로 나눠서 옮겨 가게 합니다.
+ *
+ * 【하트비트】
+ * 연결은 SseHeartbeatWheel에 등록되어 주기적으로 하트비트를 받고, 쓰기가 멈추면 정리됩니다.
+ *
+ * 【재연결 시 이어 받기】
+ * 모든 이벤트에 증가하는 ID(SseEventIdGenerator)를 붙이고, 사용자별 최근 이벤트를 링 버퍼에 보관합니다.
+ * 재연결 시 Last-Event-ID 이후의 이벤트만 다시 보내며, 버퍼에 없는 오래된 구간은
+ * SseReplaySource(알림 테이블)에서 다시 만들어 보냅니다.
+ * 다른 파드의 이벤트는 폴링 주기만큼 늦게 도착할 수 있으므로 reorder-window 만큼 앞에서부터 다시 보내며,
+ * 이 때문에 일부 이벤트가 중복될 수 있습니다. (클라이언트는 알림을 받으면 목록을 다시 조회하므로 무해)
+ *
+ * 【레플리카 간 전달】
+ * send()는 이벤트를 SseEventBus에 발행하고, 각 파드는 버스에서 받은 이벤트를
+ * 자기 파드에 연결된 사용자에게만 전송합니다. (수신자가 다른 파드에 연결되어 있어도 전달됨)
  */
 @Slf4j
 @Service
-public class SseEmitterService {
+public class SseEmitterService implements SmartLifecycle {
 
-    // 사용자별 SSE 연결을 저장하는 맵 (스레드 세이프)
-    private final Map<Long, SseEmitter> emitters = new ConcurrentHashMap<>();
+    // 사용자별 SSE 연결 목록을 저장하는 맵 (스레드 세이프)
+    private final Map<Long, List<SseConnection>> connections = new ConcurrentHashMap<>();
 
     // SSE 연결 타임아웃: 30분 (밀리초)
     private static final Long TIMEOUT = 30 * 60 * 1000L;
 
+    private final SseEventBus sseEventBus;
+    private final SseEventEncoder sseEventEncoder;
+    private final SseHeartbeatWheel heartbeatWheel;
+    private final int maxConnectionsPerUser;
+    private final int queueCapacity;
+    private final SseOverflowPolicy overflowPolicy;
+    private final Executor writerExecutor;
+    private final SseConnection.Metrics queueMetrics;
+    private final SseConnectionBudget connectionBudget;
+    private volatile boolean running;
+
+    private final List<SseReplaySource> replaySources;
+    private final SseEventIdGenerator idGenerator = new SseEventIdGenerator();
+    private final SseReplayBuffer replayBuffer;
+    private final int replayLimit;
+    private final long reorderWindowIds;
+    private final Counter replayedFromBuffer;
+    private final Counter replayedFromStore;
+    private final Counter discardedOnRollback;
+
+    @Autowired
+    public SseEmitterService(SseEventBus sseEventBus,
+                             SseEventEncoder sseEventEncoder,
+                             SseHeartbeatWheel heartbeatWheel,
+                             SseConnectionBudget connectionBudget,
+                             MeterRegistry meterRegistry,
+                             List<SseReplaySource> replaySources,
+                             @Value("${app.sse.max-connections-per-user:5}") int maxConnectionsPerUser,
+                             @Value("${app.sse.queue.capacity:64}") int queueCapacity,
+                             @Value("${app.sse.queue.overflow-policy:DROP_OLDEST}") SseOverflowPolicy overflowPolicy,
+                             @Value("${app.sse.replay.events-per-user:32}") int replayEventsPerUser,
+                             @Value("${app.sse.replay.max-users:10000}") int replayMaxUsers,
+                             @Value("${app.sse.replay.reorder-window-ms:2000}") long reorderWindowMillis) {
+        this(sseEventBus, sseEventEncoder, heartbeatWheel, connectionBudget, meterRegistry, replaySources, maxConnectionsPerUser, queueCapacity, overflowPolicy,
+                replayEventsPerUser, replayMaxUsers, reorderWindowMillis,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-writer-", 0).factory()));
+    }
+
+    SseEmitterService(SseEventBus sseEventBus, SseEventEncoder sseEventEncoder, SseHeartbeatWheel heartbeatWheel,
+                      SseConnectionBudget connectionBudget, MeterRegistry meterRegistry,
+                      List<SseReplaySource> replaySources, int maxConnectionsPerUser,
+                      int queueCapacity, SseOverflowPolicy overflowPolicy,
+                      int replayEventsPerUser, int replayMaxUsers, long reorderWindowMillis,
+                      Executor writerExecutor) {
+        this.sseEventBus = sseEventBus;
+        this.sseEventEncoder = sseEventEncoder;
+        this.heartbeatWheel = heartbeatWheel;
+        this.connectionBudget = connectionBudget;
+        this.maxConnectionsPerUser = Math.max(1, maxConnectionsPerUser);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.overflowPolicy = overflowPolicy;
+        this.writerExecutor = writerExecutor;
+        this.replaySources = replaySources;
+        this.replayBuffer = new SseReplayBuffer(replayEventsPerUser, replayMaxUsers, idGenerator.current());
+        this.replayLimit = Math.max(1, replayEventsPerUser);
+        this.reorderWindowIds = SseEventIdGenerator.fromMillis(reorderWindowMillis);
+        this.replayedFromBuffer = Counter.builder("sse.replay.events").tag("source", "buffer").register(meterRegistry);
+        this.replayedFromStore = Counter.builder("sse.replay.events").tag("source", "store").register(meterRegistry);
+        this.discardedOnRollback = Counter.builder("sse.transaction.discarded")
+                .description("롤백으로 버려진 SSE 이벤트 수")
+                .register(meterRegistry);
+
+        AtomicInteger queued = new AtomicInteger();
+        this.queueMetrics = new SseConnection.Metrics(
+                queued,
+                Counter.builder("sse.queue.overflow").tag("result", "dropped").register(meterRegistry),
+                Counter.builder("sse.queue.overflow").tag("result", "coalesced").register(meterRegistry),
+                Counter.builder("sse.connections.evicted").tag("reason", "write_failed").register(meterRegistry),
+                Timer.builder("sse.write.duration").register(meterRegistry));
+        Gauge.builder("sse.queue.depth", queued, AtomicInteger::get)
+                .description("전송 대기 중인 SSE 이벤트 수 (전체 연결 합계)")
+                .register(meterRegistry);
+
+        sseEventBus.subscribe(this::deliver);
+    }
+
     /**
      * 【SSE 연결 생성】
      * 사용자가 SSE 엔드포인트에 접속하면 호출됩니다.
-     * 새 SseEmitter를 생성하고, 기존 연결이 있으면 교체합니다.
+     * 새 SseEmitter를 사용자의 연결 목록에 추가하고, 상한을 넘으면 가장 오래된 연결을 종료합니다.
+     * 파드의 연결 상한(SseConnectionBudget)에 도달했으면 SseCapacityExceededException(503)을 던집니다.
+     * lastEventId가 있으면 그 이후에 놓친 이벤트를 이어서 보냅니다.
      *
-     * @param userId 연결할 사용자 ID
+     * @param userId      연결할 사용자 ID
+     * @param lastEventId 클라이언트가 마지막으로 받은 이벤트 ID (없으면 null)
      * @return 생성된 SseEmitter
      */
-    public SseEmitter connect(Long userId) {
-        // 기존 연결이 있으면 먼저 정리
-        SseEmitter existing = emitters.get(userId);
-        if (existing != null) {
-            existing.complete();
-            emitters.remove(userId);
+    public SseEmitter connect(Long userId, Long lastEventId) {
+        if (!connectionBudget.tryAcquire()) {
+            log.info("[SSE] 연결 상한 초과로 거절 - userId: {}, 파드 연결 수: {}", userId, connectionBudget.live());
+            throw new SseCapacityExceededException(connectionBudget.retryDelayMillis());
         }
-
         SseEmitter emitter = new SseEmitter(TIMEOUT);
+        SseConnection connection = new SseConnection(userId, emitter, queueCapacity, overflowPolicy,
+                writerExecutor, queueMetrics, closed -> remove(userId, closed));
 
-        // 타임아웃 시 맵에서 제거
+        // 타임아웃 시 목록에서 제거
         emitter.onTimeout(() -> {
             log.info("[SSE] 타임아웃 - userId: {}", userId);
-            emitters.remove(userId);
+            connection.close();
         });
 
-        // 에러 발생 시 맵에서 제거
+        // 에러 발생 시 목록에서 제거
         emitter.onError((e) -> {
             log.warn("[SSE] 에러 발생 - userId: {}, error: {}", userId, e.getMessage());
-            emitters.remove(userId);
+            connection.close();
         });
 
-        // 연결 완료(클라이언트 disconnect) 시 맵에서 제거
+        // 연결 완료(클라이언트 disconnect) 시 목록에서 제거
         emitter.onCompletion(() -> {
             log.info("[SSE] 연결 종료 - userId: {}", userId);
-            emitters.remove(userId);
+            connection.close();
         });
 
-        emitters.put(userId, emitter);
-
         // 연결 직후 더미 이벤트 전송 (연결 확인 + 일부 프록시의 버퍼링 방지)
-        try {
-            emitter.send(SseEmitter.event()
-                    .name("connect")
-                    .data("SSE 연결 성공 - userId: " + userId));
-        } catch (IOException e) {
-            log.error("[SSE] 초기 이벤트 전송 실패 - userId: {}", userId);
-            emitters.remove(userId);
+        connection.enqueue(sseEventEncoder.encode(null, userId, "connect", "SSE 연결 성공 - userId: " + userId));
+
+        // 목록에 올린 순간부터 실시간 이벤트가 들어오므로, 재전송을 넣을 때까지 모아 두었다가 그 뒤에 보낸다.
+        // 재전송은 목록에 올린 뒤 버퍼를 읽으므로 그 사이 전달된 이벤트도 둘 중 한쪽에는 반드시 들어 있다.
+        if (lastEventId != null) {
+            connection.holdLive();
+        }
+
+        List<SseConnection> evicted = new ArrayList<>();
+        connections.compute(userId, (id, list) -> {
+            List<SseConnection> userConnections = list != null ? list : new CopyOnWriteArrayList<>();
+            userConnections.add(connection);
+            while (userConnections.size() > maxConnectionsPerUser) {
+                evicted.add(userConnections.remove(0));
+                connectionBudget.release();
+            }
+            return userConnections;
+        });
+
+        heartbeatWheel.register(connection);
+
+        // close()는 목록 제거(remove)를 부르므로 compute 밖에서 호출한다.
+        for (SseConnection oldest : evicted) {
+            oldest.close();
+            oldest.emitter().complete();
+        }
+
+        if (lastEventId != null) {
+            connection.releaseLive(replay(connection, userId, lastEventId));
         }
 
-        log.info("[SSE] 연결 생성 - userId: {}, 현재 연결 수: {}", userId, emitters.size());
+        log.info("[SSE] 연결 생성 - userId: {}, 사용자 연결 수: {}", userId, connectionCount(userId));
         return emitter;
     }
 
+    public SseEmitter connect(Long userId) {
+        return connect(userId, null);
+    }
+
     /**
      * 【이벤트 전송】
      * 특정 사용자에게 SSE 이벤트를 전송합니다.
-     * 해당 사용자가 연결되어 있지 않으면 무시됩니다.
+     * 이벤트 버스를 통해 사용자가 연결된 파드로 전달되며, 연결되어 있지 않으면 무시됩니다.
+     * 트랜잭션 안에서 호출하면 커밋 후에 수신자별로 묶어 발행하고, 롤백되면 버립니다.
      *
      * @param userId    수신할 사용자 ID
      * @param eventName 이벤트 이름 (예: "notification", "friend-request")
      * @param data      전송할 데이터 (JSON 직렬화됨)
      */
     public void send(Long userId, String eventName, Object data) {
-        SseEmitter emitter = emitters.get(userId);
-        if (emitter == null) {
-            // 해당 사용자가 SSE에 연결되어 있지 않으면 무시 (오프라인 상태)
+        publishOrBuffer(sseEventEncoder.encode(idGenerator.next(), userId, eventName, data));
+    }
+
+    /**
+     * 【다중 수신자 전송】
+     * 같은 이벤트를 여러 사용자에게 전송합니다.
+     * 데이터는 한 번만 직렬화하고, 수신자별 이벤트는 같은 ID와 프레임 바이트를 공유합니다.
+     *
+     * @param userIds   수신할 사용자 ID 목록
+     * @param eventName 이벤트 이름
+     * @param data      전송할 데이터 (JSON 직렬화됨)
+     */
+    public void sendToAll(Collection<Long> userIds, String eventName, Object data) {
+        if (userIds.isEmpty()) {
             return;
         }
+        SseEvent encoded = sseEventEncoder.encode(idGenerator.next(), null, eventName, data);
+        for (Long userId : userIds) {
+            publishOrBuffer(encoded.forRecipient(userId));
+        }
+    }
 
+    private void publishOrBuffer(SseEvent event) {
+        if (!SseTransactionBuffer.bufferIfInTransaction(this, event, this::publishCommitted, discardedOnRollback::increment)) {
+            sseEventBus.publish(event);
+        }
+    }
+
+    /** 커밋된 트랜잭션에서 모아 둔 이벤트를 발행합니다. 커밋은 이미 끝났으므로 예외를 밖으로 던지지 않습니다. */
+    private void publishCommitted(List<SseEvent> events) {
         try {
-            emitter.send(SseEmitter.event()
-                    .name(eventName)
-                    .data(data));
-            log.debug("[SSE] 이벤트 전송 성공 - userId: {}, event: {}", userId, eventName);
-        } catch (IOException e) {
-            log.warn("[SSE] 이벤트 전송 실패 - userId: {}, 연결 제거", userId);
-            emitters.remove(userId);
+            sseEventBus.publishAll(events);
+        } catch (RuntimeException e) {
+            log.warn("[SSE] 커밋 후 이벤트 발행 실패 - {}건, error: {}", events.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 이 파드에 연결된 사용자의 모든 연결 대기열에 이벤트를 넣습니다.
+     * 네트워크 쓰기는 연결별 writer가 처리하므로 호출 스레드는 바로 반환됩니다.
+     */
+    void deliver(SseEvent event) {
+        if (event.id() != null) {
+            idGenerator.observe(event.id());
+            replayBuffer.append(event);
+        }
+        List<SseConnection> userConnections = connections.get(event.userId());
+        if (userConnections == null) {
+            // 해당 사용자가 이 파드에 연결되어 있지 않으면 무시
+            return;
         }
+        for (SseConnection connection : userConnections) {
+            connection.enqueue(event);
+        }
+    }
+
+    /**
+     * 놓친 이벤트를 연결 대기열에 넣습니다.
+     * 링 버퍼로 충분하면 버퍼에서, 아니면 영속 저장소에서 다시 만든 이벤트 뒤에 그보다 최신인 버퍼 이벤트를 보냅니다.
+     */
+    private Set<Long> replay(SseConnection connection, Long userId, long lastEventId) {
+        long from = Math.max(0, lastEventId - reorderWindowIds);
+        SseReplayBuffer.Replay buffered = replayBuffer.eventsAfter(userId, from);
+
+        Set<Long> replayedIds = new HashSet<>();
+        long restoredUpTo = from;
+        if (!buffered.complete()) {
+            long sinceMillis = SseEventIdGenerator.toMillis(from);
+            for (SseReplaySource source : replaySources) {
+                for (SseEvent event : source.eventsSince(userId, sinceMillis, replayLimit)) {
+                    connection.enqueueReplayed(event);
+                    replayedIds.add(event.id());
+                    replayedFromStore.increment();
+                    restoredUpTo = Math.max(restoredUpTo, event.id());
+                }
+            }
+        }
+        for (SseEvent event : buffered.events()) {
+            if (event.id() > restoredUpTo) {
+                connection.enqueueReplayed(event);
+                replayedIds.add(event.id());
+                replayedFromBuffer.increment();
+            }
+        }
+        return replayedIds;
+    }
+
+    /** 사용자의 현재 연결 수 */
+    public int connectionCount(Long userId) {
+        return connections.getOrDefault(userId, Collections.emptyList()).size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 【graceful drain】
+     * 웹 서버의 graceful shutdown보다 먼저(더 높은 phase) 실행됩니다.
+     * 새 연결을 막고, 모든 연결에 서로 다른 재연결 간격을 보낸 뒤 닫아
+     * 클라이언트들이 남은 파드로 시차를 두고 다시 연결하게 합니다.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        connectionBudget.close();
+        int drained = 0;
+        for (List<SseConnection> userConnections : connections.values()) {
+            for (SseConnection connection : userConnections) {
+                connection.finish(SseEvent.reconnect(connectionBudget.drainReconnectDelayMillis()));
+                drained++;
+            }
+        }
+        log.info("[SSE] 종료 - {}개 연결에 재연결 안내 전송", drained);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(connectionBudget.drainTimeoutMillis());
+        while (!connections.isEmpty() && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writerExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private void remove(Long userId, SseConnection connection) {
+        heartbeatWheel.unregister(connection);
+        connections.computeIfPresent(userId, (id, list) -> {
+            if (list.remove(connection)) {
+                connectionBudget.release();
+            }
+            return list.isEmpty() ? null : list;
+        });
     }
 }
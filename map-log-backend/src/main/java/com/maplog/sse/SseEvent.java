@@ -0,0 +1,59 @@
+package com.maplog.sse;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * SSE로 전송할 이벤트 한 건
+ *
+ * 【직렬화 1회】
+ * 생성 시점에 JSON 데이터와 SSE 프레임(id:/event:/data:)의 UTF-8 바이트를 한 번만 만들어 둡니다.
+ * 여러 수신자에게 보내는 이벤트는 forRecipient()로 같은 바이트를 공유하므로,
+ * 수신자 수와 연결 수가 늘어나도 Jackson 직렬화와 문자열 인코딩은 논리적 이벤트당 한 번입니다.
+ *
+ * @param id        이벤트 ID (SseEventIdGenerator가 발급, 클라이언트의 Last-Event-ID). 재전송 대상이 아니면 null
+ * @param userId    수신할 사용자 ID
+ * @param eventName 이벤트 이름 (예: "notification")
+ * @param payload   JSON으로 직렬화된 데이터 (이벤트 버스 저장과 재전송에 사용)
+ * @param frame     연결에 그대로 쓰는 SSE 프레임 바이트
+ */
+public record SseEvent(Long id, Long userId, String eventName, String payload, byte[] frame) {
+
+    public SseEvent(Long id, Long userId, String eventName, String payload) {
+        this(id, userId, eventName, payload, encodeFrame(id, eventName, payload));
+    }
+
+    /** 같은 ID와 프레임 바이트를 공유하는 다른 수신자용 이벤트 */
+    public SseEvent forRecipient(Long recipientId) {
+        return new SseEvent(id, recipientId, eventName, payload, frame);
+    }
+
+    /** 주석만 있는 프레임 (클라이언트에는 이벤트로 전달되지 않음) */
+    static SseEvent comment(String comment) {
+        return new SseEvent(null, null, null, null, (":" + comment + "\n\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 재연결 안내 프레임
+     * retry: 필드로 브라우저의 자동 재연결 간격을 바꾸고, 직접 재연결하는 클라이언트를 위해
+     * 같은 값을 "reconnect" 이벤트(data: 밀리초)로도 보냅니다.
+     */
+    static SseEvent reconnect(long delayMillis) {
+        String frame = "retry:" + delayMillis + "\nevent:reconnect\ndata:" + delayMillis + "\n\n";
+        return new SseEvent(null, null, "reconnect", String.valueOf(delayMillis), frame.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] encodeFrame(Long id, String eventName, String payload) {
+        StringBuilder frame = new StringBuilder(payload == null ? 32 : payload.length() + 48);
+        if (id != null) {
+            frame.append("id:").append(id).append('\n');
+        }
+        if (eventName != null) {
+            frame.append("event:").append(eventName).append('\n');
+        }
+        // 줄바꿈이 있으면 줄마다 data: 필드로 나눈다. (클라이언트가 다시 줄바꿈으로 이어 붙임)
+        for (String line : (payload == null ? "" : payload).split("\r\n|\r|\n", -1)) {
+            frame.append("data:").append(line).append('\n');
+        }
+        return frame.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,33 @@
+package com.maplog.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * SseEventEncoder - 전송 데이터를 JSON으로 직렬화하여 SseEvent(프레임 바이트 포함)를 만듭니다.
+ *
+ * 문자열은 그대로 data로 쓰고, 그 밖의 객체는 애플리케이션의 ObjectMapper로 직렬화합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SseEventEncoder {
+
+    private final ObjectMapper objectMapper;
+
+    public SseEvent encode(Long id, Long userId, String eventName, Object data) {
+        return new SseEvent(id, userId, eventName, toPayload(data));
+    }
+
+    private String toPayload(Object data) {
+        if (data instanceof String text) {
+            return text;
+        }
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("SSE 이벤트 데이터를 직렬화할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.maplog.sse;
+
+/**
+ * SseEventIdGenerator - 하이브리드 논리 시계(HLC) 기반 SSE 이벤트 ID 발급기
+ *
+ * 【형식】 (epoch millis << 12) | 같은 ms 안의 순번(0~4095)
+ * - 한 파드 안에서는 항상 증가 (시계가 뒤로 가도 마지막 값 이후로 발급)
+ * - 다른 파드의 이벤트를 받으면 observe()로 시계를 따라잡아, 파드 간에도 대략 시간 순서를 유지
+ * - 상위 비트가 시각이므로 ID만으로 발생 시각을 알 수 있음 (오래된 ID는 DB에서 재조회)
+ */
+public class SseEventIdGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    private long last;
+
+    synchronized long next() {
+        long candidate = fromMillis(System.currentTimeMillis());
+        last = Math.max(candidate, last + 1);
+        return last;
+    }
+
+    /** 다른 파드에서 발급된 ID를 반영합니다. */
+    synchronized void observe(long id) {
+        if (id > last) {
+            last = id;
+        }
+    }
+
+    /** 지금까지 발급/관측한 가장 큰 ID */
+    synchronized long current() {
+        return Math.max(last, fromMillis(System.currentTimeMillis()) - 1);
+    }
+
+    static long toMillis(long id) {
+        return id >>> COUNTER_BITS;
+    }
+
+    static long fromMillis(long millis) {
+        return millis << COUNTER_BITS;
+    }
+
+    /** 해당 ms에 발급될 수 있는 가장 큰 ID (DB에서 다시 만든 이벤트의 ID로 사용) */
+    public static long lastOfMillis(long millis) {
+        return fromMillis(millis) | COUNTER_MASK;
+    }
+}
@@ -0,0 +1,141 @@
+package com.maplog.sse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SseHeartbeatWheel - 모든 SSE 연결이 공유하는 해시 타이머 휠 (하트비트 + 죽은 연결 정리)
+ *
+ * 【목적】
+ * - 조용한 연결은 프록시(인그레스, 로드밸런서)가 끊어 버리므로 주기적으로 주석 프레임을 보냅니다.
+ * - 실제 알림 전송이 실패할 때까지 기다리지 않고, 쓰기가 멈춘 연결을 미리 정리합니다.
+ *
+ * 【구조】
+ * - 연결마다 작업을 예약하지 않고, 슬롯 배열(휠)에 연결을 나눠 담습니다.
+ * - 전용 스레드 하나가 tick마다 슬롯 하나만 처리하므로, 한 바퀴(= 하트비트 주기)에 모든 연결을 한 번씩 봅니다.
+ * - 등록/해제는 O(1), tick당 작업량은 (연결 수 / 슬롯 수)로 연결이 수만 개여도 예약 부담이 늘지 않습니다.
+ *
+ * 【처리】 슬롯의 각 연결에 대해
+ * - 닫힌 연결: 휠에서 제거
+ * - 보낼 것이 있는데 stall-timeout 이상 진행이 없는 연결: 종료 (sse.connections.evicted{reason=stalled})
+ * - 한 주기 동안 쓴 것이 없는 연결: 하트비트를 대기열에 넣음 (실제 쓰기는 연결별 writer가 처리)
+ */
+@Slf4j
+@Component
+public class SseHeartbeatWheel {
+
+    private final Set<SseConnection>[] slots;
+    private final long tickMillis;
+    private final long intervalNanos;
+    private final long stallNanos;
+
+    private final AtomicInteger registered = new AtomicInteger();
+    private final Counter heartbeats;
+    private final Counter stalledEvictions;
+
+    // tick 스레드만 변경
+    private volatile int cursor;
+    private ScheduledExecutorService ticker;
+
+    @SuppressWarnings("unchecked")
+    public SseHeartbeatWheel(@Value("${app.sse.heartbeat.interval-ms:15000}") long intervalMillis,
+                             @Value("${app.sse.heartbeat.wheel-slots:64}") int slotCount,
+                             @Value("${app.sse.heartbeat.stall-timeout-ms:30000}") long stallTimeoutMillis,
+                             MeterRegistry meterRegistry) {
+        int size = Math.max(1, slotCount);
+        this.slots = new Set[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.tickMillis = Math.max(1, intervalMillis / size);
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.stallNanos = TimeUnit.MILLISECONDS.toNanos(stallTimeoutMillis);
+
+        Gauge.builder("sse.heartbeat.registered", registered, AtomicInteger::get)
+                .description("하트비트 휠에 등록된 SSE 연결 수")
+                .register(meterRegistry);
+        this.heartbeats = Counter.builder("sse.heartbeat.sent").register(meterRegistry);
+        this.stalledEvictions = Counter.builder("sse.connections.evicted")
+                .tag("reason", "stalled")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::safeTick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /** 연결을 등록합니다. 첫 확인은 약 한 바퀴 뒤에 이루어집니다. */
+    void register(SseConnection connection) {
+        int slot = Math.floorMod(cursor - 1, slots.length);
+        connection.wheelSlot = slot;
+        if (slots[slot].add(connection)) {
+            registered.incrementAndGet();
+        }
+    }
+
+    void unregister(SseConnection connection) {
+        int slot = connection.wheelSlot;
+        if (slot >= 0 && slots[slot].remove(connection)) {
+            registered.decrementAndGet();
+        }
+    }
+
+    int registeredCount() {
+        return registered.get();
+    }
+
+    /** 현재 슬롯 하나를 처리하고 다음 슬롯으로 넘어갑니다. */
+    void tick() {
+        int slot = cursor;
+        long now = System.nanoTime();
+        for (SseConnection connection : slots[slot]) {
+            if (connection.isClosed()) {
+                unregister(connection);
+            } else if (connection.isStalled(now, stallNanos)) {
+                log.info("[SSE] 전송 정체로 연결 종료");
+                stalledEvictions.increment();
+                unregister(connection);
+                connection.close();
+                connection.emitter().complete();
+            } else if (connection.heartbeatIfIdle(now, intervalNanos)) {
+                heartbeats.increment();
+            }
+        }
+        cursor = (slot + 1) % slots.length;
+    }
+
+    private void safeTick() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            // 예외로 예약이 취소되지 않도록 한다.
+            log.warn("[SSE] 하트비트 처리 실패: {}", e.getMessage());
+        }
+    }
+}
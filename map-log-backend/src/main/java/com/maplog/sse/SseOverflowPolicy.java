@@ -0,0 +1,13 @@
+package com.maplog.sse;
+
+/**
+ * 연결별 전송 대기열이 가득 찼을 때의 처리 방식
+ */
+public enum SseOverflowPolicy {
+
+    /** 가장 오래된 이벤트를 버린다. */
+    DROP_OLDEST,
+
+    /** 같은 이름의 이벤트가 대기 중이면 그 이벤트를 새 이벤트로 대체하고, 없으면 가장 오래된 이벤트를 버린다. */
+    COALESCE
+}
@@ -0,0 +1,110 @@
+package com.maplog.sse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SseReplayBuffer - 사용자별 최근 SSE 이벤트 링 버퍼
+ *
+ * 【목적】
+ * 재연결한 클라이언트가 보낸 Last-Event-ID 이후의 이벤트만 다시 보내기 위해
+ * 사용자별로 최근 이벤트를 고정 크기 배열(링 버퍼)에 보관합니다.
+ *
+ * 【완전성】
+ * 사용자별로 floorId를 기록합니다. floorId 이후의 이벤트는 버퍼에 모두 남아 있으므로
+ * Last-Event-ID >= floorId이면 버퍼만으로 재전송할 수 있고, 아니면 DB 조회가 필요합니다.
+ * - 버퍼를 처음 만들 때: 파드 기동 시점의 ID, 또는 LRU로 제거된 버퍼가 있었다면 그중 가장 최근 이벤트의 ID
+ *   (그 이후 이 사용자의 이벤트는 이 파드에 도착하지 않았으므로 빠진 것이 없음)
+ * - 링이 가득 차 오래된 이벤트를 덮어쓸 때: 덮어쓴 이벤트의 ID
+ *
+ * 사용자 수는 maxUsers로 제한하며, 가장 오래 이벤트가 없던 사용자의 버퍼부터 제거합니다.
+ */
+class SseReplayBuffer {
+
+    private final int eventsPerUser;
+    private final Map<Long, Ring> rings;
+
+    // 새 버퍼의 floorId (기동 시점 이후, LRU 제거가 일어나면 제거된 버퍼의 최신 ID로 올라감)
+    private long newRingFloorId;
+
+    /**
+     * @param startFloorId 이 버퍼가 이벤트를 받기 시작한 시점의 ID
+     */
+    SseReplayBuffer(int eventsPerUser, int maxUsers, long startFloorId) {
+        this.eventsPerUser = Math.max(1, eventsPerUser);
+        this.newRingFloorId = startFloorId;
+        this.rings = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Ring> eldest) {
+                if (size() <= maxUsers) {
+                    return false;
+                }
+                newRingFloorId = Math.max(newRingFloorId, eldest.getValue().latestId());
+                return true;
+            }
+        };
+    }
+
+    synchronized void append(SseEvent event) {
+        rings.computeIfAbsent(event.userId(), id -> new Ring(eventsPerUser, newRingFloorId)).add(event);
+    }
+
+    /**
+     * lastEventId 이후의 이벤트를 돌려줍니다.
+     *
+     * @return 버퍼로 모두 재구성할 수 있으면 complete = true
+     */
+    synchronized Replay eventsAfter(Long userId, long lastEventId) {
+        Ring ring = rings.get(userId);
+        if (ring == null) {
+            return new Replay(List.of(), lastEventId >= newRingFloorId);
+        }
+        return new Replay(ring.after(lastEventId), lastEventId >= ring.floorId);
+    }
+
+    record Replay(List<SseEvent> events, boolean complete) {
+    }
+
+    private static final class Ring {
+
+        private final SseEvent[] events;
+        private int next;
+        private int size;
+        private long floorId;
+        private long latestId;
+
+        Ring(int capacity, long floorId) {
+            this.events = new SseEvent[capacity];
+            this.floorId = floorId;
+        }
+
+        void add(SseEvent event) {
+            SseEvent overwritten = events[next];
+            if (overwritten != null) {
+                floorId = Math.max(floorId, overwritten.id());
+            }
+            latestId = Math.max(latestId, event.id());
+            events[next] = event;
+            next = (next + 1) % events.length;
+            size = Math.min(size + 1, events.length);
+        }
+
+        long latestId() {
+            return latestId;
+        }
+
+        List<SseEvent> after(long lastEventId) {
+            List<SseEvent> result = new ArrayList<>();
+            int start = (next - size + events.length) % events.length;
+            for (int i = 0; i < size; i++) {
+                SseEvent event = events[(start + i) % events.length];
+                if (event.id() > lastEventId) {
+                    result.add(event);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.maplog.sse;
+
+import java.util.List;
+
+/**
+ * SseReplaySource - 링 버퍼에 남아 있지 않은 오래된 이벤트를 영속 저장소에서 다시 만들어 주는 확장 지점
+ *
+ * SSE는 공통 기반이므로 알림 모듈을 직접 참조하지 않고, 알림 모듈이 이 인터페이스를 구현합니다.
+ */
+public interface SseReplaySource {
+
+    /**
+     * sinceMillis 이후(포함)에 발생한 이벤트 중 최근 limit건을 오래된 순으로 돌려줍니다.
+     * 반환하는 이벤트의 id는 발생 시각으로 만든 SseEventIdGenerator.lastOfMillis() 값이어야 합니다.
+     */
+    List<SseEvent> eventsSince(Long userId, long sinceMillis, int limit);
+}
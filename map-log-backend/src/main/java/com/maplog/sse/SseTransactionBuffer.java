@@ -0,0 +1,98 @@
+package com.maplog.sse;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * SseTransactionBuffer - 트랜잭션 안에서 보낸 SSE 이벤트를 모아 두었다가 커밋 후 한 번에 내보내는 버퍼
+ *
+ * 【목적】
+ * 커밋 전에 이벤트를 보내면, 클라이언트가 아직 보이지 않거나 롤백될 데이터를 조회하여 404를 받습니다.
+ * - 커밋 후(afterCommit): 수신자별로 묶어서 한 번에 발행
+ * - 롤백 시: 모두 버림
+ *
+ * 【트랜잭션 단위】
+ * 버퍼는 현재 트랜잭션의 동기화 목록에서 찾습니다. (전역 리소스 키를 쓰지 않음)
+ * - REQUIRES_NEW로 바깥 트랜잭션이 일시 중단되면 그 동기화 목록도 함께 내려가므로, 안쪽 트랜잭션은 자기 버퍼를 가집니다.
+ * - 커밋 후 단계(다른 동기화의 afterCommit)에서 보낸 이벤트는 버퍼가 이미 비워졌으면 바로 발행하고,
+ *   그 단계에 새로 만든 버퍼는 afterCommit이 불리지 않으므로 afterCompletion(COMMITTED)에서 발행합니다.
+ */
+final class SseTransactionBuffer implements TransactionSynchronization {
+
+    private final Object owner;
+    private final Consumer<List<SseEvent>> onCommit;
+    private final Consumer<Integer> onRollback;
+    // 수신자별 이벤트 (처음 등장한 수신자 순서 유지)
+    private final Map<Long, List<SseEvent>> eventsByRecipient = new LinkedHashMap<>();
+    private boolean flushed;
+
+    private SseTransactionBuffer(Object owner, Consumer<List<SseEvent>> onCommit, Consumer<Integer> onRollback) {
+        this.owner = owner;
+        this.onCommit = onCommit;
+        this.onRollback = onRollback;
+    }
+
+    /**
+     * 진행 중인 트랜잭션이 있고 아직 커밋 후 발행 전이면 이벤트를 그 트랜잭션의 버퍼에 넣습니다.
+     *
+     * @return 버퍼에 넣었으면 true, 트랜잭션이 없거나 이미 발행했으면 false (호출자가 바로 발행)
+     */
+    static boolean bufferIfInTransaction(Object owner, SseEvent event,
+                                         Consumer<List<SseEvent>> onCommit, Consumer<Integer> onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        SseTransactionBuffer buffer = find(owner);
+        if (buffer == null) {
+            buffer = new SseTransactionBuffer(owner, onCommit, onRollback);
+            TransactionSynchronizationManager.registerSynchronization(buffer);
+        } else if (buffer.flushed) {
+            return false;
+        }
+        buffer.eventsByRecipient.computeIfAbsent(event.userId(), id -> new ArrayList<>()).add(event);
+        return true;
+    }
+
+    private static SseTransactionBuffer find(Object owner) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof SseTransactionBuffer buffer && buffer.owner == owner) {
+                return buffer;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void afterCommit() {
+        publishOnce();
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        if (status == STATUS_COMMITTED) {
+            publishOnce();
+        } else {
+            onRollback.accept(eventsByRecipient.values().stream().mapToInt(List::size).sum());
+        }
+        eventsByRecipient.clear();
+    }
+
+    private void publishOnce() {
+        if (flushed) {
+            return;
+        }
+        flushed = true;
+        List<SseEvent> events = new ArrayList<>();
+        eventsByRecipient.values().forEach(events::addAll);
+        eventsByRecipient.clear();
+        if (!events.isEmpty()) {
+            onCommit.accept(events);
+        }
+    }
+}
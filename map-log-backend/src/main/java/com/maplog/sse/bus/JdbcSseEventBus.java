@@ -0,0 +1,333 @@
+package com.maplog.sse.bus;
+
+import com.maplog.sse.SseEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * JdbcSseEventBus - 공용 DB(sse_events)를 통해 다른 파드로 SSE 이벤트를 전달하는 이벤트 버스
+ *
+ * 【동작】
+ * - 발행: 자기 파드의 구독자에게 바로 전달하고, sse_events에 넣을 행은 쓰기 대기열(outbox)에 담기만 함
+ * - 쓰기: 전용 스레드 하나가 대기열을 배치로 모아 multi-row INSERT 한 문장으로 저장 (파드당 커넥션 최대 1개)
+ * - 수신: 마지막으로 처리한 id(high-water mark) 이후의 행을 주기적으로 배치 조회하여
+ *         다른 파드에서 발행한 이벤트만 자기 파드의 구독자에게 전달
+ * - 정리: 보관 기간이 지난 행을 주기적으로 삭제
+ *
+ * 【커넥션 예산】
+ * 발행은 afterCommit 콜백 등 호출자가 아직 커넥션을 쥐고 있는 시점에 일어납니다.
+ * 호출 스레드에서 바로 INSERT하면 SSE 전송마다 커넥션이 하나 더 필요해 작은 풀이 고갈될 수 있으므로,
+ * 저장은 쓰기 스레드에 맡깁니다. 대기열이 가득 차면 다른 파드로의 전달만 포기하고 경고를 남깁니다.
+ * (자기 파드 전달과 알림 저장에는 영향 없음)
+ *
+ * 【id 공백 처리】
+ * AUTO_INCREMENT id는 커밋 순서와 다를 수 있어, 먼저 커밋된 큰 id 뒤에 작은 id가 늦게 보일 수 있습니다.
+ * 그래서 처리한 id 중 연속된 구간까지만 커서를 전진시킵니다. 공백이 gap-timeout 이상 채워지지 않으면
+ * 커서는 넘어가되 빠진 id를 기억해 두고, late-row-window 동안 poll마다 id로 다시 조회하여 늦게 커밋된 행도 전달합니다.
+ * (이때는 순서가 뒤바뀌어 도착할 수 있음)
+ *
+ * 【유실 구간】
+ * 더 큰 id가 보인 뒤 gap-timeout + late-row-window(기본 3초 + 60초) 안에 커밋되지 않은 행은 다른 파드로 전달되지 않습니다.
+ * 롤백으로 생긴 영구 공백도 같은 시간 뒤에 포기하며, 포기한 id 수는 메트릭으로 남깁니다. (sse.bus.abandoned_ids)
+ * 배치 하나가 한 문장으로 커밋되므로 같은 파드의 배치 안에서는 공백이 생기지 않고, 공백은 파드 간 커밋이 엇갈릴 때만 생깁니다.
+ * 기억해 두는 id는 max-pending-gap-ids개까지이며, 넘치면 가장 오래된 것부터 포기합니다.
+ *
+ * 【직렬화】
+ * 발행 측에서 이미 만든 JSON(payload)을 그대로 저장하고, 수신 측은 행마다 프레임을 한 번 만듭니다.
+ * 같은 논리적 이벤트(같은 eventId)의 연속된 행은 앞 행의 프레임 바이트를 다시 씁니다.
+ *
+ * 별도 메시지 브로커 없이 기존 MariaDB만으로 동작하며, 로컬 테스트는 H2로 가능합니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.sse.event-bus", havingValue = "jdbc")
+public class JdbcSseEventBus implements SseEventBus {
+
+    private final SseEventRecordRepository sseEventRecordRepository;
+    private final SseEventRecordMapper sseEventRecordMapper;
+    private final int batchSize;
+    private final long gapTimeoutMillis;
+    private final long lateRowWindowMillis;
+    private final int maxPendingGapIds;
+    private final long retentionMillis;
+
+    // 저장 대기 행 (쓰기 스레드가 배치로 꺼내 저장)
+    private final BlockingQueue<SseEventRecord> outbox;
+    private volatile boolean running;
+    private Thread writer;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<SseEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    // 이 id 이하의 행은 모두 처리됨 (-1: 아직 초기화 전)
+    private long cursor = -1;
+    // 커서 이후에 이미 처리한 id (공백 뒤쪽)
+    private final TreeSet<Long> processedAboveCursor = new TreeSet<>();
+    private long gapObservedAt;
+    // 커서가 건너뛴 뒤에도 늦게 커밋될 수 있는 id → 포기 시각 (id 순)
+    private final TreeMap<Long, Long> pendingGapIds = new TreeMap<>();
+    private final Counter abandonedGapIds;
+
+    public JdbcSseEventBus(
+            SseEventRecordRepository sseEventRecordRepository,
+            SseEventRecordMapper sseEventRecordMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.sse.jdbc.batch-size:200}") int batchSize,
+            @Value("${app.sse.jdbc.gap-timeout-ms:3000}") long gapTimeoutMillis,
+            @Value("${app.sse.jdbc.late-row-window-ms:60000}") long lateRowWindowMillis,
+            @Value("${app.sse.jdbc.max-pending-gap-ids:10000}") int maxPendingGapIds,
+            @Value("${app.sse.jdbc.retention-ms:600000}") long retentionMillis,
+            @Value("${app.sse.jdbc.write-queue-capacity:10000}") int writeQueueCapacity) {
+        this.sseEventRecordRepository = sseEventRecordRepository;
+        this.sseEventRecordMapper = sseEventRecordMapper;
+        this.batchSize = batchSize;
+        this.gapTimeoutMillis = gapTimeoutMillis;
+        // 늦게 커밋된 행도 보관 기간 안에만 다시 찾을 수 있다.
+        this.lateRowWindowMillis = Math.min(lateRowWindowMillis, retentionMillis);
+        this.maxPendingGapIds = Math.max(1, maxPendingGapIds);
+        this.retentionMillis = retentionMillis;
+        this.outbox = new LinkedBlockingQueue<>(writeQueueCapacity);
+        this.abandonedGapIds = Counter.builder("sse.bus.abandoned_ids").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        initCursor();
+        running = true;
+        writer = new Thread(this::writeLoop, "sse-bus-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        flush();
+    }
+
+    @Override
+    public void publish(SseEvent event) {
+        deliver(event);
+        enqueue(event);
+    }
+
+    @Override
+    public void publishAll(List<SseEvent> events) {
+        for (SseEvent event : events) {
+            deliver(event);
+            enqueue(event);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<SseEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 기동 시점의 최대 id부터 수신합니다. (기동 이전의 이벤트는 재전송하지 않음)
+     * 첫 poll이 아니라 빈 초기화 시점에 잡아 두어, 그 사이에 들어온 이벤트를 놓치지 않습니다.
+     */
+    synchronized void initCursor() {
+        try {
+            cursor = sseEventRecordRepository.findMaxId();
+        } catch (RuntimeException e) {
+            log.warn("[SSE] 이벤트 버스 커서 초기화 실패, 첫 조회 때 다시 시도 - error: {}", e.getMessage());
+        }
+    }
+
+    /** 다른 파드에서 발행된 이벤트를 가져와 전달합니다. */
+    @Scheduled(fixedDelayString = "${app.sse.jdbc.poll-interval-ms:500}")
+    public void poll() {
+        poll(System.currentTimeMillis());
+    }
+
+    synchronized void poll(long now) {
+        if (cursor < 0) {
+            cursor = sseEventRecordRepository.findMaxId();
+            return;
+        }
+
+        recheckPendingGaps(now);
+        List<SseEventRecord> records = sseEventRecordRepository.findAfter(cursor, PageRequest.of(0, batchSize));
+        SseEvent previous = null;
+        for (SseEventRecord record : records) {
+            if (!processedAboveCursor.add(record.getId())) {
+                continue;
+            }
+            previous = deliverRecord(previous, record);
+        }
+        advanceCursor(now);
+    }
+
+    @Scheduled(fixedDelayString = "${app.sse.jdbc.prune-interval-ms:60000}")
+    @Transactional
+    public void prune() {
+        int deleted = sseEventRecordRepository.deleteCreatedBefore(
+                LocalDateTime.now().minusNanos(retentionMillis * 1_000_000));
+        if (deleted > 0) {
+            log.debug("[SSE] 지난 이벤트 정리 - {}건", deleted);
+        }
+    }
+
+    /** 대기 중인 행을 모두 저장합니다. (종료 시) */
+    void flush() {
+        while (!outbox.isEmpty()) {
+            writeBatch(null);
+        }
+    }
+
+    private void enqueue(SseEvent event) {
+        SseEventRecord record = SseEventRecord.create(
+                event.id(), event.userId(), event.eventName(), event.payload(), nodeId);
+        if (!outbox.offer(record)) {
+            log.warn("[SSE] 이벤트 버스 쓰기 대기열 초과, 다른 파드로 전달하지 않음 - userId: {}", event.userId());
+        }
+    }
+
+    private void writeLoop() {
+        while (running) {
+            try {
+                SseEventRecord first = outbox.poll(100, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    writeBatch(first);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void writeBatch(SseEventRecord first) {
+        List<SseEventRecord> batch = new ArrayList<>(batchSize);
+        if (first != null) {
+            batch.add(first);
+        }
+        outbox.drainTo(batch, batchSize - batch.size());
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            // 배치 전체를 multi-row INSERT 한 문장으로 저장 (행마다 IDENTITY INSERT를 보내지 않음)
+            sseEventRecordMapper.insertAll(batch);
+        } catch (RuntimeException e) {
+            log.warn("[SSE] 이벤트 버스 저장 실패 - {}건, error: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void advanceCursor(long now) {
+        while (!processedAboveCursor.isEmpty() && processedAboveCursor.first() == cursor + 1) {
+            cursor = processedAboveCursor.pollFirst();
+        }
+        if (processedAboveCursor.isEmpty()) {
+            gapObservedAt = 0;
+            return;
+        }
+        if (gapObservedAt == 0) {
+            gapObservedAt = now;
+        } else if (now - gapObservedAt >= gapTimeoutMillis) {
+            // 오래 채워지지 않은 공백은 커서만 넘기고, 빠진 id는 late-row-window 동안 따로 다시 조회한다.
+            long next = processedAboveCursor.first();
+            long from = Math.max(cursor + 1, next - maxPendingGapIds);
+            if (from > cursor + 1) {
+                abandoned(from - cursor - 1);
+            }
+            for (long id = from; id < next; id++) {
+                pendingGapIds.put(id, now + lateRowWindowMillis);
+            }
+            if (pendingGapIds.size() > maxPendingGapIds) {
+                int overflow = pendingGapIds.size() - maxPendingGapIds;
+                for (int i = 0; i < overflow; i++) {
+                    pendingGapIds.pollFirstEntry();
+                }
+                abandoned(overflow);
+            }
+            cursor = next - 1;
+            gapObservedAt = 0;
+            advanceCursor(now);
+        }
+    }
+
+    /** 커서가 건너뛴 id 중 그 사이 커밋된 행을 전달하고, 기다릴 시간이 지난 id는 포기합니다. */
+    private void recheckPendingGaps(long now) {
+        if (pendingGapIds.isEmpty()) {
+            return;
+        }
+        int before = pendingGapIds.size();
+        pendingGapIds.values().removeIf(giveUpAt -> giveUpAt <= now);
+        if (pendingGapIds.size() < before) {
+            abandoned(before - pendingGapIds.size());
+        }
+        List<Long> ids = new ArrayList<>(pendingGapIds.keySet());
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<SseEventRecord> found = sseEventRecordRepository.findByIds(
+                    ids.subList(from, Math.min(from + batchSize, ids.size())));
+            SseEvent previous = null;
+            for (SseEventRecord record : found) {
+                pendingGapIds.remove(record.getId());
+                previous = deliverRecord(previous, record);
+            }
+        }
+    }
+
+    private SseEvent deliverRecord(SseEvent previous, SseEventRecord record) {
+        if (nodeId.equals(record.getOrigin())) {
+            return previous;
+        }
+        SseEvent event = sameLogicalEvent(previous, record)
+                ? previous.forRecipient(record.getUserId())
+                : new SseEvent(record.getEventId(), record.getUserId(), record.getEventName(), record.getPayload());
+        deliver(event);
+        return event;
+    }
+
+    private void abandoned(long count) {
+        // 대부분 롤백으로 생긴 영구 공백이지만, 이 시간보다 늦게 커밋된 다른 파드 이벤트라면 유실된 것이다.
+        abandonedGapIds.increment(count);
+        log.debug("[SSE] 이벤트 버스 id 공백 {}개 포기 - late-row-window 안에 커밋되지 않음", count);
+    }
+
+    private void deliver(SseEvent event) {
+        for (Consumer<SseEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("[SSE] 이벤트 전달 실패 - userId: {}, error: {}", event.userId(), e.getMessage());
+            }
+        }
+    }
+
+    private static boolean sameLogicalEvent(SseEvent previous, SseEventRecord record) {
+        return previous != null
+                && record.getEventId() != null
+                && record.getEventId().equals(previous.id())
+                && Objects.equals(record.getEventName(), previous.eventName())
+                && Objects.equals(record.getPayload(), previous.payload());
+    }
+}
@@ -0,0 +1,29 @@
+package com.maplog.sse.bus;
+
+import com.maplog.sse.SseEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * LocalSseEventBus - 같은 JVM의 구독자에게 바로 전달하는 이벤트 버스
+ */
+@Component
+@ConditionalOnProperty(name = "app.sse.event-bus", havingValue = "local", matchIfMissing = true)
+public class LocalSseEventBus implements SseEventBus {
+
+    private final List<Consumer<SseEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(SseEvent event) {
+        listeners.forEach(listener -> listener.accept(event));
+    }
+
+    @Override
+    public void subscribe(Consumer<SseEvent> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,28 @@
+package com.maplog.sse.bus;
+
+import com.maplog.sse.SseEvent;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * SseEventBus - SSE 이벤트를 모든 파드로 전달하는 이벤트 버스
+ *
+ * SseEmitterService.send()는 이벤트를 버스에 발행하고,
+ * 각 파드의 SseEmitterService는 구독자로 등록되어 자기 파드에 연결된 사용자에게만 전송합니다.
+ *
+ * 구현체는 app.sse.event-bus 값으로 선택합니다.
+ * - local (기본값): 같은 JVM 안에서만 전달 (단일 인스턴스, 로컬 개발)
+ * - jdbc: 공용 DB의 sse_events 테이블을 통해 다른 파드로 전달 (다중 레플리카)
+ */
+public interface SseEventBus {
+
+    void publish(SseEvent event);
+
+    /** 여러 이벤트를 한 번에 발행합니다. (트랜잭션 커밋 후 모아 둔 이벤트) */
+    default void publishAll(List<SseEvent> events) {
+        events.forEach(this::publish);
+    }
+
+    void subscribe(Consumer<SseEvent> listener);
+}
@@ -0,0 +1,56 @@
+package com.maplog.sse.bus;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 파드 간 SSE 이벤트 전달을 위한 추가 전용(append-only) 테이블
+ * - 각 파드는 마지막으로 읽은 id 이후의 행만 주기적으로 조회합니다.
+ * - 일정 시간이 지난 행은 JdbcSseEventBus가 정리합니다.
+ */
+@Entity
+@Table(name = "sse_events", indexes = {
+        @Index(name = "idx_sse_events_created_at", columnList = "createdAt")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class SseEventRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // SSE 이벤트 ID (모든 파드에서 같은 값으로 전송되어야 재연결 시 Last-Event-ID가 통함)
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 50)
+    private String eventName;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    // 발행한 파드 ID (자기 파드에서 발행한 이벤트는 이미 전달했으므로 건너뜀)
+    @Column(nullable = false, length = 36)
+    private String origin;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public static SseEventRecord create(Long eventId, Long userId, String eventName, String payload, String origin) {
+        SseEventRecord record = new SseEventRecord();
+        record.eventId = eventId;
+        record.userId = userId;
+        record.eventName = eventName;
+        record.payload = payload;
+        record.origin = origin;
+        record.createdAt = LocalDateTime.now();
+        return record;
+    }
+}
@@ -0,0 +1,16 @@
+package com.maplog.sse.bus;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+
+@Mapper
+public interface SseEventRecordMapper {
+
+    /**
+     * 이벤트 행 여러 개를 multi-row INSERT 한 번으로 저장합니다. (호출 측에서 batch-size 단위로 나눠 호출)
+     * 한 문장이라 한 번에 커밋되므로, 배치 안의 id가 서로 다른 시점에 보이지 않습니다.
+     */
+    int insertAll(@Param("records") Collection<SseEventRecord> records);
+}
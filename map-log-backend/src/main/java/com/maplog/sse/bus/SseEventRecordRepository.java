@@ -0,0 +1,27 @@
+package com.maplog.sse.bus;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface SseEventRecordRepository extends JpaRepository<SseEventRecord, Long> {
+
+    @Query("SELECT e FROM SseEventRecord e WHERE e.id > :afterId ORDER BY e.id")
+    List<SseEventRecord> findAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT e FROM SseEventRecord e WHERE e.id IN :ids ORDER BY e.id")
+    List<SseEventRecord> findByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM SseEventRecord e")
+    long findMaxId();
+
+    @Modifying
+    @Query("DELETE FROM SseEventRecord e WHERE e.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
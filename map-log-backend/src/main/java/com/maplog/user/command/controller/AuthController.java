@@ -1,5 +1,7 @@
 package com.maplog.user.command.controller;
 
+import com.maplog.common.ratelimit.RateLimitPolicy;
+import com.maplog.common.ratelimit.RateLimited;
 import com.maplog.common.response.ApiResponse;
 import com.maplog.user.command.dto.LoginRequest;
 import com.maplog.user.command.dto.LoginResponse;
@@ -32,12 +34,14 @@ public class AuthController {
     }
 
     @PostMapping("/login")
+    @RateLimited(RateLimitPolicy.LOGIN)
     public ResponseEntity<ApiResponse<LoginResponse>> login(@RequestBody @Valid LoginRequest request) {
         LoginResponse response = authService.login(request);
         return ResponseEntity.ok(ApiResponse.success("로그인이 완료되었습니다.", response));
     }
 
     @PostMapping("/refresh")
+    @RateLimited(RateLimitPolicy.REFRESH)
     public ResponseEntity<ApiResponse<LoginResponse>> refresh(@RequestBody @Valid RefreshRequest request) {
         LoginResponse response = authService.refresh(request.refreshToken());
         return ResponseEntity.ok(ApiResponse.success(response));
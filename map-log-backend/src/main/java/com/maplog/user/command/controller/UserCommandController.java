@@ -1,5 +1,7 @@
 package com.maplog.user.command.controller;
 
+import com.maplog.common.ratelimit.RateLimitPolicy;
+import com.maplog.common.ratelimit.RateLimited;
 import com.maplog.common.response.ApiResponse;
 import com.maplog.common.storage.FileStorageService;
 import com.maplog.user.command.service.UserCommandService;
@@ -20,6 +22,7 @@ public class UserCommandController {
     private final FileStorageService fileStorageService;
 
     @PatchMapping(value = "/me", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @RateLimited(RateLimitPolicy.UPLOAD)
     public ResponseEntity<ApiResponse<Void>> updateProfile(
             @AuthenticationPrincipal UserDetails userDetails,
             @RequestParam String nickname,
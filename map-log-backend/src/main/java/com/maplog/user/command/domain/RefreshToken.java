@@ -1,14 +1,33 @@
 package com.maplog.user.command.domain;
 
+import com.maplog.common.jwt.TokenDigests;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
+/**
+ * 리프레시 토큰 저장소
+ *
+ * 【저장 방식】
+ * 토큰 원문(JWT) 대신 SHA-256 다이제스트(32바이트)를 고유 인덱스 키로 저장합니다.
+ * 원문은 DB에 남지 않고, 조회 키가 고정 길이라 인덱스가 작게 유지됩니다.
+ * (원문 token 컬럼이 NOT NULL인 기존 refresh_tokens 테이블과 섞이지 않도록 새 테이블을 사용)
+ *
+ * 【회전 패밀리】
+ * 로그인 시 새 familyId가 발급되고, 재발급(refresh)마다 같은 familyId로 새 토큰이 이어집니다.
+ * 재발급에 사용된 토큰은 usedAt이 기록된 채 만료 시까지 남아 있으며,
+ * 이미 사용된 토큰이 다시 제시되면 탈취로 간주하여 패밀리 전체를 폐기합니다.
+ */
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_token_digests", indexes = {
+        @Index(name = "idx_refresh_token_digests_user_id", columnList = "userId"),
+        @Index(name = "idx_refresh_token_digests_family_id", columnList = "familyId"),
+        @Index(name = "idx_refresh_token_digests_expires_at", columnList = "expiresAt")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class RefreshToken {
@@ -20,21 +39,42 @@ public class RefreshToken {
     @Column(nullable = false)
     private Long userId;
 
-    @Column(nullable = false, unique = true, length = 512)
-    private String token;
+    @Column(nullable = false, unique = true, length = 32)
+    private byte[] tokenHash;
+
+    @Column(nullable = false, length = 36)
+    private String familyId;
 
     @Column(nullable = false)
     private LocalDateTime expiresAt;
 
+    // 재발급에 사용된 시각 (null이면 현재 유효한 토큰)
+    private LocalDateTime usedAt;
+
+    /** 로그인 시: 새 회전 패밀리의 첫 토큰 */
     public static RefreshToken create(Long userId, String token, LocalDateTime expiresAt) {
+        return create(userId, token, UUID.randomUUID().toString(), expiresAt);
+    }
+
+    private static RefreshToken create(Long userId, String token, String familyId, LocalDateTime expiresAt) {
         RefreshToken rt = new RefreshToken();
         rt.userId = userId;
-        rt.token = token;
+        rt.tokenHash = TokenDigests.sha256(token);
+        rt.familyId = familyId;
         rt.expiresAt = expiresAt;
         return rt;
     }
 
+    /** 재발급 시: 같은 패밀리로 이어지는 다음 토큰 */
+    public RefreshToken rotate(String nextToken, LocalDateTime nextExpiresAt) {
+        return create(this.userId, nextToken, this.familyId, nextExpiresAt);
+    }
+
     public boolean isExpired() {
         return LocalDateTime.now().isAfter(this.expiresAt);
     }
-}
\ No newline at end of file
+
+    public boolean isUsed() {
+        return this.usedAt != null;
+    }
+}
@@ -66,6 +66,10 @@ public class User {
         if (profileImageUrl != null) this.profileImageUrl = profileImageUrl;
     }
 
+    public void changePassword(String encodedPassword) {
+        this.password = encodedPassword;
+    }
+
     public void softDelete() {
         this.deletedAt = LocalDateTime.now();
     }
@@ -0,0 +1,13 @@
+package com.maplog.user.command.domain;
+
+/**
+ * 회원이 정지되거나 탈퇴하여 이미 발급된 액세스 토큰을 더 이상 허용하지 않아야 함을 알리는 이벤트
+ *
+ * @param revokedAt 이 시각(epoch millis) 이전에 발급된 토큰은 모두 무효
+ */
+public record UserAccessRevokedEvent(Long userId, long revokedAt) {
+
+    public static UserAccessRevokedEvent now(User user) {
+        return new UserAccessRevokedEvent(user.getId(), System.currentTimeMillis());
+    }
+}
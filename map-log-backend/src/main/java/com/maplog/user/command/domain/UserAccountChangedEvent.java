@@ -0,0 +1,12 @@
+package com.maplog.user.command.domain;
+
+/**
+ * 회원 계정 정보(프로필, 상태, 탈퇴)가 변경되었음을 알리는 이벤트
+ * 인증 주체 캐시 등 계정 정보를 들고 있는 곳에서 무효화 신호로 사용합니다.
+ */
+public record UserAccountChangedEvent(Long userId, String email) {
+
+    public static UserAccountChangedEvent of(User user) {
+        return new UserAccountChangedEvent(user.getId(), user.getEmail());
+    }
+}
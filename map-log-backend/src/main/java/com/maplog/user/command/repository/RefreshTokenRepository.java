@@ -1,13 +1,41 @@
 package com.maplog.user.command.repository;
 
 import com.maplog.user.command.domain.RefreshToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
 
     void deleteByUserId(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") String familyId);
+
+    /**
+     * 아직 사용되지 않은 토큰만 사용 처리합니다.
+     * 같은 토큰으로 동시에 재발급을 시도하면 한 요청만 1을 받습니다.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.usedAt = :usedAt WHERE r.id = :id AND r.usedAt IS NULL")
+    int markUsed(@Param("id") Long id, @Param("usedAt") LocalDateTime usedAt);
+
+    @Query("SELECT r.id FROM RefreshToken r WHERE r.expiresAt < :now ORDER BY r.id")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /** 사용된 토큰 중 같은 패밀리의 다음 토큰까지 사용된 것 (재사용 탐지에 더 이상 필요 없음) */
+    @Query("SELECT r.id FROM RefreshToken r WHERE r.id > :afterId AND r.usedAt IS NOT NULL"
+            + " AND EXISTS (SELECT n.id FROM RefreshToken n"
+            + " WHERE n.familyId = r.familyId AND n.id > r.id AND n.usedAt IS NOT NULL)"
+            + " ORDER BY r.id")
+    List<Long> findSupersededIds(@Param("afterId") long afterId, Pageable pageable);
 }
@@ -0,0 +1,13 @@
+package com.maplog.user.command.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 토큰 무효화 목록 재구성용 프로젝션 (정지/탈퇴 회원의 ID와 마지막 변경 시각)
+ */
+public interface RevokedUserView {
+
+    Long getId();
+
+    LocalDateTime getUpdatedAt();
+}
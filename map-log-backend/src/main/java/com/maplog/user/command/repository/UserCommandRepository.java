@@ -5,7 +5,11 @@ import com.maplog.user.command.domain.UserStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +19,8 @@ public interface UserCommandRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByIdAndDeletedAtIsNull(Long id);
 
+    Optional<UserPrincipalView> findPrincipalByEmailAndDeletedAtIsNull(String email);
+
     boolean existsByEmailAndDeletedAtIsNull(String email);
 
     boolean existsByNicknameAndDeletedAtIsNull(String nickname);
@@ -26,4 +32,12 @@ public interface UserCommandRepository extends JpaRepository<User, Long> {
     Page<User> findAllByDeletedAtIsNull(Pageable pageable);
 
     Page<User> findAllByStatusAndDeletedAtIsNull(UserStatus status, Pageable pageable);
+
+    /** 로그인 시 재해시: 그사이 비밀번호가 바뀌지 않았을 때만 새 해시로 교체합니다. */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int rehashPassword(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    @Query("SELECT u.id AS id, u.updatedAt AS updatedAt FROM User u WHERE (u.status = 'SUSPENDED' OR u.deletedAt IS NOT NULL) AND u.updatedAt >= :since")
+    List<RevokedUserView> findRevokedSince(@Param("since") LocalDateTime since);
 }
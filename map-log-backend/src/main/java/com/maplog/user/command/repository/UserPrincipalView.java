@@ -0,0 +1,15 @@
+package com.maplog.user.command.repository;
+
+import com.maplog.user.command.domain.Role;
+
+/**
+ * 인증 주체 생성에 필요한 컬럼만 조회하기 위한 프로젝션 (비밀번호 해시는 읽지 않는다)
+ */
+public interface UserPrincipalView {
+
+    Long getId();
+
+    String getEmail();
+
+    Role getRole();
+}
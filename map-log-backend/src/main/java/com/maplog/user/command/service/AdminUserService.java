@@ -3,11 +3,15 @@ package com.maplog.user.command.service;
 import com.maplog.common.exception.BusinessException;
 import com.maplog.common.exception.ErrorCode;
 import com.maplog.user.command.domain.User;
+import com.maplog.user.command.domain.UserAccessRevokedEvent;
+import com.maplog.user.command.domain.UserAccountChangedEvent;
 import com.maplog.user.command.domain.UserStatus;
 import com.maplog.user.command.dto.UserStatusUpdateRequest;
+import com.maplog.user.command.repository.RefreshTokenRepository;
 import com.maplog.user.command.repository.UserCommandRepository;
 import com.maplog.user.query.dto.AdminUserResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -19,6 +23,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class AdminUserService {
 
     private final UserCommandRepository userCommandRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Page<AdminUserResponse> getUsers(UserStatus status, Pageable pageable) {
@@ -34,6 +40,12 @@ public class AdminUserService {
         User user = userCommandRepository.findById(userId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
         user.changeStatus(request.status(), request.suspensionReason(), request.suspensionExpiresAt());
+        eventPublisher.publishEvent(UserAccountChangedEvent.of(user));
+        if (request.status() == UserStatus.SUSPENDED) {
+            // 이미 발급된 액세스 토큰도 즉시 차단하고, 리프레시 토큰으로 새로 받지 못하게 지운다.
+            eventPublisher.publishEvent(UserAccessRevokedEvent.now(user));
+            refreshTokenRepository.deleteByUserId(userId);
+        }
     }
 
     private AdminUserResponse toResponse(User u) {
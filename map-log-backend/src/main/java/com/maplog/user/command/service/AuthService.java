@@ -3,6 +3,7 @@ package com.maplog.user.command.service;
 import com.maplog.common.exception.BusinessException;
 import com.maplog.common.exception.ErrorCode;
 import com.maplog.common.jwt.JwtTokenProvider;
+import com.maplog.common.jwt.TokenDigests;
 import com.maplog.user.command.domain.RefreshToken;
 import com.maplog.user.command.domain.User;
 import com.maplog.user.command.domain.UserStatus;
@@ -11,40 +12,55 @@ import com.maplog.user.command.dto.LoginResponse;
 import com.maplog.user.command.dto.SignupRequest;
 import com.maplog.user.command.repository.RefreshTokenRepository;
 import com.maplog.user.command.repository.UserCommandRepository;
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 
+/**
+ * AuthService - 회원가입, 로그인, 토큰 재발급, 로그아웃
+ *
+ * 【트랜잭션 경계】
+ * BCrypt 계산은 BoundedPasswordEncoder의 전용 스레드에서 수십 ms~수 초(대기 포함) 걸립니다.
+ * 그동안 트랜잭션(=커넥션)을 잡고 있으면 로그인이 몰릴 때 다른 API의 커넥션까지 말라 버리므로,
+ * signup/login은 트랜잭션 없이 짧은 읽기 → 해시 계산 → 짧은 쓰기 트랜잭션 순으로 나눕니다.
+ */
 @Service
-@RequiredArgsConstructor
-@Transactional
 public class AuthService {
 
     private final UserCommandRepository userCommandRepository;
     private final RefreshTokenRepository refreshTokenRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${jwt.refresh-token-expiration}")
     private long refreshTokenExpiration;
 
+    public AuthService(UserCommandRepository userCommandRepository,
+                       RefreshTokenRepository refreshTokenRepository,
+                       PasswordEncoder passwordEncoder,
+                       JwtTokenProvider jwtTokenProvider,
+                       PlatformTransactionManager transactionManager) {
+        this.userCommandRepository = userCommandRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
     public void signup(SignupRequest request) {
-        if (userCommandRepository.existsByEmailAndDeletedAtIsNull(request.email())) {
-            throw new BusinessException(ErrorCode.EMAIL_ALREADY_EXISTS);
-        }
-        if (userCommandRepository.existsByNicknameAndDeletedAtIsNull(request.nickname())) {
-            throw new BusinessException(ErrorCode.NICKNAME_ALREADY_EXISTS);
-        }
-        User user = User.create(
-                request.email(),
-                passwordEncoder.encode(request.password()),
-                request.nickname()
-        );
-        userCommandRepository.save(user);
+        checkDuplicates(request);
+        String encodedPassword = passwordEncoder.encode(request.password());
+        transactionTemplate.executeWithoutResult(status -> {
+            // 해시 계산 중에 같은 이메일/닉네임으로 가입했을 수 있으므로 저장 직전에 다시 확인한다.
+            checkDuplicates(request);
+            userCommandRepository.save(User.create(request.email(), encodedPassword, request.nickname()));
+        });
     }
 
     public LoginResponse login(LoginRequest request) {
@@ -59,23 +75,48 @@ public class AuthService {
             throw new BusinessException(ErrorCode.FORBIDDEN);
         }
 
-        String accessToken = jwtTokenProvider.generateAccessToken(user.getEmail());
+        // BCrypt 강도가 바뀐 경우, 평문을 알고 있는 지금 새 강도로 다시 해시해 둔다.
+        String upgradedPassword = passwordEncoder.upgradeEncoding(user.getPassword())
+                ? passwordEncoder.encode(request.password())
+                : null;
+
+        String accessToken = jwtTokenProvider.generateAccessToken(
+                user.getEmail(), user.getId(), user.getRole().name());
         String refreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail());
 
-        refreshTokenRepository.deleteByUserId(user.getId());
-        refreshTokenRepository.save(RefreshToken.create(
-                user.getId(),
-                refreshToken,
-                LocalDateTime.now().plusSeconds(refreshTokenExpiration / 1000)
-        ));
+        transactionTemplate.executeWithoutResult(status -> {
+            if (upgradedPassword != null) {
+                userCommandRepository.rehashPassword(user.getId(), user.getPassword(), upgradedPassword);
+            }
+            refreshTokenRepository.deleteByUserId(user.getId());
+            refreshTokenRepository.save(RefreshToken.create(
+                    user.getId(),
+                    refreshToken,
+                    LocalDateTime.now().plusSeconds(refreshTokenExpiration / 1000)
+            ));
+        });
 
         return new LoginResponse(accessToken, refreshToken, "Bearer");
     }
 
+    /**
+     * 리프레시 토큰 회전
+     * - 다이제스트로 저장된 토큰을 조회하고, 사용 처리 후 같은 패밀리의 새 토큰을 발급합니다.
+     * - 이미 사용된 토큰이 다시 제시되면 패밀리 전체를 폐기합니다. (탈취된 토큰 재사용 차단)
+     * - 정지된 사용자는 로그인과 마찬가지로 거부하고 패밀리를 폐기합니다.
+     *
+     * 폐기/만료 정리는 예외를 던진 뒤에도 반영되어야 하므로 BusinessException으로 롤백하지 않습니다.
+     */
+    @Transactional(noRollbackFor = BusinessException.class)
     public LoginResponse refresh(String refreshTokenValue) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(refreshTokenValue)
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(TokenDigests.sha256(refreshTokenValue))
                 .orElseThrow(() -> new BusinessException(ErrorCode.INVALID_TOKEN));
 
+        if (refreshToken.isUsed()) {
+            refreshTokenRepository.deleteByFamilyId(refreshToken.getFamilyId());
+            throw new BusinessException(ErrorCode.INVALID_TOKEN);
+        }
+
         if (refreshToken.isExpired()) {
             refreshTokenRepository.delete(refreshToken);
             throw new BusinessException(ErrorCode.EXPIRED_TOKEN);
@@ -84,15 +125,26 @@ public class AuthService {
         jwtTokenProvider.validateToken(refreshTokenValue);
         String subject = jwtTokenProvider.getSubject(refreshTokenValue);
 
-        String newAccessToken = jwtTokenProvider.generateAccessToken(subject);
-        String newRefreshToken = jwtTokenProvider.generateRefreshToken(subject);
-
         User user = userCommandRepository.findByEmailAndDeletedAtIsNull(subject)
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
 
-        refreshTokenRepository.delete(refreshToken);
-        refreshTokenRepository.save(RefreshToken.create(
-                user.getId(),
+        // 정지 이후 새 액세스 토큰은 폐기 시각보다 늦게 발급되어 폐기 목록을 통과하므로, 재발급 자체를 막는다.
+        if (user.getStatus() == UserStatus.SUSPENDED) {
+            refreshTokenRepository.deleteByFamilyId(refreshToken.getFamilyId());
+            throw new BusinessException(ErrorCode.FORBIDDEN);
+        }
+
+        // 동시에 같은 토큰으로 재발급하면 한 요청만 통과하고, 나머지는 재사용으로 처리된다.
+        if (refreshTokenRepository.markUsed(refreshToken.getId(), LocalDateTime.now()) == 0) {
+            refreshTokenRepository.deleteByFamilyId(refreshToken.getFamilyId());
+            throw new BusinessException(ErrorCode.INVALID_TOKEN);
+        }
+
+        String newAccessToken = jwtTokenProvider.generateAccessToken(
+                user.getEmail(), user.getId(), user.getRole().name());
+        String newRefreshToken = jwtTokenProvider.generateRefreshToken(subject);
+
+        refreshTokenRepository.save(refreshToken.rotate(
                 newRefreshToken,
                 LocalDateTime.now().plusSeconds(refreshTokenExpiration / 1000)
         ));
@@ -100,9 +152,19 @@ public class AuthService {
         return new LoginResponse(newAccessToken, newRefreshToken, "Bearer");
     }
 
+    @Transactional
     public void logout(String email) {
         User user = userCommandRepository.findByEmailAndDeletedAtIsNull(email)
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
         refreshTokenRepository.deleteByUserId(user.getId());
     }
+
+    private void checkDuplicates(SignupRequest request) {
+        if (userCommandRepository.existsByEmailAndDeletedAtIsNull(request.email())) {
+            throw new BusinessException(ErrorCode.EMAIL_ALREADY_EXISTS);
+        }
+        if (userCommandRepository.existsByNicknameAndDeletedAtIsNull(request.nickname())) {
+            throw new BusinessException(ErrorCode.NICKNAME_ALREADY_EXISTS);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.maplog.user.command.service;
+
+import com.maplog.common.lock.JobLockService;
+import com.maplog.user.command.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 만료된 리프레시 토큰 정리 작업
+ *
+ * 만료 토큰은 누군가 다시 제시할 때만 지워지므로, 주기적으로 expiresAt 인덱스를 따라 일괄 삭제합니다.
+ * 한 번에 batchSize 건씩 별도 트랜잭션으로 지워 잠금 시간과 undo 로그를 작게 유지하고,
+ * 한 주기에 최대 maxBatches 번까지만 반복합니다. (남은 건은 다음 주기에 처리)
+ *
+ * 회전으로 사용된 토큰은 재사용 탐지를 위해 남겨 두지만, 같은 패밀리의 다음 토큰까지 사용되었으면
+ * 같은 방식으로 지웁니다. (재사용 탐지는 패밀리의 직전 토큰까지만 유지되고, 그보다 오래된 토큰은 INVALID_TOKEN)
+ * 그렇지 않으면 자주 재발급하는 사용자의 행이 만료(14일)까지 계속 쌓입니다.
+ *
+ * 모든 파드에 스케줄이 걸려 있지만 JobLockService의 임대 잠금(purge-interval-ms의 90%)을 얻은 파드 하나만 실행합니다.
+ */
+@Slf4j
+@Service
+public class RefreshTokenPurgeService {
+
+    static final String LOCK_NAME = "refresh-token-purge";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JobLockService jobLockService;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration lockLease;
+
+    public RefreshTokenPurgeService(
+            RefreshTokenRepository refreshTokenRepository,
+            JobLockService jobLockService,
+            @Value("${app.security.refresh-token.purge-batch-size:500}") int batchSize,
+            @Value("${app.security.refresh-token.purge-max-batches:20}") int maxBatches,
+            @Value("${app.security.refresh-token.purge-interval-ms:3600000}") long intervalMillis) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jobLockService = jobLockService;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.lockLease = Duration.ofMillis(intervalMillis * 9 / 10);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.refresh-token.purge-interval-ms:3600000}",
+            initialDelayString = "${app.security.refresh-token.purge-interval-ms:3600000}")
+    public void purge() {
+        if (!jobLockService.tryAcquire(LOCK_NAME, lockLease)) {
+            return;
+        }
+        purgeExpired();
+        purgeSuperseded();
+    }
+
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Long> ids = refreshTokenRepository.findExpiredIds(now, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            // deleteAllByIdInBatch는 자체 트랜잭션에서 단일 DELETE ... WHERE id IN (...) 으로 실행된다.
+            refreshTokenRepository.deleteAllByIdInBatch(ids);
+            purged += ids.size();
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        if (purged > 0) {
+            log.info("만료된 리프레시 토큰 {}건 삭제", purged);
+        }
+        return purged;
+    }
+
+    /** 다음 토큰까지 사용된 회전 토큰을 삭제합니다. 남겨 둘 행은 건너뛰도록 id 순으로 이어서 읽습니다. */
+    public int purgeSuperseded() {
+        int purged = 0;
+        long afterId = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Long> ids = refreshTokenRepository.findSupersededIds(afterId, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            refreshTokenRepository.deleteAllByIdInBatch(ids);
+            purged += ids.size();
+            if (ids.size() < batchSize) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+        if (purged > 0) {
+            log.info("사용이 끝난 회전 리프레시 토큰 {}건 삭제", purged);
+        }
+        return purged;
+    }
+}
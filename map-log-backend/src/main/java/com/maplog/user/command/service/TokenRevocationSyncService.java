@@ -0,0 +1,99 @@
+package com.maplog.user.command.service;
+
+import com.maplog.common.security.TokenRevocationRegistry;
+import com.maplog.user.command.domain.UserAccessRevokedEvent;
+import com.maplog.user.command.repository.RevokedUserView;
+import com.maplog.user.command.repository.UserCommandRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TokenRevocationRegistry를 users 테이블과 맞춰 주는 서비스
+ *
+ * 【반영 경로】
+ * 1. 같은 파드의 정지/탈퇴: UserAccessRevokedEvent를 커밋 직후 바로 반영
+ * 2. 다른 파드의 정지/탈퇴: 주기적으로 최근 변경된 정지/탈퇴 회원을 조회하여 반영
+ * 3. 파드 기동 시: 액세스 토큰 만료 시간 이내에 정지/탈퇴된 회원으로 목록을 재구성
+ *
+ * 요청 경로에서는 DB를 조회하지 않으며, 주기 조회는 파드당 한 번의 가벼운 쿼리입니다.
+ */
+@Slf4j
+@Service
+public class TokenRevocationSyncService {
+
+    private final UserCommandRepository userCommandRepository;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final long accessTokenExpiration;
+    private final long syncOverlapMillis;
+
+    // 마지막 동기화를 시작한 시각 (다음 조회의 기준점)
+    private volatile long lastSyncStartedAt;
+
+    public TokenRevocationSyncService(
+            UserCommandRepository userCommandRepository,
+            TokenRevocationRegistry tokenRevocationRegistry,
+            @Value("${jwt.access-token-expiration}") long accessTokenExpiration,
+            @Value("${app.security.revocation.sync-overlap-ms:30000}") long syncOverlapMillis) {
+        this.userCommandRepository = userCommandRepository;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.accessTokenExpiration = accessTokenExpiration;
+        this.syncOverlapMillis = syncOverlapMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long now = System.currentTimeMillis();
+        int loaded = load(now - accessTokenExpiration);
+        lastSyncStartedAt = now;
+        log.info("토큰 무효화 목록 재구성 완료: {}명", loaded);
+    }
+
+    /**
+     * 다른 파드에서 발생한 정지/탈퇴를 반영하고, 만료된 항목을 정리합니다.
+     * 커밋 지연으로 놓치는 변경이 없도록 직전 동기화 시각보다 overlap 만큼 앞에서부터 다시 조회합니다.
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.sync-interval-ms:10000}",
+            initialDelayString = "${app.security.revocation.sync-interval-ms:10000}")
+    public void sync() {
+        long now = System.currentTimeMillis();
+        long since = Math.max(lastSyncStartedAt - syncOverlapMillis, now - accessTokenExpiration);
+        load(since);
+        lastSyncStartedAt = now;
+        tokenRevocationRegistry.pruneBefore(now - accessTokenExpiration);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccessRevoked(UserAccessRevokedEvent event) {
+        tokenRevocationRegistry.revoke(event.userId(), event.revokedAt());
+    }
+
+    private int load(long sinceMillis) {
+        List<RevokedUserView> revoked = userCommandRepository.findRevokedSince(toLocalDateTime(sinceMillis));
+        Map<Long, Long> revocations = new HashMap<>(revoked.size() * 2);
+        for (RevokedUserView user : revoked) {
+            revocations.put(user.getId(), toEpochMillis(user.getUpdatedAt()));
+        }
+        tokenRevocationRegistry.revokeAll(revocations);
+        return revocations.size();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -3,10 +3,13 @@ package com.maplog.user.command.service;
 import com.maplog.common.exception.BusinessException;
 import com.maplog.common.exception.ErrorCode;
 import com.maplog.user.command.domain.User;
+import com.maplog.user.command.domain.UserAccessRevokedEvent;
+import com.maplog.user.command.domain.UserAccountChangedEvent;
 import com.maplog.user.command.dto.UpdateProfileRequest;
 import com.maplog.user.command.repository.RefreshTokenRepository;
 import com.maplog.user.command.repository.UserCommandRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +20,7 @@ public class UserCommandService {
 
     private final UserCommandRepository userCommandRepository;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public void updateProfile(String email, String nickname, String profileImageUrl) {
         User user = getUserByEmail(email);
@@ -25,12 +29,15 @@ public class UserCommandService {
             throw new BusinessException(ErrorCode.NICKNAME_ALREADY_EXISTS);
         }
         user.updateProfile(nickname, profileImageUrl);
+        eventPublisher.publishEvent(UserAccountChangedEvent.of(user));
     }
 
     public void deleteAccount(String email) {
         User user = getUserByEmail(email);
         refreshTokenRepository.deleteByUserId(user.getId());
         user.softDelete();
+        eventPublisher.publishEvent(UserAccountChangedEvent.of(user));
+        eventPublisher.publishEvent(UserAccessRevokedEvent.now(user));
     }
 
     private User getUserByEmail(String email) {
@@ -1,28 +1,61 @@
 package com.maplog.user.command.service;
 
-import com.maplog.user.command.domain.User;
+import com.maplog.common.cache.BoundedTtlCache;
+import com.maplog.common.security.AuthUser;
+import com.maplog.user.command.domain.UserAccountChangedEvent;
 import com.maplog.user.command.repository.UserCommandRepository;
-import lombok.RequiredArgsConstructor;
+import com.maplog.user.command.repository.UserPrincipalView;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+/**
+ * JwtAuthenticationFilter가 매 요청마다 호출하는 인증 주체 조회 서비스
+ *
+ * 【캐시】
+ * 이메일 → 인증 주체(ID, 이메일, 권한)를 TTL 동안 파드 메모리에 보관하여 요청마다 users 조회를 하지 않습니다.
+ * 프로필 변경/상태 변경/탈퇴 시 발행되는 UserAccountChangedEvent로 커밋 직후 즉시 무효화하며,
+ * 다른 파드는 TTL이 지나면 최신 상태를 다시 읽습니다.
+ */
 @Service
-@RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserCommandRepository userCommandRepository;
+    private final BoundedTtlCache<String, UserDetails> principalCache;
+    private final long ttlMillis;
+
+    public UserDetailsServiceImpl(
+            UserCommandRepository userCommandRepository,
+            @Value("${app.security.principal-cache.ttl-ms:30000}") long ttlMillis,
+            @Value("${app.security.principal-cache.max-size:10000}") int maxSize) {
+        this.userCommandRepository = userCommandRepository;
+        this.ttlMillis = ttlMillis;
+        this.principalCache = new BoundedTtlCache<>(maxSize);
+    }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userCommandRepository.findByEmailAndDeletedAtIsNull(email)
+        UserDetails cached = principalCache.get(email);
+        if (cached != null) {
+            return cached;
+        }
+
+        UserPrincipalView user = userCommandRepository.findPrincipalByEmailAndDeletedAtIsNull(email)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + email));
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPassword())
-                .authorities(user.getRole().name())
-                .build();
+        UserDetails principal = new AuthUser(user.getId(), user.getEmail(), user.getRole().name());
+        principalCache.put(email, principal, System.currentTimeMillis() + ttlMillis);
+        return principal;
+    }
+
+    /**
+     * 계정 변경이 커밋된 뒤 캐시를 비운다. (트랜잭션 밖에서 발행된 경우에도 즉시 실행)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        principalCache.invalidate(event.email());
     }
 }
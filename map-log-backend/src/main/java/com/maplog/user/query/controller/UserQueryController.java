@@ -1,6 +1,7 @@
 package com.maplog.user.query.controller;
 
 import com.maplog.common.response.ApiResponse;
+import com.maplog.common.security.CurrentUserId;
 import com.maplog.diary.query.dto.DiarySummaryResponse;
 import com.maplog.diary.query.service.DiaryQueryService;
 import com.maplog.user.query.dto.UserProfileQueryResponse;
@@ -50,17 +51,17 @@ public class UserQueryController {
 
     @GetMapping("/me/diaries")
     public ResponseEntity<ApiResponse<Page<DiarySummaryResponse>>> getMyDiaries(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PageableDefault(size = 10) Pageable pageable) {
-        Page<DiarySummaryResponse> diaries = diaryQueryService.getMyDiaries(userDetails.getUsername(), pageable);
+        Page<DiarySummaryResponse> diaries = diaryQueryService.getMyDiaries(userId, pageable);
         return ResponseEntity.ok(ApiResponse.success(diaries));
     }
 
     @GetMapping("/me/scraps")
     public ResponseEntity<ApiResponse<Page<DiarySummaryResponse>>> getMyScraps(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId Long userId,
             @PageableDefault(size = 10) Pageable pageable) {
-        Page<DiarySummaryResponse> scraps = diaryQueryService.getMyScraps(userDetails.getUsername(), pageable);
+        Page<DiarySummaryResponse> scraps = diaryQueryService.getMyScraps(userId, pageable);
         return ResponseEntity.ok(ApiResponse.success(scraps));
     }
 }
\ No newline at end of file
@@ -1,9 +1,15 @@
 package com.maplog;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.maplog.common.storage.FileStorageService;
+import com.maplog.user.command.domain.UserStatus;
 import com.maplog.user.command.dto.LoginRequest;
+import com.maplog.user.command.dto.RefreshRequest;
 import com.maplog.user.command.dto.SignupRequest;
+import com.maplog.user.command.dto.UserStatusUpdateRequest;
+import com.maplog.user.command.repository.UserCommandRepository;
+import com.maplog.user.command.service.AdminUserService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,8 +22,6 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Map;
-
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -34,6 +38,12 @@ public class UserFlowIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private UserCommandRepository userCommandRepository;
+
+    @Autowired
+    private AdminUserService adminUserService;
+
     @MockBean
     private FileStorageService fileStorageService;
 
@@ -92,6 +102,34 @@ public class UserFlowIntegrationTest {
                 .andExpect(jsonPath("$.data.content.length()").value(2));
     }
 
+    @Test
+    @DisplayName("액추에이터: 헬스 체크는 공개, 메트릭은 일반 사용자에게 403")
+    void actuatorAccess() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+
+        signup("userC@test.com", "userC");
+        String tokenC = login("userC@test.com");
+        mockMvc.perform(get("/actuator/metrics")
+                .header("Authorization", "Bearer " + tokenC))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("정지된 사용자는 리프레시 토큰으로 새 액세스 토큰을 받을 수 없음")
+    void suspendedUserCannotRefresh() throws Exception {
+        signup("userD@test.com", "userD");
+        String refreshToken = loginData("userD@test.com").path("refreshToken").asText();
+        Long userId = userCommandRepository.findByEmailAndDeletedAtIsNull("userD@test.com").orElseThrow().getId();
+
+        adminUserService.changeUserStatus(userId, new UserStatusUpdateRequest(UserStatus.SUSPENDED, "spam", null));
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequest(refreshToken))))
+                .andExpect(status().isUnauthorized());
+    }
+
     private void signup(String email, String nickname) throws Exception {
         SignupRequest request = new SignupRequest(email, "password123", nickname);
         mockMvc.perform(post("/api/auth/signup")
@@ -101,12 +139,16 @@ public class UserFlowIntegrationTest {
     }
 
     private String login(String email) throws Exception {
+        return loginData(email).path("accessToken").asText();
+    }
+
+    private JsonNode loginData(String email) throws Exception {
         LoginRequest request = new LoginRequest(email, "password123");
         MvcResult result = mockMvc.perform(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andReturn();
         String body = result.getResponse().getContentAsString();
-        return (String) ((Map) objectMapper.readValue(body, Map.class).get("data")).get("accessToken");
+        return objectMapper.readTree(body).path("data");
     }
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.maplog.common.jwt;
+
+import com.maplog.common.security.TokenRevocationRegistry;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JwtAuthenticationFilter 요청당 비용 마이크로 벤치마크
+ *
+ * 실행: ./gradlew benchmark
+ *
+ * - legacy : 요청마다 파서를 새로 만들고 validateToken + getSubject 로 HMAC 검증을 두 번 수행하던 기존 경로
+ * - cached : 재사용 파서 + 검증된 클레임 캐시를 사용하는 현재 필터 경로
+ *
+ * DB 영향은 배제하기 위해 UserDetailsService는 고정 값을 반환하는 스텁을 사용합니다.
+ */
+@Tag("benchmark")
+class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "v9y$B&E)H@McQfTjWnZr4u7x!A%C*F-JaNdRgUkXp2s5v8y/B?E(G+KbPeShVmYq";
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    private final UserDetailsService stubUserDetailsService = username -> User.builder()
+            .username(username)
+            .password("")
+            .authorities("USER")
+            .build();
+
+    private final FilterChain noopChain = (request, response) -> { };
+
+    @Test
+    @DisplayName("filter per-request cost: legacy double verification vs cached verified claims")
+    void compareFilterCost() throws Exception {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 1_800_000L, 1_209_600_000L, 10_000);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(provider, stubUserDetailsService, new TokenRevocationRegistry());
+        String token = provider.generateAccessToken("bench@maplog.com", 1L, "USER");
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+        double legacyNs = measure(() -> legacyFilter(key, token));
+        double cachedNs = measure(() -> runFilter(filter, token));
+
+        System.out.printf("[bench] JwtAuthenticationFilter legacy : %,10.0f ns/request%n", legacyNs);
+        System.out.printf("[bench] JwtAuthenticationFilter cached : %,10.0f ns/request%n", cachedNs);
+        System.out.printf("[bench] speed-up                       : %10.1fx%n", legacyNs / cachedNs);
+
+        assertThat(cachedNs).isLessThan(legacyNs);
+    }
+
+    private void legacyFilter(SecretKey key, String token) {
+        // 기존 validateToken + getSubject: 매번 파서를 새로 만들고 서명을 두 번 검증
+        Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+        String subject = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload().getSubject();
+        UserDetails userDetails = stubUserDetailsService.loadUserByUsername(subject);
+        if (userDetails == null) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private void runFilter(JwtAuthenticationFilter filter, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/feed");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), noopChain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private double measure(Runnable task) {
+        for (int i = 0; i < WARMUP; i++) {
+            task.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            task.run();
+        }
+        return (System.nanoTime() - start) / (double) ITERATIONS;
+    }
+}
@@ -0,0 +1,43 @@
+package com.maplog.common.jwt;
+
+import com.maplog.common.security.TokenRevocationRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+
+    private final JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(
+            "v9y$B&E)H@McQfTjWnZr4u7x!A%C*F-JaNdRgUkXp2s5v8y/B?E(G+KbPeShVmYq", 3_600_000L, 86_400_000L, 100);
+
+    @Test
+    @DisplayName("a token issued in the same second but after a revocation is not treated as revoked")
+    void comparesRevocationAtMillisecondPrecision() throws InterruptedException {
+        TokenRevocationRegistry registry = new TokenRevocationRegistry();
+        long before = System.currentTimeMillis();
+        Claims issuedBefore = jwtTokenProvider.getVerifiedClaims(jwtTokenProvider.generateAccessToken("a@b.c", 1L, "USER"));
+        Thread.sleep(2);
+        long revokedAt = System.currentTimeMillis();
+        registry.revoke(1L, revokedAt);
+        Thread.sleep(2);
+        Claims issuedAfter = jwtTokenProvider.getVerifiedClaims(jwtTokenProvider.generateAccessToken("a@b.c", 1L, "USER"));
+
+        assertThat(JwtTokenProvider.issuedAtMillis(issuedBefore)).isBetween(before, revokedAt);
+        assertThat(registry.isRevoked(1L, JwtTokenProvider.issuedAtMillis(issuedBefore))).isTrue();
+        assertThat(registry.isRevoked(1L, JwtTokenProvider.issuedAtMillis(issuedAfter))).isFalse();
+    }
+
+    @Test
+    @DisplayName("tokens without the millisecond claim fall back to the second-precision iat")
+    void fallsBackToIssuedAt() {
+        Claims legacy = Jwts.claims().issuedAt(new Date(1_700_000_000_000L)).build();
+
+        assertThat(JwtTokenProvider.issuedAtMillis(legacy)).isEqualTo(1_700_000_000_000L);
+        assertThat(JwtTokenProvider.issuedAtMillis(Jwts.claims().build())).isNull();
+    }
+}
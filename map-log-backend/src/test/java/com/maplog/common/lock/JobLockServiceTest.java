@@ -0,0 +1,43 @@
+package com.maplog.common.lock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class JobLockServiceTest {
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired
+    private JobLockMapper jobLockMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("only one owner holds a lease until it expires, then another owner can take it")
+    void leaseIsExclusiveUntilExpiry() {
+        assertThat(jobLockService.tryAcquire("test-job", Duration.ofMinutes(5))).isTrue();
+        // 다른 파드(다른 owner)는 임대 중에 가져갈 수 없다.
+        JobLockService otherPod = new JobLockService(jobLockMapper);
+        assertThat(otherPod.tryAcquire("test-job", Duration.ofMinutes(5))).isFalse();
+        // 같은 파드도 주기당 한 번만 얻는다.
+        assertThat(jobLockService.tryAcquire("test-job", Duration.ofMinutes(5))).isFalse();
+
+        jdbcTemplate.update("UPDATE job_locks SET locked_until = DATEADD('MINUTE', -1, CURRENT_TIMESTAMP) WHERE name = 'test-job'");
+
+        assertThat(otherPod.tryAcquire("test-job", Duration.ofMinutes(5))).isTrue();
+    }
+}
@@ -0,0 +1,57 @@
+package com.maplog.common.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitInterceptorTest {
+
+    @Test
+    @DisplayName("ignores X-Forwarded-For when no proxy is trusted")
+    void ignoresForwardedForByDefault() {
+        RateLimitInterceptor interceptor = interceptor("");
+
+        assertThat(interceptor.clientIp(request("203.0.113.7", "198.51.100.1"))).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    @DisplayName("ignores X-Forwarded-For sent directly by an untrusted client")
+    void ignoresForwardedForFromUntrustedPeer() {
+        RateLimitInterceptor interceptor = interceptor("10.0.0.0/8");
+
+        assertThat(interceptor.clientIp(request("203.0.113.7", "198.51.100.1"))).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    @DisplayName("behind trusted proxies, takes the rightmost untrusted hop and skips values the client prepended")
+    void takesRightmostUntrustedHop() {
+        RateLimitInterceptor interceptor = interceptor("10.0.0.0/8, 192.168.1.5");
+
+        assertThat(interceptor.clientIp(request("10.0.0.2", "1.2.3.4, 203.0.113.7, 192.168.1.5")))
+                .isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    @DisplayName("a host name in X-Forwarded-For is never treated as a trusted proxy")
+    void hostNameIsNotTrusted() {
+        RateLimitInterceptor interceptor = interceptor("10.0.0.0/8");
+
+        assertThat(interceptor.clientIp(request("10.0.0.2", "1.2.3.4, dead.beef"))).isEqualTo("dead.beef");
+    }
+
+    private static RateLimitInterceptor interceptor(String trustedProxies) {
+        MockEnvironment environment = new MockEnvironment().withProperty("app.rate-limit.trusted-proxies", trustedProxies);
+        return new RateLimitInterceptor(environment, new SimpleMeterRegistry());
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        return request;
+    }
+}
@@ -0,0 +1,66 @@
+package com.maplog.common.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("allows a burst up to capacity, then reports the wait until the next token")
+    void rejectsAfterBurst() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 60, 100, 4, clock::get);
+
+        assertThat(limiter.tryAcquire("ip:1")).isZero();
+        assertThat(limiter.tryAcquire("ip:1")).isZero();
+        assertThat(limiter.tryAcquire("ip:1")).isZero();
+
+        long wait = limiter.tryAcquire("ip:1");
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(limiter.tryAcquire("ip:2")).isZero();
+    }
+
+    @Test
+    @DisplayName("refills tokens over time")
+    void refills() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 60, 100, 4, clock::get);
+
+        assertThat(limiter.tryAcquire("u:1")).isZero();
+        assertThat(limiter.tryAcquire("u:1")).isPositive();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(limiter.tryAcquire("u:1")).isZero();
+    }
+
+    @Test
+    @DisplayName("evicts buckets that have been idle long enough to be full again")
+    void evictsIdleBuckets() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 60, 100, 4, clock::get);
+        limiter.tryAcquire("ip:1");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.tryAcquire("ip:2");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(limiter.evictIdle()).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("keeps the number of buckets bounded")
+    void boundsBucketCount() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(5, 60, 8, 1, clock::get);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("ip:" + i);
+        }
+
+        assertThat(limiter.size()).isEqualTo(8);
+    }
+}
@@ -0,0 +1,39 @@
+package com.maplog.diary.command.mapper;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class DiaryShareCommandMapperTest {
+
+    @Autowired
+    private DiaryShareCommandMapper diaryShareCommandMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("insertAll writes one diary_shares row per user in a single statement")
+    void insertAll() {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+        int inserted = diaryShareCommandMapper.insertAll(10L, List.of(1L, 2L, 3L), now);
+
+        assertThat(inserted).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT user_id FROM diary_shares WHERE diary_id = 10 AND created_at = ? ORDER BY user_id", Long.class, now))
+                .containsExactly(1L, 2L, 3L);
+    }
+}
@@ -4,9 +4,12 @@ import com.maplog.common.exception.BusinessException;
 import com.maplog.common.exception.ErrorCode;
 import com.maplog.common.storage.FileStorageService;
 import com.maplog.diary.command.domain.Diary;
+import com.maplog.diary.command.domain.DiaryFeedChangedEvent;
+import com.maplog.diary.command.domain.DiaryShare;
 import com.maplog.diary.command.domain.Visibility;
 import com.maplog.diary.command.dto.CreateDiaryRequest;
 import com.maplog.diary.command.dto.UpdateDiaryRequest;
+import com.maplog.diary.command.mapper.DiaryShareCommandMapper;
 import com.maplog.diary.command.repository.DiaryCommandRepository;
 import com.maplog.diary.command.repository.DiaryImageRepository;
 import com.maplog.diary.command.repository.DiaryShareRepository;
@@ -21,15 +24,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -54,12 +61,18 @@ class DiaryCommandServiceTest {
     @Mock
     private DiaryShareRepository diaryShareRepository;
 
+    @Mock
+    private DiaryShareCommandMapper diaryShareCommandMapper;
+
     @Mock
     private NotificationCommandService notificationCommandService;
 
     @Mock
     private FileStorageService fileStorageService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Nested
     @DisplayName("일기 생성 테스트")
     class CreateDiaryTest {
@@ -67,21 +80,87 @@ class DiaryCommandServiceTest {
         @DisplayName("성공")
         void success() {
             // given
-            String email = "test@email.com";
+            Long userId = 1L;
             CreateDiaryRequest request = new CreateDiaryRequest(
                     "title", "content", 37.5, 127.0, "location", "address",
                     LocalDateTime.now(), Visibility.PRIVATE, null
             );
-            User user = User.create(email, "pw", "nick");
-            ReflectionTestUtils.setField(user, "id", 1L);
 
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(user));
-            
             // when
-            diaryCommandService.createDiary(email, request, Collections.emptyList());
+            diaryCommandService.createDiary(userId, request, Collections.emptyList());
 
             // then
             verify(diaryCommandRepository).save(any(Diary.class));
+            verifyNoInteractions(userCommandRepository);
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("친구 공개 일기는 피드 타임라인 반영 이벤트를 발행한다")
+        void publishesFeedEvent() {
+            // given
+            Long userId = 1L;
+            CreateDiaryRequest request = new CreateDiaryRequest(
+                    "title", "content", 37.5, 127.0, "location", "address",
+                    LocalDateTime.now(), Visibility.FRIENDS_ONLY, null
+            );
+            given(diaryCommandRepository.save(any(Diary.class))).willAnswer(invocation -> {
+                Diary saved = invocation.getArgument(0);
+                ReflectionTestUtils.setField(saved, "id", 100L);
+                return saved;
+            });
+
+            // when
+            diaryCommandService.createDiary(userId, request, Collections.emptyList());
+
+            // then
+            verify(eventPublisher).publishEvent(new DiaryFeedChangedEvent(100L, userId));
+        }
+
+        @Test
+        @DisplayName("공유 대상이 있으면 작성자 닉네임으로 공유 알림을 생성한다")
+        void successWithShare() {
+            // given
+            Long userId = 1L;
+            CreateDiaryRequest request = new CreateDiaryRequest(
+                    "title", "content", 37.5, 127.0, "location", "address",
+                    LocalDateTime.now(), Visibility.FRIENDS_ONLY, List.of(2L)
+            );
+            User user = User.create("test@email.com", "pw", "nick");
+            ReflectionTestUtils.setField(user, "id", userId);
+
+            given(userCommandRepository.findByIdAndDeletedAtIsNull(userId)).willReturn(Optional.of(user));
+
+            // when
+            diaryCommandService.createDiary(userId, request, Collections.emptyList());
+
+            // then
+            verify(diaryShareCommandMapper).insertAll(any(), eq(List.of(2L)), any());
+            verify(notificationCommandService).createDiarySharedNotifications(eq(List.of(2L)), any(), eq("title"), eq("nick"));
+        }
+
+        @Test
+        @DisplayName("공유 대상이 500명을 넘으면 INSERT를 500명 단위로 나눈다")
+        void successWithManyShares() {
+            // given
+            Long userId = 1L;
+            List<Long> sharedUserIds = LongStream.rangeClosed(2, 1201).boxed().toList();
+            CreateDiaryRequest request = new CreateDiaryRequest(
+                    "title", "content", 37.5, 127.0, "location", "address",
+                    LocalDateTime.now(), Visibility.FRIENDS_ONLY, sharedUserIds
+            );
+            User user = User.create("test@email.com", "pw", "nick");
+            ReflectionTestUtils.setField(user, "id", userId);
+
+            given(userCommandRepository.findByIdAndDeletedAtIsNull(userId)).willReturn(Optional.of(user));
+
+            // when
+            diaryCommandService.createDiary(userId, request, Collections.emptyList());
+
+            // then
+            verify(diaryShareCommandMapper).insertAll(any(), eq(sharedUserIds.subList(0, 500)), any());
+            verify(diaryShareCommandMapper).insertAll(any(), eq(sharedUserIds.subList(500, 1000)), any());
+            verify(diaryShareCommandMapper).insertAll(any(), eq(sharedUserIds.subList(1000, 1200)), any());
         }
     }
 
@@ -92,46 +171,69 @@ class DiaryCommandServiceTest {
         @DisplayName("성공")
         void success() {
             // given
-            String email = "test@email.com";
+            Long userId = 1L;
             Long diaryId = 100L;
             UpdateDiaryRequest request = new UpdateDiaryRequest(
                     "new title", "new content", LocalDateTime.now(), Visibility.FRIENDS_ONLY, null
             );
-            User user = User.create(email, "pw", "nick");
-            ReflectionTestUtils.setField(user, "id", 1L);
 
             Diary diary = Diary.create(1L, new CreateDiaryRequest("t", "c", 37.5, 127.0, "l", "a", LocalDateTime.now(), Visibility.PRIVATE, null));
             ReflectionTestUtils.setField(diary, "id", diaryId);
 
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(user));
             given(diaryCommandRepository.findByIdAndDeletedAtIsNull(diaryId)).willReturn(Optional.of(diary));
             given(diaryShareRepository.findAllByDiaryId(diaryId)).willReturn(Collections.emptyList());
 
             // when
-            diaryCommandService.updateDiary(email, diaryId, request, null, null);
+            diaryCommandService.updateDiary(userId, diaryId, request, null, null);
 
             // then
             assertThat(diary.getTitle()).isEqualTo("new title");
             assertThat(diary.getVisibility()).isEqualTo(Visibility.FRIENDS_ONLY);
+            // 비공개 → 친구 공개로 바뀌었으므로 피드 타임라인을 다시 맞춘다.
+            verify(eventPublisher).publishEvent(new DiaryFeedChangedEvent(diaryId, userId));
+        }
+
+        @Test
+        @DisplayName("공유 대상 변경은 삭제 한 번, 추가 한 번으로 반영한다")
+        void updateSharesInBulk() {
+            // given
+            Long userId = 1L;
+            Long diaryId = 100L;
+            UpdateDiaryRequest request = new UpdateDiaryRequest(
+                    "new title", "new content", LocalDateTime.now(), Visibility.FRIENDS_ONLY, List.of(3L, 4L)
+            );
+            Diary diary = Diary.create(1L, new CreateDiaryRequest("t", "c", 37.5, 127.0, "l", "a", LocalDateTime.now(), Visibility.PRIVATE, null));
+            ReflectionTestUtils.setField(diary, "id", diaryId);
+            User user = User.create("test@email.com", "pw", "nick");
+
+            given(diaryCommandRepository.findByIdAndDeletedAtIsNull(diaryId)).willReturn(Optional.of(diary));
+            given(diaryShareRepository.findAllByDiaryId(diaryId)).willReturn(List.of(
+                    DiaryShare.create(diaryId, 2L), DiaryShare.create(diaryId, 3L)));
+            given(userCommandRepository.findByIdAndDeletedAtIsNull(userId)).willReturn(Optional.of(user));
+
+            // when
+            diaryCommandService.updateDiary(userId, diaryId, request, null, null);
+
+            // then
+            verify(diaryShareRepository).deleteByDiaryIdAndUserIdIn(diaryId, List.of(2L));
+            verify(diaryShareCommandMapper).insertAll(eq(diaryId), eq(List.of(4L)), any());
+            verify(notificationCommandService).createDiarySharedNotifications(eq(List.of(4L)), eq(diaryId), eq("new title"), eq("nick"));
         }
 
         @Test
         @DisplayName("작성자가 아닌 사용자가 수정 시도 시 예외 발생")
         void failNotOwner() {
             // given
-            String email = "other@email.com";
+            Long userId = 2L;
             Long diaryId = 100L;
-            User other = User.create(email, "pw", "other");
-            ReflectionTestUtils.setField(other, "id", 2L);
 
             Diary diary = Diary.create(1L, new CreateDiaryRequest("t", "c", 37.5, 127.0, "l", "a", LocalDateTime.now(), Visibility.PRIVATE, null));
             ReflectionTestUtils.setField(diary, "id", diaryId);
 
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(other));
             given(diaryCommandRepository.findByIdAndDeletedAtIsNull(diaryId)).willReturn(Optional.of(diary));
 
             // when & then
-            assertThatThrownBy(() -> diaryCommandService.updateDiary(email, diaryId, new UpdateDiaryRequest("t", "c", LocalDateTime.now(), Visibility.PRIVATE, null), null, null))
+            assertThatThrownBy(() -> diaryCommandService.updateDiary(userId, diaryId, new UpdateDiaryRequest("t", "c", LocalDateTime.now(), Visibility.PRIVATE, null), null, null))
                     .isInstanceOf(BusinessException.class)
                     .hasFieldOrPropertyWithValue("errorCode", ErrorCode.DIARY_ACCESS_DENIED);
         }
@@ -144,19 +246,16 @@ class DiaryCommandServiceTest {
         @DisplayName("성공")
         void success() {
             // given
-            String email = "test@email.com";
+            Long userId = 1L;
             Long diaryId = 100L;
-            User user = User.create(email, "pw", "nick");
-            ReflectionTestUtils.setField(user, "id", 1L);
 
             Diary diary = Diary.create(1L, new CreateDiaryRequest("t", "c", 37.5, 127.0, "l", "a", LocalDateTime.now(), Visibility.PRIVATE, null));
             ReflectionTestUtils.setField(diary, "id", diaryId);
 
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(user));
             given(diaryCommandRepository.findByIdAndDeletedAtIsNull(diaryId)).willReturn(Optional.of(diary));
 
             // when
-            diaryCommandService.deleteDiary(email, diaryId);
+            diaryCommandService.deleteDiary(userId, diaryId);
 
             // then
             assertThat(diary.getDeletedAt()).isNotNull();
@@ -167,19 +266,16 @@ class DiaryCommandServiceTest {
         @DisplayName("작성자가 아닌 사용자가 삭제 시도 시 예외 발생")
         void failNotOwner() {
             // given
-            String email = "other@email.com";
+            Long userId = 2L;
             Long diaryId = 100L;
-            User other = User.create(email, "pw", "other");
-            ReflectionTestUtils.setField(other, "id", 2L);
 
             Diary diary = Diary.create(1L, new CreateDiaryRequest("t", "c", 37.5, 127.0, "l", "a", LocalDateTime.now(), Visibility.PRIVATE, null));
             ReflectionTestUtils.setField(diary, "id", diaryId);
 
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(other));
             given(diaryCommandRepository.findByIdAndDeletedAtIsNull(diaryId)).willReturn(Optional.of(diary));
 
             // when & then
-            assertThatThrownBy(() -> diaryCommandService.deleteDiary(email, diaryId))
+            assertThatThrownBy(() -> diaryCommandService.deleteDiary(userId, diaryId))
                     .isInstanceOf(BusinessException.class)
                     .hasFieldOrPropertyWithValue("errorCode", ErrorCode.DIARY_ACCESS_DENIED);
         }
@@ -188,14 +284,12 @@ class DiaryCommandServiceTest {
         @DisplayName("존재하지 않는 다이어리 삭제 시도 시 예외 발생")
         void failDiaryNotFound() {
             // given
-            String email = "test@email.com";
+            Long userId = 1L;
             Long diaryId = 999L;
-            User user = User.create(email, "pw", "nick");
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(user));
             given(diaryCommandRepository.findByIdAndDeletedAtIsNull(diaryId)).willReturn(Optional.empty());
 
             // when & then
-            assertThatThrownBy(() -> diaryCommandService.deleteDiary(email, diaryId))
+            assertThatThrownBy(() -> diaryCommandService.deleteDiary(userId, diaryId))
                     .isInstanceOf(BusinessException.class)
                     .hasFieldOrPropertyWithValue("errorCode", ErrorCode.DIARY_NOT_FOUND);
         }
@@ -208,20 +302,17 @@ class DiaryCommandServiceTest {
         @DisplayName("성공")
         void successAddScrap() {
             // given
-            String email = "test@email.com";
+            Long userId = 1L;
             Long diaryId = 100L;
-            User user = User.create(email, "pw", "nick");
-            ReflectionTestUtils.setField(user, "id", 1L);
 
             Diary diary = Diary.create(2L, new CreateDiaryRequest("t", "c", 37.5, 127.0, "l", "a", LocalDateTime.now(), Visibility.PRIVATE, null));
             ReflectionTestUtils.setField(diary, "id", diaryId);
 
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(user));
             given(diaryCommandRepository.findByIdAndDeletedAtIsNull(diaryId)).willReturn(Optional.of(diary));
             given(scrapRepository.existsByUserIdAndDiaryId(1L, 100L)).willReturn(false);
 
             // when
-            diaryCommandService.addScrap(email, diaryId);
+            diaryCommandService.addScrap(userId, diaryId);
 
             // then
             verify(scrapRepository).save(any());
@@ -231,17 +322,14 @@ class DiaryCommandServiceTest {
         @DisplayName("이미 스크랩한 경우 예외 발생")
         void failAlreadyScrapped() {
             // given
-            String email = "test@email.com";
+            Long userId = 1L;
             Long diaryId = 100L;
-            User user = User.create(email, "pw", "nick");
-            ReflectionTestUtils.setField(user, "id", 1L);
 
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(user));
             given(diaryCommandRepository.findByIdAndDeletedAtIsNull(diaryId)).willReturn(Optional.of(mock(Diary.class)));
             given(scrapRepository.existsByUserIdAndDiaryId(1L, 100L)).willReturn(true);
 
             // when & then
-            assertThatThrownBy(() -> diaryCommandService.addScrap(email, diaryId))
+            assertThatThrownBy(() -> diaryCommandService.addScrap(userId, diaryId))
                     .isInstanceOf(BusinessException.class)
                     .hasFieldOrPropertyWithValue("errorCode", ErrorCode.ALREADY_SCRAPED);
         }
@@ -250,16 +338,13 @@ class DiaryCommandServiceTest {
         @DisplayName("스크랩 취소 성공")
         void successCancelScrap() {
             // given
-            String email = "test@email.com";
+            Long userId = 1L;
             Long diaryId = 100L;
-            User user = User.create(email, "pw", "nick");
-            ReflectionTestUtils.setField(user, "id", 1L);
 
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(user));
             given(scrapRepository.existsByUserIdAndDiaryId(1L, 100L)).willReturn(true);
 
             // when
-            diaryCommandService.cancelScrap(email, diaryId);
+            diaryCommandService.cancelScrap(userId, diaryId);
 
             // then
             verify(scrapRepository).deleteByUserIdAndDiaryId(1L, 100L);
@@ -269,16 +354,13 @@ class DiaryCommandServiceTest {
         @DisplayName("스크랩하지 않은 다이어리 취소 시도 시 예외 발생")
         void failScrapNotFound() {
             // given
-            String email = "test@email.com";
+            Long userId = 1L;
             Long diaryId = 100L;
-            User user = User.create(email, "pw", "nick");
-            ReflectionTestUtils.setField(user, "id", 1L);
 
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(user));
             given(scrapRepository.existsByUserIdAndDiaryId(1L, 100L)).willReturn(false);
 
             // when & then
-            assertThatThrownBy(() -> diaryCommandService.cancelScrap(email, diaryId))
+            assertThatThrownBy(() -> diaryCommandService.cancelScrap(userId, diaryId))
                     .isInstanceOf(BusinessException.class)
                     .hasFieldOrPropertyWithValue("errorCode", ErrorCode.SCRAP_NOT_FOUND);
         }
@@ -0,0 +1,153 @@
+package com.maplog.friend.command.mapper;
+
+import com.maplog.friend.command.dto.FeedDiaryKeyRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class FeedTimelineCommandMapperTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @Autowired
+    private FeedTimelineCommandMapper feedTimelineCommandMapper;
+
+    @Autowired
+    private FriendEdgeCommandMapper friendEdgeCommandMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // 901 - 902, 901 - 903 친구
+        friendEdgeCommandMapper.insertPair(7001L, 901L, 902L, NOW);
+        friendEdgeCommandMapper.insertPair(7002L, 901L, 903L, NOW);
+    }
+
+    @Test
+    @DisplayName("fanOutDiary copies a visible diary to every friend and retractDiary removes it once it turns private")
+    void fanOutAndRetract() {
+        diary(5001L, 901L, "FRIENDS_ONLY", NOW);
+        diary(5002L, 901L, "PRIVATE", NOW);
+
+        assertThat(feedTimelineCommandMapper.fanOutDiary(5001L)).isEqualTo(2);
+        feedTimelineCommandMapper.fanOutDiary(5002L);
+        assertThat(timeline()).containsExactly("902:5001", "903:5001");
+
+        // 아직 공개 상태면 지우지 않는다.
+        feedTimelineCommandMapper.retractDiary(5001L);
+        assertThat(timeline()).hasSize(2);
+
+        jdbcTemplate.update("UPDATE diaries SET visibility = 'PRIVATE' WHERE id = 5001");
+        feedTimelineCommandMapper.retractDiary(5001L);
+        assertThat(timeline()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("pull authors are not fanned out, and removing the pull flag lets their recent diaries be backfilled")
+    void pullAuthors() {
+        diary(5001L, 901L, "FRIENDS_ONLY", NOW);
+        diary(5002L, 901L, "FRIENDS_ONLY", NOW.plusMinutes(1));
+        assertThat(feedTimelineCommandMapper.countFriendsUpTo(901L, 1)).isEqualTo(1);
+        assertThat(feedTimelineCommandMapper.insertPullAuthorsOver(2, NOW)).isEqualTo(1);
+
+        feedTimelineCommandMapper.fanOutDiary(5001L);
+        assertThat(timeline()).isEmpty();
+
+        feedTimelineCommandMapper.deletePullAuthor(901L);
+        List<FeedDiaryKeyRow> keys = feedTimelineCommandMapper.findVisibleDiaryKeys(901L, null, null, 1);
+        assertThat(keys).extracting(FeedDiaryKeyRow::getId).containsExactly(5002L);
+        assertThat(feedTimelineCommandMapper.findVisibleDiaryKeys(901L, keys.get(0).getCreatedAt(), 5002L, 10))
+                .extracting(FeedDiaryKeyRow::getId).containsExactly(5001L);
+        feedTimelineCommandMapper.backfillAuthorToFriends(901L, List.of(5002L));
+        assertThat(timeline()).containsExactly("902:5002", "903:5002");
+    }
+
+    @Test
+    @DisplayName("backfillFromAuthor respects the limit and removeAuthor only clears once the edge is gone")
+    void backfillAndRemoveAuthor() {
+        diary(5001L, 902L, "FRIENDS_ONLY", NOW);
+        diary(5002L, 902L, "FRIENDS_ONLY", NOW.plusMinutes(1));
+
+        feedTimelineCommandMapper.backfillFromAuthor(901L, 902L, 1);
+        assertThat(timeline()).containsExactly("901:5002");
+
+        feedTimelineCommandMapper.removeAuthor(901L, 902L);
+        assertThat(timeline()).hasSize(1);
+
+        friendEdgeCommandMapper.deletePair(901L, 902L);
+        feedTimelineCommandMapper.removeAuthor(901L, 902L);
+        assertThat(timeline()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("backfillFromAuthor with limit 0 copies every visible diary, however old")
+    void backfillFromAuthorWithoutLimit() {
+        diary(5001L, 902L, "FRIENDS_ONLY", NOW.minusDays(400));
+        diary(5002L, 902L, "FRIENDS_ONLY", NOW);
+        diary(5003L, 902L, "PRIVATE", NOW);
+
+        feedTimelineCommandMapper.backfillFromAuthor(901L, 902L, 0);
+
+        assertThat(timeline()).containsExactly("901:5001", "901:5002");
+    }
+
+    @Test
+    @DisplayName("backfillEdges fills the timelines of an edge id range, bounded by createdSince only when given")
+    void backfillEdges() {
+        diary(5001L, 902L, "FRIENDS_ONLY", NOW);
+        diary(5002L, 902L, "FRIENDS_ONLY", NOW.minusDays(400));
+        List<Long> edgeIds = feedTimelineCommandMapper.findEdgeIds(0L, 100);
+        long toId = edgeIds.get(edgeIds.size() - 1);
+
+        feedTimelineCommandMapper.backfillEdges(0L, toId, NOW.minusDays(1));
+        assertThat(timeline()).containsExactly("901:5001");
+
+        feedTimelineCommandMapper.backfillEdges(0L, toId, null);
+        assertThat(timeline()).containsExactly("901:5001", "901:5002");
+    }
+
+    @Test
+    @DisplayName("deleteStale removes rows in the id range whose diary is hidden or whose friendship is gone")
+    void deleteStale() {
+        diary(5001L, 902L, "FRIENDS_ONLY", NOW);
+        diary(5002L, 902L, "FRIENDS_ONLY", NOW);
+        diary(5003L, 903L, "FRIENDS_ONLY", NOW);
+        feedTimelineCommandMapper.backfillFromAuthor(901L, 902L, 0);
+        feedTimelineCommandMapper.backfillFromAuthor(901L, 903L, 0);
+        // 유실된 반영 작업: 비공개 전환과 친구 삭제가 타임라인에 반영되지 않은 상태
+        jdbcTemplate.update("UPDATE diaries SET visibility = 'PRIVATE' WHERE id = 5002");
+        friendEdgeCommandMapper.deletePair(901L, 903L);
+
+        List<Long> ids = feedTimelineCommandMapper.findTimelineIds(0L, 100);
+        assertThat(feedTimelineCommandMapper.deleteStale(0L, ids.get(ids.size() - 1))).isEqualTo(2);
+
+        assertThat(timeline()).containsExactly("901:5001");
+    }
+
+    private void diary(long id, long userId, String visibility, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO diaries (id, user_id, title, content, latitude, longitude, location_name,"
+                + " visited_at, visibility, created_at) VALUES (?, ?, 't', 'c', 37.5, 127.0, 'l', ?, ?, ?)",
+                id, userId, createdAt, visibility, createdAt);
+    }
+
+    private List<String> timeline() {
+        return jdbcTemplate.queryForList(
+                "SELECT CONCAT(owner_id, ':', diary_id) FROM feed_timeline WHERE diary_id > 5000 ORDER BY owner_id, diary_id",
+                String.class);
+    }
+}
@@ -0,0 +1,75 @@
+package com.maplog.friend.command.mapper;
+
+import com.maplog.friend.command.dto.FriendPairRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class FriendEdgeCommandMapperTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @Autowired
+    private FriendEdgeCommandMapper friendEdgeCommandMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("insertPair writes both directions once and deletePair removes both")
+    void insertAndDeletePair() {
+        friendEdgeCommandMapper.insertPair(100L, 901L, 902L, NOW);
+        friendEdgeCommandMapper.insertPair(100L, 901L, 902L, NOW);
+
+        assertThat(edges()).containsExactly("901-902", "902-901");
+
+        assertThat(friendEdgeCommandMapper.deletePair(902L, 901L)).isEqualTo(2);
+        assertThat(edges()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("backfill adds the missing edges of accepted friendships and deleteOrphans drops edges of gone ones")
+    void backfillAndDeleteOrphans() {
+        jdbcTemplate.update("INSERT INTO friends (id, requester_id, receiver_id, status, created_at) VALUES"
+                + " (7001, 901, 902, 'ACCEPTED', ?), (7002, 901, 903, 'PENDING', ?)", NOW, NOW);
+        friendEdgeCommandMapper.insertPair(7001L, 901L, 902L, NOW);
+        // 이미 삭제된 관계의 간선
+        friendEdgeCommandMapper.insertPair(7999L, 904L, 901L, NOW);
+        jdbcTemplate.update("DELETE FROM friend_edges WHERE user_id = 902");
+
+        assertThat(friendEdgeCommandMapper.findAcceptedFriendshipIds(7000L, 10)).containsExactly(7001L);
+        assertThat(friendEdgeCommandMapper.findMissingPairs(List.of(7001L, 7002L)))
+                .extracting(FriendPairRow::getUserId, FriendPairRow::getOtherUserId)
+                .containsExactly(tuple(901L, 902L));
+        friendEdgeCommandMapper.backfill(List.of(7001L, 7002L));
+        assertThat(friendEdgeCommandMapper.findMissingPairs(List.of(7001L))).isEmpty();
+
+        List<Long> edgeIds = friendEdgeCommandMapper.findEdgeIds(0L, Integer.MAX_VALUE);
+        long toId = edgeIds.get(edgeIds.size() - 1);
+        assertThat(friendEdgeCommandMapper.findOrphanPairs(0L, toId))
+                .extracting(FriendPairRow::getUserId, FriendPairRow::getOtherUserId)
+                .containsExactly(tuple(901L, 904L));
+        assertThat(friendEdgeCommandMapper.deleteOrphans(0L, toId)).isEqualTo(2);
+
+        assertThat(edges()).containsExactly("901-902", "902-901");
+    }
+
+    private List<String> edges() {
+        return jdbcTemplate.queryForList(
+                "SELECT CONCAT(user_id, '-', friend_id) FROM friend_edges WHERE user_id > 900 ORDER BY user_id, friend_id",
+                String.class);
+    }
+}
@@ -0,0 +1,176 @@
+package com.maplog.friend.command.service;
+
+import com.maplog.diary.command.domain.DiaryFeedChangedEvent;
+import com.maplog.friend.command.domain.FriendshipChangedEvent;
+import com.maplog.friend.command.dto.FeedDiaryKeyRow;
+import com.maplog.friend.command.mapper.FeedTimelineCommandMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FeedFanoutServiceTest {
+
+    @Mock
+    private FeedTimelineCommandMapper feedTimelineCommandMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 1, 0, 0);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Runnable> queued = new ArrayList<>();
+    private FeedFanoutService feedFanoutService;
+
+    @BeforeEach
+    void setUp() {
+        feedFanoutService = new FeedFanoutService(feedTimelineCommandMapper, transactionManager, meterRegistry,
+                10, 50, queued::add);
+    }
+
+    @Test
+    @DisplayName("diary changes are applied on the fan-out executor, retracting before fanning out")
+    void syncsDiaryAsynchronously() {
+        feedFanoutService.onDiaryFeedChanged(new DiaryFeedChangedEvent(100L, 1L));
+        verify(feedTimelineCommandMapper, never()).fanOutDiary(anyLong());
+
+        runQueued();
+
+        InOrder order = inOrder(feedTimelineCommandMapper);
+        order.verify(feedTimelineCommandMapper).retractDiary(100L);
+        order.verify(feedTimelineCommandMapper).fanOutDiary(100L);
+    }
+
+    @Test
+    @DisplayName("friendship changes refresh pull status first, then reconcile both timelines")
+    void syncsFriendship() {
+        given(feedTimelineCommandMapper.countFriendsUpTo(anyLong(), any(Integer.class))).willReturn(3);
+
+        feedFanoutService.onFriendshipChanged(new FriendshipChangedEvent(1L, 2L));
+        runQueued();
+
+        InOrder order = inOrder(feedTimelineCommandMapper);
+        order.verify(feedTimelineCommandMapper).countFriendsUpTo(1L, 10);
+        order.verify(feedTimelineCommandMapper).countFriendsUpTo(2L, 10);
+        order.verify(feedTimelineCommandMapper).removeAuthor(1L, 2L);
+        order.verify(feedTimelineCommandMapper).backfillFromAuthor(1L, 2L, 50);
+        order.verify(feedTimelineCommandMapper).removeAuthor(2L, 1L);
+        order.verify(feedTimelineCommandMapper).backfillFromAuthor(2L, 1L, 50);
+    }
+
+    @Test
+    @DisplayName("authors reaching the threshold switch to fan-out-on-read")
+    void promotesPopularAuthors() {
+        given(feedTimelineCommandMapper.countFriendsUpTo(1L, 10)).willReturn(10);
+        given(feedTimelineCommandMapper.countFriendsUpTo(2L, 10)).willReturn(9);
+
+        feedFanoutService.syncFriendship(1L, 2L);
+
+        verify(feedTimelineCommandMapper).insertPullAuthor(eq(1L), any());
+        verify(feedTimelineCommandMapper, never()).insertPullAuthor(eq(2L), any());
+        // 9명은 threshold의 90%이므로 아직 빠지지 않는다.
+        verify(feedTimelineCommandMapper, never()).deletePullAuthor(2L);
+    }
+
+    @Test
+    @DisplayName("authors dropping below 90% of the threshold leave the pull set and are backfilled to their friends")
+    void demotesAndBackfills() {
+        given(feedTimelineCommandMapper.countFriendsUpTo(1L, 10)).willReturn(8);
+        given(feedTimelineCommandMapper.countFriendsUpTo(2L, 10)).willReturn(1);
+        given(feedTimelineCommandMapper.deletePullAuthor(1L)).willReturn(1);
+        given(feedTimelineCommandMapper.findVisibleDiaryKeys(1L, null, null, 50))
+                .willReturn(List.of(key(12L, NOW), key(11L, NOW.minusDays(1))));
+
+        feedFanoutService.syncFriendship(1L, 2L);
+
+        verify(feedTimelineCommandMapper).backfillAuthorToFriends(1L, List.of(12L, 11L));
+        verify(feedTimelineCommandMapper, never()).backfillAuthorToFriends(eq(2L), anyCollection());
+    }
+
+    @Test
+    @DisplayName("with no per-friend limit, a demoted author's whole history is backfilled in diary chunks")
+    void demotedAuthorBackfillsAllInChunks() {
+        feedFanoutService = new FeedFanoutService(feedTimelineCommandMapper, transactionManager, meterRegistry, 10, 0, queued::add);
+        given(feedTimelineCommandMapper.countFriendsUpTo(anyLong(), any(Integer.class))).willReturn(1);
+        given(feedTimelineCommandMapper.deletePullAuthor(1L)).willReturn(1);
+        List<FeedDiaryKeyRow> firstChunk = LongStream.rangeClosed(1, 100)
+                .mapToObj(i -> key(1000L - i, NOW.minusHours(i)))
+                .toList();
+        FeedDiaryKeyRow last = firstChunk.get(99);
+        given(feedTimelineCommandMapper.findVisibleDiaryKeys(1L, null, null, 100)).willReturn(firstChunk);
+        given(feedTimelineCommandMapper.findVisibleDiaryKeys(1L, last.getCreatedAt(), last.getId(), 100))
+                .willReturn(List.of(key(5L, NOW.minusDays(400))));
+        given(feedTimelineCommandMapper.findVisibleDiaryKeys(1L, NOW.minusDays(400), 5L, 100)).willReturn(List.of());
+
+        feedFanoutService.syncFriendship(1L, 2L);
+
+        verify(feedTimelineCommandMapper).backfillAuthorToFriends(1L, firstChunk.stream().map(FeedDiaryKeyRow::getId).toList());
+        verify(feedTimelineCommandMapper).backfillAuthorToFriends(1L, List.of(5L));
+        // 친구 수락 쪽도 0이면 개수 제한 없이 채운다.
+        verify(feedTimelineCommandMapper).backfillFromAuthor(1L, 2L, 0);
+    }
+
+    @Test
+    @DisplayName("a failing task is logged and does not break the executor")
+    void swallowsFailures() {
+        given(feedTimelineCommandMapper.retractDiary(100L)).willThrow(new IllegalStateException("db down"));
+
+        feedFanoutService.onDiaryFeedChanged(new DiaryFeedChangedEvent(100L, 1L));
+        feedFanoutService.onDiaryFeedChanged(new DiaryFeedChangedEvent(200L, 1L));
+        runQueued();
+
+        verify(feedTimelineCommandMapper).fanOutDiary(200L);
+        assertThat(queued).isEmpty();
+    }
+
+    @Test
+    @DisplayName("a full queue drops the task and counts it instead of running it on the caller's thread")
+    void dropsWhenQueueIsFull() {
+        FeedFanoutService rejecting = new FeedFanoutService(feedTimelineCommandMapper, transactionManager, meterRegistry,
+                10, 50, task -> {
+                    throw new RejectedExecutionException("full");
+                });
+
+        rejecting.onDiaryFeedChanged(new DiaryFeedChangedEvent(100L, 1L));
+
+        verify(feedTimelineCommandMapper, never()).retractDiary(anyLong());
+        verify(transactionManager, never()).getTransaction(any());
+        assertThat(meterRegistry.counter("feed.fanout.dropped").count()).isEqualTo(1.0);
+    }
+
+    private static FeedDiaryKeyRow key(Long id, LocalDateTime createdAt) {
+        FeedDiaryKeyRow row = new FeedDiaryKeyRow();
+        row.setId(id);
+        row.setCreatedAt(createdAt);
+        return row;
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,110 @@
+package com.maplog.friend.command.service;
+
+import com.maplog.common.lock.JobLockService;
+import com.maplog.friend.command.mapper.FeedTimelineCommandMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FeedTimelineBackfillJobTest {
+
+    @Mock
+    private FeedTimelineCommandMapper feedTimelineCommandMapper;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 1, 0, 0);
+
+    @Test
+    @DisplayName("by default backfills every visible diary of each edge batch, with no age bound")
+    void backfillsAllHistoryByDefault() {
+        FeedTimelineBackfillJob job = job(0);
+        given(feedTimelineCommandMapper.findEdgeIds(0L, 2)).willReturn(List.of(1L, 2L));
+        given(feedTimelineCommandMapper.findEdgeIds(2L, 2)).willReturn(List.of(3L));
+        given(feedTimelineCommandMapper.findEdgeIds(3L, 2)).willReturn(List.of());
+        given(feedTimelineCommandMapper.backfillEdges(0L, 2L, null)).willReturn(5);
+        given(feedTimelineCommandMapper.backfillEdges(2L, 3L, null)).willReturn(1);
+
+        assertThat(job.backfill(NOW)).isEqualTo(6);
+        verify(feedTimelineCommandMapper).insertPullAuthorsOver(10, NOW);
+    }
+
+    @Test
+    @DisplayName("a positive backfill-days bounds the diaries by creation time")
+    void boundedByDays() {
+        FeedTimelineBackfillJob job = job(30);
+        given(feedTimelineCommandMapper.findEdgeIds(0L, 2)).willReturn(List.of(1L));
+        given(feedTimelineCommandMapper.findEdgeIds(1L, 2)).willReturn(List.of());
+
+        job.backfill(NOW);
+
+        verify(feedTimelineCommandMapper).backfillEdges(0L, 1L, NOW.minusDays(30));
+    }
+
+    @Test
+    @DisplayName("skips the startup backfill when another pod already ran it within the lease")
+    void skipsWithoutLock() {
+        FeedTimelineBackfillJob job = job(0);
+        given(jobLockService.tryAcquire(eq(FeedTimelineBackfillJob.LOCK_NAME), any(Duration.class))).willReturn(false);
+
+        job.backfillOnStartup();
+
+        verify(feedTimelineCommandMapper, never()).findEdgeIds(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("the periodic reconcile deletes stale rows in id batches, then backfills what is missing")
+    void reconcilesStaleAndMissingRows() {
+        FeedTimelineBackfillJob job = job(0);
+        given(feedTimelineCommandMapper.findTimelineIds(0L, 2)).willReturn(List.of(4L, 9L));
+        given(feedTimelineCommandMapper.findTimelineIds(9L, 2)).willReturn(List.of(12L));
+        given(feedTimelineCommandMapper.findTimelineIds(12L, 2)).willReturn(List.of());
+        given(feedTimelineCommandMapper.deleteStale(0L, 9L)).willReturn(1);
+        given(feedTimelineCommandMapper.deleteStale(9L, 12L)).willReturn(2);
+        given(feedTimelineCommandMapper.findEdgeIds(0L, 2)).willReturn(List.of());
+
+        assertThat(job.reconcile(NOW)).isEqualTo(3);
+
+        InOrder order = inOrder(feedTimelineCommandMapper);
+        order.verify(feedTimelineCommandMapper).deleteStale(9L, 12L);
+        order.verify(feedTimelineCommandMapper).insertPullAuthorsOver(10, NOW);
+        order.verify(feedTimelineCommandMapper).findEdgeIds(0L, 2);
+    }
+
+    @Test
+    @DisplayName("the periodic reconcile is skipped on pods that do not hold its job lock")
+    void reconcileSkipsWithoutLock() {
+        FeedTimelineBackfillJob job = job(0);
+        given(jobLockService.tryAcquire(eq(FeedTimelineBackfillJob.RECONCILE_LOCK_NAME), any(Duration.class)))
+                .willReturn(false);
+
+        job.reconcileScheduled();
+
+        verify(feedTimelineCommandMapper, never()).findTimelineIds(anyLong(), anyInt());
+        verify(feedTimelineCommandMapper, never()).findEdgeIds(anyLong(), anyInt());
+    }
+
+    private FeedTimelineBackfillJob job(int backfillDays) {
+        return new FeedTimelineBackfillJob(feedTimelineCommandMapper, jobLockService, true, 2, backfillDays, 10,
+                3_600_000L, 3_600_000L);
+    }
+}
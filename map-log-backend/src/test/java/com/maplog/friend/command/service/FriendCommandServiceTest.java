@@ -4,9 +4,14 @@ import com.maplog.common.exception.BusinessException;
 import com.maplog.common.exception.ErrorCode;
 import com.maplog.friend.command.domain.Friend;
 import com.maplog.friend.command.domain.FriendStatus;
+import com.maplog.friend.command.domain.FriendshipChangedEvent;
 import com.maplog.friend.command.dto.FriendRespondRequest;
 import com.maplog.friend.command.dto.SendFriendRequest;
+import com.maplog.friend.command.mapper.FriendEdgeCommandMapper;
 import com.maplog.friend.command.repository.FriendCommandRepository;
+import com.maplog.friend.query.service.FriendGraphCache;
+import com.maplog.friend.query.service.FriendSuggestionService;
+import com.maplog.friend.query.service.PendingRequestCountService;
 import com.maplog.notification.command.service.NotificationCommandService;
 import com.maplog.sse.SseEmitterService;
 import com.maplog.user.command.domain.User;
@@ -18,6 +23,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Optional;
@@ -36,6 +42,21 @@ class FriendCommandServiceTest {
     @Mock
     private FriendCommandRepository friendCommandRepository;
 
+    @Mock
+    private FriendEdgeCommandMapper friendEdgeCommandMapper;
+
+    @Mock
+    private FriendGraphCache friendGraphCache;
+
+    @Mock
+    private FriendSuggestionService friendSuggestionService;
+
+    @Mock
+    private PendingRequestCountService pendingRequestCountService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private UserCommandRepository userCommandRepository;
 
@@ -52,14 +73,14 @@ class FriendCommandServiceTest {
         @DisplayName("성공")
         void success() {
             // given
-            String email = "requester@email.com";
+            Long userId = 1L;
             SendFriendRequest request = new SendFriendRequest(2L);
-            User requester = User.create(email, "pw", "reqNickname");
+            User requester = User.create("requester@email.com", "pw", "reqNickname");
             ReflectionTestUtils.setField(requester, "id", 1L);
             User receiver = User.create("receiver@email.com", "pw", "rec");
             ReflectionTestUtils.setField(receiver, "id", 2L);
 
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(requester));
+            given(userCommandRepository.findByIdAndDeletedAtIsNull(userId)).willReturn(Optional.of(requester));
             given(userCommandRepository.findByIdAndDeletedAtIsNull(2L)).willReturn(Optional.of(receiver));
             given(friendCommandRepository.findByUsers(1L, 2L)).willReturn(Optional.empty());
             
@@ -68,26 +89,24 @@ class FriendCommandServiceTest {
             given(friendCommandRepository.save(any(Friend.class))).willReturn(savedFriend);
 
             // when
-            friendCommandService.sendFriendRequest(email, request);
+            friendCommandService.sendFriendRequest(userId, request);
 
             // then
             verify(friendCommandRepository).save(any(Friend.class));
             verify(notificationCommandService).createFriendRequestNotification(2L, 100L, "reqNickname");
+            verify(pendingRequestCountService).evictAfterCommit(2L);
         }
 
         @Test
         @DisplayName("자기 자신에게 요청 시 예외 발생")
         void failSelfRequest() {
             // given
-            String email = "requester@email.com";
+            Long userId = 1L;
             SendFriendRequest request = new SendFriendRequest(1L);
-            User requester = User.create(email, "pw", "req");
-            ReflectionTestUtils.setField(requester, "id", 1L);
 
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(requester));
 
             // when & then
-            assertThatThrownBy(() -> friendCommandService.sendFriendRequest(email, request))
+            assertThatThrownBy(() -> friendCommandService.sendFriendRequest(userId, request))
                     .isInstanceOf(BusinessException.class)
                     .hasFieldOrPropertyWithValue("errorCode", ErrorCode.FRIEND_REQUEST_SELF);
         }
@@ -96,20 +115,20 @@ class FriendCommandServiceTest {
         @DisplayName("이미 친구인 경우 예외 발생")
         void failAlreadyFriend() {
             // given
-            String email = "requester@email.com";
+            Long userId = 1L;
             SendFriendRequest request = new SendFriendRequest(2L);
-            User requester = User.create(email, "pw", "req");
+            User requester = User.create("requester@email.com", "pw", "req");
             ReflectionTestUtils.setField(requester, "id", 1L);
             
             Friend friend = Friend.create(1L, 2L);
             friend.accept();
 
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(requester));
+            given(userCommandRepository.findByIdAndDeletedAtIsNull(userId)).willReturn(Optional.of(requester));
             given(userCommandRepository.findByIdAndDeletedAtIsNull(2L)).willReturn(Optional.of(mock(User.class)));
             given(friendCommandRepository.findByUsers(1L, 2L)).willReturn(Optional.of(friend));
 
             // when & then
-            assertThatThrownBy(() -> friendCommandService.sendFriendRequest(email, request))
+            assertThatThrownBy(() -> friendCommandService.sendFriendRequest(userId, request))
                     .isInstanceOf(BusinessException.class)
                     .hasFieldOrPropertyWithValue("errorCode", ErrorCode.ALREADY_FRIEND);
         }
@@ -118,19 +137,19 @@ class FriendCommandServiceTest {
         @DisplayName("이미 친구 신청을 보낸 경우 예외 발생")
         void failAlreadyRequested() {
             // given
-            String email = "requester@email.com";
+            Long userId = 1L;
             SendFriendRequest request = new SendFriendRequest(2L);
-            User requester = User.create(email, "pw", "req");
+            User requester = User.create("requester@email.com", "pw", "req");
             ReflectionTestUtils.setField(requester, "id", 1L);
 
             Friend friend = Friend.create(1L, 2L); // Default status is PENDING
 
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(requester));
+            given(userCommandRepository.findByIdAndDeletedAtIsNull(userId)).willReturn(Optional.of(requester));
             given(userCommandRepository.findByIdAndDeletedAtIsNull(2L)).willReturn(Optional.of(mock(User.class)));
             given(friendCommandRepository.findByUsers(1L, 2L)).willReturn(Optional.of(friend));
 
             // when & then
-            assertThatThrownBy(() -> friendCommandService.sendFriendRequest(email, request))
+            assertThatThrownBy(() -> friendCommandService.sendFriendRequest(userId, request))
                     .isInstanceOf(BusinessException.class)
                     .hasFieldOrPropertyWithValue("errorCode", ErrorCode.ALREADY_FRIEND_REQUESTED);
         }
@@ -143,39 +162,40 @@ class FriendCommandServiceTest {
         @DisplayName("성공 - 수락")
         void successAccept() {
             // given
-            String email = "receiver@email.com";
-            User receiver = User.create(email, "pw", "recNickname");
+            Long userId = 2L;
+            User receiver = User.create("receiver@email.com", "pw", "recNickname");
             ReflectionTestUtils.setField(receiver, "id", 2L);
             
             Friend friend = Friend.create(1L, 2L);
             ReflectionTestUtils.setField(friend, "id", 100L);
 
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(receiver));
+            given(userCommandRepository.findByIdAndDeletedAtIsNull(userId)).willReturn(Optional.of(receiver));
             given(friendCommandRepository.findById(100L)).willReturn(Optional.of(friend));
 
             // when
-            friendCommandService.respondToRequest(email, 100L, new FriendRespondRequest(FriendStatus.ACCEPTED));
+            friendCommandService.respondToRequest(userId, 100L, new FriendRespondRequest(FriendStatus.ACCEPTED));
 
             // then
             verify(notificationCommandService).createFriendAcceptedNotification(1L, 100L, "recNickname");
+            verify(friendEdgeCommandMapper).insertPair(eq(100L), eq(1L), eq(2L), any());
+            verify(friendGraphCache).invalidateAfterCommit(1L, 2L);
+            verify(eventPublisher).publishEvent(new FriendshipChangedEvent(1L, 2L));
+            verify(pendingRequestCountService).evictAfterCommit(2L);
         }
 
         @Test
         @DisplayName("권한 없는 사용자가 응답 시 예외 발생")
         void failForbidden() {
             // given
-            String email = "other@email.com";
-            User other = User.create(email, "pw", "other");
-            ReflectionTestUtils.setField(other, "id", 3L);
+            Long userId = 3L;
             
             Friend friend = Friend.create(1L, 2L);
             ReflectionTestUtils.setField(friend, "id", 100L);
 
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(other));
             given(friendCommandRepository.findById(100L)).willReturn(Optional.of(friend));
 
             // when & then
-            assertThatThrownBy(() -> friendCommandService.respondToRequest(email, 100L, new FriendRespondRequest(FriendStatus.ACCEPTED)))
+            assertThatThrownBy(() -> friendCommandService.respondToRequest(userId, 100L, new FriendRespondRequest(FriendStatus.ACCEPTED)))
                     .isInstanceOf(BusinessException.class)
                     .hasFieldOrPropertyWithValue("errorCode", ErrorCode.FORBIDDEN);
         }
@@ -184,15 +204,50 @@ class FriendCommandServiceTest {
         @DisplayName("존재하지 않는 친구 요청에 응답 시도 시 예외 발생")
         void failRequestNotFound() {
             // given
-            String email = "receiver@email.com";
-            User receiver = User.create(email, "pw", "recNickname");
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(receiver));
+            Long userId = 2L;
             given(friendCommandRepository.findById(anyLong())).willReturn(Optional.empty());
 
             // when & then
-            assertThatThrownBy(() -> friendCommandService.respondToRequest(email, 999L, new FriendRespondRequest(FriendStatus.ACCEPTED)))
+            assertThatThrownBy(() -> friendCommandService.respondToRequest(userId, 999L, new FriendRespondRequest(FriendStatus.ACCEPTED)))
                     .isInstanceOf(BusinessException.class)
                     .hasFieldOrPropertyWithValue("errorCode", ErrorCode.FRIEND_REQUEST_NOT_FOUND);
         }
     }
+
+    @Nested
+    @DisplayName("친구 삭제 테스트")
+    class DeleteFriendTest {
+        @Test
+        @DisplayName("성공 - 양방향 간선도 함께 삭제")
+        void success() {
+            // given
+            Friend friend = Friend.create(1L, 2L);
+            ReflectionTestUtils.setField(friend, "id", 100L);
+            friend.accept();
+            given(friendCommandRepository.findById(100L)).willReturn(Optional.of(friend));
+
+            // when
+            friendCommandService.deleteFriend(2L, 100L);
+
+            // then
+            verify(friendCommandRepository).delete(friend);
+            verify(friendEdgeCommandMapper).deletePair(1L, 2L);
+            verify(friendGraphCache).invalidateAfterCommit(1L, 2L);
+            verify(eventPublisher).publishEvent(new FriendshipChangedEvent(1L, 2L));
+        }
+
+        @Test
+        @DisplayName("당사자가 아니면 예외 발생")
+        void failForbidden() {
+            // given
+            Friend friend = Friend.create(1L, 2L);
+            given(friendCommandRepository.findById(100L)).willReturn(Optional.of(friend));
+
+            // when & then
+            assertThatThrownBy(() -> friendCommandService.deleteFriend(3L, 100L))
+                    .isInstanceOf(BusinessException.class)
+                    .hasFieldOrPropertyWithValue("errorCode", ErrorCode.FORBIDDEN);
+            verify(friendEdgeCommandMapper, never()).deletePair(any(), any());
+        }
+    }
 }
@@ -0,0 +1,116 @@
+package com.maplog.friend.command.service;
+
+import com.maplog.common.lock.JobLockService;
+import com.maplog.friend.command.domain.FriendshipChangedEvent;
+import com.maplog.friend.command.dto.FriendPairRow;
+import com.maplog.friend.command.mapper.FriendEdgeCommandMapper;
+import com.maplog.friend.query.service.FriendGraphCache;
+import com.maplog.friend.query.service.FriendSuggestionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class FriendEdgeBackfillJobTest {
+
+    @Mock
+    private FriendEdgeCommandMapper friendEdgeCommandMapper;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    @Mock
+    private FriendGraphCache friendGraphCache;
+
+    @Mock
+    private FriendSuggestionService friendSuggestionService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    @DisplayName("deletes orphan edges, then backfills missing ones, batch by batch, and returns the changed pairs")
+    void reconcileInBatches() {
+        FriendEdgeBackfillJob job = job();
+        given(friendEdgeCommandMapper.findEdgeIds(0L, 2)).willReturn(List.of(1L, 2L));
+        given(friendEdgeCommandMapper.findEdgeIds(2L, 2)).willReturn(List.of(5L));
+        given(friendEdgeCommandMapper.findEdgeIds(5L, 2)).willReturn(List.of());
+        given(friendEdgeCommandMapper.findOrphanPairs(0L, 2L)).willReturn(List.of());
+        given(friendEdgeCommandMapper.findOrphanPairs(2L, 5L)).willReturn(List.of(pair(10L, 30L)));
+        given(friendEdgeCommandMapper.deleteOrphans(2L, 5L)).willReturn(1);
+        given(friendEdgeCommandMapper.findAcceptedFriendshipIds(0L, 2)).willReturn(List.of(100L, 101L));
+        given(friendEdgeCommandMapper.findAcceptedFriendshipIds(101L, 2)).willReturn(List.of(102L));
+        given(friendEdgeCommandMapper.findAcceptedFriendshipIds(102L, 2)).willReturn(List.of());
+        given(friendEdgeCommandMapper.findMissingPairs(List.of(100L, 101L))).willReturn(List.of(pair(10L, 20L)));
+        given(friendEdgeCommandMapper.findMissingPairs(List.of(102L))).willReturn(List.of());
+        given(friendEdgeCommandMapper.backfill(List.of(100L, 101L))).willReturn(2);
+
+        List<FriendPairRow> changed = job.reconcile();
+
+        assertThat(changed).extracting(FriendPairRow::getUserId, FriendPairRow::getOtherUserId)
+                .containsExactly(tuple(10L, 30L), tuple(10L, 20L));
+        verify(friendEdgeCommandMapper, never()).deleteOrphans(0L, 2L);
+        verify(friendEdgeCommandMapper, never()).backfill(List.of(102L));
+    }
+
+    @Test
+    @DisplayName("scheduled run notifies caches and the feed for each changed pair")
+    void scheduledRunNotifiesChangedPairs() {
+        FriendEdgeBackfillJob job = job();
+        given(jobLockService.tryAcquire(eq(FriendEdgeBackfillJob.LOCK_NAME), any(Duration.class))).willReturn(true);
+        given(friendEdgeCommandMapper.findEdgeIds(0L, 2)).willReturn(List.of());
+        given(friendEdgeCommandMapper.findAcceptedFriendshipIds(0L, 2)).willReturn(List.of(100L));
+        given(friendEdgeCommandMapper.findAcceptedFriendshipIds(100L, 2)).willReturn(List.of());
+        given(friendEdgeCommandMapper.findMissingPairs(List.of(100L))).willReturn(List.of(pair(10L, 20L)));
+        given(friendEdgeCommandMapper.backfill(List.of(100L))).willReturn(2);
+
+        job.reconcileScheduled();
+
+        verify(friendGraphCache).invalidateAfterCommit(10L, 20L);
+        verify(friendSuggestionService).invalidateAfterCommit(10L, 20L);
+        verify(eventPublisher).publishEvent(new FriendshipChangedEvent(10L, 20L));
+    }
+
+    @Test
+    @DisplayName("skips the scheduled run when another pod holds the lock")
+    void skipsWithoutLock() {
+        FriendEdgeBackfillJob job = job();
+        given(jobLockService.tryAcquire(eq(FriendEdgeBackfillJob.LOCK_NAME), any(Duration.class))).willReturn(false);
+
+        job.reconcileScheduled();
+
+        verify(friendEdgeCommandMapper, never()).findEdgeIds(anyLong(), anyInt());
+        verify(friendEdgeCommandMapper, never()).backfill(anyCollection());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private FriendEdgeBackfillJob job() {
+        return new FriendEdgeBackfillJob(friendEdgeCommandMapper, jobLockService, friendGraphCache,
+                friendSuggestionService, eventPublisher, true, 2, 600_000L);
+    }
+
+    private static FriendPairRow pair(Long userId, Long otherUserId) {
+        FriendPairRow row = new FriendPairRow();
+        row.setUserId(userId);
+        row.setOtherUserId(otherUserId);
+        return row;
+    }
+}
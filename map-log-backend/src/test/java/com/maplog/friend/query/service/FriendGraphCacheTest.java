@@ -0,0 +1,73 @@
+package com.maplog.friend.query.service;
+
+import com.maplog.friend.query.mapper.FriendQueryMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FriendGraphCacheTest {
+
+    @Mock
+    private FriendQueryMapper friendQueryMapper;
+
+    private FriendGraphCache friendGraphCache;
+
+    @BeforeEach
+    void setUp() {
+        friendGraphCache = new FriendGraphCache(friendQueryMapper, 60_000L, 100);
+    }
+
+    @Test
+    @DisplayName("loads a user's adjacency once and answers friendship checks from memory")
+    void loadsLazilyOnce() {
+        given(friendQueryMapper.findFriendIds(1L)).willReturn(List.of(2L, 5L, 9L));
+
+        assertThat(friendGraphCache.isFriend(1L, 5L)).isTrue();
+        assertThat(friendGraphCache.isFriend(1L, 4L)).isFalse();
+        assertThat(friendGraphCache.friendIds(1L)).containsExactly(2L, 5L, 9L);
+
+        verify(friendQueryMapper, times(1)).findFriendIds(1L);
+    }
+
+    @Test
+    @DisplayName("mutual friends are the sorted intersection of both adjacency arrays")
+    void intersectsMutualFriends() {
+        given(friendQueryMapper.findFriendIds(1L)).willReturn(List.of(2L, 3L, 5L, 8L, 13L));
+        given(friendQueryMapper.findFriendIds(7L)).willReturn(List.of(3L, 4L, 8L, 13L, 21L));
+
+        assertThat(friendGraphCache.mutualFriendIds(1L, 7L)).containsExactly(3L, 8L, 13L);
+    }
+
+    @Test
+    @DisplayName("invalidation after commit reloads both users on the next read")
+    void reloadsAfterInvalidation() {
+        given(friendQueryMapper.findFriendIds(1L)).willReturn(List.of()).willReturn(List.of(2L));
+        given(friendQueryMapper.findFriendIds(2L)).willReturn(List.of()).willReturn(List.of(1L));
+        assertThat(friendGraphCache.isFriend(1L, 2L)).isFalse();
+        assertThat(friendGraphCache.isFriend(2L, 1L)).isFalse();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            friendGraphCache.invalidateAfterCommit(1L, 2L);
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(friendGraphCache.isFriend(1L, 2L)).isTrue();
+        assertThat(friendGraphCache.isFriend(2L, 1L)).isTrue();
+    }
+}
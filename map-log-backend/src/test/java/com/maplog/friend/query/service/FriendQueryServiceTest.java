@@ -0,0 +1,164 @@
+package com.maplog.friend.query.service;
+
+import com.maplog.common.response.CursorPage;
+import com.maplog.common.util.CursorToken;
+import com.maplog.diary.query.dto.DiarySummaryResponse;
+import com.maplog.friend.query.dto.FriendRequestResponse;
+import com.maplog.friend.query.dto.FriendSummaryResponse;
+import com.maplog.friend.query.mapper.FriendQueryMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FriendQueryServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @Mock
+    private FriendQueryMapper friendQueryMapper;
+
+    @Mock
+    private FriendGraphCache friendGraphCache;
+
+    @Mock
+    private PendingRequestCountService pendingRequestCountService;
+
+    private FriendQueryService friendQueryService;
+
+    @BeforeEach
+    void setUp() {
+        friendQueryService = new FriendQueryService(friendQueryMapper, friendGraphCache, pendingRequestCountService);
+    }
+
+    @Test
+    @DisplayName("without popular friends the feed is a single timeline range scan")
+    void readsTimelineOnly() {
+        given(friendQueryMapper.findPullAuthorIds(1L)).willReturn(List.of());
+        given(friendQueryMapper.findTimeline(1L, null, null, 3)).willReturn(List.of(diary(30, 3), diary(20, 2), diary(10, 1)));
+
+        CursorPage<DiarySummaryResponse> page = friendQueryService.getFeedByCursor(1L, null, 2);
+
+        assertThat(page.content()).extracting(DiarySummaryResponse::getId).containsExactly(30L, 20L);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(CursorToken.decode(page.nextCursor())).isEqualTo(new CursorToken(BASE.plusMinutes(2), 20L));
+        verify(friendQueryMapper, never()).findAuthorDiaries(anyCollection(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("posts of popular friends are read on demand and merged newest first without duplicates")
+    void mergesPullAuthors() {
+        given(friendQueryMapper.findPullAuthorIds(1L)).willReturn(List.of(9L));
+        given(friendQueryMapper.findTimeline(1L, null, null, 4)).willReturn(List.of(diary(50, 5), diary(30, 3), diary(10, 1)));
+        // 30은 pull 대상이 되기 전에 타임라인에 들어간 일기
+        given(friendQueryMapper.findAuthorDiaries(List.of(9L), null, null, 4)).willReturn(List.of(diary(40, 4), diary(30, 3), diary(20, 2)));
+
+        CursorPage<DiarySummaryResponse> page = friendQueryService.getFeedByCursor(1L, null, 3);
+
+        assertThat(page.content()).extracting(DiarySummaryResponse::getId).containsExactly(50L, 40L, 30L);
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    @DisplayName("the page API slices offset + size rows and adds the popular authors' count")
+    void pagesWithOffset() {
+        given(friendQueryMapper.findPullAuthorIds(1L)).willReturn(List.of(9L));
+        given(friendQueryMapper.findTimeline(1L, null, null, 4)).willReturn(List.of(diary(50, 5), diary(30, 3)));
+        given(friendQueryMapper.findAuthorDiaries(List.of(9L), null, null, 4)).willReturn(List.of(diary(40, 4), diary(20, 2)));
+        given(friendQueryMapper.countTimeline(1L)).willReturn(2L);
+        given(friendQueryMapper.countAuthorDiaries(1L, List.of(9L))).willReturn(2L);
+
+        Page<DiarySummaryResponse> page = friendQueryService.getFeed(1L, PageRequest.of(1, 2));
+
+        assertThat(page.getContent()).extracting(DiarySummaryResponse::getId).containsExactly(30L, 20L);
+        assertThat(page.getTotalElements()).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("a cursor continues the keyset scan on both sources")
+    void continuesFromCursor() {
+        String cursor = new CursorToken(BASE.plusMinutes(3), 30L).encode();
+        given(friendQueryMapper.findPullAuthorIds(1L)).willReturn(List.of());
+        given(friendQueryMapper.findTimeline(1L, BASE.plusMinutes(3), 30L, 21)).willReturn(List.of(diary(10, 1)));
+
+        CursorPage<DiarySummaryResponse> page = friendQueryService.getFeedByCursor(1L, cursor, 20);
+
+        assertThat(page.content()).extracting(DiarySummaryResponse::getId).containsExactly(10L);
+        assertThat(page.hasNext()).isFalse();
+        verify(friendQueryMapper, never()).findTimeline(any(), isNull(), isNull(), anyInt());
+    }
+
+    @Test
+    @DisplayName("friends are paged on (accepted_at, friend_id) and the cursor resumes after the last friend")
+    void pagesFriendsByCursor() {
+        given(friendQueryMapper.findFriendsBefore(1L, null, null, 3)).willReturn(List.of(friend(7, 30), friend(5, 20), friend(9, 10)));
+
+        CursorPage<FriendSummaryResponse> page = friendQueryService.getFriendsByCursor(1L, null, 2);
+
+        assertThat(page.content()).extracting(FriendSummaryResponse::getUserId).containsExactly(7L, 5L);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(CursorToken.decode(page.nextCursor())).isEqualTo(new CursorToken(BASE.plusMinutes(20), 5L));
+
+        given(friendQueryMapper.findFriendsBefore(1L, BASE.plusMinutes(20), 5L, 3)).willReturn(List.of(friend(9, 10)));
+        CursorPage<FriendSummaryResponse> next = friendQueryService.getFriendsByCursor(1L, page.nextCursor(), 2);
+
+        assertThat(next.content()).extracting(FriendSummaryResponse::getUserId).containsExactly(9L);
+        assertThat(next.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("pending requests are paged on (created_at, id) and the page total comes from the cached count")
+    void pagesPendingRequests() {
+        given(friendQueryMapper.findPendingRequestsBefore(1L, null, null, 2)).willReturn(List.of(request(100, 5), request(90, 4)));
+
+        CursorPage<FriendRequestResponse> page = friendQueryService.getPendingRequestsByCursor(1L, null, 1);
+
+        assertThat(page.content()).extracting(FriendRequestResponse::getFriendId).containsExactly(100L);
+        assertThat(CursorToken.decode(page.nextCursor())).isEqualTo(new CursorToken(BASE.plusMinutes(5), 100L));
+
+        given(friendQueryMapper.findPendingRequests(1L, 0, 20)).willReturn(List.of(request(100, 5), request(90, 4)));
+        given(pendingRequestCountService.getPendingCount(1L)).willReturn(2L);
+
+        assertThat(friendQueryService.getPendingRequests(1L, PageRequest.of(0, 20)).getTotalElements()).isEqualTo(2L);
+        verify(friendQueryMapper, never()).countPendingRequests(any());
+    }
+
+    private FriendSummaryResponse friend(long userId, int minute) {
+        FriendSummaryResponse friend = new FriendSummaryResponse();
+        friend.setUserId(userId);
+        friend.setRespondedAt(BASE.plusMinutes(minute));
+        return friend;
+    }
+
+    private FriendRequestResponse request(long friendId, int minute) {
+        FriendRequestResponse request = new FriendRequestResponse();
+        request.setFriendId(friendId);
+        request.setRequestedAt(BASE.plusMinutes(minute));
+        return request;
+    }
+
+    private DiarySummaryResponse diary(long id, int minute) {
+        DiarySummaryResponse diary = new DiarySummaryResponse();
+        diary.setId(id);
+        diary.setTitle("diary " + id);
+        diary.setCreatedAt(BASE.plusMinutes(minute));
+        return diary;
+    }
+}
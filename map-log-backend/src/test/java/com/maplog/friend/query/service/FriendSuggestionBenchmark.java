@@ -0,0 +1,188 @@
+package com.maplog.friend.query.service;
+
+import com.maplog.friend.query.dto.FriendEdgeRow;
+import com.maplog.friend.query.mapper.FriendQueryMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 친구 추천(알 수도 있는 사람) 계산 비용 벤치마크 - 사용자 10만 명의 합성 그래프
+ *
+ * 실행: ./gradlew benchmark
+ *
+ * - hash  : 친구의 친구를 Set<Long> 인접 목록에서 꺼내 HashMap<Long, Integer>로 세고 전체를 정렬하는 단순 구현
+ * - merge : 정렬된 long[] 인접 배열의 k-way 병합 + 크기 N 힙 (FriendSuggestionService.rank)
+ * 두 방식 모두 같은 메모리 그래프를 읽고, 캐시 조회와 매퍼 호출을 포함한 rankCandidates 전체 비용은 따로 출력합니다.
+ *
+ * 그래프는 고정 시드로 만들며, 공통 친구가 생기도록 친구 대부분을 가까운 ID 구간에서 고릅니다.
+ * DB 영향을 배제하기 위해 매퍼는 메모리 그래프를 돌려주는 스텁이고, 측정 전에 그래프 캐시를 모두 적재합니다.
+ */
+@Tag("benchmark")
+class FriendSuggestionBenchmark {
+
+    private static final int USERS = 100_000;
+    private static final int LOCAL_FRIENDS = 8;       // 사용자당 가까운 구간에서 고르는 친구 수 (양방향이므로 평균 차수는 약 2배)
+    private static final int RANDOM_FRIENDS = 2;      // 사용자당 전체에서 무작위로 고르는 친구 수
+    private static final int LOCAL_WINDOW = 200;
+    private static final int TOP_N = 50;
+    private static final int SAMPLE_USERS = 2_000;
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 5;
+
+    @Test
+    @DisplayName("suggestion ranking on a 100k-user graph: hash counting vs sorted-array k-way merge")
+    void compareSuggestionCost() {
+        long[][] graph = buildGraph(new Random(42));
+        List<Set<Long>> boxedGraph = new ArrayList<>(USERS + 1);
+        long edges = 0;
+        for (long[] friends : graph) {
+            Set<Long> set = new HashSet<>();
+            for (long friendId : friends) {
+                set.add(friendId);
+            }
+            boxedGraph.add(set);
+            edges += friends.length;
+        }
+
+        FriendQueryMapper mapper = stubMapper(graph);
+        FriendGraphCache graphCache = new FriendGraphCache(mapper, 3_600_000L, USERS * 2);
+        FriendSuggestionService service = new FriendSuggestionService(mapper, graphCache, 3_600_000L, 1, TOP_N);
+        long[] allUsers = new long[USERS];
+        for (int i = 0; i < USERS; i++) {
+            allUsers[i] = i + 1;
+        }
+        graphCache.friendIdsOf(allUsers);
+
+        long[] sample = new Random(7).longs(SAMPLE_USERS, 1, USERS + 1).toArray();
+        for (long userId : sample) {
+            List<Long> expected = hashRank(boxedGraph, userId).stream().map(Candidate::userId).toList();
+            List<Long> actual = service.rankCandidates(userId, TOP_N).stream()
+                    .map(FriendSuggestionService.Candidate::userId).toList();
+            assertThat(actual).as("user %d", userId).isEqualTo(expected);
+        }
+
+        long[] noExclusions = new long[0];
+        double hashNs = measure(sample, userId -> hashRank(boxedGraph, userId));
+        double mergeNs = measure(sample, userId -> {
+            long[] myFriends = graph[(int) userId];
+            long[][] friendsOfFriends = new long[myFriends.length][];
+            for (int i = 0; i < myFriends.length; i++) {
+                friendsOfFriends[i] = graph[(int) myFriends[i]];
+            }
+            return FriendSuggestionService.rank(userId, myFriends, friendsOfFriends, noExclusions, TOP_N);
+        });
+        double serviceNs = measure(sample, userId -> service.rankCandidates(userId, TOP_N));
+
+        System.out.printf("[bench] graph                      : %,d users, %,d directed edges (avg degree %.1f)%n",
+                USERS, edges, edges / (double) USERS);
+        System.out.printf("[bench] suggestions hash counting  : %,10.0f ns/user%n", hashNs);
+        System.out.printf("[bench] suggestions k-way merge    : %,10.0f ns/user%n", mergeNs);
+        System.out.printf("[bench] speed-up                   : %10.1fx%n", hashNs / mergeNs);
+        System.out.printf("[bench] rankCandidates (cache+stub): %,10.0f ns/user%n", serviceNs);
+
+        assertThat(mergeNs).isLessThan(hashNs);
+    }
+
+    /** 대칭 그래프: graph[userId]는 정렬된 친구 ID 배열 (0번은 비워 둠) */
+    private long[][] buildGraph(Random random) {
+        List<Set<Long>> adjacency = new ArrayList<>(USERS + 1);
+        for (int i = 0; i <= USERS; i++) {
+            adjacency.add(new HashSet<>());
+        }
+        for (long userId = 1; userId <= USERS; userId++) {
+            for (int i = 0; i < LOCAL_FRIENDS + RANDOM_FRIENDS; i++) {
+                long friendId = i < LOCAL_FRIENDS
+                        ? Math.floorMod(userId - 1 + random.nextInt(LOCAL_WINDOW) - LOCAL_WINDOW / 2, USERS) + 1
+                        : random.nextInt(USERS) + 1;
+                if (friendId != userId) {
+                    adjacency.get((int) userId).add(friendId);
+                    adjacency.get((int) friendId).add(userId);
+                }
+            }
+        }
+        long[][] graph = new long[USERS + 1][];
+        for (int i = 0; i <= USERS; i++) {
+            graph[i] = adjacency.get(i).stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+        return graph;
+    }
+
+    private FriendQueryMapper stubMapper(long[][] graph) {
+        // 호출 기록을 남기지 않는 스텁 (측정 중 기록이 쌓이면 그 비용이 섞인다)
+        FriendQueryMapper mapper = mock(FriendQueryMapper.class, withSettings().stubOnly());
+        given(mapper.findFriendIds(anyLong())).willAnswer(invocation -> {
+            long userId = invocation.<Long>getArgument(0);
+            return Arrays.stream(graph[(int) userId]).boxed().toList();
+        });
+        given(mapper.findFriendEdgesOf(anyCollection())).willAnswer(invocation -> {
+            List<FriendEdgeRow> rows = new ArrayList<>();
+            for (Long userId : invocation.<Collection<Long>>getArgument(0)) {
+                for (long friendId : graph[userId.intValue()]) {
+                    FriendEdgeRow row = new FriendEdgeRow();
+                    row.setUserId(userId);
+                    row.setFriendId(friendId);
+                    rows.add(row);
+                }
+            }
+            return rows;
+        });
+        given(mapper.findPendingOrRejectedUserIds(anyLong())).willReturn(List.of());
+        return mapper;
+    }
+
+    private List<Candidate> hashRank(List<Set<Long>> graph, long userId) {
+        Set<Long> myFriends = graph.get((int) userId);
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Long friendId : myFriends) {
+            for (Long candidate : graph.get(friendId.intValue())) {
+                if (candidate != userId && !myFriends.contains(candidate)) {
+                    counts.merge(candidate, 1, Integer::sum);
+                }
+            }
+        }
+        return counts.entrySet().stream()
+                .map(entry -> new Candidate(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingInt(Candidate::mutualFriendCount).reversed()
+                        .thenComparingLong(Candidate::userId))
+                .limit(TOP_N)
+                .toList();
+    }
+
+    private double measure(long[] sample, LongFunction<?> task) {
+        for (int round = 0; round < WARMUP; round++) {
+            for (long userId : sample) {
+                task.apply(userId);
+            }
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < ITERATIONS; round++) {
+            for (long userId : sample) {
+                task.apply(userId);
+            }
+        }
+        return (System.nanoTime() - start) / (double) (ITERATIONS * sample.length);
+    }
+
+    private record Candidate(long userId, int mutualFriendCount) {
+    }
+}
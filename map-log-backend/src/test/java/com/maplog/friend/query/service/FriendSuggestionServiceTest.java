@@ -0,0 +1,121 @@
+package com.maplog.friend.query.service;
+
+import com.maplog.friend.query.dto.FriendEdgeRow;
+import com.maplog.friend.query.dto.FriendSuggestionResponse;
+import com.maplog.friend.query.mapper.FriendQueryMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FriendSuggestionServiceTest {
+
+    // 1의 친구: 2, 3, 4 / 2의 친구: 1, 5, 6 / 3의 친구: 1, 5, 6, 7 / 4의 친구: 1, 3, 5, 8
+    private static final Map<Long, List<Long>> GRAPH = Map.of(
+            1L, List.of(2L, 3L, 4L),
+            2L, List.of(1L, 5L, 6L),
+            3L, List.of(1L, 4L, 5L, 6L, 7L),
+            4L, List.of(1L, 3L, 5L, 8L));
+
+    @Mock
+    private FriendQueryMapper friendQueryMapper;
+
+    private FriendGraphCache friendGraphCache;
+    private FriendSuggestionService friendSuggestionService;
+
+    @BeforeEach
+    void setUp() {
+        friendGraphCache = new FriendGraphCache(friendQueryMapper, 60_000L, 100);
+        friendSuggestionService = new FriendSuggestionService(friendQueryMapper, friendGraphCache, 60_000L, 100, 10);
+        given(friendQueryMapper.findFriendIds(anyLong()))
+                .willAnswer(invocation -> GRAPH.getOrDefault(invocation.<Long>getArgument(0), List.of()));
+        lenient().when(friendQueryMapper.findFriendEdgesOf(anyCollection())).thenAnswer(invocation -> {
+            List<FriendEdgeRow> rows = new ArrayList<>();
+            for (Long userId : invocation.<Collection<Long>>getArgument(0)) {
+                for (Long friendId : GRAPH.getOrDefault(userId, List.of())) {
+                    FriendEdgeRow row = new FriendEdgeRow();
+                    row.setUserId(userId);
+                    row.setFriendId(friendId);
+                    rows.add(row);
+                }
+            }
+            return rows;
+        });
+    }
+
+    @Test
+    @DisplayName("ranks friends-of-friends by mutual count, skipping self, friends and pending or rejected pairs")
+    void ranksByMutualFriends() {
+        given(friendQueryMapper.findPendingOrRejectedUserIds(1L)).willReturn(List.of(7L));
+
+        List<FriendSuggestionService.Candidate> ranked = friendSuggestionService.rankCandidates(1L, 10);
+
+        // 5: 2,3,4 공통 / 6: 2,3 공통 / 8: 4 공통 / 7은 요청 중이라 제외
+        assertThat(ranked).containsExactly(
+                new FriendSuggestionService.Candidate(5L, 3),
+                new FriendSuggestionService.Candidate(6L, 2),
+                new FriendSuggestionService.Candidate(8L, 1));
+    }
+
+    @Test
+    @DisplayName("keeps only the top N, breaking ties by the smaller user id")
+    void keepsTopN() {
+        given(friendQueryMapper.findPendingOrRejectedUserIds(1L)).willReturn(List.of());
+
+        List<FriendSuggestionService.Candidate> ranked = friendSuggestionService.rankCandidates(1L, 3);
+
+        assertThat(ranked).extracting(FriendSuggestionService.Candidate::userId).containsExactly(5L, 6L, 7L);
+    }
+
+    @Test
+    @DisplayName("drops withdrawn users, caches the result and recomputes after invalidation")
+    void cachesUntilInvalidated() {
+        given(friendQueryMapper.findPendingOrRejectedUserIds(1L)).willReturn(List.of());
+        given(friendQueryMapper.findSuggestionProfiles(anyCollection()))
+                .willReturn(List.of(profile(8L), profile(5L), profile(7L))); // 6은 탈퇴
+
+        List<FriendSuggestionResponse> first = friendSuggestionService.getSuggestions(1L, 10);
+        List<FriendSuggestionResponse> cached = friendSuggestionService.getSuggestions(1L, 2);
+
+        assertThat(first).extracting(FriendSuggestionResponse::getUserId).containsExactly(5L, 7L, 8L);
+        assertThat(first).extracting(FriendSuggestionResponse::getMutualFriendCount).containsExactly(3, 1, 1);
+        assertThat(cached).extracting(FriendSuggestionResponse::getUserId).containsExactly(5L, 7L);
+        verify(friendQueryMapper, times(1)).findPendingOrRejectedUserIds(1L);
+
+        // 2와 9의 관계가 바뀌면 2의 친구인 1의 추천도 다시 계산한다.
+        friendSuggestionService.invalidateAfterCommit(2L, 9L);
+        friendSuggestionService.getSuggestions(1L, 10);
+
+        verify(friendQueryMapper, times(2)).findPendingOrRejectedUserIds(1L);
+    }
+
+    @Test
+    @DisplayName("users without friends get no suggestions and no extra queries")
+    void emptyForUsersWithoutFriends() {
+        assertThat(friendSuggestionService.getSuggestions(42L, 10)).isEmpty();
+        verify(friendQueryMapper, times(0)).findPendingOrRejectedUserIds(42L);
+    }
+
+    private FriendSuggestionResponse profile(Long userId) {
+        FriendSuggestionResponse profile = new FriendSuggestionResponse();
+        profile.setUserId(userId);
+        profile.setNickname("user" + userId);
+        return profile;
+    }
+}
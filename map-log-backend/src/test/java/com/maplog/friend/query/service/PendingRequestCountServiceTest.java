@@ -0,0 +1,60 @@
+package com.maplog.friend.query.service;
+
+import com.maplog.friend.query.mapper.FriendQueryMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PendingRequestCountServiceTest {
+
+    @Mock
+    private FriendQueryMapper friendQueryMapper;
+
+    private PendingRequestCountService pendingRequestCountService;
+
+    @BeforeEach
+    void setUp() {
+        pendingRequestCountService = new PendingRequestCountService(friendQueryMapper, 60_000L, 100);
+    }
+
+    @Test
+    @DisplayName("counts pending requests once and serves repeated reads from the cache")
+    void cachesCount() {
+        given(friendQueryMapper.countPendingRequests(1L)).willReturn(3L);
+
+        assertThat(pendingRequestCountService.getPendingCount(1L)).isEqualTo(3L);
+        assertThat(pendingRequestCountService.getPendingCount(1L)).isEqualTo(3L);
+
+        verify(friendQueryMapper, times(1)).countPendingRequests(1L);
+    }
+
+    @Test
+    @DisplayName("evictAfterCommit drops the cached count only once the transaction commits")
+    void evictsAfterCommit() {
+        given(friendQueryMapper.countPendingRequests(1L)).willReturn(3L);
+        pendingRequestCountService.getPendingCount(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            pendingRequestCountService.evictAfterCommit(1L);
+            assertThat(pendingRequestCountService.getPendingCount(1L)).isEqualTo(3L);
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        given(friendQueryMapper.countPendingRequests(1L)).willReturn(4L);
+        assertThat(pendingRequestCountService.getPendingCount(1L)).isEqualTo(4L);
+    }
+}
@@ -0,0 +1,67 @@
+package com.maplog.notification.command.mapper;
+
+import com.maplog.notification.command.domain.Notification;
+import com.maplog.notification.command.domain.NotificationType;
+import com.maplog.notification.command.dto.NotificationScanRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class NotificationCommandMapperTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @Autowired
+    private NotificationCommandMapper notificationCommandMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("insertAll maps every entity field and markReadByIds only counts rows that were unread")
+    void insertAllThenMarkRead() {
+        notificationCommandMapper.insertAll(List.of(
+                Notification.create(901L, NotificationType.FRIEND_REQUEST, 7L, "요청"),
+                Notification.create(901L, NotificationType.DIARY_SHARED, 8L, "공유")), NOW);
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT type FROM notifications WHERE user_id = 901 AND is_read = false AND aggregate_count = 1"
+                        + " AND created_at = ? ORDER BY reference_id", String.class, NOW))
+                .containsExactly("FRIEND_REQUEST", "DIARY_SHARED");
+
+        List<Long> ids = notificationCommandMapper.findIdsByUserAndRead(901L, false, 10);
+        assertThat(ids).hasSize(2);
+        assertThat(notificationCommandMapper.markReadByIds(ids.subList(0, 1))).isEqualTo(1);
+        assertThat(notificationCommandMapper.markReadByIds(ids)).isEqualTo(1);
+        assertThat(notificationCommandMapper.deleteByIds(ids)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("findExpired returns only rows with the given read flag created before the cutoff, in keyset order")
+    void findExpired() {
+        jdbcTemplate.update("INSERT INTO notifications (user_id, type, reference_id, message, is_read, aggregate_count, created_at)"
+                        + " VALUES (901, 'FRIEND_REQUEST', 1, 'm', true, 1, ?), (901, 'FRIEND_REQUEST', 2, 'm', true, 1, ?),"
+                        + " (901, 'FRIEND_REQUEST', 3, 'm', false, 1, ?), (901, 'FRIEND_REQUEST', 4, 'm', true, 1, ?)",
+                NOW.minusDays(10), NOW.minusDays(5), NOW.minusDays(10), NOW);
+
+        List<NotificationScanRow> first = notificationCommandMapper.findExpired(true, NOW.minusDays(1), null, 0L, 1);
+        assertThat(first).extracting(NotificationScanRow::getCreatedAt).containsExactly(NOW.minusDays(10));
+        assertThat(first.get(0).isRead()).isTrue();
+
+        NotificationScanRow last = first.get(0);
+        assertThat(notificationCommandMapper.findExpired(true, NOW.minusDays(1), last.getCreatedAt(), last.getId(), 10))
+                .extracting(NotificationScanRow::getCreatedAt).containsExactly(NOW.minusDays(5));
+    }
+}
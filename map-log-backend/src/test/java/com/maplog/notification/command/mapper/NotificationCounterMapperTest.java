@@ -0,0 +1,58 @@
+package com.maplog.notification.command.mapper;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class NotificationCounterMapperTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @Autowired
+    private NotificationCounterMapper notificationCounterMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("addUnread inserts missing counters and increments existing ones in one upsert")
+    void addUnreadUpserts() {
+        notificationCounterMapper.addUnread(List.of(901L), 2, NOW);
+        notificationCounterMapper.addUnread(List.of(901L, 902L), 1, NOW.plusMinutes(1));
+
+        assertThat(unread(901L)).isEqualTo(3L);
+        assertThat(unread(902L)).isEqualTo(1L);
+        assertThat(notificationCounterMapper.findUpdatedSince(NOW.plusMinutes(1), 900L, 10)).containsExactly(901L, 902L);
+    }
+
+    @Test
+    @DisplayName("subtractUnread never goes below zero and reconcile resets to the real unread count")
+    void subtractAndReconcile() {
+        notificationCounterMapper.addUnread(List.of(901L), 1, NOW);
+        notificationCounterMapper.subtractUnread(901L, 5, NOW);
+        assertThat(unread(901L)).isZero();
+
+        jdbcTemplate.update("INSERT INTO notifications (user_id, type, reference_id, message, is_read, aggregate_count, created_at)"
+                + " VALUES (901, 'FRIEND_REQUEST', 1, 'm', false, 1, ?), (901, 'FRIEND_REQUEST', 2, 'm', true, 1, ?)", NOW, NOW);
+        notificationCounterMapper.reconcile(List.of(901L));
+
+        assertThat(unread(901L)).isEqualTo(1L);
+    }
+
+    private long unread(long userId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT unread_count FROM notification_counters WHERE user_id = ?", Long.class, userId);
+    }
+}
@@ -4,10 +4,11 @@ import com.maplog.common.exception.BusinessException;
 import com.maplog.common.exception.ErrorCode;
 import com.maplog.notification.command.domain.Notification;
 import com.maplog.notification.command.domain.NotificationType;
+import com.maplog.notification.command.mapper.NotificationCommandMapper;
+import com.maplog.notification.command.mapper.NotificationCounterMapper;
 import com.maplog.notification.command.repository.NotificationCommandRepository;
-import com.maplog.sse.SseEmitterService;
-import com.maplog.user.command.domain.User;
-import com.maplog.user.command.repository.UserCommandRepository;
+import com.maplog.notification.query.service.UnreadCountService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -18,17 +19,19 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,10 +44,19 @@ class NotificationCommandServiceTest {
     private NotificationCommandRepository notificationCommandRepository;
 
     @Mock
-    private UserCommandRepository userCommandRepository;
+    private NotificationCommandMapper notificationCommandMapper;
 
     @Mock
-    private SseEmitterService sseEmitterService;
+    private NotificationCounterMapper notificationCounterMapper;
+
+    @Mock
+    private NotificationPushCoalescer notificationPushCoalescer;
+
+    @Mock
+    private NotificationBulkWriter notificationBulkWriter;
+
+    @Mock
+    private UnreadCountService unreadCountService;
 
     @Nested
     @DisplayName("create notification tests")
@@ -55,23 +67,17 @@ class NotificationCommandServiceTest {
         void createFriendRequestNotificationSuccess() {
             notificationCommandService.createFriendRequestNotification(2L, 100L, "alice");
 
-            ArgumentCaptor<Notification> notificationCaptor = ArgumentCaptor.forClass(Notification.class);
-            verify(notificationCommandRepository).save(notificationCaptor.capture());
-
-            Notification saved = notificationCaptor.getValue();
-            assertThat(saved.getUserId()).isEqualTo(2L);
-            assertThat(saved.getType()).isEqualTo(NotificationType.FRIEND_REQUEST);
-            assertThat(saved.getReferenceId()).isEqualTo(100L);
-            assertThat(saved.isRead()).isFalse();
-            assertThat(saved.getMessage()).contains("alice");
-
-            ArgumentCaptor<Object> payloadCaptor = ArgumentCaptor.forClass(Object.class);
-            verify(sseEmitterService).send(eq(2L), eq("notification"), payloadCaptor.capture());
-
-            assertThat(payloadCaptor.getValue()).isInstanceOf(Map.class);
-            Map<?, ?> payload = (Map<?, ?>) payloadCaptor.getValue();
-            assertThat(payload.get("type")).isEqualTo("FRIEND_REQUEST");
-            assertThat(String.valueOf(payload.get("message"))).contains("alice");
+            List<Notification> saved = captureSavedNotifications();
+            assertThat(saved).hasSize(1);
+            assertThat(saved.get(0).getUserId()).isEqualTo(2L);
+            assertThat(saved.get(0).getType()).isEqualTo(NotificationType.FRIEND_REQUEST);
+            assertThat(saved.get(0).getReferenceId()).isEqualTo(100L);
+            assertThat(saved.get(0).isRead()).isFalse();
+            assertThat(saved.get(0).getMessage()).contains("alice");
+
+            ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
+            verify(notificationPushCoalescer).pushAll(eq(List.of(2L)), eq(NotificationType.FRIEND_REQUEST), messageCaptor.capture());
+            assertThat(messageCaptor.getValue()).contains("alice");
         }
 
         @Test
@@ -79,21 +85,15 @@ class NotificationCommandServiceTest {
         void createFriendAcceptedNotificationSuccess() {
             notificationCommandService.createFriendAcceptedNotification(1L, 200L, "bob");
 
-            ArgumentCaptor<Notification> notificationCaptor = ArgumentCaptor.forClass(Notification.class);
-            verify(notificationCommandRepository).save(notificationCaptor.capture());
+            List<Notification> saved = captureSavedNotifications();
+            assertThat(saved.get(0).getUserId()).isEqualTo(1L);
+            assertThat(saved.get(0).getType()).isEqualTo(NotificationType.FRIEND_ACCEPTED);
+            assertThat(saved.get(0).getReferenceId()).isEqualTo(200L);
+            assertThat(saved.get(0).getMessage()).contains("bob");
 
-            Notification saved = notificationCaptor.getValue();
-            assertThat(saved.getUserId()).isEqualTo(1L);
-            assertThat(saved.getType()).isEqualTo(NotificationType.FRIEND_ACCEPTED);
-            assertThat(saved.getReferenceId()).isEqualTo(200L);
-            assertThat(saved.getMessage()).contains("bob");
-
-            ArgumentCaptor<Object> payloadCaptor = ArgumentCaptor.forClass(Object.class);
-            verify(sseEmitterService).send(eq(1L), eq("notification"), payloadCaptor.capture());
-
-            Map<?, ?> payload = (Map<?, ?>) payloadCaptor.getValue();
-            assertThat(payload.get("type")).isEqualTo("FRIEND_ACCEPTED");
-            assertThat(String.valueOf(payload.get("message"))).contains("bob");
+            ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
+            verify(notificationPushCoalescer).pushAll(eq(List.of(1L)), eq(NotificationType.FRIEND_ACCEPTED), messageCaptor.capture());
+            assertThat(messageCaptor.getValue()).contains("bob");
         }
 
         @Test
@@ -101,21 +101,79 @@ class NotificationCommandServiceTest {
         void createDiarySharedNotificationSuccess() {
             notificationCommandService.createDiarySharedNotification(3L, 300L, "trip", "carol");
 
-            ArgumentCaptor<Notification> notificationCaptor = ArgumentCaptor.forClass(Notification.class);
-            verify(notificationCommandRepository).save(notificationCaptor.capture());
+            List<Notification> saved = captureSavedNotifications();
+            assertThat(saved).hasSize(1);
+            assertThat(saved.get(0).getUserId()).isEqualTo(3L);
+            assertThat(saved.get(0).getType()).isEqualTo(NotificationType.DIARY_SHARED);
+            assertThat(saved.get(0).getReferenceId()).isEqualTo(300L);
+            assertThat(saved.get(0).getMessage()).contains("trip", "carol");
+
+            ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
+            verify(notificationPushCoalescer).pushAll(eq(List.of(3L)), eq(NotificationType.DIARY_SHARED), messageCaptor.capture());
+            assertThat(messageCaptor.getValue()).contains("trip", "carol");
+        }
+
+        @Test
+        @DisplayName("diary shared with several friends saves a row each and pushes once for all receivers")
+        void createDiarySharedNotificationsForManyReceivers() {
+            notificationCommandService.createDiarySharedNotifications(List.of(3L, 4L, 5L), 300L, "trip", "carol");
+
+            List<Notification> saved = captureSavedNotifications();
+            assertThat(saved).extracting(Notification::getUserId).containsExactly(3L, 4L, 5L);
+            assertThat(saved).extracting(Notification::getType).containsOnly(NotificationType.DIARY_SHARED);
+
+            verify(notificationPushCoalescer).pushAll(eq(List.of(3L, 4L, 5L)), eq(NotificationType.DIARY_SHARED), any());
+        }
 
-            Notification saved = notificationCaptor.getValue();
-            assertThat(saved.getUserId()).isEqualTo(3L);
-            assertThat(saved.getType()).isEqualTo(NotificationType.DIARY_SHARED);
-            assertThat(saved.getReferenceId()).isEqualTo(300L);
-            assertThat(saved.getMessage()).contains("trip", "carol");
+        @Test
+        @DisplayName("with an aggregate window, a recent unread row of the same type is updated instead of inserting")
+        void aggregatesRecentUnreadRow() {
+            ReflectionTestUtils.setField(notificationCommandService, "aggregateWindowMillis", 60_000L);
+            Notification recent = Notification.create(3L, NotificationType.DIARY_SHARED, 299L, "first");
+            given(notificationCommandRepository.findAggregatable(eq(List.of(3L, 4L)), eq(NotificationType.DIARY_SHARED), any()))
+                    .willReturn(List.of(recent));
+
+            notificationCommandService.createDiarySharedNotifications(List.of(3L, 4L), 300L, "trip", "carol");
+
+            assertThat(recent.getAggregateCount()).isEqualTo(2);
+            assertThat(recent.getReferenceId()).isEqualTo(300L);
+            assertThat(recent.getMessage()).isEqualTo(NotificationType.DIARY_SHARED.summaryMessage(2));
+            assertThat(captureSavedNotifications()).extracting(Notification::getUserId).containsExactly(4L);
+            // 합쳐진 알림은 이미 읽지 않은 상태이므로 새 행만 센다.
+            verify(notificationCounterMapper).addUnread(eq(List.of(4L)), eq(1L), any());
+        }
+
+        @Test
+        @DisplayName("new notifications bump the unread counters of their receivers in one statement")
+        void incrementsUnreadCounters() {
+            notificationCommandService.createDiarySharedNotifications(List.of(3L, 4L, 5L), 300L, "trip", "carol");
 
-            ArgumentCaptor<Object> payloadCaptor = ArgumentCaptor.forClass(Object.class);
-            verify(sseEmitterService).send(eq(3L), eq("notification"), payloadCaptor.capture());
+            verify(notificationCounterMapper).addUnread(eq(List.of(3L, 4L, 5L)), eq(1L), any());
+            verify(unreadCountService).evictAfterCommit(List.of(3L, 4L, 5L));
+        }
 
-            Map<?, ?> payload = (Map<?, ?>) payloadCaptor.getValue();
-            assertThat(payload.get("type")).isEqualTo("DIARY_SHARED");
-            assertThat(String.valueOf(payload.get("message"))).contains("trip", "carol");
+        @SuppressWarnings("unchecked")
+        private List<Notification> captureSavedNotifications() {
+            ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+            verify(notificationCommandMapper).insertAll(captor.capture(), any());
+            return captor.getValue();
+        }
+    }
+
+    @Nested
+    @DisplayName("bulk insert tests")
+    class BulkInsertTest {
+
+        @Test
+        @DisplayName("many receivers are written as chunked multi-row inserts")
+        void insertsInChunks() {
+            List<Long> receiverIds = LongStream.rangeClosed(1, 1_200).boxed().toList();
+
+            notificationCommandService.createDiarySharedNotifications(receiverIds, 300L, "trip", "carol");
+
+            verify(notificationCommandMapper, times(3)).insertAll(anyList(), any());
+            verify(notificationCounterMapper, times(3)).addUnread(anyList(), eq(1L), any());
+            verify(notificationCommandRepository, never()).saveAll(anyList());
         }
     }
 
@@ -126,28 +184,38 @@ class NotificationCommandServiceTest {
         @Test
         @DisplayName("owner can mark notification as read")
         void markAsReadSuccess() {
-            String email = "user@test.com";
-            User user = createUser(1L, email);
+            Long userId = 1L;
             Notification notification = Notification.create(1L, NotificationType.FRIEND_REQUEST, 10L, "msg");
 
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(user));
             given(notificationCommandRepository.findById(10L)).willReturn(Optional.of(notification));
 
-            notificationCommandService.markAsRead(email, 10L);
+            notificationCommandService.markAsRead(userId, 10L);
 
             assertThat(notification.isRead()).isTrue();
+            verify(notificationCounterMapper).subtractUnread(eq(1L), eq(1L), any());
+            verify(notificationPushCoalescer).pushUnreadCount(1L);
+        }
+
+        @Test
+        @DisplayName("marking an already read notification leaves the unread counter alone")
+        void markAsReadTwiceKeepsCounter() {
+            Notification notification = Notification.create(1L, NotificationType.FRIEND_REQUEST, 10L, "msg");
+            notification.markAsRead();
+            given(notificationCommandRepository.findById(10L)).willReturn(Optional.of(notification));
+
+            notificationCommandService.markAsRead(1L, 10L);
+
+            verify(notificationCounterMapper, never()).subtractUnread(anyLong(), anyLong(), any());
         }
 
         @Test
         @DisplayName("throws when notification does not exist")
         void markAsReadFailNotFound() {
-            String email = "user@test.com";
-            User user = createUser(1L, email);
+            Long userId = 1L;
 
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(user));
             given(notificationCommandRepository.findById(999L)).willReturn(Optional.empty());
 
-            assertThatThrownBy(() -> notificationCommandService.markAsRead(email, 999L))
+            assertThatThrownBy(() -> notificationCommandService.markAsRead(userId, 999L))
                     .isInstanceOf(BusinessException.class)
                     .hasFieldOrPropertyWithValue("errorCode", ErrorCode.NOTIFICATION_NOT_FOUND);
         }
@@ -155,14 +223,12 @@ class NotificationCommandServiceTest {
         @Test
         @DisplayName("throws when non-owner tries to mark notification")
         void markAsReadFailForbidden() {
-            String email = "user@test.com";
-            User user = createUser(1L, email);
+            Long userId = 1L;
             Notification notification = Notification.create(2L, NotificationType.DIARY_SHARED, 11L, "msg");
 
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(user));
             given(notificationCommandRepository.findById(11L)).willReturn(Optional.of(notification));
 
-            assertThatThrownBy(() -> notificationCommandService.markAsRead(email, 11L))
+            assertThatThrownBy(() -> notificationCommandService.markAsRead(userId, 11L))
                     .isInstanceOf(BusinessException.class)
                     .hasFieldOrPropertyWithValue("errorCode", ErrorCode.FORBIDDEN);
         }
@@ -172,58 +238,47 @@ class NotificationCommandServiceTest {
     @DisplayName("bulk operation tests")
     class BulkOperationTest {
 
+        @BeforeEach
+        void setChunkSize() {
+            ReflectionTestUtils.setField(notificationCommandService, "bulkChunkSize", 2);
+        }
+
         @Test
-        @DisplayName("markAllAsRead delegates to repository")
+        @DisplayName("markAllAsRead works in bounded chunks until a short chunk and then pushes the badge once")
         void markAllAsReadSuccess() {
-            String email = "user@test.com";
-            User user = createUser(5L, email);
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(user));
+            Long userId = 5L;
+            given(notificationBulkWriter.markReadChunk(5L, 2)).willReturn(2, 2, 1);
 
-            notificationCommandService.markAllAsRead(email);
+            notificationCommandService.markAllAsRead(userId);
 
-            verify(notificationCommandRepository).markAllAsRead(5L);
+            verify(notificationBulkWriter, times(3)).markReadChunk(5L, 2);
+            verify(notificationPushCoalescer).pushUnreadCount(5L);
         }
 
         @Test
-        @DisplayName("deleteAll with null filter deletes all notifications")
+        @DisplayName("deleteAll with null filter deletes unread and then read notifications in chunks")
         void deleteAllSuccessWithoutFilter() {
-            String email = "user@test.com";
-            User user = createUser(6L, email);
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(user));
+            Long userId = 6L;
+            given(notificationBulkWriter.deleteChunk(6L, false, 2)).willReturn(2, 0);
+            given(notificationBulkWriter.deleteChunk(6L, true, 2)).willReturn(1);
 
-            notificationCommandService.deleteAll(email, null);
+            notificationCommandService.deleteAll(userId, null);
 
-            verify(notificationCommandRepository).deleteAllByUserId(6L);
-            verify(notificationCommandRepository, never()).deleteByUserIdAndRead(anyLong(), anyBoolean());
+            verify(notificationBulkWriter, times(2)).deleteChunk(6L, false, 2);
+            verify(notificationBulkWriter).deleteChunk(6L, true, 2);
+            verify(notificationPushCoalescer).pushUnreadCount(6L);
         }
 
         @Test
-        @DisplayName("deleteAll with read filter delegates to filtered delete")
+        @DisplayName("deleteAll with read filter only deletes read notifications and leaves the badge alone")
         void deleteAllSuccessWithFilter() {
-            String email = "user@test.com";
-            User user = createUser(7L, email);
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull(email)).willReturn(Optional.of(user));
+            Long userId = 7L;
 
-            notificationCommandService.deleteAll(email, true);
+            notificationCommandService.deleteAll(userId, true);
 
-            verify(notificationCommandRepository).deleteByUserIdAndRead(7L, true);
-            verify(notificationCommandRepository, never()).deleteAllByUserId(anyLong());
+            verify(notificationBulkWriter).deleteChunk(7L, true, 2);
+            verify(notificationBulkWriter, never()).deleteChunk(7L, false, 2);
+            verify(notificationPushCoalescer, never()).pushUnreadCount(anyLong());
         }
-
-        @Test
-        @DisplayName("throws when user does not exist")
-        void markAllAsReadFailUserNotFound() {
-            given(userCommandRepository.findByEmailAndDeletedAtIsNull("none@test.com")).willReturn(Optional.empty());
-
-            assertThatThrownBy(() -> notificationCommandService.markAllAsRead("none@test.com"))
-                    .isInstanceOf(BusinessException.class)
-                    .hasFieldOrPropertyWithValue("errorCode", ErrorCode.USER_NOT_FOUND);
-        }
-    }
-
-    private User createUser(Long id, String email) {
-        User user = User.create(email, "encoded", "nick");
-        ReflectionTestUtils.setField(user, "id", id);
-        return user;
     }
 }
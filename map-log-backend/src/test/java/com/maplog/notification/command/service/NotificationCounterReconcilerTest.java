@@ -0,0 +1,86 @@
+package com.maplog.notification.command.service;
+
+import com.maplog.common.lock.JobLockService;
+import com.maplog.notification.command.mapper.NotificationCounterMapper;
+import com.maplog.notification.query.service.UnreadCountService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationCounterReconcilerTest {
+
+    @Mock
+    private NotificationCounterMapper notificationCounterMapper;
+
+    @Mock
+    private UnreadCountService unreadCountService;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 1, 0, 0);
+
+    @Test
+    @DisplayName("recounts updated counters in user_id batches and evicts them from the cache")
+    void reconcilesInBatches() {
+        NotificationCounterReconciler reconciler = reconciler(2);
+        LocalDateTime since = NOW.minusMinutes(10);
+        given(notificationCounterMapper.findUpdatedSince(since, 0L, 2)).willReturn(List.of(1L, 2L));
+        given(notificationCounterMapper.findUpdatedSince(since, 2L, 2)).willReturn(List.of(5L));
+        given(notificationCounterMapper.findUpdatedSince(since, 5L, 2)).willReturn(List.of());
+
+        assertThat(reconciler.reconcile(NOW)).isEqualTo(3);
+
+        verify(notificationCounterMapper).reconcile(List.of(1L, 2L));
+        verify(notificationCounterMapper).reconcile(List.of(5L));
+        verify(unreadCountService).evict(List.of(1L, 2L));
+        verify(unreadCountService).evict(List.of(5L));
+    }
+
+    @Test
+    @DisplayName("later runs look back one interval before this pod's previous run")
+    void overlapsPreviousRun() {
+        NotificationCounterReconciler reconciler = reconciler(100);
+        given(notificationCounterMapper.findUpdatedSince(any(), anyLong(), anyInt())).willReturn(List.of());
+
+        reconciler.reconcile(NOW);
+        reconciler.reconcile(NOW.plusMinutes(5));
+
+        verify(notificationCounterMapper).findUpdatedSince(NOW.minusMinutes(5), 0L, 100);
+    }
+
+    @Test
+    @DisplayName("the scheduled run is skipped on pods that do not hold the job lock")
+    void skipsWithoutLock() {
+        NotificationCounterReconciler reconciler = reconciler(100);
+        given(jobLockService.tryAcquire(eq(NotificationCounterReconciler.LOCK_NAME), any(Duration.class)))
+                .willReturn(false);
+
+        reconciler.reconcileScheduled();
+
+        verify(notificationCounterMapper, never()).findUpdatedSince(any(), anyLong(), anyInt());
+        verify(notificationCounterMapper, never()).reconcile(anyCollection());
+    }
+
+    private NotificationCounterReconciler reconciler(int batchSize) {
+        return new NotificationCounterReconciler(notificationCounterMapper, unreadCountService, jobLockService,
+                300_000L, batchSize);
+    }
+}
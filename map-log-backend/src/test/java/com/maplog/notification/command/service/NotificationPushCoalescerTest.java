@@ -0,0 +1,175 @@
+package com.maplog.notification.command.service;
+
+import com.maplog.notification.command.domain.NotificationType;
+import com.maplog.notification.query.dto.UnreadCountRow;
+import com.maplog.notification.query.mapper.NotificationQueryMapper;
+import com.maplog.notification.query.service.UnreadCountService;
+import com.maplog.sse.SseEmitterService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationPushCoalescerTest {
+
+    @Mock
+    private SseEmitterService sseEmitterService;
+
+    @Mock
+    private UnreadCountService unreadCountService;
+
+    @Mock
+    private NotificationQueryMapper notificationQueryMapper;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("a burst of the same type for one receiver becomes a single summary push")
+    void coalescesBurstIntoSummary() {
+        NotificationPushCoalescer coalescer = new NotificationPushCoalescer(sseEmitterService, unreadCountService, meterRegistry, 1_000L);
+
+        coalescer.push(1L, NotificationType.DIARY_SHARED, "a");
+        coalescer.push(1L, NotificationType.DIARY_SHARED, "b");
+        coalescer.push(1L, NotificationType.DIARY_SHARED, "c");
+        coalescer.flushDue(System.nanoTime());
+        verify(sseEmitterService, never()).sendToAll(anyCollection(), any(), any());
+
+        coalescer.flushDue(System.nanoTime() + TimeUnit.SECONDS.toNanos(1));
+
+        Map<?, ?> payload = capturePayload(List.of(1L));
+        assertThat(payload.get("message")).isEqualTo(NotificationType.DIARY_SHARED.summaryMessage(3));
+        assertThat(payload.get("count")).isEqualTo(3);
+        assertThat(coalescer.pendingCount()).isZero();
+        assertThat(meterRegistry.get("notification.push").tag("result", "coalesced").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("a single event keeps its original message, and receivers with the same content are sent together")
+    void groupsIdenticalPushes() {
+        NotificationPushCoalescer coalescer = new NotificationPushCoalescer(sseEmitterService, unreadCountService, meterRegistry, 1_000L);
+
+        coalescer.pushAll(List.of(1L, 2L), NotificationType.DIARY_SHARED, "shared");
+        coalescer.flushDue(System.nanoTime() + TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(capturePayload(List.of(1L, 2L)).get("message")).isEqualTo("shared");
+    }
+
+    @Test
+    @DisplayName("inside a transaction nothing is queued until commit, and rolled back pushes are dropped")
+    void waitsForCommit() {
+        NotificationPushCoalescer coalescer = new NotificationPushCoalescer(sseEmitterService, unreadCountService, meterRegistry, 1_000L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            coalescer.push(1L, NotificationType.FRIEND_REQUEST, "a");
+            assertThat(coalescer.pendingCount()).isZero();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(coalescer.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("a zero window sends immediately")
+    void zeroWindowSendsImmediately() {
+        NotificationPushCoalescer coalescer = new NotificationPushCoalescer(sseEmitterService, unreadCountService, meterRegistry, 0L);
+        given(unreadCountService.getCurrentUnreadCounts(List.of(1L))).willReturn(Map.of(1L, 3L));
+
+        coalescer.push(1L, NotificationType.FRIEND_ACCEPTED, "a");
+
+        Map<?, ?> payload = capturePayload(List.of(1L));
+        assertThat(payload.get("message")).isEqualTo("a");
+        assertThat(payload.get("unreadCount")).isEqualTo(3L);
+        verify(unreadCountService, never()).getUnreadCounts(anyCollection());
+    }
+
+    @Test
+    @DisplayName("each push carries the receiver's unread count and receivers with different counts are sent separately")
+    void carriesUnreadCount() {
+        NotificationPushCoalescer coalescer = new NotificationPushCoalescer(sseEmitterService, unreadCountService, meterRegistry, 1_000L);
+        given(unreadCountService.getUnreadCounts(anyCollection())).willReturn(Map.of(1L, 4L, 2L, 4L, 3L, 9L));
+
+        coalescer.pushAll(List.of(1L, 2L, 3L), NotificationType.DIARY_SHARED, "shared");
+        coalescer.flushDue(System.nanoTime() + TimeUnit.SECONDS.toNanos(1));
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(sseEmitterService).sendToAll(
+                argThat(receivers -> receivers.size() == 2 && receivers.containsAll(List.of(1L, 2L))),
+                eq("notification"), payload.capture());
+        assertThat(((Map<?, ?>) payload.getValue()).get("unreadCount")).isEqualTo(4L);
+        verify(sseEmitterService).sendToAll(eq(List.of(3L)), eq("notification"), any());
+    }
+
+    @Test
+    @DisplayName("a badge push sends only the current unread count")
+    void pushesBadge() {
+        NotificationPushCoalescer coalescer = new NotificationPushCoalescer(sseEmitterService, unreadCountService, meterRegistry, 1_000L);
+        given(unreadCountService.getCurrentUnreadCount(1L)).willReturn(2L);
+
+        coalescer.pushUnreadCount(1L);
+
+        verify(sseEmitterService).send(1L, "badge", Map.of("unreadCount", 2L));
+    }
+
+    @Test
+    @DisplayName("a badge pushed inside the write transaction carries the database value, not the warm cached one")
+    void badgeIgnoresWarmCache() {
+        UnreadCountService realService = new UnreadCountService(notificationQueryMapper, 60_000L, 100);
+        NotificationPushCoalescer coalescer = new NotificationPushCoalescer(sseEmitterService, realService, meterRegistry, 0L);
+        given(notificationQueryMapper.findUnreadCounters(List.of(1L))).willReturn(List.of(row(1L, 4L)));
+        realService.getUnreadCount(1L);
+
+        given(notificationQueryMapper.findUnreadCounters(List.of(1L))).willReturn(List.of(row(1L, 3L)));
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            coalescer.pushUnreadCount(1L);
+            coalescer.push(1L, NotificationType.FRIEND_ACCEPTED, "a");
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(sseEmitterService).send(1L, "badge", Map.of("unreadCount", 3L));
+        assertThat(capturePayload(List.of(1L)).get("unreadCount")).isEqualTo(3L);
+    }
+
+    private static UnreadCountRow row(Long userId, long unreadCount) {
+        UnreadCountRow row = new UnreadCountRow();
+        row.setUserId(userId);
+        row.setUnreadCount(unreadCount);
+        return row;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<?, ?> capturePayload(List<Long> receiverIds) {
+        ArgumentCaptor<Collection<Long>> receivers = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(sseEmitterService).sendToAll(receivers.capture(), eq("notification"), payload.capture());
+        assertThat(receivers.getValue()).containsExactlyInAnyOrderElementsOf(receiverIds);
+        return (Map<?, ?>) payload.getValue();
+    }
+}
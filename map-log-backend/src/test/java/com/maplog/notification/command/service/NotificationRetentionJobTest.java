@@ -0,0 +1,108 @@
+package com.maplog.notification.command.service;
+
+import com.maplog.common.lock.JobLockService;
+import com.maplog.notification.command.dto.NotificationScanRow;
+import com.maplog.notification.command.mapper.NotificationCommandMapper;
+import com.maplog.notification.query.service.UnreadCountService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRetentionJobTest {
+
+    @Mock
+    private NotificationCommandMapper notificationCommandMapper;
+
+    @Mock
+    private NotificationBulkWriter notificationBulkWriter;
+
+    @Mock
+    private UnreadCountService unreadCountService;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 1, 0, 0);
+
+    @Test
+    @DisplayName("reads only rows past each cutoff in (created_at, id) chunks and deletes them")
+    @SuppressWarnings("unchecked")
+    void purgesExpiredInChunks() {
+        NotificationRetentionJob job = job(30, 365, 2);
+        LocalDateTime readCutoff = NOW.minusDays(30);
+        LocalDateTime unreadCutoff = NOW.minusDays(365);
+        given(notificationCommandMapper.findExpired(true, readCutoff, null, 0L, 2)).willReturn(List.of(
+                row(1L, 10L, true, NOW.minusDays(400)),
+                row(3L, 10L, true, NOW.minusDays(60))));
+        given(notificationCommandMapper.findExpired(true, readCutoff, NOW.minusDays(60), 3L, 2)).willReturn(List.of(
+                row(5L, 12L, true, NOW.minusDays(40))));
+        given(notificationCommandMapper.findExpired(false, unreadCutoff, null, 0L, 2)).willReturn(List.of(
+                row(2L, 11L, false, NOW.minusDays(400))));
+        given(notificationBulkWriter.deleteExpired(anyCollection())).willReturn(2, 1, 1);
+
+        int deleted = job.purge(NOW);
+
+        ArgumentCaptor<Collection<NotificationScanRow>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(notificationBulkWriter, times(3)).deleteExpired(captor.capture());
+        assertThat(captor.getAllValues()).extracting(rows -> rows.stream().map(NotificationScanRow::getId).toList())
+                .containsExactly(List.of(1L, 3L), List.of(5L), List.of(2L));
+        verify(unreadCountService).evict(Set.of(11L));
+        assertThat(deleted).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("does nothing when both retention periods are disabled")
+    void disabled() {
+        NotificationRetentionJob job = job(0, 0, 100);
+
+        assertThat(job.purge(NOW)).isZero();
+        verify(notificationCommandMapper, never()).findExpired(anyBoolean(), any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("the scheduled run is skipped on pods that do not hold the job lock")
+    void skipsWithoutLock() {
+        NotificationRetentionJob job = job(30, 365, 100);
+        given(jobLockService.tryAcquire(eq(NotificationRetentionJob.LOCK_NAME), any(Duration.class))).willReturn(false);
+
+        job.purge();
+
+        verify(notificationCommandMapper, never()).findExpired(anyBoolean(), any(), any(), anyLong(), anyInt());
+    }
+
+    private NotificationRetentionJob job(int readDays, int unreadDays, int chunkSize) {
+        return new NotificationRetentionJob(notificationCommandMapper, notificationBulkWriter, unreadCountService,
+                jobLockService, readDays, unreadDays, chunkSize, 3_600_000L);
+    }
+
+    private static NotificationScanRow row(Long id, Long userId, boolean read, LocalDateTime createdAt) {
+        NotificationScanRow row = new NotificationScanRow();
+        row.setId(id);
+        row.setUserId(userId);
+        row.setRead(read);
+        row.setCreatedAt(createdAt);
+        return row;
+    }
+}
@@ -0,0 +1,82 @@
+package com.maplog.notification.query.service;
+
+import com.maplog.common.exception.BusinessException;
+import com.maplog.common.exception.ErrorCode;
+import com.maplog.common.response.CursorPage;
+import com.maplog.common.util.CursorToken;
+import com.maplog.notification.query.dto.NotificationResponse;
+import com.maplog.notification.query.mapper.NotificationQueryMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationQueryServiceTest {
+
+    @InjectMocks
+    private NotificationQueryService notificationQueryService;
+
+    @Mock
+    private NotificationQueryMapper notificationQueryMapper;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0, 0, 123_456_000);
+
+    @Test
+    @DisplayName("reads one extra row to decide hasNext and builds the cursor from the last returned row, without a COUNT")
+    void firstPage() {
+        given(notificationQueryMapper.findNotificationsBefore(1L, null, null, null, 3))
+                .willReturn(List.of(row(30L, NOW), row(20L, NOW), row(10L, NOW.minusSeconds(1))));
+
+        CursorPage<NotificationResponse> page = notificationQueryService.getNotificationsByCursor(1L, null, null, 2);
+
+        assertThat(page.content()).extracting(NotificationResponse::getId).containsExactly(30L, 20L);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(CursorToken.decode(page.nextCursor())).isEqualTo(new CursorToken(NOW, 20L));
+        verify(notificationQueryMapper, never()).countNotifications(anyLong(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("a cursor continues strictly after its (created_at, id) and the last page has no next cursor")
+    void nextPage() {
+        String cursor = new CursorToken(NOW, 20L).encode();
+        given(notificationQueryMapper.findNotificationsBefore(1L, false, NOW, 20L, 3))
+                .willReturn(List.of(row(10L, NOW.minusSeconds(1))));
+
+        CursorPage<NotificationResponse> page = notificationQueryService.getNotificationsByCursor(1L, false, cursor, 2);
+
+        assertThat(page.content()).extracting(NotificationResponse::getId).containsExactly(10L);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("a malformed cursor is rejected as a bad request")
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> notificationQueryService.getNotificationsByCursor(1L, null, "not-a-cursor", 20))
+                .isInstanceOf(BusinessException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_CURSOR);
+        verify(notificationQueryMapper, never()).findNotificationsBefore(any(), any(), any(), any(), any(Integer.class));
+    }
+
+    private static NotificationResponse row(Long id, LocalDateTime createdAt) {
+        NotificationResponse response = new NotificationResponse();
+        response.setId(id);
+        response.setCreatedAt(createdAt);
+        return response;
+    }
+}
@@ -0,0 +1,97 @@
+package com.maplog.notification.query.service;
+
+import com.maplog.notification.query.dto.UnreadCountRow;
+import com.maplog.notification.query.mapper.NotificationQueryMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadCountServiceTest {
+
+    @Mock
+    private NotificationQueryMapper notificationQueryMapper;
+
+    private UnreadCountService unreadCountService;
+
+    @BeforeEach
+    void setUp() {
+        unreadCountService = new UnreadCountService(notificationQueryMapper, 60_000L, 100);
+    }
+
+    @Test
+    @DisplayName("reads counters, falls back to COUNT(*) only for users without a counter row, and caches the result")
+    void readsCountersThenCaches() {
+        given(notificationQueryMapper.findUnreadCounters(List.of(1L, 2L, 3L))).willReturn(List.of(row(1L, 4L)));
+        given(notificationQueryMapper.countUnreadByUsers(List.of(2L, 3L))).willReturn(List.of(row(2L, 1L)));
+
+        assertThat(unreadCountService.getUnreadCounts(List.of(1L, 2L, 3L)))
+                .containsEntry(1L, 4L).containsEntry(2L, 1L).containsEntry(3L, 0L);
+        assertThat(unreadCountService.getUnreadCount(1L)).isEqualTo(4L);
+
+        verify(notificationQueryMapper, times(1)).findUnreadCounters(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    @DisplayName("evictAfterCommit drops the cached value only once the transaction commits")
+    void evictsAfterCommit() {
+        given(notificationQueryMapper.findUnreadCounters(List.of(1L))).willReturn(List.of(row(1L, 4L)));
+        unreadCountService.getUnreadCount(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            unreadCountService.evictAfterCommit(List.of(1L));
+            assertThat(unreadCountService.getUnreadCount(1L)).isEqualTo(4L);
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        given(notificationQueryMapper.findUnreadCounters(List.of(1L))).willReturn(List.of(row(1L, 5L)));
+        assertThat(unreadCountService.getUnreadCount(1L)).isEqualTo(5L);
+        verify(notificationQueryMapper, never()).countUnreadByUsers(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("getCurrentUnreadCount reads the database inside a write transaction even when the cache is warm")
+    void currentCountBypassesWarmCache() {
+        given(notificationQueryMapper.findUnreadCounters(List.of(1L))).willReturn(List.of(row(1L, 4L)));
+        unreadCountService.getUnreadCount(1L);
+
+        given(notificationQueryMapper.findUnreadCounters(List.of(1L))).willReturn(List.of(row(1L, 5L)));
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThat(unreadCountService.getUnreadCount(1L)).isEqualTo(4L);
+            assertThat(unreadCountService.getCurrentUnreadCount(1L)).isEqualTo(5L);
+            assertThat(unreadCountService.getCurrentUnreadCounts(List.of(1L))).containsEntry(1L, 5L);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // 커밋 전 값은 캐시에 넣지 않는다. (커밋 후 evictAfterCommit이 비움)
+        assertThat(unreadCountService.getUnreadCount(1L)).isEqualTo(4L);
+    }
+
+    private static UnreadCountRow row(Long userId, long unreadCount) {
+        UnreadCountRow row = new UnreadCountRow();
+        row.setUserId(userId);
+        row.setUnreadCount(unreadCount);
+        return row;
+    }
+}
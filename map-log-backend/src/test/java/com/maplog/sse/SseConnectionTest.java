@@ -0,0 +1,132 @@
+package com.maplog.sse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SseConnectionTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SseConnection.Metrics metrics = new SseConnection.Metrics(
+            new AtomicInteger(),
+            Counter.builder("dropped").register(meterRegistry),
+            Counter.builder("coalesced").register(meterRegistry),
+            Counter.builder("writeFailures").register(meterRegistry),
+            Timer.builder("write").register(meterRegistry));
+    private final List<Runnable> writers = new ArrayList<>();
+
+    @Test
+    @DisplayName("enqueue only schedules a single writer and never writes on the caller thread")
+    void enqueueDoesNotWrite() {
+        SseConnection connection = connection(4, SseOverflowPolicy.DROP_OLDEST);
+
+        connection.enqueue(event("notification", 1));
+        connection.enqueue(event("notification", 2));
+
+        assertThat(writers).hasSize(1);
+        assertThat(connection.pending()).hasSize(2);
+        assertThat(metrics.queued().get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST discards the head of a full queue")
+    void dropOldest() {
+        SseConnection connection = connection(2, SseOverflowPolicy.DROP_OLDEST);
+
+        connection.enqueue(event("notification", 1));
+        connection.enqueue(event("badge", 2));
+        connection.enqueue(event("notification", 3));
+
+        assertThat(connection.pending()).extracting(SseEvent::payload).containsExactly("2", "3");
+        assertThat(metrics.dropped().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("COALESCE replaces the latest queued event with the same name")
+    void coalesce() {
+        SseConnection connection = connection(2, SseOverflowPolicy.COALESCE);
+
+        connection.enqueue(event("notification", 1));
+        connection.enqueue(event("badge", 2));
+        connection.enqueue(event("badge", 3));
+
+        assertThat(connection.pending()).extracting(SseEvent::payload).containsExactly("1", "3");
+        assertThat(metrics.coalesced().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("a failed write closes the connection and releases queued events")
+    void closesOnWriteFailure() {
+        List<SseConnection> closed = new ArrayList<>();
+        SseEmitter emitter = new SseEmitter();
+        emitter.complete();
+        SseConnection connection = new SseConnection(1L, emitter, 4, SseOverflowPolicy.DROP_OLDEST,
+                writers::add, metrics, closed::add);
+
+        connection.enqueue(event("notification", 1));
+        connection.enqueue(event("notification", 2));
+        writers.get(0).run();
+
+        assertThat(closed).containsExactly(connection);
+        assertThat(connection.isClosed()).isTrue();
+        assertThat(metrics.writeFailures().count()).isEqualTo(1.0);
+        assertThat(metrics.queued().get()).isZero();
+    }
+
+    @Test
+    @DisplayName("finish sends the pending events and the reconnect hint, then completes the emitter")
+    void finishCompletesAfterDrain() {
+        SseEmitter emitter = new SseEmitter();
+        SseConnection connection = new SseConnection(1L, emitter, 4, SseOverflowPolicy.DROP_OLDEST,
+                writers::add, metrics, c -> {});
+
+        connection.enqueue(event("notification", 1));
+        connection.finish(SseEvent.reconnect(1_500L));
+        writers.get(0).run();
+
+        assertThat(connection.pending()).isEmpty();
+        assertThat(new String(SseEvent.reconnect(1_500L).frame(), StandardCharsets.UTF_8))
+                .isEqualTo("retry:1500\nevent:reconnect\ndata:1500\n\n");
+        assertThatThrownBy(() -> emitter.send("late")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("live events that arrive during a replay are held and queued after it, without replayed duplicates")
+    void holdsLiveEventsUntilReplayIsQueued() {
+        SseConnection connection = connection(8, SseOverflowPolicy.DROP_OLDEST);
+        connection.enqueue(event("connect", 0));
+        connection.holdLive();
+
+        connection.enqueue(event("notification", 5));
+        connection.enqueue(event("notification", 6));
+        connection.enqueueReplayed(event("notification", 4));
+        connection.enqueueReplayed(event("notification", 5));
+        assertThat(connection.pending()).extracting(SseEvent::payload).containsExactly("0", "4", "5");
+
+        connection.releaseLive(Set.of(4L, 5L));
+        connection.enqueue(event("notification", 7));
+
+        assertThat(connection.pending()).extracting(SseEvent::payload).containsExactly("0", "4", "5", "6", "7");
+        assertThat(writers).hasSize(1);
+    }
+
+    private SseConnection connection(int capacity, SseOverflowPolicy policy) {
+        return new SseConnection(1L, new SseEmitter(), capacity, policy, writers::add, metrics, c -> {});
+    }
+
+    private SseEvent event(String name, int data) {
+        return new SseEvent((long) data, 1L, name, String.valueOf(data));
+    }
+}
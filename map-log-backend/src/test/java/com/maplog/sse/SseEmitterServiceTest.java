@@ -0,0 +1,282 @@
+package com.maplog.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maplog.common.exception.SseCapacityExceededException;
+import com.maplog.sse.bus.LocalSseEventBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SseEmitterServiceTest {
+
+    @Test
+    @DisplayName("keeps several connections per user up to the configured cap")
+    void keepsMultipleConnections() {
+        SseEmitterService service = newService(2);
+
+        service.connect(1L);
+        service.connect(1L);
+        service.connect(1L);
+        service.connect(2L);
+
+        assertThat(service.connectionCount(1L)).isEqualTo(2);
+        assertThat(service.connectionCount(2L)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("fans out to every connection and prunes the ones that are already closed")
+    void prunesClosedConnectionsOnSend() {
+        SseEmitterService service = newService(5);
+        SseEmitter closed = service.connect(1L);
+        service.connect(1L);
+        closed.complete();
+
+        service.send(1L, "notification", Map.of("message", "hello"));
+
+        assertThat(service.connectionCount(1L)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ignores users without a connection")
+    void ignoresOfflineUsers() {
+        SseEmitterService service = newService(5);
+
+        service.send(99L, "notification", Map.of("message", "hello"));
+
+        assertThat(service.connectionCount(99L)).isZero();
+    }
+
+    @Test
+    @DisplayName("replays missed events from the ring buffer, and from the store when the ring no longer covers them")
+    void replaysMissedEvents() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        List<Long> storeQueries = new ArrayList<>();
+        SseReplaySource store = (userId, sinceMillis, limit) -> {
+            storeQueries.add(sinceMillis);
+            return List.of(new SseEvent(SseEventIdGenerator.lastOfMillis(sinceMillis), userId, "notification", "{}"));
+        };
+        LocalSseEventBus eventBus = new LocalSseEventBus();
+        List<Long> publishedIds = new ArrayList<>();
+        eventBus.subscribe(event -> publishedIds.add(event.id()));
+        SseEmitterService service = newService(5, eventBus, meterRegistry, List.of(store));
+
+        service.send(1L, "notification", Map.of("n", 1));
+        service.send(1L, "notification", Map.of("n", 2));
+
+        service.connect(1L, publishedIds.get(0));
+        assertThat(replayed(meterRegistry, "buffer")).isEqualTo(1.0);
+        assertThat(storeQueries).isEmpty();
+
+        // 파드 기동 이전의 ID는 버퍼로 알 수 없으므로 저장소에서 다시 만든다.
+        service.connect(1L, 1L);
+        assertThat(storeQueries).hasSize(1);
+        assertThat(replayed(meterRegistry, "store")).isEqualTo(1.0);
+        assertThat(replayed(meterRegistry, "buffer")).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("buffers sends inside a transaction and publishes them grouped by recipient after commit")
+    void publishesAfterCommit() {
+        LocalSseEventBus eventBus = new LocalSseEventBus();
+        List<SseEvent> published = new ArrayList<>();
+        eventBus.subscribe(published::add);
+        SseEmitterService service = newService(5, eventBus, new SimpleMeterRegistry(), List.of());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.send(1L, "notification", "a");
+            service.send(2L, "notification", "b");
+            service.send(1L, "notification", "c");
+            assertThat(published).isEmpty();
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(published).extracting(SseEvent::payload).containsExactly("a", "c", "b");
+    }
+
+    @Test
+    @DisplayName("a REQUIRES_NEW transaction gets its own buffer, so its events survive an outer rollback")
+    void innerTransactionHasOwnBuffer() {
+        LocalSseEventBus eventBus = new LocalSseEventBus();
+        List<Object> published = new ArrayList<>();
+        eventBus.subscribe(event -> published.add(event.payload()));
+        SseEmitterService service = newService(5, eventBus, new SimpleMeterRegistry(), List.of());
+        PlatformTransactionManager transactionManager = transactionManager();
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            service.send(1L, "notification", "outer");
+            requiresNew.executeWithoutResult(inner -> service.send(1L, "notification", "inner"));
+            assertThat(published).containsExactly("inner");
+            status.setRollbackOnly();
+        });
+
+        assertThat(published).containsExactly("inner");
+    }
+
+    @Test
+    @DisplayName("sends made by other afterCommit callbacks are published, whether or not the buffer has flushed")
+    void publishesSendsFromAfterCommitCallbacks() {
+        LocalSseEventBus eventBus = new LocalSseEventBus();
+        List<Object> published = new ArrayList<>();
+        eventBus.subscribe(event -> published.add(event.payload()));
+        SseEmitterService service = newService(5, eventBus, new SimpleMeterRegistry(), List.of());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager());
+
+        // 버퍼가 이미 비워진 뒤의 afterCommit
+        transactionTemplate.executeWithoutResult(status -> {
+            service.send(1L, "notification", "a");
+            sendAfterCommit(service, "late");
+        });
+        // 버퍼가 없던 트랜잭션에서 afterCommit 중에 처음 보낸 이벤트
+        transactionTemplate.executeWithoutResult(status -> sendAfterCommit(service, "first"));
+
+        assertThat(published).containsExactly("a", "late", "first");
+    }
+
+    private static void sendAfterCommit(SseEmitterService service, String payload) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                service.send(1L, "notification", payload);
+            }
+        });
+    }
+
+    private static PlatformTransactionManager transactionManager() {
+        return new DataSourceTransactionManager(new DriverManagerDataSource("jdbc:h2:mem:sse-tx;DB_CLOSE_DELAY=-1"));
+    }
+
+    @Test
+    @DisplayName("sendToAll serialises once and shares the same id and frame bytes across recipients")
+    void sendToAllSharesEncodedFrame() {
+        LocalSseEventBus eventBus = new LocalSseEventBus();
+        List<SseEvent> published = new ArrayList<>();
+        eventBus.subscribe(published::add);
+        SseEmitterService service = newService(5, eventBus, new SimpleMeterRegistry(), List.of());
+
+        service.sendToAll(List.of(1L, 2L, 3L), "notification", Map.of("type", "DIARY_SHARED"));
+
+        assertThat(published).extracting(SseEvent::userId).containsExactly(1L, 2L, 3L);
+        assertThat(published).extracting(SseEvent::id).containsOnly(published.get(0).id());
+        assertThat(published).allSatisfy(event -> assertThat(event.frame()).isSameAs(published.get(0).frame()));
+        assertThat(new String(published.get(0).frame(), StandardCharsets.UTF_8))
+                .isEqualTo("id:" + published.get(0).id() + "\nevent:notification\ndata:{\"type\":\"DIARY_SHARED\"}\n\n");
+    }
+
+    @Test
+    @DisplayName("drops buffered sends when the transaction rolls back")
+    void dropsOnRollback() {
+        LocalSseEventBus eventBus = new LocalSseEventBus();
+        List<SseEvent> published = new ArrayList<>();
+        eventBus.subscribe(published::add);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SseEmitterService service = newService(5, eventBus, meterRegistry, List.of());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.send(1L, "notification", "a");
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(published).isEmpty();
+        assertThat(meterRegistry.get("sse.transaction.discarded").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("rejects connections over the per-pod budget with a jittered retry hint and frees slots on disconnect")
+    void rejectsOverPodBudget() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SseConnectionBudget budget = new SseConnectionBudget(2, 1_000L, 500L, 1_000L, 15_000L, 0L, meterRegistry);
+        SseEmitterService service = newService(5, new LocalSseEventBus(), meterRegistry, List.of(), budget);
+
+        SseEmitter first = service.connect(1L);
+        service.connect(2L);
+
+        assertThatThrownBy(() -> service.connect(3L))
+                .isInstanceOfSatisfying(SseCapacityExceededException.class,
+                        e -> assertThat(e.getRetryAfterMillis()).isBetween(1_000L, 1_500L));
+        assertThat(meterRegistry.get("sse.admission").tag("result", "rejected").counter().count()).isEqualTo(1.0);
+
+        first.complete();
+        service.send(1L, "notification", "bye"); // 끊긴 연결은 쓰기 실패로 정리된다.
+        service.connect(3L);
+        assertThat(meterRegistry.get("sse.connections").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("replacing a user's oldest connection does not leak budget")
+    void evictionReleasesBudget() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SseConnectionBudget budget = new SseConnectionBudget(10, 1_000L, 0L, 1_000L, 15_000L, 0L, meterRegistry);
+        SseEmitterService service = newService(1, new LocalSseEventBus(), meterRegistry, List.of(), budget);
+
+        service.connect(1L);
+        service.connect(1L);
+        service.connect(1L);
+
+        assertThat(budget.live()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("stop closes the door and tells every connection to reconnect with a staggered retry")
+    void drainsOnStop() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SseConnectionBudget budget = new SseConnectionBudget(10, 1_000L, 0L, 1_000L, 15_000L, 0L, meterRegistry);
+        SseEmitterService service = newService(5, new LocalSseEventBus(), meterRegistry, List.of(), budget);
+        service.start();
+        service.connect(1L);
+
+        service.stop();
+
+        assertThat(service.isRunning()).isFalse();
+        assertThatThrownBy(() -> service.connect(2L)).isInstanceOf(SseCapacityExceededException.class);
+    }
+
+    private double replayed(SimpleMeterRegistry meterRegistry, String source) {
+        return meterRegistry.get("sse.replay.events").tag("source", source).counter().count();
+    }
+
+    private SseEmitterService newService(int maxConnectionsPerUser) {
+        return newService(maxConnectionsPerUser, new LocalSseEventBus(), new SimpleMeterRegistry(), List.of());
+    }
+
+    private SseEmitterService newService(int maxConnectionsPerUser, LocalSseEventBus eventBus,
+                                         SimpleMeterRegistry meterRegistry, List<SseReplaySource> replaySources) {
+        return newService(maxConnectionsPerUser, eventBus, meterRegistry, replaySources,
+                new SseConnectionBudget(100, 2_000L, 8_000L, 1_000L, 15_000L, 0L, meterRegistry));
+    }
+
+    private SseEmitterService newService(int maxConnectionsPerUser, LocalSseEventBus eventBus,
+                                         SimpleMeterRegistry meterRegistry, List<SseReplaySource> replaySources,
+                                         SseConnectionBudget connectionBudget) {
+        // 테스트에서는 writer를 호출 스레드에서 바로 실행한다.
+        SseHeartbeatWheel heartbeatWheel = new SseHeartbeatWheel(15_000L, 8, 30_000L, meterRegistry);
+        return new SseEmitterService(eventBus, new SseEventEncoder(new ObjectMapper()), heartbeatWheel, connectionBudget, meterRegistry, replaySources,
+                maxConnectionsPerUser, 8, SseOverflowPolicy.DROP_OLDEST, 16, 100, 0L, Runnable::run);
+    }
+}
@@ -0,0 +1,81 @@
+package com.maplog.sse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseHeartbeatWheelTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SseConnection.Metrics metrics = new SseConnection.Metrics(
+            new AtomicInteger(),
+            Counter.builder("dropped").register(meterRegistry),
+            Counter.builder("coalesced").register(meterRegistry),
+            Counter.builder("writeFailures").register(meterRegistry),
+            Timer.builder("write").register(meterRegistry));
+
+    @Test
+    @DisplayName("visits each connection once per revolution and queues a heartbeat for idle ones")
+    void sendsHeartbeatsToIdleConnections() {
+        // 주기 0ms: 모든 연결이 곧바로 유휴 상태
+        SseHeartbeatWheel wheel = new SseHeartbeatWheel(0L, 4, 60_000L, meterRegistry);
+        List<Runnable> writers = new ArrayList<>();
+        SseConnection connection = connection(writers::add, new ArrayList<>());
+        wheel.register(connection);
+
+        for (int i = 0; i < 3; i++) {
+            wheel.tick();
+        }
+        assertThat(writers).isEmpty();
+
+        wheel.tick();
+        assertThat(writers).hasSize(1);
+        assertThat(meterRegistry.get("sse.heartbeat.sent").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("evicts connections whose writes make no progress")
+    void evictsStalledConnections() {
+        SseHeartbeatWheel wheel = new SseHeartbeatWheel(60_000L, 1, 0L, meterRegistry);
+        List<SseConnection> closed = new ArrayList<>();
+        // writer가 실행되지 않으므로 대기열이 계속 남아 있는 상태
+        SseConnection connection = connection(task -> { }, closed);
+        wheel.register(connection);
+        connection.enqueue(new SseEvent(1L, 1L, "notification", "{}"));
+
+        wheel.tick();
+
+        assertThat(closed).containsExactly(connection);
+        assertThat(wheel.registeredCount()).isZero();
+        assertThat(meterRegistry.get("sse.connections.evicted").tag("reason", "stalled").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("drops closed connections from the wheel")
+    void removesClosedConnections() {
+        SseHeartbeatWheel wheel = new SseHeartbeatWheel(60_000L, 1, 60_000L, meterRegistry);
+        SseConnection connection = connection(task -> { }, new ArrayList<>());
+        wheel.register(connection);
+        connection.close();
+
+        wheel.tick();
+
+        assertThat(wheel.registeredCount()).isZero();
+    }
+
+    private SseConnection connection(Executor writerExecutor, List<SseConnection> closed) {
+        return new SseConnection(1L, new SseEmitter(), 8, SseOverflowPolicy.DROP_OLDEST,
+                writerExecutor, metrics, closed::add);
+    }
+}
@@ -0,0 +1,53 @@
+package com.maplog.sse;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseReplayBufferTest {
+
+    @Test
+    @DisplayName("replays only events after the last event id while the ring still covers it")
+    void replaysFromRing() {
+        SseReplayBuffer buffer = new SseReplayBuffer(3, 10, 0L);
+        buffer.append(event(1L, 10));
+        buffer.append(event(1L, 20));
+        buffer.append(event(1L, 30));
+
+        SseReplayBuffer.Replay replay = buffer.eventsAfter(1L, 10);
+
+        assertThat(replay.complete()).isTrue();
+        assertThat(replay.events()).extracting(SseEvent::id).containsExactly(20L, 30L);
+    }
+
+    @Test
+    @DisplayName("reports an incomplete replay once older events have been overwritten")
+    void incompleteAfterOverwrite() {
+        SseReplayBuffer buffer = new SseReplayBuffer(2, 10, 0L);
+        buffer.append(event(1L, 10));
+        buffer.append(event(1L, 20));
+        buffer.append(event(1L, 30));
+
+        assertThat(buffer.eventsAfter(1L, 5).complete()).isFalse();
+        assertThat(buffer.eventsAfter(1L, 10).complete()).isTrue();
+        assertThat(buffer.eventsAfter(1L, 5).events()).extracting(SseEvent::id).containsExactly(20L, 30L);
+    }
+
+    @Test
+    @DisplayName("users evicted by the LRU bound raise the floor of new rings")
+    void evictionRaisesFloor() {
+        SseReplayBuffer buffer = new SseReplayBuffer(4, 1, 5L);
+        buffer.append(event(1L, 10));
+        buffer.append(event(2L, 20));
+
+        // 사용자 1의 버퍼는 제거되었으므로 10 이전 구간은 알 수 없다.
+        assertThat(buffer.eventsAfter(1L, 6).complete()).isFalse();
+        assertThat(buffer.eventsAfter(1L, 10).complete()).isTrue();
+        assertThat(buffer.eventsAfter(3L, 4).complete()).isFalse();
+    }
+
+    private SseEvent event(Long userId, long id) {
+        return new SseEvent(id, userId, "notification", "{}");
+    }
+}
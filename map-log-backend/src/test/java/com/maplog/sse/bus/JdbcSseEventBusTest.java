@@ -0,0 +1,175 @@
+package com.maplog.sse.bus;
+
+import com.maplog.sse.SseEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcSseEventBusTest {
+
+    @Mock
+    private SseEventRecordRepository sseEventRecordRepository;
+
+    @Mock
+    private SseEventRecordMapper sseEventRecordMapper;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JdbcSseEventBus eventBus;
+    private final List<SseEvent> received = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        eventBus = new JdbcSseEventBus(sseEventRecordRepository, sseEventRecordMapper, meterRegistry,
+                100, 0L, 60_000L, 10_000, 600_000L, 2);
+        eventBus.subscribe(received::add);
+    }
+
+    @Test
+    @DisplayName("publish delivers locally and leaves the already encoded JSON row to the writer")
+    @SuppressWarnings("unchecked")
+    void publish() {
+        eventBus.publish(new SseEvent(100L, 1L, "notification", "{\"type\":\"FRIEND_REQUEST\"}"));
+
+        assertThat(received).hasSize(1);
+        verify(sseEventRecordMapper, never()).insertAll(any());
+
+        eventBus.flush();
+
+        ArgumentCaptor<Collection<SseEventRecord>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(sseEventRecordMapper).insertAll(captor.capture());
+        assertThat(captor.getValue()).extracting(SseEventRecord::getPayload)
+                .containsExactly("{\"type\":\"FRIEND_REQUEST\"}");
+    }
+
+    @Test
+    @DisplayName("a full write queue drops only the cross-pod copy, local delivery still happens")
+    void publishWhenWriteQueueIsFull() {
+        eventBus.publishAll(List.of(
+                new SseEvent(1L, 1L, "notification", "{}"),
+                new SseEvent(2L, 2L, "notification", "{}"),
+                new SseEvent(3L, 3L, "notification", "{}")));
+
+        assertThat(received).hasSize(3);
+        eventBus.flush();
+        verify(sseEventRecordMapper, times(1)).insertAll(argThat(records -> records.size() == 2));
+    }
+
+    @Test
+    @DisplayName("starts from the high-water mark taken at startup and skips its own events")
+    void pollSkipsOwnEvents() {
+        given(sseEventRecordRepository.findMaxId()).willReturn(10L);
+        String ownNode = (String) ReflectionTestUtils.getField(eventBus, "nodeId");
+        given(sseEventRecordRepository.findAfter(eq(10L), any(Pageable.class)))
+                .willReturn(List.of(record(11L, 1L, ownNode), record(12L, 2L, "other-pod")));
+
+        eventBus.initCursor();
+        // 기동 후 첫 poll 전에 들어온 행(12)도 전달된다.
+        eventBus.poll();
+
+        assertThat(received).extracting(SseEvent::userId).containsExactly(2L);
+        assertThat(received.get(0).id()).isEqualTo(120L);
+        assertThat(received.get(0).payload()).isEqualTo("{}");
+    }
+
+    @Test
+    @DisplayName("rows of the same logical event reuse the frame bytes of the previous row")
+    void pollReusesFrameForSameEvent() {
+        given(sseEventRecordRepository.findMaxId()).willReturn(10L);
+        SseEventRecord first = SseEventRecord.create(500L, 1L, "notification", "{}", "other-pod");
+        SseEventRecord second = SseEventRecord.create(500L, 2L, "notification", "{}", "other-pod");
+        ReflectionTestUtils.setField(first, "id", 11L);
+        ReflectionTestUtils.setField(second, "id", 12L);
+        given(sseEventRecordRepository.findAfter(eq(10L), any(Pageable.class))).willReturn(List.of(first, second));
+
+        eventBus.initCursor();
+        eventBus.poll();
+
+        assertThat(received).extracting(SseEvent::userId).containsExactly(1L, 2L);
+        assertThat(received.get(1).frame()).isSameAs(received.get(0).frame());
+    }
+
+    @Test
+    @DisplayName("does not redeliver rows seen behind an id gap and skips the gap after the timeout")
+    void pollHandlesGaps() {
+        given(sseEventRecordRepository.findMaxId()).willReturn(10L);
+        given(sseEventRecordRepository.findAfter(eq(10L), any(Pageable.class)))
+                .willReturn(List.of(record(12L, 2L, "other-pod")));
+        given(sseEventRecordRepository.findAfter(eq(12L), any(Pageable.class)))
+                .willReturn(List.of(record(13L, 3L, "other-pod")));
+
+        eventBus.initCursor();
+        eventBus.poll(); // id 11 공백 발견
+        eventBus.poll(); // 12 재조회되지만 재전송하지 않고, 공백을 건너뜀
+        eventBus.poll();
+
+        assertThat(received).extracting(SseEvent::userId).containsExactly(2L, 3L);
+    }
+
+    @Test
+    @DisplayName("ids skipped after the gap timeout are re-read, so a row that commits late is still delivered")
+    void deliversLateRowsBehindSkippedGap() {
+        given(sseEventRecordRepository.findMaxId()).willReturn(10L);
+        given(sseEventRecordRepository.findAfter(eq(10L), any(Pageable.class)))
+                .willReturn(List.of(record(12L, 2L, "other-pod")));
+        given(sseEventRecordRepository.findByIds(List.of(11L)))
+                .willReturn(List.of())
+                .willReturn(List.of(record(11L, 1L, "other-pod")));
+
+        eventBus.initCursor();
+        eventBus.poll(1_000L); // id 11 공백 발견
+        eventBus.poll(1_000L); // 커서는 12로 넘어가고 11은 다시 조회할 목록에 남음
+        eventBus.poll(2_000L); // 11 아직 없음
+        eventBus.poll(3_000L); // 11이 늦게 커밋됨
+        eventBus.poll(4_000L);
+
+        assertThat(received).extracting(SseEvent::userId).containsExactly(2L, 1L);
+        verify(sseEventRecordRepository, times(2)).findByIds(List.of(11L));
+        assertThat(meterRegistry.counter("sse.bus.abandoned_ids").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("skipped ids that never appear within the late-row window are abandoned and counted")
+    void abandonsGapsAfterLateRowWindow() {
+        given(sseEventRecordRepository.findMaxId()).willReturn(10L);
+        given(sseEventRecordRepository.findAfter(eq(10L), any(Pageable.class)))
+                .willReturn(List.of(record(13L, 3L, "other-pod")));
+
+        eventBus.initCursor();
+        eventBus.poll(1_000L);
+        eventBus.poll(1_000L); // 11, 12를 넘김
+        eventBus.poll(30_000L);
+        eventBus.poll(61_000L); // late-row-window(60초) 경과
+        eventBus.poll(62_000L);
+
+        verify(sseEventRecordRepository, times(1)).findByIds(List.of(11L, 12L));
+        assertThat(meterRegistry.counter("sse.bus.abandoned_ids").count()).isEqualTo(2.0);
+    }
+
+    private SseEventRecord record(long id, long userId, String origin) {
+        SseEventRecord record = SseEventRecord.create(id * 10, userId, "notification", "{}", origin);
+        ReflectionTestUtils.setField(record, "id", id);
+        return record;
+    }
+}
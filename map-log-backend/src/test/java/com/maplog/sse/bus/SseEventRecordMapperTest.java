@@ -0,0 +1,46 @@
+package com.maplog.sse.bus;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class SseEventRecordMapperTest {
+
+    @Autowired
+    private SseEventRecordMapper sseEventRecordMapper;
+
+    @Autowired
+    private SseEventRecordRepository sseEventRecordRepository;
+
+    @Test
+    @DisplayName("insertAll writes a whole batch with one statement and the rows read back through the repository")
+    void insertAll() {
+        long maxId = sseEventRecordRepository.findMaxId();
+
+        int inserted = sseEventRecordMapper.insertAll(List.of(
+                SseEventRecord.create(500L, 1L, "notification", "{\"n\":1}", "pod-a"),
+                SseEventRecord.create(500L, 2L, "notification", "{\"n\":1}", "pod-a")));
+
+        assertThat(inserted).isEqualTo(2);
+        List<SseEventRecord> records = sseEventRecordRepository.findAfter(maxId, PageRequest.of(0, 10));
+        assertThat(records).extracting(SseEventRecord::getUserId).containsExactly(1L, 2L);
+        assertThat(records).allSatisfy(record -> {
+            assertThat(record.getEventId()).isEqualTo(500L);
+            assertThat(record.getOrigin()).isEqualTo("pod-a");
+            assertThat(record.getCreatedAt()).isNotNull();
+        });
+        assertThat(sseEventRecordRepository.findByIds(List.of(records.get(1).getId())))
+                .extracting(SseEventRecord::getUserId).containsExactly(2L);
+    }
+}
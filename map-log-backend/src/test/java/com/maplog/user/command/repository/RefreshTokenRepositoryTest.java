@@ -0,0 +1,44 @@
+package com.maplog.user.command.repository;
+
+import com.maplog.user.command.domain.RefreshToken;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RefreshTokenRepositoryTest {
+
+    private static final LocalDateTime EXPIRES_AT = LocalDateTime.now().plusDays(14);
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Test
+    @DisplayName("findSupersededIds returns used tokens only once a later token of the same family is used too")
+    void findSupersededIds() {
+        RefreshToken first = refreshTokenRepository.save(RefreshToken.create(900L, "t1", EXPIRES_AT));
+        RefreshToken second = refreshTokenRepository.save(first.rotate("t2", EXPIRES_AT));
+        refreshTokenRepository.save(second.rotate("t3", EXPIRES_AT));
+        // 다른 패밀리의 사용된 토큰은 영향을 주지 않는다.
+        RefreshToken other = refreshTokenRepository.save(RefreshToken.create(900L, "o1", EXPIRES_AT));
+
+        refreshTokenRepository.markUsed(first.getId(), LocalDateTime.now());
+        refreshTokenRepository.markUsed(other.getId(), LocalDateTime.now());
+        assertThat(refreshTokenRepository.findSupersededIds(0L, PageRequest.of(0, 10))).isEmpty();
+
+        refreshTokenRepository.markUsed(second.getId(), LocalDateTime.now());
+        assertThat(refreshTokenRepository.findSupersededIds(0L, PageRequest.of(0, 10)))
+                .containsExactly(first.getId());
+        assertThat(refreshTokenRepository.findSupersededIds(first.getId(), PageRequest.of(0, 10))).isEmpty();
+    }
+}
@@ -3,6 +3,7 @@ package com.maplog.user.command.service;
 import com.maplog.common.exception.BusinessException;
 import com.maplog.common.exception.ErrorCode;
 import com.maplog.common.jwt.JwtTokenProvider;
+import com.maplog.common.jwt.TokenDigests;
 import com.maplog.user.command.domain.RefreshToken;
 import com.maplog.user.command.domain.User;
 import com.maplog.user.command.domain.UserStatus;
@@ -16,10 +17,14 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
@@ -27,8 +32,11 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -50,6 +58,9 @@ class AuthServiceTest {
     @Mock
     private JwtTokenProvider jwtTokenProvider;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(authService, "refreshTokenExpiration", 3600000L);
@@ -71,7 +82,10 @@ class AuthServiceTest {
             authService.signup(request);
 
             // then
-            verify(userCommandRepository, times(1)).save(any(User.class));
+            InOrder order = inOrder(passwordEncoder, transactionManager, userCommandRepository);
+            order.verify(passwordEncoder).encode("password123");
+            order.verify(transactionManager).getTransaction(any(TransactionDefinition.class));
+            order.verify(userCommandRepository).save(any(User.class));
         }
 
         @Test
@@ -117,7 +131,7 @@ class AuthServiceTest {
                     .willReturn(Optional.of(user));
             given(passwordEncoder.matches(request.password(), user.getPassword()))
                     .willReturn(true);
-            given(jwtTokenProvider.generateAccessToken(user.getEmail())).willReturn("accessToken");
+            given(jwtTokenProvider.generateAccessToken(user.getEmail(), 1L, "USER")).willReturn("accessToken");
             given(jwtTokenProvider.generateRefreshToken(user.getEmail())).willReturn("refreshToken");
 
             // when
@@ -130,6 +144,53 @@ class AuthServiceTest {
             verify(refreshTokenRepository).save(any(RefreshToken.class));
         }
 
+        @Test
+        @DisplayName("해시 강도가 바뀐 경우 로그인 시 새 강도로 재해시")
+        void successRehashOnLogin() {
+            // given
+            LoginRequest request = new LoginRequest("test@email.com", "password123");
+            User user = User.create("test@email.com", "oldHash", "nickname");
+            ReflectionTestUtils.setField(user, "id", 1L);
+
+            given(userCommandRepository.findByEmailAndDeletedAtIsNull(request.email()))
+                    .willReturn(Optional.of(user));
+            given(passwordEncoder.matches(request.password(), "oldHash")).willReturn(true);
+            given(passwordEncoder.upgradeEncoding("oldHash")).willReturn(true);
+            given(passwordEncoder.encode(request.password())).willReturn("newHash");
+            given(jwtTokenProvider.generateAccessToken(user.getEmail(), 1L, "USER")).willReturn("accessToken");
+            given(jwtTokenProvider.generateRefreshToken(user.getEmail())).willReturn("refreshToken");
+
+            // when
+            authService.login(request);
+
+            // then
+            verify(userCommandRepository).rehashPassword(1L, "oldHash", "newHash");
+        }
+
+        @Test
+        @DisplayName("해시 비교는 트랜잭션(커넥션) 없이 끝내고 토큰 저장만 트랜잭션으로 실행")
+        void hashesOutsideTransaction() {
+            // given
+            LoginRequest request = new LoginRequest("test@email.com", "password123");
+            User user = User.create("test@email.com", "encodedPassword", "nickname");
+            ReflectionTestUtils.setField(user, "id", 1L);
+
+            given(userCommandRepository.findByEmailAndDeletedAtIsNull(request.email()))
+                    .willReturn(Optional.of(user));
+            given(passwordEncoder.matches(request.password(), user.getPassword())).willReturn(true);
+            given(jwtTokenProvider.generateRefreshToken(user.getEmail())).willReturn("refreshToken");
+
+            // when
+            authService.login(request);
+
+            // then
+            InOrder order = inOrder(passwordEncoder, transactionManager, refreshTokenRepository);
+            order.verify(passwordEncoder).matches(request.password(), "encodedPassword");
+            order.verify(transactionManager).getTransaction(any(TransactionDefinition.class));
+            order.verify(refreshTokenRepository).save(any(RefreshToken.class));
+            verify(userCommandRepository, never()).rehashPassword(anyLong(), anyString(), anyString());
+        }
+
         @Test
         @DisplayName("비밀번호 불일치 시 예외 발생")
         void failInvalidPassword() {
@@ -192,13 +253,16 @@ class AuthServiceTest {
             // given
             String tokenValue = "valid-refresh-token";
             RefreshToken refreshToken = RefreshToken.create(1L, tokenValue, LocalDateTime.now().plusDays(1));
+            ReflectionTestUtils.setField(refreshToken, "id", 10L);
             User user = User.create("test@email.com", "encodedPassword", "nickname");
             ReflectionTestUtils.setField(user, "id", 1L);
 
-            given(refreshTokenRepository.findByToken(tokenValue)).willReturn(Optional.of(refreshToken));
+            given(refreshTokenRepository.findByTokenHash(aryEq(TokenDigests.sha256(tokenValue))))
+                    .willReturn(Optional.of(refreshToken));
             given(jwtTokenProvider.getSubject(tokenValue)).willReturn("test@email.com");
             given(userCommandRepository.findByEmailAndDeletedAtIsNull("test@email.com")).willReturn(Optional.of(user));
-            given(jwtTokenProvider.generateAccessToken("test@email.com")).willReturn("newAccessToken");
+            given(refreshTokenRepository.markUsed(eq(10L), any(LocalDateTime.class))).willReturn(1);
+            given(jwtTokenProvider.generateAccessToken("test@email.com", 1L, "USER")).willReturn("newAccessToken");
             given(jwtTokenProvider.generateRefreshToken("test@email.com")).willReturn("newRefreshToken");
 
             // when
@@ -207,15 +271,19 @@ class AuthServiceTest {
             // then
             assertThat(response.accessToken()).isEqualTo("newAccessToken");
             assertThat(response.refreshToken()).isEqualTo("newRefreshToken");
-            verify(refreshTokenRepository).delete(refreshToken);
-            verify(refreshTokenRepository).save(any(RefreshToken.class));
+
+            ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+            verify(refreshTokenRepository).save(captor.capture());
+            assertThat(captor.getValue().getFamilyId()).isEqualTo(refreshToken.getFamilyId());
+            assertThat(captor.getValue().getTokenHash()).isEqualTo(TokenDigests.sha256("newRefreshToken"));
+            verify(refreshTokenRepository, never()).deleteByFamilyId(anyString());
         }
 
         @Test
         @DisplayName("존재하지 않는 토큰 시 예외 발생")
         void failInvalidToken() {
             // given
-            given(refreshTokenRepository.findByToken(anyString())).willReturn(Optional.empty());
+            given(refreshTokenRepository.findByTokenHash(any(byte[].class))).willReturn(Optional.empty());
 
             // when & then
             assertThatThrownBy(() -> authService.refresh("invalid-token"))
@@ -229,12 +297,77 @@ class AuthServiceTest {
             // given
             String tokenValue = "expired-refresh-token";
             RefreshToken refreshToken = RefreshToken.create(1L, tokenValue, LocalDateTime.now().minusDays(1));
-            given(refreshTokenRepository.findByToken(tokenValue)).willReturn(Optional.of(refreshToken));
+            given(refreshTokenRepository.findByTokenHash(any(byte[].class))).willReturn(Optional.of(refreshToken));
 
             // when & then
             assertThatThrownBy(() -> authService.refresh(tokenValue))
                     .isInstanceOf(BusinessException.class)
                     .hasFieldOrPropertyWithValue("errorCode", ErrorCode.EXPIRED_TOKEN);
+            verify(refreshTokenRepository).delete(refreshToken);
+        }
+
+        @Test
+        @DisplayName("이미 사용된 토큰 재사용 시 패밀리 전체 폐기")
+        void failReusedToken() {
+            // given
+            String tokenValue = "rotated-refresh-token";
+            RefreshToken refreshToken = RefreshToken.create(1L, tokenValue, LocalDateTime.now().plusDays(1));
+            ReflectionTestUtils.setField(refreshToken, "usedAt", LocalDateTime.now().minusMinutes(1));
+            given(refreshTokenRepository.findByTokenHash(any(byte[].class))).willReturn(Optional.of(refreshToken));
+
+            // when & then
+            assertThatThrownBy(() -> authService.refresh(tokenValue))
+                    .isInstanceOf(BusinessException.class)
+                    .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_TOKEN);
+            verify(refreshTokenRepository).deleteByFamilyId(refreshToken.getFamilyId());
+            verify(jwtTokenProvider, never()).generateRefreshToken(anyString());
+        }
+
+        @Test
+        @DisplayName("동시 재발급에서 먼저 사용 처리된 경우 패밀리 전체 폐기")
+        void failConcurrentRotation() {
+            // given
+            String tokenValue = "valid-refresh-token";
+            RefreshToken refreshToken = RefreshToken.create(1L, tokenValue, LocalDateTime.now().plusDays(1));
+            ReflectionTestUtils.setField(refreshToken, "id", 10L);
+            User user = User.create("test@email.com", "encodedPassword", "nickname");
+            ReflectionTestUtils.setField(user, "id", 1L);
+
+            given(refreshTokenRepository.findByTokenHash(any(byte[].class))).willReturn(Optional.of(refreshToken));
+            given(jwtTokenProvider.getSubject(tokenValue)).willReturn("test@email.com");
+            given(userCommandRepository.findByEmailAndDeletedAtIsNull("test@email.com")).willReturn(Optional.of(user));
+            given(refreshTokenRepository.markUsed(eq(10L), any(LocalDateTime.class))).willReturn(0);
+
+            // when & then
+            assertThatThrownBy(() -> authService.refresh(tokenValue))
+                    .isInstanceOf(BusinessException.class)
+                    .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_TOKEN);
+            verify(refreshTokenRepository).deleteByFamilyId(refreshToken.getFamilyId());
+            verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+        }
+
+        @Test
+        @DisplayName("정지된 사용자의 재발급 시 예외 발생 및 패밀리 폐기")
+        void failSuspendedUser() {
+            // given
+            String tokenValue = "valid-refresh-token";
+            RefreshToken refreshToken = RefreshToken.create(1L, tokenValue, LocalDateTime.now().plusDays(1));
+            ReflectionTestUtils.setField(refreshToken, "id", 10L);
+            User user = User.create("test@email.com", "encodedPassword", "nickname");
+            ReflectionTestUtils.setField(user, "id", 1L);
+            user.changeStatus(UserStatus.SUSPENDED, "reason", null);
+
+            given(refreshTokenRepository.findByTokenHash(any(byte[].class))).willReturn(Optional.of(refreshToken));
+            given(jwtTokenProvider.getSubject(tokenValue)).willReturn("test@email.com");
+            given(userCommandRepository.findByEmailAndDeletedAtIsNull("test@email.com")).willReturn(Optional.of(user));
+
+            // when & then
+            assertThatThrownBy(() -> authService.refresh(tokenValue))
+                    .isInstanceOf(BusinessException.class)
+                    .hasFieldOrPropertyWithValue("errorCode", ErrorCode.FORBIDDEN);
+            verify(refreshTokenRepository).deleteByFamilyId(refreshToken.getFamilyId());
+            verify(refreshTokenRepository, never()).markUsed(anyLong(), any(LocalDateTime.class));
+            verify(jwtTokenProvider, never()).generateAccessToken(anyString(), anyLong(), anyString());
         }
     }
 
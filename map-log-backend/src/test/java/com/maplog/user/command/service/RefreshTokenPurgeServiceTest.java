@@ -0,0 +1,100 @@
+package com.maplog.user.command.service;
+
+import com.maplog.common.lock.JobLockService;
+import com.maplog.user.command.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenPurgeServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    private RefreshTokenPurgeService purgeService;
+
+    @BeforeEach
+    void setUp() {
+        purgeService = new RefreshTokenPurgeService(refreshTokenRepository, jobLockService, 2, 3, 3_600_000L);
+    }
+
+    @Test
+    @DisplayName("expired tokens are deleted batch by batch until a short batch is seen")
+    void purgesInBatches() {
+        given(refreshTokenRepository.findExpiredIds(any(LocalDateTime.class), any(Pageable.class)))
+                .willReturn(List.of(1L, 2L))
+                .willReturn(List.of(3L));
+
+        int purged = purgeService.purgeExpired();
+
+        assertThat(purged).isEqualTo(3);
+        verify(refreshTokenRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(refreshTokenRepository).deleteAllByIdInBatch(List.of(3L));
+    }
+
+    @Test
+    @DisplayName("a single run stops after max batches")
+    void stopsAtMaxBatches() {
+        given(refreshTokenRepository.findExpiredIds(any(LocalDateTime.class), any(Pageable.class)))
+                .willReturn(List.of(1L, 2L));
+
+        int purged = purgeService.purgeExpired();
+
+        assertThat(purged).isEqualTo(6);
+        verify(refreshTokenRepository, times(3)).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("nothing is deleted when no token has expired")
+    void noExpiredTokens() {
+        given(refreshTokenRepository.findExpiredIds(any(LocalDateTime.class), any(Pageable.class)))
+                .willReturn(List.of());
+
+        assertThat(purgeService.purgeExpired()).isZero();
+        verify(refreshTokenRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    @DisplayName("superseded rotated tokens are deleted in id order, continuing after the last batch")
+    void purgesSupersededTokens() {
+        given(refreshTokenRepository.findSupersededIds(eq(0L), any(Pageable.class))).willReturn(List.of(4L, 7L));
+        given(refreshTokenRepository.findSupersededIds(eq(7L), any(Pageable.class))).willReturn(List.of(9L));
+
+        assertThat(purgeService.purgeSuperseded()).isEqualTo(3);
+
+        verify(refreshTokenRepository).deleteAllByIdInBatch(List.of(4L, 7L));
+        verify(refreshTokenRepository).deleteAllByIdInBatch(List.of(9L));
+    }
+
+    @Test
+    @DisplayName("the scheduled run is skipped on pods that do not hold the job lock")
+    void skipsWithoutLock() {
+        given(jobLockService.tryAcquire(eq(RefreshTokenPurgeService.LOCK_NAME), any(Duration.class))).willReturn(false);
+
+        purgeService.purge();
+
+        verify(refreshTokenRepository, never()).findExpiredIds(any(), any());
+        verify(refreshTokenRepository, never()).findSupersededIds(anyLong(), any());
+    }
+}
@@ -0,0 +1,106 @@
+package com.maplog.user.command.service;
+
+import com.maplog.common.security.TokenRevocationRegistry;
+import com.maplog.user.command.domain.UserAccessRevokedEvent;
+import com.maplog.user.command.repository.RevokedUserView;
+import com.maplog.user.command.repository.UserCommandRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationSyncServiceTest {
+
+    private static final long ACCESS_TOKEN_EXPIRATION = 1_800_000L;
+
+    @Mock
+    private UserCommandRepository userCommandRepository;
+
+    private TokenRevocationRegistry registry;
+    private TokenRevocationSyncService syncService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TokenRevocationRegistry();
+        syncService = new TokenRevocationSyncService(userCommandRepository, registry, ACCESS_TOKEN_EXPIRATION, 30_000L);
+    }
+
+    @Test
+    @DisplayName("tokens issued before the revocation are rejected, later tokens are accepted")
+    void revokesTokensIssuedBefore() {
+        long revokedAt = System.currentTimeMillis();
+
+        syncService.onUserAccessRevoked(new UserAccessRevokedEvent(1L, revokedAt));
+
+        assertThat(registry.isRevoked(1L, revokedAt - 60_000L)).isTrue();
+        assertThat(registry.isRevoked(1L, revokedAt)).isTrue();
+        assertThat(registry.isRevoked(1L, revokedAt + 1_000L)).isFalse();
+        assertThat(registry.isRevoked(2L, revokedAt - 60_000L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("startup rebuild loads suspended and deleted users from the users table")
+    void rebuildsFromRepository() {
+        LocalDateTime suspendedAt = LocalDateTime.now().minusMinutes(5);
+        given(userCommandRepository.findRevokedSince(any(LocalDateTime.class)))
+                .willReturn(List.of(revokedUser(3L, suspendedAt), revokedUser(4L, suspendedAt)));
+
+        syncService.rebuild();
+
+        long before = suspendedAt.minusMinutes(1).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        assertThat(registry.size()).isEqualTo(2);
+        assertThat(registry.isRevoked(3L, before)).isTrue();
+        assertThat(registry.isRevoked(4L, before)).isTrue();
+    }
+
+    @Test
+    @DisplayName("entries older than the access token lifetime are pruned on sync")
+    void prunesExpiredEntries() {
+        given(userCommandRepository.findRevokedSince(any(LocalDateTime.class))).willReturn(List.of());
+        long now = System.currentTimeMillis();
+        registry.revoke(5L, now - ACCESS_TOKEN_EXPIRATION - 1_000L);
+        registry.revoke(6L, now);
+
+        syncService.sync();
+
+        assertThat(registry.size()).isEqualTo(1);
+        assertThat(registry.isRevoked(6L, now - 1_000L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("registry grows past its initial capacity without losing entries")
+    void growsWithManyEntries() {
+        long revokedAt = System.currentTimeMillis();
+        LongStream.rangeClosed(1, 1_000).forEach(id -> registry.revoke(id, revokedAt));
+
+        assertThat(registry.size()).isEqualTo(1_000);
+        assertThat(LongStream.rangeClosed(1, 1_000).allMatch(id -> registry.isRevoked(id, revokedAt))).isTrue();
+        assertThat(registry.isRevoked(1_001L, revokedAt)).isFalse();
+    }
+
+    private RevokedUserView revokedUser(Long id, LocalDateTime updatedAt) {
+        return new RevokedUserView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return updatedAt;
+            }
+        };
+    }
+}
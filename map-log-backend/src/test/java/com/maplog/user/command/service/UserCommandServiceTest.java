@@ -3,6 +3,8 @@ package com.maplog.user.command.service;
 import com.maplog.common.exception.BusinessException;
 import com.maplog.common.exception.ErrorCode;
 import com.maplog.user.command.domain.User;
+import com.maplog.user.command.domain.UserAccessRevokedEvent;
+import com.maplog.user.command.domain.UserAccountChangedEvent;
 import com.maplog.user.command.repository.RefreshTokenRepository;
 import com.maplog.user.command.repository.UserCommandRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -12,12 +14,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -34,6 +38,9 @@ class UserCommandServiceTest {
     @Mock
     private RefreshTokenRepository refreshTokenRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Nested
     @DisplayName("updateProfile tests")
     class UpdateProfileTest {
@@ -51,6 +58,7 @@ class UserCommandServiceTest {
             assertThat(user.getNickname()).isEqualTo("newNick");
             assertThat(user.getProfileImageUrl()).isEqualTo("/uploads/new.png");
             verify(userCommandRepository).existsByNicknameAndIdNotAndDeletedAtIsNull("newNick", 1L);
+            verify(eventPublisher).publishEvent(new UserAccountChangedEvent(1L, email));
         }
 
         @Test
@@ -77,6 +85,7 @@ class UserCommandServiceTest {
             assertThatThrownBy(() -> userCommandService.updateProfile(email, "takenNick", null))
                     .isInstanceOf(BusinessException.class)
                     .hasFieldOrPropertyWithValue("errorCode", ErrorCode.NICKNAME_ALREADY_EXISTS);
+            verify(eventPublisher, never()).publishEvent(org.mockito.ArgumentMatchers.any(Object.class));
         }
 
         @Test
@@ -105,6 +114,8 @@ class UserCommandServiceTest {
 
             verify(refreshTokenRepository).deleteByUserId(10L);
             assertThat(user.isDeleted()).isTrue();
+            verify(eventPublisher).publishEvent(new UserAccountChangedEvent(10L, email));
+            verify(eventPublisher).publishEvent(any(UserAccessRevokedEvent.class));
         }
 
         @Test
@@ -0,0 +1,86 @@
+package com.maplog.user.command.service;
+
+import com.maplog.user.command.domain.Role;
+import com.maplog.user.command.domain.UserAccountChangedEvent;
+import com.maplog.user.command.repository.UserCommandRepository;
+import com.maplog.user.command.repository.UserPrincipalView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsServiceImplTest {
+
+    @Mock
+    private UserCommandRepository userCommandRepository;
+
+    private UserDetailsServiceImpl userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = new UserDetailsServiceImpl(userCommandRepository, 60_000L, 100);
+    }
+
+    @Test
+    @DisplayName("repeated lookups are served from the principal cache")
+    void cachesPrincipal() {
+        String email = "user@test.com";
+        given(userCommandRepository.findPrincipalByEmailAndDeletedAtIsNull(email))
+                .willReturn(Optional.of(principal(1L, email)));
+
+        UserDetails first = userDetailsService.loadUserByUsername(email);
+        UserDetails second = userDetailsService.loadUserByUsername(email);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getAuthorities()).extracting("authority").containsExactly("USER");
+        verify(userCommandRepository, times(1)).findPrincipalByEmailAndDeletedAtIsNull(email);
+    }
+
+    @Test
+    @DisplayName("account change event evicts the cached principal")
+    void evictsOnAccountChange() {
+        String email = "user@test.com";
+        given(userCommandRepository.findPrincipalByEmailAndDeletedAtIsNull(email))
+                .willReturn(Optional.of(principal(1L, email)))
+                .willReturn(Optional.empty());
+
+        userDetailsService.loadUserByUsername(email);
+        userDetailsService.onUserAccountChanged(new UserAccountChangedEvent(1L, email));
+
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername(email))
+                .isInstanceOf(UsernameNotFoundException.class);
+        verify(userCommandRepository, times(2)).findPrincipalByEmailAndDeletedAtIsNull(email);
+    }
+
+    private UserPrincipalView principal(Long id, String email) {
+        return new UserPrincipalView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+
+            @Override
+            public Role getRole() {
+                return Role.USER;
+            }
+        };
+    }
+}
@@ -4,5 +4,10 @@ export const feedApi = {
     /** 친구 피드 조회 - GET /api/feed */
     getFeed({ page = 0, size = 10 } = {}) {
         return api.get('/feed', { params: { page, size } })
+    },
+
+    /** 커서 기반 친구 피드 - GET /api/feed/scroll (다음 페이지는 응답의 nextCursor를 cursor로 전달) */
+    getFeedByCursor({ cursor, size = 10 } = {}) {
+        return api.get('/feed/scroll', { params: cursor ? { cursor, size } : { size } })
     }
 }
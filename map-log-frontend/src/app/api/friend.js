@@ -11,14 +11,29 @@ export const friendApi = {
         return api.patch(`/friends/${friendId}`, { status: action })
     },
 
-    /** 친구 목록 조회 - GET /api/friends */
+    /** 친구 목록 전체 조회 - GET /api/friends (공유 대상 선택용, 친구 화면은 getFriendsByCursor 사용) */
     getFriends() {
         return api.get('/friends')
     },
 
-    /** 받은 친구 요청 목록 - GET /api/friends/pending */
-    getPending() {
-        return api.get('/friends/pending')
+    /** 친구 목록 커서 조회 - GET /api/friends/scroll?cursor=&size= (다음 페이지는 nextCursor 전달) */
+    getFriendsByCursor({ cursor, size = 20 } = {}) {
+        return api.get('/friends/scroll', { params: cursor ? { cursor, size } : { size } })
+    },
+
+    /** 알 수도 있는 사람 (공통 친구 수 순) - GET /api/friends/suggestions */
+    getSuggestions(size = 20) {
+        return api.get('/friends/suggestions', { params: { size } })
+    },
+
+    /** 받은 친구 요청 커서 조회 - GET /api/friends/pending/scroll?cursor=&size= */
+    getPendingByCursor({ cursor, size = 20 } = {}) {
+        return api.get('/friends/pending/scroll', { params: cursor ? { cursor, size } : { size } })
+    },
+
+    /** 받은 친구 요청 수 - GET /api/friends/pending/count */
+    getPendingCount() {
+        return api.get('/friends/pending/count')
     },
 
     /** 친구 삭제(끊기) - DELETE /api/friends/:friendId */
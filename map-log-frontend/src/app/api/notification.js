@@ -6,6 +6,16 @@ export const notificationApi = {
         return api.get('/notifications', { params: isRead !== undefined ? { isRead } : {} })
     },
 
+    /** 알림 목록 커서 조회 - GET /api/notifications/scroll?cursor=&size= (다음 페이지는 nextCursor 전달) */
+    getNotificationsByCursor({ cursor, size = 20 } = {}) {
+        return api.get('/notifications/scroll', { params: cursor ? { cursor, size } : { size } })
+    },
+
+    /** 읽지 않은 알림 수 - GET /api/notifications/unread-count */
+    getUnreadCount() {
+        return api.get('/notifications/unread-count')
+    },
+
     /** 알림 단건 읽음 - PATCH /api/notifications/:id/read */
     readOne(notificationId) {
         return api.patch(`/notifications/${notificationId}/read`)
@@ -1,30 +1,54 @@
 import { defineStore } from 'pinia'
-import { ref, computed } from 'vue'
+import { ref } from 'vue'
 import { notificationApi } from '@/app/api/notification.js'
 
 export const useNotificationStore = defineStore('notification', () => {
     const notifications = ref([])
     const loading = ref(false)
+    const hasMore = ref(false)          // 다음 페이지 존재 여부 (커서 페이지의 hasNext)
+    let nextCursor = null               // 다음 페이지 조회용 커서
 
     // SSE 연결 관련 상태
     let eventSource = null          // EventSource 인스턴스
     let reconnectTimer = null       // 재연결 타이머
+    let lastEventId = null          // 마지막으로 받은 이벤트 ID (재연결 시 놓친 이벤트만 다시 받기 위해 사용)
+    let reconnectAttempts = 0       // 연속 재연결 실패 횟수 (백오프 계산용)
+    let reconnectHintMs = null      // 서버가 종료하면서 알려준 재연결 간격
 
     // 【SSE 친구 이벤트 트리거】
     // 친구 요청/수락 SSE 이벤트가 오면 이 값이 증가
     // → FriendView에서 watch하여 pending 목록 자동 재조회
     const friendEventTrigger = ref(0)
 
-    const unreadCount = computed(() => {
-        return notifications.value.filter(n => !n.read).length
-    })
+    // 【읽지 않은 알림 수】
+    // 목록은 한 페이지만 가져오므로 목록에서 세지 않고 서버 값을 그대로 쓴다.
+    // (/unread-count 조회, SSE 'notification'/'badge' 이벤트의 unreadCount로 갱신)
+    const unreadCount = ref(0)
+    let listLoaded = false          // 알림 목록을 한 번이라도 조회했는지 (SSE 수신 시 목록 재조회 여부)
 
+    async function fetchUnreadCount() {
+        try {
+            const res = await notificationApi.getUnreadCount()
+            unreadCount.value = res?.data?.unreadCount ?? 0
+        } catch (e) {
+            console.error('Failed to fetch unread count:', e)
+        }
+    }
+
+    function applyUnreadCount(data) {
+        if (typeof data?.unreadCount === 'number') unreadCount.value = data.unreadCount
+    }
+
+    /** 첫 페이지를 다시 조회 (전체 개수를 세지 않는 커서 API 사용) */
     async function fetchNotifications() {
         loading.value = true
         try {
-            const res = await notificationApi.getNotifications()
+            const res = await notificationApi.getNotificationsByCursor()
             // 백엔드 필드명이 is_read AS read 이므로 n.read 확인
             notifications.value = res?.data?.content || []
+            nextCursor = res?.data?.nextCursor || null
+            hasMore.value = !!res?.data?.hasNext
+            listLoaded = true
         } catch (e) {
             console.error('Failed to fetch notifications:', e)
         } finally {
@@ -32,6 +56,19 @@ export const useNotificationStore = defineStore('notification', () => {
         }
     }
 
+    /** 다음 페이지를 이어 붙인다. */
+    async function fetchMoreNotifications() {
+        if (!nextCursor) return
+        try {
+            const res = await notificationApi.getNotificationsByCursor({ cursor: nextCursor })
+            notifications.value = [...notifications.value, ...(res?.data?.content || [])]
+            nextCursor = res?.data?.nextCursor || null
+            hasMore.value = !!res?.data?.hasNext
+        } catch (e) {
+            console.error('Failed to fetch more notifications:', e)
+        }
+    }
+
     /**
      * 【SSE 연결 시작】
      * EventSource를 사용하여 백엔드의 SSE 엔드포인트에 연결합니다.
@@ -40,8 +77,12 @@ export const useNotificationStore = defineStore('notification', () => {
      *    JWT 토큰을 쿼리 파라미터(?token=xxx)로 전달합니다.
      *
      * 이벤트 수신 시:
-     * - 'notification' 이벤트 → 알림 목록을 서버에서 다시 조회하여 최신 상태 반영
-     * - 연결 에러 시 3초 후 자동 재연결 시도
+     * - 'notification' 이벤트 → 실린 unreadCount로 배지 갱신, 목록을 보고 있었다면 목록도 다시 조회
+     * - 'badge' 이벤트 → 다른 탭/기기에서 읽음·삭제한 결과로 배지 갱신
+     * - 연결 에러 시 지터를 섞은 지수 백오프(3초~60초)로 재연결
+     *   (서버가 'reconnect' 이벤트로 간격을 알려주면 그 값을 사용)
+     *   ⚠️ 서버가 연결 상한으로 503을 돌려줘도 EventSource는 상태 코드를 알 수 없으므로,
+     *      모든 클라이언트가 같은 시각에 다시 몰리지 않도록 간격을 무작위로 퍼뜨린다.
      */
     function connectSSE() {
         // 이미 연결 중이면 무시
@@ -57,41 +98,78 @@ export const useNotificationStore = defineStore('notification', () => {
         if (baseUrl.endsWith('/api')) {
             baseUrl = baseUrl.slice(0, -4)  // '/api' 제거 → 'http://localhost:8080'
         }
-        const sseUrl = `${baseUrl}/api/sse/connect?token=${token}`
+        // EventSource를 새로 만들면 Last-Event-ID 헤더가 전송되지 않으므로 쿼리 파라미터로 전달
+        let sseUrl = `${baseUrl}/api/sse/connect?token=${token}`
+        if (lastEventId) {
+            sseUrl += `&lastEventId=${encodeURIComponent(lastEventId)}`
+        }
 
         eventSource = new EventSource(sseUrl)
 
         // 【연결 성공】
         eventSource.addEventListener('connect', (e) => {
             console.log('[SSE] 연결 성공:', e.data)
+            reconnectAttempts = 0
+            // 끊겨 있던 동안 바뀐 배지 값을 맞춘다.
+            fetchUnreadCount()
+        })
+
+        // 【재연결 안내】서버 종료(배포) 시 다른 파드로 옮겨 갈 간격을 받는다.
+        eventSource.addEventListener('reconnect', (e) => {
+            const delay = Number(e.data)
+            if (Number.isFinite(delay) && delay >= 0) reconnectHintMs = delay
+        })
+
+        // 【배지 갱신】읽음/삭제로 읽지 않은 알림 수만 바뀐 경우
+        eventSource.addEventListener('badge', (e) => {
+            try {
+                applyUnreadCount(JSON.parse(e.data))
+            } catch {
+                fetchUnreadCount()
+            }
         })
 
-        // 【알림 수신】서버에서 알림 이벤트가 오면 알림 목록 갱신
+        // 【알림 수신】서버에서 알림 이벤트가 오면 배지와 알림 목록 갱신
         eventSource.addEventListener('notification', (e) => {
-            // 실시간 이벤트를 받으면 전체 알림 목록을 다시 조회
-            // → unreadCount가 자동으로 갱신되어 UI에 즉시 반영됨
-            fetchNotifications()
+            if (e.lastEventId) lastEventId = e.lastEventId
+            // 목록을 이미 본 적이 있을 때만 다시 조회 (배지만 보이는 화면에서는 조회하지 않음)
+            if (listLoaded) fetchNotifications()
 
             // 친구 관련 이벤트면 friendEventTrigger 증가
             // → FriendView의 watch가 감지하여 pending 목록도 자동 갱신
             try {
                 const data = JSON.parse(e.data)
+                applyUnreadCount(data)
                 if (data.type === 'FRIEND_REQUEST' || data.type === 'FRIEND_ACCEPTED' || data.type === 'FRIEND_DELETED') {
                     friendEventTrigger.value++
                 }
             } catch {
-                // 파싱 실패해도 알림 갱신은 이미 처리됨
+                // 파싱 실패 시 배지만 다시 조회
+                fetchUnreadCount()
             }
         })
 
-        // 【에러/연결 끊김】3초 후 자동 재연결
+        // 【에러/연결 끊김】간격을 두고 자동 재연결
         eventSource.onerror = () => {
-            console.warn('[SSE] 연결 끊김, 3초 후 재연결...')
+            const delay = nextReconnectDelay()
+            console.warn(`[SSE] 연결 끊김, ${Math.round(delay / 1000)}초 후 재연결...`)
             disconnectSSE()
             reconnectTimer = setTimeout(() => {
                 connectSSE()
-            }, 3000)
+            }, delay)
+        }
+    }
+
+    /** 서버 안내가 있으면 그 값, 없으면 3초부터 두 배씩(최대 60초) 늘리되 0.5~1.5배 지터를 섞는다. */
+    function nextReconnectDelay() {
+        if (reconnectHintMs !== null) {
+            const hinted = reconnectHintMs
+            reconnectHintMs = null
+            return hinted
         }
+        const base = Math.min(60000, 3000 * 2 ** reconnectAttempts)
+        reconnectAttempts++
+        return Math.round(base * (0.5 + Math.random()))
     }
 
     /**
@@ -113,7 +191,10 @@ export const useNotificationStore = defineStore('notification', () => {
         try {
             await notificationApi.readOne(notificationId)
             const noti = notifications.value.find(n => n.id === notificationId)
-            if (noti) noti.read = true
+            if (noti && !noti.read) {
+                noti.read = true
+                unreadCount.value = Math.max(0, unreadCount.value - 1)
+            }
         } catch (e) {
             console.error('Failed to mark notification as read:', e)
         }
@@ -123,6 +204,7 @@ export const useNotificationStore = defineStore('notification', () => {
         try {
             await notificationApi.readAll()
             notifications.value = notifications.value.map(n => ({ ...n, read: true }))
+            unreadCount.value = 0
         } catch (e) {
             console.error('Failed to mark all as read:', e)
         }
@@ -135,8 +217,10 @@ export const useNotificationStore = defineStore('notification', () => {
                 notifications.value = notifications.value.filter(n => !n.read)
             } else if (isRead === 'N') {
                 notifications.value = notifications.value.filter(n => n.read)
+                unreadCount.value = 0
             } else {
                 notifications.value = []
+                unreadCount.value = 0
             }
         } catch (e) {
             console.error('Failed to delete notifications:', e)
@@ -146,9 +230,12 @@ export const useNotificationStore = defineStore('notification', () => {
     return {
         notifications,
         loading,
+        hasMore,
         unreadCount,
         friendEventTrigger,
         fetchNotifications,
+        fetchMoreNotifications,
+        fetchUnreadCount,
         connectSSE,
         disconnectSSE,
         markAsRead,